@@ -0,0 +1,110 @@
+package org.somuga.benchmarks;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.somuga.SomugaApplication;
+import org.somuga.util.dataset.DatasetGenerator;
+import org.somuga.util.dataset.DatasetSpec;
+import org.somuga.util.dataset.GeneratedDataset;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.List;
+
+/**
+ * The application on the in-memory database of the test profile, filled by the {@link DatasetGenerator} with
+ * {@code media} games and movies split evenly. Started once per fork.
+ * <p>
+ * Likes and reviews follow a Zipf distribution, so the most popular game has its reviews fill whole pages.
+ */
+@State(Scope.Benchmark)
+public class ApplicationState {
+
+    static final int GENRES = 12;
+    static final int PLATFORMS = 8;
+    private static final long SEED = 42;
+    private static final int DEVELOPERS = 20;
+    private static final int CREW = 200;
+    private static final int USERS = 100;
+    private static final int LIKES_PER_USER = 20;
+    private static final int REVIEWS_PER_USER = 10;
+
+    @Param({"1000", "10000"})
+    public int media;
+
+    ConfigurableApplicationContext context;
+    List<Long> gameIds;
+    List<Long> movieIds;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(SomugaApplication.class).run(
+                "--spring.profiles.active=test",
+                "--server.port=0",
+                "--okta.oauth2.issuer=https://localhost/oauth2/benchmarks",
+                "--somuga.security.jwks.file=",
+                "--logging.level.root=WARN");
+        try {
+            GeneratedDataset dataset = bean(DatasetGenerator.class).generate(new DatasetSpec(SEED, USERS, DEVELOPERS,
+                    GENRES, PLATFORMS, media / 2, 2, 2, CREW, media / 2, 4, (long) USERS * LIKES_PER_USER,
+                    (long) USERS * REVIEWS_PER_USER, 1.0));
+            gameIds = dataset.gameIds();
+            movieIds = dataset.movieIds();
+        } catch (RuntimeException e) {
+            context.close();
+            throw e;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    WebApplicationContext webApplicationContext() {
+        return (WebApplicationContext) context;
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /**
+     * The most liked and reviewed game.
+     */
+    long hotGameId() {
+        return gameIds.get(0);
+    }
+
+    /**
+     * Runs a service call with an entity manager bound to the thread, like the one open in view for a request.
+     */
+    <T> T inRequest(Call<T> call) throws Exception {
+        EntityManagerFactory entityManagerFactory = bean(EntityManagerFactory.class);
+        EntityManagerHolder holder = new EntityManagerHolder(entityManagerFactory.createEntityManager());
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, holder);
+        try {
+            return call.call();
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            EntityManagerFactoryUtils.closeEntityManager(holder.getEntityManager());
+        }
+    }
+
+    static String genre(int i) {
+        return DatasetGenerator.genreName(i);
+    }
+
+    static String platform(int i) {
+        return DatasetGenerator.platformName(i);
+    }
+
+    @FunctionalInterface
+    interface Call<T> {
+        T call() throws Exception;
+    }
+}
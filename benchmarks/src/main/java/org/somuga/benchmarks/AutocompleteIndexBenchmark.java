@@ -0,0 +1,72 @@
+package org.somuga.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.somuga.util.search.AutocompleteIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Suggestions for typed prefixes from an autocomplete index of {@code items} names of three words, with
+ * {@code changes} of them renamed since it was built and laid over it. Prefixes are one to all letters of a word, so
+ * the short ones match a large share of the items.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class AutocompleteIndexBenchmark {
+
+    private static final String[] WORDS = {
+            "ancient", "blue", "broken", "crimson", "dark", "distant", "endless", "fallen", "frozen", "golden",
+            "hidden", "iron", "last", "lost", "silent", "wild", "city", "dawn", "dream", "empire", "forest",
+            "garden", "harbor", "island", "kingdom", "legend", "machine", "night", "ocean", "river", "shadow", "storm"
+    };
+    private static final AutocompleteIndex.Kind[] KINDS = AutocompleteIndex.Kind.values();
+    private static final int PREFIXES = 1024;
+    private static final int SUGGESTIONS = 10;
+
+    @Param({"400000", "1000000"})
+    public int items;
+
+    @Param({"0", "1000"})
+    public int changes;
+
+    private AutocompleteIndex index;
+    private String[] prefixes;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(25);
+        AutocompleteIndex.Builder builder = new AutocompleteIndex.Builder();
+        for (int id = 0; id < items; id++) {
+            builder.add(KINDS[id % KINDS.length], String.valueOf(id), words(random) + " " + id, random.nextInt(10_000));
+        }
+        List<AutocompleteIndex.Change> renames = new ArrayList<>(changes);
+        for (int i = 0; i < changes; i++) {
+            int id = random.nextInt(items);
+            renames.add(new AutocompleteIndex.Change(KINDS[id % KINDS.length], String.valueOf(id), words(random) + " " + id));
+        }
+        index = builder.build().with(renames);
+        prefixes = new String[PREFIXES];
+        for (int i = 0; i < PREFIXES; i++) {
+            String word = WORDS[random.nextInt(WORDS.length)];
+            prefixes[i] = word.substring(0, 1 + random.nextInt(word.length()));
+        }
+    }
+
+    @Benchmark
+    public List<AutocompleteIndex.Suggestion> suggest() {
+        return index.suggest(prefixes[next++ & (PREFIXES - 1)], SUGGESTIONS);
+    }
+
+    private static String words(Random random) {
+        return WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " "
+                + WORDS[random.nextInt(WORDS.length)];
+    }
+}
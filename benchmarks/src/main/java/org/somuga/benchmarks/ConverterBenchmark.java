@@ -0,0 +1,132 @@
+package org.somuga.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.somuga.converter.GameConverter;
+import org.somuga.converter.MovieConverter;
+import org.somuga.converter.ReviewConverter;
+import org.somuga.dto.crew_role.MovieCrewRoleListingDto;
+import org.somuga.dto.game.GamePublicDto;
+import org.somuga.dto.movie.MovieListingDto;
+import org.somuga.dto.movie.MoviePublicDto;
+import org.somuga.dto.review.ReviewPublicDto;
+import org.somuga.entity.*;
+import org.somuga.enums.MediaType;
+import org.somuga.enums.MovieRole;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO conversion of lists of {@code size} games, movies and reviews, each game with {@code children} genres
+ * and platforms and each movie with {@code children} crew roles.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConverterBenchmark {
+
+    private static final MovieRole[] ROLES = MovieRole.values();
+
+    @Param({"1", "20", "100"})
+    public int size;
+    @Param({"1", "10"})
+    public int children;
+
+    private List<Game> games;
+    private List<Movie> movies;
+    private List<MovieListingDto> movieListings;
+    private List<MovieCrewRoleListingDto> crewListings;
+    private List<Review> reviews;
+
+    @Setup
+    public void setUp() {
+        Developer developer = new Developer("developer", List.of(), "creator");
+        developer.setId(1L);
+        List<GameGenre> genres = new ArrayList<>();
+        List<Platform> platforms = new ArrayList<>();
+        List<MovieCrew> crew = new ArrayList<>();
+        for (long i = 0; i < children; i++) {
+            GameGenre genre = new GameGenre("genre " + i);
+            genre.setId(i);
+            genres.add(genre);
+            Platform platform = new Platform("platform " + i);
+            platform.setId(i);
+            platforms.add(platform);
+            MovieCrew member = new MovieCrew("crew " + i, new Date());
+            member.setId(i);
+            crew.add(member);
+        }
+
+        games = new ArrayList<>();
+        movies = new ArrayList<>();
+        movieListings = new ArrayList<>();
+        crewListings = new ArrayList<>();
+        reviews = new ArrayList<>();
+        User user = new User("user", "user");
+        user.setJoinDate(new Date());
+        for (long i = 0; i < size; i++) {
+            Game game = new Game();
+            media(game, i, MediaType.GAME);
+            game.setPrice(59.99);
+            game.setDeveloper(developer);
+            game.setGenres(new HashSet<>(genres));
+            game.setPlatforms(new HashSet<>(platforms));
+            games.add(game);
+
+            Movie movie = new Movie();
+            media(movie, size + i, MediaType.MOVIE);
+            movie.setDuration(120);
+            List<MovieCrewRole> roles = new ArrayList<>();
+            for (MovieCrew member : crew) {
+                MovieRole role = ROLES[(int) (member.getId() % ROLES.length)];
+                roles.add(new MovieCrewRole(member, movie, role, "character " + member.getId()));
+                crewListings.add(new MovieCrewRoleListingDto(movie.getId(), member.getId(), member.getFullName(),
+                        member.getBirthDate(), role, "character " + member.getId()));
+            }
+            movie.setMovieCrew(roles);
+            movies.add(movie);
+            movieListings.add(new MovieListingDto(movie.getId(), movie.getTitle(), movie.getReleaseDate(),
+                    movie.getDescription(), movie.getDuration(), movie.getMediaUrl(), movie.getImageUrl(),
+                    movie.getLikeCount(), movie.getReviewCount(), movie.getRating().getSum(), movie.getRating().getAverage(),
+                    movie.getRating().getHistogram(), movie.getRevision(), movie.getUpdatedAt()));
+
+            Review review = new Review(8, "review " + i, user, game);
+            review.setId(i);
+            reviews.add(review);
+        }
+    }
+
+    private static void media(Media media, long id, MediaType type) {
+        media.setId(id);
+        media.setMediaType(type);
+        media.setTitle("title " + id);
+        media.setReleaseDate(new Date());
+        media.setDescription("description " + id);
+        media.setMediaUrl("https://media.com/" + id);
+        media.setImageUrl("https://image.com/" + id);
+        media.setRating(new Rating());
+    }
+
+    @Benchmark
+    public List<GamePublicDto> games() {
+        return GameConverter.fromEntityListToPublicDtoList(games);
+    }
+
+    @Benchmark
+    public List<MoviePublicDto> movies() {
+        return MovieConverter.fromEntityListToPublicDtoList(movies);
+    }
+
+    @Benchmark
+    public List<MoviePublicDto> movieListings() {
+        return MovieConverter.fromListingListToPublicDtoList(movieListings, crewListings);
+    }
+
+    @Benchmark
+    public List<ReviewPublicDto> reviews() {
+        return ReviewConverter.fromEntityListToPublidDtoList(reviews);
+    }
+}
@@ -0,0 +1,81 @@
+package org.somuga.benchmarks;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import org.openjdk.jmh.annotations.*;
+import org.somuga.util.jwt.CachingJwtDecoder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding of one RS256 access token, answered from the verified-token cache and verified on every call. The keys
+ * are in memory, so neither path waits for a JWKS endpoint.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class JwtDecoderBenchmark {
+
+    private static final String ISSUER = "https://localhost/oauth2/benchmarks";
+    private static final int CACHE_SIZE = 10_000;
+
+    private NimbusJwtDecoder verifying;
+    private CachingJwtDecoder caching;
+    private String token;
+
+    @Setup
+    public void setUp() throws JOSEException {
+        RSAKey key = new RSAKeyGenerator(2048).keyID("benchmarks").generate();
+        DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256,
+                new ImmutableJWKSet<>(new JWKSet(key.toPublicJWK()))));
+        processor.setJWTClaimsSetVerifier((claims, context) -> {
+        });
+        verifying = new NimbusJwtDecoder(processor);
+        verifying.setJwtValidator(JwtValidators.createDefaultWithIssuer(ISSUER));
+        caching = new CachingJwtDecoder(verifying, CACHE_SIZE, Clock.systemUTC());
+        token = token(key);
+    }
+
+    @Benchmark
+    public Jwt cached() {
+        return caching.decode(token);
+    }
+
+    @Benchmark
+    public Jwt verified() {
+        return verifying.decode(token);
+    }
+
+    private static String token(RSAKey key) throws JOSEException {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .issuer(ISSUER)
+                .subject("benchmarks")
+                .issueTime(new Date())
+                .expirationTime(Date.from(Instant.now().plusSeconds(3600)))
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(), claims);
+        jwt.sign(new RSASSASigner(key));
+        return jwt.serialize();
+    }
+}
@@ -0,0 +1,72 @@
+package org.somuga.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Round trips through the security filters, controllers and JSON serialization of the main public routes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class MockMvcBenchmark {
+
+    private MockMvc mockMvc;
+
+    @Setup
+    public void setUp(ApplicationState application) {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(application.webApplicationContext())
+                .apply(springSecurity())
+                .build();
+    }
+
+    @Benchmark
+    public String gamesPage() throws Exception {
+        return perform("/api/v1/game/public");
+    }
+
+    @Benchmark
+    public String gameById(ApplicationState application) throws Exception {
+        return perform("/api/v1/game/public/" + ServiceBenchmark.random(application.gameIds));
+    }
+
+    @Benchmark
+    public String gamesByPlatform() throws Exception {
+        return perform("/api/v1/game/public/platform/" + ApplicationState.platform(ThreadLocalRandom.current().nextInt(ApplicationState.PLATFORMS)));
+    }
+
+    @Benchmark
+    public String moviesPage() throws Exception {
+        return perform("/api/v1/movie/public");
+    }
+
+    @Benchmark
+    public String movieById(ApplicationState application) throws Exception {
+        return perform("/api/v1/movie/public/" + ServiceBenchmark.random(application.movieIds));
+    }
+
+    @Benchmark
+    public String reviewsOfGame(ApplicationState application) throws Exception {
+        return perform("/api/v1/review/public/media/" + application.hotGameId());
+    }
+
+    private String perform(String path) throws Exception {
+        MvcResult result = mockMvc.perform(get(path)).andReturn();
+        if (result.getResponse().getStatus() != 200) {
+            throw new IllegalStateException(path + " returned " + result.getResponse().getStatus());
+        }
+        return result.getResponse().getContentAsString();
+    }
+}
@@ -0,0 +1,117 @@
+package org.somuga.benchmarks;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.openjdk.jmh.annotations.*;
+import org.somuga.SomugaApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * A user renaming themselves back and forth through {@code PUT /api/v1/user/private} with an RS256 bearer token, through the
+ * security filters, the decoder of the application and the controller. With {@code tokenCacheSize} 0 the signature
+ * is verified on every request, otherwise it is answered from the verified-token cache. The keys are read from a
+ * JWKS file, so no request waits for a JWKS endpoint.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PrivateEndpointBenchmark {
+
+    private static final String ISSUER = "https://localhost/oauth2/benchmarks";
+    private static final String AUDIENCE = "api://default";
+    private static final String SUBJECT = "benchmarks";
+    private static final String USER_PATH = "/api/v1/user/private";
+
+    @Param({"0", "10000"})
+    public int tokenCacheSize;
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+    private Path jwks;
+    private String authorization;
+    private long renames;
+
+    @Setup(Level.Trial)
+    public void start() throws Exception {
+        RSAKey key = new RSAKeyGenerator(2048).keyID(SUBJECT).generate();
+        jwks = Files.createTempFile("somuga-jwks", ".json");
+        Files.writeString(jwks, new JWKSet(key.toPublicJWK()).toString());
+        context = new SpringApplicationBuilder(SomugaApplication.class).run(
+                "--spring.profiles.active=test",
+                "--server.port=0",
+                "--okta.oauth2.issuer=" + ISSUER,
+                "--somuga.security.jwks.file=" + jwks,
+                "--somuga.security.token-cache.max-size=" + tokenCacheSize,
+                "--logging.level.root=WARN");
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup((WebApplicationContext) context)
+                .apply(springSecurity())
+                .build();
+        authorization = "Bearer " + token(key);
+        perform(post(USER_PATH), "bench0", 201);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws Exception {
+        context.close();
+        Files.deleteIfExists(jwks);
+    }
+
+    @Benchmark
+    public String rename() throws Exception {
+        return perform(put(USER_PATH), "bench" + (++renames & 1), 200);
+    }
+
+    private String perform(MockHttpServletRequestBuilder request, String userName, int expectedStatus) throws Exception {
+        MvcResult result = mockMvc.perform(request
+                        .header(HttpHeaders.AUTHORIZATION, authorization)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userName\":\"" + userName + "\"}"))
+                .andReturn();
+        if (result.getResponse().getStatus() != expectedStatus) {
+            throw new IllegalStateException(USER_PATH + " returned " + result.getResponse().getStatus());
+        }
+        return result.getResponse().getContentAsString();
+    }
+
+    private static String token(RSAKey key) throws JOSEException {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .issuer(ISSUER)
+                .audience(AUDIENCE)
+                .subject(SUBJECT)
+                .issueTime(new Date())
+                .expirationTime(Date.from(Instant.now().plusSeconds(3600)))
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(), claims);
+        jwt.sign(new RSASSASigner(key));
+        return jwt.serialize();
+    }
+}
@@ -0,0 +1,81 @@
+package org.somuga.benchmarks;
+
+import com.amazonaws.serverless.proxy.internal.LambdaContainerHandler;
+import com.amazonaws.serverless.proxy.model.AwsProxyRequest;
+import com.amazonaws.serverless.proxy.model.AwsProxyResponse;
+import com.amazonaws.serverless.proxy.model.Headers;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.somuga.util.lambda.ResponseCompression;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * The step that turns a movie listing page of 100 into the JSON returned by the Lambda handler, as text and gzip
+ * compressed. The listing is read once through MockMvc; each invocation wraps it in a new proxy response, as
+ * compression rewrites the body in place.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ResponseCompressionBenchmark {
+
+    private static final String MOVIE_LISTING = "/api/v1/movie/public?size=100";
+
+    private final ObjectMapper mapper = LambdaContainerHandler.getObjectMapper();
+    private final ResponseCompression compression = new ResponseCompression(ResponseCompression.DEFAULT_MIN_SIZE);
+    private String body;
+    private AwsProxyRequest plainRequest;
+    private AwsProxyRequest gzipRequest;
+
+    @Setup
+    public void setUp(ApplicationState application) throws Exception {
+        MockMvc mockMvc = MockMvcBuilders
+                .webAppContextSetup(application.webApplicationContext())
+                .apply(springSecurity())
+                .build();
+        body = mockMvc.perform(get(MOVIE_LISTING)).andReturn().getResponse().getContentAsString();
+        plainRequest = request(null);
+        gzipRequest = request(ResponseCompression.GZIP);
+    }
+
+    @Benchmark
+    public byte[] plain() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(compression.apply(plainRequest, response()));
+    }
+
+    @Benchmark
+    public byte[] gzip() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(compression.apply(gzipRequest, response()));
+    }
+
+    private AwsProxyResponse response() {
+        Headers headers = new Headers();
+        headers.putSingle(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+        AwsProxyResponse response = new AwsProxyResponse(200);
+        response.setMultiValueHeaders(headers);
+        response.setBody(body);
+        return response;
+    }
+
+    private static AwsProxyRequest request(String acceptEncoding) {
+        Headers headers = new Headers();
+        if (acceptEncoding != null) {
+            headers.putSingle(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        AwsProxyRequest request = new AwsProxyRequest();
+        request.setMultiValueHeaders(headers);
+        return request;
+    }
+}
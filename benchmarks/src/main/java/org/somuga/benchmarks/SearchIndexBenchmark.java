@@ -0,0 +1,95 @@
+package org.somuga.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.somuga.util.search.SearchIndex;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Title searches against an in-memory search index of {@code entries} games. Titles and descriptions are drawn from
+ * a vocabulary of made-up words with Zipf distributed frequencies, as in natural language. Searches are one to three
+ * words, the last one cut short as while typing, and return a page of 20.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class SearchIndexBenchmark {
+
+    private static final String[] SYLLABLES = {
+            "ka", "lo", "mi", "ra", "ven", "tor", "sha", "dun", "el", "bri", "gor", "nis", "quo", "ta", "zan", "fe",
+            "ul", "dra", "po", "sil", "mar", "keth", "ya", "oth", "ri", "cal", "ne", "vos", "ith", "bar", "gla", "um"
+    };
+    private static final int VOCABULARY = 50_000;
+    private static final int TITLE_WORDS = 3;
+    private static final int DESCRIPTION_WORDS = 20;
+    private static final int SEARCHES = 1024;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"100000", "1000000"})
+    public int entries;
+
+    private SearchIndex index;
+    private String[] searches;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        Random random = new Random(24);
+        String[] words = vocabulary(random);
+        double[] cumulative = new double[words.length];
+        double total = 0;
+        for (int rank = 0; rank < words.length; rank++) {
+            total += 1.0 / (rank + 1);
+            cumulative[rank] = total;
+        }
+        index = new SearchIndex("");
+        index.replaceAll(sink -> {
+            for (long id = 0; id < entries; id++) {
+                sink.accept(SearchIndex.Kind.GAME, id, text(words, cumulative, random, TITLE_WORDS),
+                        text(words, cumulative, random, DESCRIPTION_WORDS));
+            }
+        });
+        searches = new String[SEARCHES];
+        for (int i = 0; i < SEARCHES; i++) {
+            String search = text(words, cumulative, random, 1 + random.nextInt(3));
+            searches[i] = search.substring(0, search.length() - random.nextInt(2));
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        index.close();
+    }
+
+    @Benchmark
+    public List<Long> search() {
+        String search = searches[next++ & (SEARCHES - 1)];
+        return index.search(SearchIndex.Kind.GAME, search, 0, PAGE_SIZE);
+    }
+
+    private static String[] vocabulary(Random random) {
+        Set<String> words = new LinkedHashSet<>();
+        while (words.size() < VOCABULARY) {
+            StringBuilder word = new StringBuilder();
+            for (int i = 2 + random.nextInt(3); i > 0; i--) {
+                word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            words.add(word.toString());
+        }
+        return words.toArray(String[]::new);
+    }
+
+    private static String text(String[] words, double[] cumulative, Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble() * cumulative[cumulative.length - 1]);
+            text.append(i == 0 ? "" : " ").append(words[Math.min(index >= 0 ? index : -index - 1, words.length - 1)]);
+        }
+        return text.toString();
+    }
+}
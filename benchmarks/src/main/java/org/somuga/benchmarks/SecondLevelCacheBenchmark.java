@@ -0,0 +1,58 @@
+package org.somuga.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.somuga.util.cache.SecondLevelCache;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * A page of 10 games with a warm second-level cache and with one emptied before every request, which then loads the
+ * developers, genres and platforms of the page from the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SecondLevelCacheBenchmark {
+
+    private static final String GAMES_PAGE = "/api/v1/game/public?page=0&size=10";
+
+    @Param({"true", "false"})
+    public boolean warm;
+
+    private MockMvc mockMvc;
+    private SecondLevelCache secondLevelCache;
+
+    @Setup
+    public void setUp(ApplicationState application) {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(application.webApplicationContext())
+                .apply(springSecurity())
+                .build();
+        secondLevelCache = application.bean(SecondLevelCache.class);
+    }
+
+    @Setup(Level.Invocation)
+    public void evict() {
+        if (!warm) {
+            secondLevelCache.clear();
+        }
+    }
+
+    @Benchmark
+    public String gamesPage() throws Exception {
+        MvcResult result = mockMvc.perform(get(GAMES_PAGE)).andReturn();
+        if (result.getResponse().getStatus() != 200) {
+            throw new IllegalStateException(GAMES_PAGE + " returned " + result.getResponse().getStatus());
+        }
+        return result.getResponse().getContentAsString();
+    }
+}
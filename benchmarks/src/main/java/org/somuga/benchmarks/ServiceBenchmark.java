@@ -0,0 +1,88 @@
+package org.somuga.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.somuga.dto.game.GamePublicDto;
+import org.somuga.dto.movie.MoviePublicDto;
+import org.somuga.dto.review.ReviewPublicDto;
+import org.somuga.service.interfaces.IGameService;
+import org.somuga.service.interfaces.IMovieService;
+import org.somuga.service.interfaces.IReviewService;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service reads against the seeded in-memory database, pages of the size the controllers default to. Each read gets
+ * its own entity manager, as a request does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ServiceBenchmark {
+
+    private static final Pageable PAGE = PageRequest.of(0, 20);
+
+    private IGameService games;
+    private IMovieService movies;
+    private IReviewService reviews;
+
+    @Setup
+    public void setUp(ApplicationState application) {
+        games = application.bean(IGameService.class);
+        movies = application.bean(IMovieService.class);
+        reviews = application.bean(IReviewService.class);
+    }
+
+    @Benchmark
+    public List<GamePublicDto> gamesPage(ApplicationState application) throws Exception {
+        return application.inRequest(() -> games.getAll(PAGE).content().get());
+    }
+
+    @Benchmark
+    public GamePublicDto gameById(ApplicationState application) throws Exception {
+        long id = random(application.gameIds);
+        return application.inRequest(() -> games.getById(id).content().get());
+    }
+
+    @Benchmark
+    public List<GamePublicDto> gamesByGenre(ApplicationState application) throws Exception {
+        String genre = ApplicationState.genre(ThreadLocalRandom.current().nextInt(ApplicationState.GENRES));
+        return application.inRequest(() -> games.getByGenre(genre, PAGE).content().get());
+    }
+
+    @Benchmark
+    public List<GamePublicDto> gamesTopRated(ApplicationState application) throws Exception {
+        return application.inRequest(() -> games.getTopRated(PAGE).content().get());
+    }
+
+    @Benchmark
+    public List<MoviePublicDto> moviesPage(ApplicationState application) throws Exception {
+        return application.inRequest(() -> movies.getAll(PAGE).content().get());
+    }
+
+    @Benchmark
+    public MoviePublicDto movieById(ApplicationState application) throws Exception {
+        long id = random(application.movieIds);
+        return application.inRequest(() -> movies.getById(id).content().get());
+    }
+
+    @Benchmark
+    public List<MoviePublicDto> moviesSearch(ApplicationState application) throws Exception {
+        return application.inRequest(() -> movies.searchByTitle("shadow", PAGE).content().get());
+    }
+
+    @Benchmark
+    public List<ReviewPublicDto> reviewsOfGame(ApplicationState application) throws Exception {
+        return application.inRequest(() -> reviews.getAllByMediaId(application.hotGameId(), PAGE));
+    }
+
+    static long random(List<Long> ids) {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+}
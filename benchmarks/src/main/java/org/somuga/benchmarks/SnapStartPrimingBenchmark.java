@@ -0,0 +1,88 @@
+package org.somuga.benchmarks;
+
+import com.amazonaws.serverless.proxy.model.AwsProxyRequest;
+import com.amazonaws.serverless.proxy.model.AwsProxyResponse;
+import org.openjdk.jmh.annotations.*;
+import org.somuga.SomugaApplication;
+import org.somuga.util.dataset.DatasetGenerator;
+import org.somuga.util.dataset.DatasetSpec;
+import org.somuga.util.snapstart.SnapStartPriming;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpMethod;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.request;
+
+/**
+ * The first response of a freshly started application, with and without the SnapStart priming run before it. Each
+ * fork starts its own JVM and measures a single call, which stands in for the first request after a restore: this
+ * JVM has no checkpoint support, so the snapshot itself is not taken, but the work the priming moves ahead of the
+ * checkpoint is the work the first request no longer pays for.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+public class SnapStartPrimingBenchmark {
+
+    private static final int MEDIA = 100;
+
+    @Param({"false", "true"})
+    public boolean primed;
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+    private long gameId;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(SomugaApplication.class).run(
+                "--spring.profiles.active=test",
+                "--server.port=0",
+                "--okta.oauth2.issuer=https://localhost/oauth2/benchmarks",
+                "--somuga.security.jwks.file=",
+                "--logging.level.root=WARN");
+        gameId = context.getBean(DatasetGenerator.class).generate(new DatasetSpec(42, 10, 5, ApplicationState.GENRES,
+                ApplicationState.PLATFORMS, MEDIA / 2, 2, 2, 20, MEDIA / 2, 4, 100, 50, 1.0)).gameIds().get(0);
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup((WebApplicationContext) context)
+                .apply(springSecurity())
+                .build();
+        if (primed) {
+            new SnapStartPriming(context, this::dispatch).beforeCheckpoint(null);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public String firstResponse() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/v1/game/public/" + gameId)).andReturn();
+        if (result.getResponse().getStatus() != 200) {
+            throw new IllegalStateException("First response returned " + result.getResponse().getStatus());
+        }
+        return result.getResponse().getContentAsString();
+    }
+
+    private AwsProxyResponse dispatch(AwsProxyRequest proxyRequest) {
+        try {
+            return new AwsProxyResponse(mockMvc.perform(request(HttpMethod.valueOf(proxyRequest.getHttpMethod()),
+                    proxyRequest.getPath())).andReturn().getResponse().getStatus());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
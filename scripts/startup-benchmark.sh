@@ -0,0 +1,45 @@
+#!/bin/sh
+# Compares cold start times of the deployed function variants.
+#
+#   scripts/startup-benchmark.sh <jvm-function> <native-function> [runs] [path]
+#
+# jvm       - $LATEST of the JVM function, which never restores from a snapshot
+# snapstart - a freshly published version of the JVM function, restored from its snapshot
+# native    - $LATEST of the native image function
+#
+# Every run changes an environment variable first so the next invocation gets a new execution environment.
+# Init Duration (or Restore Duration for SnapStart) and Duration are read from the REPORT line of the invocation.
+set -eu
+
+JVM_FUNCTION=$1
+NATIVE_FUNCTION=$2
+RUNS=${3:-5}
+REQUEST_PATH=${4:-/api/v1/game/public}
+PAYLOAD=$(printf '{"path":"%s","httpMethod":"GET","headers":{"Accept":"application/json"},"requestContext":{"identity":{}}}' "$REQUEST_PATH")
+
+force_cold_start() {
+    aws lambda update-function-configuration --function-name "$1" \
+        --environment "Variables={STARTUP_BENCHMARK_RUN=$2}" > /dev/null
+    aws lambda wait function-updated --function-name "$1"
+}
+
+invoke() {
+    aws lambda invoke --function-name "$1" --qualifier "$2" --log-type Tail \
+        --cli-binary-format raw-in-base64-out --payload "$PAYLOAD" /dev/null \
+        --query LogResult --output text | base64 -d | grep '^REPORT' \
+        | sed -E 's/.*\tDuration: ([0-9.]+) ms.*(Init|Restore) Duration: ([0-9.]+) ms.*/\2 \3 ms, duration \1 ms/'
+}
+
+run=1
+while [ "$run" -le "$RUNS" ]; do
+    force_cold_start "$JVM_FUNCTION" "$run"
+    echo "jvm       #$run: $(invoke "$JVM_FUNCTION" '$LATEST')"
+
+    version=$(aws lambda publish-version --function-name "$JVM_FUNCTION" --query Version --output text)
+    aws lambda wait published-version-active --function-name "$JVM_FUNCTION" --qualifier "$version"
+    echo "snapstart #$run: $(invoke "$JVM_FUNCTION" "$version")"
+
+    force_cold_start "$NATIVE_FUNCTION" "$run"
+    echo "native    #$run: $(invoke "$NATIVE_FUNCTION" '$LATEST')"
+    run=$((run + 1))
+done
@@ -0,0 +1,33 @@
+package org.somuga;
+
+import org.somuga.config.SomugaRuntimeHints;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Entry point of the Spring context inside the Lambda handler. Instead of every auto-configuration on the class
+ * path it imports the list in {@code META-INF/spring/org.somuga.LambdaApplication.imports}, which leaves out
+ * springdoc, the Okta SDK and OAuth2 login client, scheduling, websockets and the HTTP clients.
+ * <p>
+ * It is deliberately not a {@code @SpringBootConfiguration}, so neither component scanning nor the tests pick it
+ * up instead of {@link SomugaApplication}. The native image is processed from this class, so it imports the
+ * runtime hints itself.
+ */
+@AutoConfigurationPackage
+@ImportAutoConfiguration
+@ComponentScan(excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = SomugaApplication.class))
+@ImportRuntimeHints(SomugaRuntimeHints.class)
+public class LambdaApplication {
+
+    public static final String PROFILE = "lambda";
+
+    public static void main(String[] args) {
+        SpringApplication application = new SpringApplication(LambdaApplication.class);
+        application.setAdditionalProfiles(PROFILE);
+        application.run(args);
+    }
+}
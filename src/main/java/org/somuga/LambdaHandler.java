@@ -1,11 +1,19 @@
 package org.somuga;
 
 import com.amazonaws.serverless.exceptions.ContainerInitializationException;
+import com.amazonaws.serverless.proxy.internal.LambdaContainerHandler;
 import com.amazonaws.serverless.proxy.model.AwsProxyRequest;
 import com.amazonaws.serverless.proxy.model.AwsProxyResponse;
 import com.amazonaws.serverless.proxy.spring.SpringBootLambdaContainerHandler;
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.somuga.util.lambda.ResponseCompression;
+import org.somuga.util.lambda.ScheduledJobs;
+import org.somuga.util.snapstart.SnapStartPriming;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.context.support.WebApplicationContextUtils;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -14,10 +22,18 @@ import java.io.OutputStream;
 public class LambdaHandler implements RequestStreamHandler {
 
     private static SpringBootLambdaContainerHandler<AwsProxyRequest, AwsProxyResponse> handler;
+    private static SnapStartPriming priming;
+    private static ResponseCompression compression;
+    private static ScheduledJobs jobs;
 
     static {
         try {
-            handler = SpringBootLambdaContainerHandler.getAwsProxyHandler(SomugaApplication.class);
+            handler = SpringBootLambdaContainerHandler.getAwsProxyHandler(LambdaApplication.class, LambdaApplication.PROFILE);
+            WebApplicationContext context = WebApplicationContextUtils.getRequiredWebApplicationContext(handler.getServletContext());
+            priming = new SnapStartPriming(context, request -> handler.proxy(request, null)).register();
+            compression = new ResponseCompression(context.getEnvironment().getProperty(
+                    ResponseCompression.MIN_SIZE_PROPERTY, Integer.class, ResponseCompression.DEFAULT_MIN_SIZE));
+            jobs = new ScheduledJobs(context);
         } catch (ContainerInitializationException e) {
             e.printStackTrace();
             throw new RuntimeException("Could not initialize Spring Boot application", e);
@@ -26,6 +42,18 @@ public class LambdaHandler implements RequestStreamHandler {
 
     @Override
     public void handleRequest(InputStream inputStream, OutputStream outputStream, Context context) throws IOException {
-        handler.proxyStream(inputStream, outputStream, context);
+        ObjectMapper mapper = LambdaContainerHandler.getObjectMapper();
+        try {
+            JsonNode event = mapper.readTree(inputStream);
+            if (ScheduledJobs.isJob(event)) {
+                mapper.writeValue(outputStream, jobs.run(event));
+                return;
+            }
+            AwsProxyRequest request = mapper.treeToValue(event, AwsProxyRequest.class);
+            AwsProxyResponse response = compression.proxy(request, proxied -> handler.proxy(proxied, context));
+            mapper.writeValue(outputStream, response);
+        } finally {
+            priming.afterResponse();
+        }
     }
 }
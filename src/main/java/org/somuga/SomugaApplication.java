@@ -1,9 +1,12 @@
 package org.somuga;
 
+import org.somuga.config.SomugaRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(SomugaRuntimeHints.class)
 public class SomugaApplication {
 
 	public static void main(String[] args) {
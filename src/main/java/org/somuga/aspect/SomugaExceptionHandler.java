@@ -1,9 +1,13 @@
 package org.somuga.aspect;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.somuga.exception.InvalidCursorException;
+import org.somuga.exception.InvalidPageException;
 import org.somuga.exception.InvalidPermissionException;
+import org.somuga.exception.StatementBudgetExceededException;
 import org.somuga.exception.developer.DeveloperNotFoundException;
 import org.somuga.exception.game.GameNotFoundException;
 import org.somuga.exception.game_genre.GenreAlreadyExistsException;
@@ -20,6 +24,7 @@ import org.somuga.exception.review.AlreadyReviewedException;
 import org.somuga.exception.review.ReviewNotFoundException;
 import org.somuga.exception.user.DuplicateFieldException;
 import org.somuga.exception.user.UserNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -37,8 +42,16 @@ import java.util.List;
 @ControllerAdvice
 public class SomugaExceptionHandler {
 
+    public static final String COUNTER = "somuga.exceptions";
     private static final Logger logger = LoggerFactory.getLogger(SomugaExceptionHandler.class);
 
+    private final MeterRegistry registry;
+
+    @Autowired
+    public SomugaExceptionHandler(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
     @ExceptionHandler({UserNotFoundException.class,
             ReviewNotFoundException.class,
             GameNotFoundException.class,
@@ -51,6 +64,7 @@ public class SomugaExceptionHandler {
             MovieCrewNotFoundException.class})
     public ResponseEntity<Error> handleNotFound(Exception e, HttpServletRequest request) {
         logger.error(e.getMessage());
+        count(e, HttpStatus.NOT_FOUND);
         return new ResponseEntity<>(new Error(
                 e.getMessage(),
                 request.getRequestURI(),
@@ -66,11 +80,14 @@ public class SomugaExceptionHandler {
             GenreAlreadyExistsException.class,
             PlatformAlreadyExistsException.class,
             InvalidCrewRoleException.class,
+            InvalidCursorException.class,
+            InvalidPageException.class,
             HttpMessageNotReadableException.class,
             MethodArgumentTypeMismatchException.class,
             SQLIntegrityConstraintViolationException.class,})
     public ResponseEntity<Error> handleBadRequest(Exception e, HttpServletRequest request) {
         logger.error(e.getMessage());
+        count(e, HttpStatus.BAD_REQUEST);
         return new ResponseEntity<>(new Error(
                 e.getMessage(),
                 request.getRequestURI(),
@@ -90,6 +107,7 @@ public class SomugaExceptionHandler {
         errorMessageBuilder.delete(errorMessageBuilder.length() - 2, errorMessageBuilder.length()).append(".");
         String errorMessage = errorMessageBuilder.toString();
         logger.error(errorMessage);
+        count(ex, HttpStatus.BAD_REQUEST);
         return new ResponseEntity<>(new Error(
                 errorMessage,
                 request.getRequestURI(),
@@ -102,6 +120,7 @@ public class SomugaExceptionHandler {
     @ExceptionHandler(InvalidPermissionException.class)
     public ResponseEntity<Error> handleForbidden(Exception e, HttpServletRequest request) {
         logger.error(e.getMessage());
+        count(e, HttpStatus.FORBIDDEN);
         return new ResponseEntity<>(new Error(
                 e.getMessage(),
                 request.getRequestURI(),
@@ -110,4 +129,21 @@ public class SomugaExceptionHandler {
                 new Date()
         ), HttpStatus.FORBIDDEN);
     }
+
+    @ExceptionHandler(StatementBudgetExceededException.class)
+    public ResponseEntity<Error> handleStatementBudgetExceeded(Exception e, HttpServletRequest request) {
+        logger.error(e.getMessage());
+        count(e, HttpStatus.INTERNAL_SERVER_ERROR);
+        return new ResponseEntity<>(new Error(
+                e.getMessage(),
+                request.getRequestURI(),
+                HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                request.getMethod(),
+                new Date()
+        ), HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    private void count(Exception e, HttpStatus status) {
+        registry.counter(COUNTER, "exception", e.getClass().getSimpleName(), "status", String.valueOf(status.value())).increment();
+    }
 }
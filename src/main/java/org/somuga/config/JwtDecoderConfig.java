@@ -0,0 +1,54 @@
+package org.somuga.config;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import org.somuga.util.jwt.CachedJwkSource;
+import org.somuga.util.jwt.CachingJwtDecoder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.jwt.*;
+import org.springframework.util.StringUtils;
+import org.springframework.web.client.RestClient;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Replaces the decoder of the Okta starter, which validates the same issuer and audience but verifies the signature
+ * of every request and keeps the keys in a cache that is lost with the instance.
+ */
+@Configuration
+@ConditionalOnProperty(name = "okta.oauth2.issuer")
+public class JwtDecoderConfig {
+
+    @Bean
+    public JwtDecoder jwtDecoder(@Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}") String issuer,
+                                 @Value("${spring.security.oauth2.resourceserver.jwt.jwk-set-uri}") String jwkSetUri,
+                                 @Value("${okta.oauth2.audience:api://default}") String audience,
+                                 @Value("${somuga.security.jwks.file:}") String file,
+                                 @Value("${somuga.security.jwks.refresh-after:1h}") Duration refreshAfter,
+                                 @Value("${somuga.security.jwks.expire-after:24h}") Duration expireAfter,
+                                 @Value("${somuga.security.jwks.min-refresh-interval:30s}") Duration minRefreshInterval,
+                                 @Value("${somuga.security.token-cache.max-size:10000}") int maxSize) {
+        Clock clock = Clock.systemUTC();
+        CachedJwkSource keys = new CachedJwkSource(jwkSetUri, RestClient.create(),
+                StringUtils.hasText(file) ? Path.of(file) : null, refreshAfter, expireAfter, minRefreshInterval, clock);
+        DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, keys));
+        // Claims are checked by the validators below
+        processor.setJWTClaimsSetVerifier((claims, context) -> {
+        });
+        NimbusJwtDecoder decoder = new NimbusJwtDecoder(processor);
+        decoder.setJwtValidator(new DelegatingOAuth2TokenValidator<>(
+                JwtValidators.createDefaultWithIssuer(issuer),
+                new JwtClaimValidator<List<String>>(JwtClaimNames.AUD, aud -> aud != null && aud.contains(audience))));
+        return maxSize > 0 ? new CachingJwtDecoder(decoder, maxSize, clock) : decoder;
+    }
+}
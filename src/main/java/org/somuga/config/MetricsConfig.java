@@ -0,0 +1,18 @@
+package org.somuga.config;
+
+import io.micrometer.core.instrument.Clock;
+import org.somuga.util.metrics.EmfMeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "somuga.metrics.emf.enabled")
+    public EmfMeterRegistry emfMeterRegistry(Environment environment, Clock clock) {
+        return new EmfMeterRegistry(environment::getProperty, clock, System.out);
+    }
+}
@@ -0,0 +1,11 @@
+package org.somuga.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "somuga.scheduling.enabled", matchIfMissing = true)
+public class SchedulingConfig {
+}
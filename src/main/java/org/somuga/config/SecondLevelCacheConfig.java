@@ -0,0 +1,66 @@
+package org.somuga.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.somuga.entity.Developer;
+import org.somuga.entity.Game;
+import org.somuga.entity.GameGenre;
+import org.somuga.entity.MovieCrew;
+import org.somuga.entity.Platform;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Hibernate second-level cache for the reference entities every game and movie response is built from, and for the
+ * genres and platforms of each game. Regions are bounded Caffeine caches, created here so a region Hibernate does not
+ * know about fails the startup instead of being created unbounded.
+ * <p>
+ * The regions expire entries after {@code somuga.cache.second-level.expire-after} so a row written outside Hibernate,
+ * by SQL or by another instance, is read again eventually.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    public static final List<String> REGIONS = List.of(
+            Developer.CACHE_REGION,
+            Platform.CACHE_REGION,
+            GameGenre.CACHE_REGION,
+            MovieCrew.CACHE_REGION,
+            Game.GENRES_CACHE_REGION,
+            Game.PLATFORMS_CACHE_REGION);
+
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(@Value("${somuga.cache.second-level.max-size:10000}") int maxSize,
+                                                @Value("${somuga.cache.second-level.expire-after:1h}") Duration expireAfter) {
+        // A provider of its own, so application contexts sharing the JVM do not share regions
+        CaffeineCachingProvider provider = new CaffeineCachingProvider();
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), provider.getDefaultClassLoader());
+        for (String region : REGIONS) {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(maxSize));
+            configuration.setExpireAfterWrite(OptionalLong.of(expireAfter.toNanos()));
+            cacheManager.createCache(region, configuration);
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheProperties(CacheManager secondLevelCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, JCacheRegionFactory.class);
+            properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+}
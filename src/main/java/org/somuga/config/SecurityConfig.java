@@ -21,6 +21,9 @@ public class SecurityConfig {
                         .requestMatchers(regexMatcher("/api/.*/public.*")).permitAll()
                         .requestMatchers(regexMatcher("/api/.*/private.*")).authenticated()
                         .requestMatchers(regexMatcher("/api/.*/admin.*")).hasRole("ADMIN")
+                        .requestMatchers("/actuator/health").permitAll()
+                        // Pool sizes, query counts and cache regions describe the deployment, so scrapers sign in
+                        .requestMatchers("/actuator/prometheus").hasRole("ADMIN")
                 )
                 .cors(withDefaults())
                 .oauth2ResourceServer(oauth2 -> oauth2
@@ -0,0 +1,77 @@
+package org.somuga.config;
+
+import com.amazonaws.serverless.proxy.model.*;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.somuga.LambdaHandler;
+import org.somuga.aspect.Error;
+import org.somuga.util.id_generator.MediaIdGenerator;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.util.ClassUtils;
+
+import java.util.List;
+
+/**
+ * Reflection hints for the native image. Spring AOT covers beans, repositories and the JPA managed types, but not
+ * what is only reached reflectively at runtime: Jackson binding of the DTO records and of the API Gateway proxy
+ * model, the Lambda handler loaded by the runtime client, and the id generator and second-level cache region factory
+ * Hibernate instantiates by class.
+ */
+public class SomugaRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final String DTO_PACKAGE = "org.somuga.dto";
+    private static final String ENTITY_PACKAGE = "org.somuga.entity";
+    private static final List<Class<?>> PROXY_MODEL = List.of(
+            AwsProxyRequest.class,
+            AwsProxyRequestContext.class,
+            AwsProxyResponse.class,
+            ApiGatewayRequestIdentity.class,
+            ApiGatewayAuthorizerContext.class,
+            CognitoAuthorizerClaims.class,
+            AlbContext.class,
+            Headers.class,
+            SingleValueHeaders.class,
+            MultiValuedTreeMap.class,
+            ErrorModel.class);
+
+    private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (Class<?> type : scan(DTO_PACKAGE, classLoader)) {
+            bindingRegistrar.registerReflectionHints(hints.reflection(), type);
+        }
+        bindingRegistrar.registerReflectionHints(hints.reflection(), Error.class);
+        for (Class<?> type : PROXY_MODEL) {
+            bindingRegistrar.registerReflectionHints(hints.reflection(), type);
+        }
+        for (Class<?> type : scan(ENTITY_PACKAGE, classLoader)) {
+            hints.reflection().registerType(type,
+                    MemberCategory.DECLARED_FIELDS,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_DECLARED_METHODS);
+        }
+        hints.reflection().registerType(LambdaHandler.class,
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                MemberCategory.INVOKE_PUBLIC_METHODS);
+        hints.reflection().registerType(MediaIdGenerator.class,
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                MemberCategory.INVOKE_PUBLIC_METHODS);
+        hints.reflection().registerType(JCacheRegionFactory.class,
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                MemberCategory.INVOKE_PUBLIC_METHODS);
+    }
+
+    private static List<Class<?>> scan(String basePackage, ClassLoader classLoader) {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter((reader, factory) -> true);
+        return scanner.findCandidateComponents(basePackage).stream()
+                .map(BeanDefinition::getBeanClassName)
+                .<Class<?>>map(name -> ClassUtils.resolveClassName(name, classLoader))
+                .toList();
+    }
+}
@@ -0,0 +1,43 @@
+package org.somuga.controller;
+
+import org.somuga.dto.cache.CacheStatsDto;
+import org.somuga.util.cache.NameIdCache;
+import org.somuga.util.cache.ReferenceNameCache;
+import org.somuga.util.cache.SecondLevelCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+@RestController
+@RequestMapping("/api/v1/cache")
+@CrossOrigin(origins = "*")
+public class CacheController {
+
+    private final ReferenceNameCache nameCache;
+    private final SecondLevelCache secondLevelCache;
+
+    @Autowired
+    public CacheController(ReferenceNameCache nameCache, SecondLevelCache secondLevelCache) {
+        this.nameCache = nameCache;
+        this.secondLevelCache = secondLevelCache;
+    }
+
+    @GetMapping("/admin")
+    public ResponseEntity<List<CacheStatsDto>> getStats() {
+        List<CacheStatsDto> stats = Stream.concat(
+                nameCache.all().stream().map(NameIdCache::stats),
+                secondLevelCache.stats().stream()).toList();
+        return new ResponseEntity<>(stats, HttpStatus.OK);
+    }
+
+    @DeleteMapping("/admin")
+    public ResponseEntity<Void> clear() {
+        nameCache.all().forEach(NameIdCache::clear);
+        secondLevelCache.clear();
+        return ResponseEntity.noContent().build();
+    }
+}
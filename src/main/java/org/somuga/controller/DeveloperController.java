@@ -3,43 +3,50 @@ package org.somuga.controller;
 import jakarta.validation.Valid;
 import org.somuga.dto.developer.DeveloperCreateDto;
 import org.somuga.dto.developer.DeveloperPublicDto;
+import org.somuga.exception.InvalidPageException;
 import org.somuga.exception.InvalidPermissionException;
 import org.somuga.exception.developer.DeveloperNotFoundException;
 import org.somuga.exception.user.DuplicateFieldException;
 import org.somuga.service.interfaces.IDeveloperService;
+import org.somuga.util.http.CachePolicies;
+import org.somuga.util.http.ConditionalGet;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/developer")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = HttpHeaders.ETAG)
 public class DeveloperController {
 
     private final IDeveloperService developerService;
+    private final CachePolicies cachePolicies;
 
     @Autowired
-    public DeveloperController(IDeveloperService developerService) {
+    public DeveloperController(IDeveloperService developerService, CachePolicies cachePolicies) {
         this.developerService = developerService;
+        this.cachePolicies = cachePolicies;
     }
 
     @GetMapping("/public")
-    public ResponseEntity<List<DeveloperPublicDto>> getAll(Pageable page) {
-        return new ResponseEntity<>(developerService.getAll(page), HttpStatus.OK);
+    public ResponseEntity<List<DeveloperPublicDto>> getAll(Pageable page, WebRequest request) {
+        return ConditionalGet.toResponse(request, developerService.getAll(page), cachePolicies.reference());
     }
 
     @GetMapping("/public/{id}")
-    public ResponseEntity<DeveloperPublicDto> getById(@PathVariable Long id) throws DeveloperNotFoundException {
-        return new ResponseEntity<>(developerService.getById(id), HttpStatus.OK);
+    public ResponseEntity<DeveloperPublicDto> getById(@PathVariable Long id, WebRequest request) throws DeveloperNotFoundException {
+        return ConditionalGet.toResponse(request, () -> developerService.getRevision(id), () -> developerService.getById(id), cachePolicies.reference());
     }
 
     @GetMapping("/public/search/{name}")
-    public ResponseEntity<List<DeveloperPublicDto>> searchByName(@PathVariable String name, Pageable page) {
-        return new ResponseEntity<>(developerService.searchByName(name, page), HttpStatus.OK);
+    public ResponseEntity<List<DeveloperPublicDto>> searchByName(@PathVariable String name, Pageable page, WebRequest request) throws InvalidPageException {
+        return ConditionalGet.toResponse(request, developerService.searchByName(name, page), cachePolicies.reference());
     }
 
     @PostMapping("/private")
@@ -0,0 +1,76 @@
+package org.somuga.controller;
+
+import org.somuga.service.interfaces.IExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.somuga.util.lambda.ResponseCompression.acceptsGzip;
+
+@RestController
+@RequestMapping("/api/v1/export")
+@CrossOrigin(origins = "*")
+public class ExportController {
+
+    private static final String GZIP = "gzip";
+
+    private final IExportService exportService;
+
+    @Autowired
+    public ExportController(IExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    @GetMapping(value = "/admin/game", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportGames(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return stream(acceptEncoding, exportService::exportGames);
+    }
+
+    @GetMapping(value = "/admin/movie", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportMovies(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return stream(acceptEncoding, exportService::exportMovies);
+    }
+
+    @GetMapping(value = "/admin/review", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportReviews(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return stream(acceptEncoding, exportService::exportReviews);
+    }
+
+    @GetMapping(value = "/admin/like", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportLikes(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return stream(acceptEncoding, exportService::exportLikes);
+    }
+
+    private ResponseEntity<StreamingResponseBody> stream(String acceptEncoding, Exporter exporter) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_NDJSON);
+        headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            headers.add(HttpHeaders.CONTENT_ENCODING, GZIP);
+        }
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out);
+                exporter.export(compressed);
+                compressed.finish();
+            } else {
+                exporter.export(out);
+            }
+        };
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+
+    @FunctionalInterface
+    private interface Exporter {
+        void export(OutputStream out) throws IOException;
+    }
+}
@@ -3,60 +3,79 @@ package org.somuga.controller;
 import jakarta.validation.Valid;
 import org.somuga.dto.game.GameCreateDto;
 import org.somuga.dto.game.GamePublicDto;
+import org.somuga.exception.InvalidCursorException;
+import org.somuga.exception.InvalidPageException;
 import org.somuga.exception.InvalidPermissionException;
 import org.somuga.exception.developer.DeveloperNotFoundException;
 import org.somuga.exception.game.GameNotFoundException;
 import org.somuga.exception.game_genre.GenreNotFoundException;
 import org.somuga.exception.platform.PlatformNotFoundException;
 import org.somuga.service.interfaces.IGameService;
+import org.somuga.util.http.CachePolicies;
+import org.somuga.util.http.ConditionalGet;
+import org.somuga.util.pagination.Cursors;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/game")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = {Cursors.NEXT_CURSOR_HEADER, HttpHeaders.ETAG})
 public class GameController {
 
     private final IGameService gameService;
+    private final CachePolicies cachePolicies;
 
     @Autowired
-    public GameController(IGameService gameService) {
+    public GameController(IGameService gameService, CachePolicies cachePolicies) {
         this.gameService = gameService;
+        this.cachePolicies = cachePolicies;
     }
 
     @GetMapping("/public")
-    public ResponseEntity<List<GamePublicDto>> getAll(Pageable page) {
-        return new ResponseEntity<>(gameService.getAll(page), HttpStatus.OK);
+    public ResponseEntity<List<GamePublicDto>> getAll(Pageable page, WebRequest request) {
+        return ConditionalGet.toResponse(request, gameService.getAll(page), cachePolicies.media());
+    }
+
+    @GetMapping(value = "/public", params = "after")
+    public ResponseEntity<List<GamePublicDto>> getAllAfter(@RequestParam String after, @RequestParam(defaultValue = Cursors.DEFAULT_SIZE) int size) throws InvalidCursorException {
+        return Cursors.toResponse(gameService.getAllAfter(after, size));
+    }
+
+    @GetMapping("/public/top-rated")
+    public ResponseEntity<List<GamePublicDto>> getTopRated(Pageable page, WebRequest request) {
+        return ConditionalGet.toResponse(request, gameService.getTopRated(page), cachePolicies.media());
     }
 
     @GetMapping("/public/{id}")
-    public ResponseEntity<GamePublicDto> getById(@PathVariable Long id) throws GameNotFoundException {
-        return new ResponseEntity<>(gameService.getById(id), HttpStatus.OK);
+    public ResponseEntity<GamePublicDto> getById(@PathVariable Long id, WebRequest request) throws GameNotFoundException {
+        return ConditionalGet.toResponse(request, () -> gameService.getRevision(id), () -> gameService.getById(id), cachePolicies.media());
     }
 
     @GetMapping("/public/platform/{platformName}")
-    public ResponseEntity<List<GamePublicDto>> getByPlatform(@PathVariable String platformName, Pageable page) {
-        return new ResponseEntity<>(gameService.getByPlatform(platformName, page), HttpStatus.OK);
+    public ResponseEntity<List<GamePublicDto>> getByPlatform(@PathVariable String platformName, Pageable page, WebRequest request) {
+        return ConditionalGet.toResponse(request, gameService.getByPlatform(platformName, page), cachePolicies.media());
     }
 
     @GetMapping("/public/genre/{genreName}")
-    public ResponseEntity<List<GamePublicDto>> getByGenre(@PathVariable String genreName, Pageable page) {
-        return new ResponseEntity<>(gameService.getByGenre(genreName, page), HttpStatus.OK);
+    public ResponseEntity<List<GamePublicDto>> getByGenre(@PathVariable String genreName, Pageable page, WebRequest request) {
+        return ConditionalGet.toResponse(request, gameService.getByGenre(genreName, page), cachePolicies.media());
     }
 
     @GetMapping("/public/developer/{developerName}")
-    public ResponseEntity<List<GamePublicDto>> getByDeveloper(@PathVariable String developerName, Pageable page) {
-        return new ResponseEntity<>(gameService.getByDeveloper(developerName, page), HttpStatus.OK);
+    public ResponseEntity<List<GamePublicDto>> getByDeveloper(@PathVariable String developerName, Pageable page, WebRequest request) {
+        return ConditionalGet.toResponse(request, gameService.getByDeveloper(developerName, page), cachePolicies.media());
     }
 
     @GetMapping("/public/search/{name}")
-    public ResponseEntity<List<GamePublicDto>> searchByName(@PathVariable String name, Pageable page) {
-        return new ResponseEntity<>(gameService.searchByName(name, page), HttpStatus.OK);
+    public ResponseEntity<List<GamePublicDto>> searchByName(@PathVariable String name, Pageable page, WebRequest request) throws InvalidPageException {
+        return ConditionalGet.toResponse(request, gameService.searchByName(name, page), cachePolicies.media());
     }
 
     @PostMapping("/private")
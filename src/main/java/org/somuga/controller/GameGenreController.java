@@ -6,39 +6,45 @@ import org.somuga.dto.game_genre.GameGenrePublicDto;
 import org.somuga.exception.game_genre.GenreAlreadyExistsException;
 import org.somuga.exception.game_genre.GenreNotFoundException;
 import org.somuga.service.interfaces.IGameGenreService;
+import org.somuga.util.http.CachePolicies;
+import org.somuga.util.http.ConditionalGet;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/game_genre")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = HttpHeaders.ETAG)
 public class GameGenreController {
 
     private final IGameGenreService gameGenreService;
+    private final CachePolicies cachePolicies;
 
     @Autowired
-    public GameGenreController(IGameGenreService gameGenreService) {
+    public GameGenreController(IGameGenreService gameGenreService, CachePolicies cachePolicies) {
         this.gameGenreService = gameGenreService;
+        this.cachePolicies = cachePolicies;
     }
 
     @GetMapping("/public")
-    public ResponseEntity<List<GameGenrePublicDto>> getAll(Pageable page) {
-        return new ResponseEntity<>(gameGenreService.getAll(page), HttpStatus.OK);
+    public ResponseEntity<List<GameGenrePublicDto>> getAll(Pageable page, WebRequest request) {
+        return ConditionalGet.toResponse(request, gameGenreService.getAll(page), cachePolicies.reference());
     }
 
     @GetMapping("/public/{id}")
-    public ResponseEntity<GameGenrePublicDto> getById(@PathVariable Long id) throws GenreNotFoundException {
-        return new ResponseEntity<>(gameGenreService.getById(id), HttpStatus.OK);
+    public ResponseEntity<GameGenrePublicDto> getById(@PathVariable Long id, WebRequest request) throws GenreNotFoundException {
+        return ConditionalGet.toResponse(request, () -> gameGenreService.getRevision(id), () -> gameGenreService.getById(id), cachePolicies.reference());
     }
 
     @GetMapping("/public/search/{name}")
-    public ResponseEntity<List<GameGenrePublicDto>> searchByName(@PathVariable String name, Pageable page) {
-        return new ResponseEntity<>(gameGenreService.searchByName(name, page), HttpStatus.OK);
+    public ResponseEntity<List<GameGenrePublicDto>> searchByName(@PathVariable String name, Pageable page, WebRequest request) {
+        return ConditionalGet.toResponse(request, gameGenreService.searchByName(name, page), cachePolicies.reference());
     }
 
     @PostMapping("/private")
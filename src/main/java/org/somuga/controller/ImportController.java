@@ -0,0 +1,45 @@
+package org.somuga.controller;
+
+import org.somuga.dto.bulk_import.ImportResultDto;
+import org.somuga.service.interfaces.IImportService;
+import org.somuga.util.statements.StatementBudget;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/v1/import")
+@CrossOrigin(origins = "*")
+@StatementBudget(StatementBudget.UNLIMITED)
+public class ImportController {
+
+    private final IImportService importService;
+
+    @Autowired
+    public ImportController(IImportService importService) {
+        this.importService = importService;
+    }
+
+    @PostMapping(value = "/admin/game", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ImportResultDto> importGames(InputStream body) throws IOException {
+        return toResponse(importService.importGames(body));
+    }
+
+    @PostMapping(value = "/admin/movie", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ImportResultDto> importMovies(InputStream body) throws IOException {
+        return toResponse(importService.importMovies(body));
+    }
+
+    /**
+     * 422 when rows were sent but none of them could be imported, with the same per-line errors as a partial import.
+     */
+    private static ResponseEntity<ImportResultDto> toResponse(ImportResultDto result) {
+        HttpStatus status = result.received() > 0 && result.imported() == 0 ? HttpStatus.UNPROCESSABLE_ENTITY : HttpStatus.OK;
+        return new ResponseEntity<>(result, status);
+    }
+}
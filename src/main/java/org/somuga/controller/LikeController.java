@@ -3,12 +3,14 @@ package org.somuga.controller;
 import jakarta.validation.Valid;
 import org.somuga.dto.like.LikeCreateDto;
 import org.somuga.dto.like.LikePublicDto;
+import org.somuga.exception.InvalidCursorException;
 import org.somuga.exception.InvalidPermissionException;
 import org.somuga.exception.like.AlreadyLikedException;
 import org.somuga.exception.like.LikeNotFoundException;
 import org.somuga.exception.media.MediaNotFoundException;
 import org.somuga.exception.user.UserNotFoundException;
 import org.somuga.service.interfaces.ILikeService;
+import org.somuga.util.pagination.Cursors;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
@@ -19,7 +21,7 @@ import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/like")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = Cursors.NEXT_CURSOR_HEADER)
 public class LikeController {
 
     private final ILikeService likeService;
@@ -34,11 +36,21 @@ public class LikeController {
         return new ResponseEntity<>(likeService.getAllByUserId(userId, page), HttpStatus.OK);
     }
 
+    @GetMapping(value = "/public/user/{userId}", params = "after")
+    public ResponseEntity<List<LikePublicDto>> getAllByUserIdAfter(@PathVariable String userId, @RequestParam String after, @RequestParam(defaultValue = Cursors.DEFAULT_SIZE) int size) throws InvalidCursorException {
+        return Cursors.toResponse(likeService.getAllByUserIdAfter(userId, after, size));
+    }
+
     @GetMapping("/public/media/{mediaId}")
     public ResponseEntity<List<LikePublicDto>> getAllByMediaId(@PathVariable Long mediaId, Pageable page) {
         return new ResponseEntity<>(likeService.getAllByMediaId(mediaId, page), HttpStatus.OK);
     }
 
+    @GetMapping(value = "/public/media/{mediaId}", params = "after")
+    public ResponseEntity<List<LikePublicDto>> getAllByMediaIdAfter(@PathVariable Long mediaId, @RequestParam String after, @RequestParam(defaultValue = Cursors.DEFAULT_SIZE) int size) throws InvalidCursorException {
+        return Cursors.toResponse(likeService.getAllByMediaIdAfter(mediaId, after, size));
+    }
+
     @PostMapping("/private")
     public ResponseEntity<LikePublicDto> create(@Valid @RequestBody LikeCreateDto like) throws UserNotFoundException, AlreadyLikedException, MediaNotFoundException {
         return new ResponseEntity<>(likeService.create(like), HttpStatus.CREATED);
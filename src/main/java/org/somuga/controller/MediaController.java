@@ -0,0 +1,33 @@
+package org.somuga.controller;
+
+import org.somuga.service.interfaces.IMediaService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/media")
+@CrossOrigin(origins = "*")
+public class MediaController {
+
+    private final IMediaService mediaService;
+
+    @Autowired
+    public MediaController(IMediaService mediaService) {
+        this.mediaService = mediaService;
+    }
+
+    @PostMapping("/admin/counters/reconcile")
+    public ResponseEntity<Integer> reconcileCounters() {
+        return new ResponseEntity<>(mediaService.reconcileCounters(), HttpStatus.OK);
+    }
+
+    @PostMapping("/admin/rating/recompute")
+    public ResponseEntity<Integer> recomputeRatings() {
+        return new ResponseEntity<>(mediaService.recomputeRatings(), HttpStatus.OK);
+    }
+}
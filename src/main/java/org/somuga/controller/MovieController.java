@@ -3,49 +3,68 @@ package org.somuga.controller;
 import jakarta.validation.Valid;
 import org.somuga.dto.movie.MovieCreateDto;
 import org.somuga.dto.movie.MoviePublicDto;
+import org.somuga.exception.InvalidCursorException;
+import org.somuga.exception.InvalidPageException;
 import org.somuga.exception.InvalidPermissionException;
 import org.somuga.exception.movie.InvalidCrewRoleException;
 import org.somuga.exception.movie.MovieNotFoundException;
 import org.somuga.exception.movie_crew.MovieCrewNotFoundException;
 import org.somuga.service.interfaces.IMovieService;
+import org.somuga.util.http.CachePolicies;
+import org.somuga.util.http.ConditionalGet;
+import org.somuga.util.pagination.Cursors;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/movie")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = {Cursors.NEXT_CURSOR_HEADER, HttpHeaders.ETAG})
 public class MovieController {
 
     private final IMovieService movieService;
+    private final CachePolicies cachePolicies;
 
     @Autowired
-    public MovieController(IMovieService movieService) {
+    public MovieController(IMovieService movieService, CachePolicies cachePolicies) {
         this.movieService = movieService;
+        this.cachePolicies = cachePolicies;
     }
 
     @GetMapping("/public")
-    public ResponseEntity<List<MoviePublicDto>> getAll(Pageable page) {
-        return new ResponseEntity<>(movieService.getAll(page), HttpStatus.OK);
+    public ResponseEntity<List<MoviePublicDto>> getAll(Pageable page, WebRequest request) {
+        return ConditionalGet.toResponse(request, movieService.getAll(page), cachePolicies.media());
+    }
+
+    @GetMapping(value = "/public", params = "after")
+    public ResponseEntity<List<MoviePublicDto>> getAllAfter(@RequestParam String after, @RequestParam(defaultValue = Cursors.DEFAULT_SIZE) int size) throws InvalidCursorException {
+        return Cursors.toResponse(movieService.getAllAfter(after, size));
     }
 
     @GetMapping("/public/search/{title}")
-    public ResponseEntity<List<MoviePublicDto>> searchByTitle(@PathVariable String title, Pageable page) {
-        return new ResponseEntity<>(movieService.searchByTitle(title, page), HttpStatus.OK);
+    public ResponseEntity<List<MoviePublicDto>> searchByTitle(@PathVariable String title, Pageable page, WebRequest request) throws InvalidPageException {
+        return ConditionalGet.toResponse(request, movieService.searchByTitle(title, page), cachePolicies.media());
     }
 
     @GetMapping("/public/crew/{crewId}")
-    public ResponseEntity<List<MoviePublicDto>> getByCrewId(@PathVariable Long crewId, Pageable page) {
-        return new ResponseEntity<>(movieService.getByCrewId(crewId, page), HttpStatus.OK);
+    public ResponseEntity<List<MoviePublicDto>> getByCrewId(@PathVariable Long crewId, Pageable page, WebRequest request) {
+        return ConditionalGet.toResponse(request, movieService.getByCrewId(crewId, page), cachePolicies.media());
+    }
+
+    @GetMapping("/public/top-rated")
+    public ResponseEntity<List<MoviePublicDto>> getTopRated(Pageable page, WebRequest request) {
+        return ConditionalGet.toResponse(request, movieService.getTopRated(page), cachePolicies.media());
     }
 
     @GetMapping("/public/{id}")
-    public ResponseEntity<MoviePublicDto> getById(@PathVariable Long id) throws MovieNotFoundException {
-        return new ResponseEntity<>(movieService.getById(id), HttpStatus.OK);
+    public ResponseEntity<MoviePublicDto> getById(@PathVariable Long id, WebRequest request) throws MovieNotFoundException {
+        return ConditionalGet.toResponse(request, () -> movieService.getRevision(id), () -> movieService.getById(id), cachePolicies.media());
     }
 
     @PostMapping("/private")
@@ -3,43 +3,50 @@ package org.somuga.controller;
 import jakarta.validation.Valid;
 import org.somuga.dto.movie_crew.MovieCrewCreateDto;
 import org.somuga.dto.movie_crew.MovieCrewPublicDto;
+import org.somuga.exception.InvalidPageException;
 import org.somuga.exception.InvalidPermissionException;
 import org.somuga.exception.movie_crew.MovieCrewNotFoundException;
 import org.somuga.service.interfaces.IMovieCrewService;
+import org.somuga.util.http.CachePolicies;
+import org.somuga.util.http.ConditionalGet;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/movie_crew")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = HttpHeaders.ETAG)
 public class MovieCrewController {
 
     private final IMovieCrewService movieCrewService;
+    private final CachePolicies cachePolicies;
 
     @Autowired
-    public MovieCrewController(IMovieCrewService movieCrewService) {
+    public MovieCrewController(IMovieCrewService movieCrewService, CachePolicies cachePolicies) {
         this.movieCrewService = movieCrewService;
+        this.cachePolicies = cachePolicies;
     }
 
 
     @GetMapping("/public")
-    public ResponseEntity<List<MovieCrewPublicDto>> getAll(Pageable page) {
-        return new ResponseEntity<>(movieCrewService.getAll(page), HttpStatus.OK);
+    public ResponseEntity<List<MovieCrewPublicDto>> getAll(Pageable page, WebRequest request) {
+        return ConditionalGet.toResponse(request, movieCrewService.getAll(page), cachePolicies.reference());
     }
 
     @GetMapping("/public/{id}")
-    public ResponseEntity<MovieCrewPublicDto> getById(@PathVariable Long id) throws MovieCrewNotFoundException {
-        return new ResponseEntity<>(movieCrewService.getById(id), HttpStatus.OK);
+    public ResponseEntity<MovieCrewPublicDto> getById(@PathVariable Long id, WebRequest request) throws MovieCrewNotFoundException {
+        return ConditionalGet.toResponse(request, () -> movieCrewService.getRevision(id), () -> movieCrewService.getById(id), cachePolicies.reference());
     }
 
     @GetMapping("/public/search/{name}")
-    public ResponseEntity<List<MovieCrewPublicDto>> getByName(@PathVariable String name, Pageable page) {
-        return new ResponseEntity<>(movieCrewService.getByName(name, page), HttpStatus.OK);
+    public ResponseEntity<List<MovieCrewPublicDto>> getByName(@PathVariable String name, Pageable page, WebRequest request) throws InvalidPageException {
+        return ConditionalGet.toResponse(request, movieCrewService.getByName(name, page), cachePolicies.reference());
     }
 
     @PostMapping("/private")
@@ -6,39 +6,45 @@ import org.somuga.dto.platform.PlatformPublicDto;
 import org.somuga.exception.platform.PlatformAlreadyExistsException;
 import org.somuga.exception.platform.PlatformNotFoundException;
 import org.somuga.service.interfaces.IPlatformService;
+import org.somuga.util.http.CachePolicies;
+import org.somuga.util.http.ConditionalGet;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/platform")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = HttpHeaders.ETAG)
 public class PlatformController {
 
     private final IPlatformService platformService;
+    private final CachePolicies cachePolicies;
 
     @Autowired
-    public PlatformController(IPlatformService platformService) {
+    public PlatformController(IPlatformService platformService, CachePolicies cachePolicies) {
         this.platformService = platformService;
+        this.cachePolicies = cachePolicies;
     }
 
     @GetMapping("/public")
-    public ResponseEntity<List<PlatformPublicDto>> getAll(Pageable page) {
-        return new ResponseEntity<>(platformService.getAll(page), HttpStatus.OK);
+    public ResponseEntity<List<PlatformPublicDto>> getAll(Pageable page, WebRequest request) {
+        return ConditionalGet.toResponse(request, platformService.getAll(page), cachePolicies.reference());
     }
 
     @GetMapping("/public/{id}")
-    public ResponseEntity<PlatformPublicDto> getById(@PathVariable Long id) throws PlatformNotFoundException {
-        return new ResponseEntity<>(platformService.getById(id), HttpStatus.OK);
+    public ResponseEntity<PlatformPublicDto> getById(@PathVariable Long id, WebRequest request) throws PlatformNotFoundException {
+        return ConditionalGet.toResponse(request, () -> platformService.getRevision(id), () -> platformService.getById(id), cachePolicies.reference());
     }
 
     @GetMapping("/public/search/{name}")
-    public ResponseEntity<List<PlatformPublicDto>> searchByName(@PathVariable String name, Pageable page) {
-        return new ResponseEntity<>(platformService.searchByName(name, page), HttpStatus.OK);
+    public ResponseEntity<List<PlatformPublicDto>> searchByName(@PathVariable String name, Pageable page, WebRequest request) {
+        return ConditionalGet.toResponse(request, platformService.searchByName(name, page), cachePolicies.reference());
     }
 
     @PostMapping("/private")
@@ -4,12 +4,14 @@ import jakarta.validation.Valid;
 import org.somuga.dto.review.ReviewCreateDto;
 import org.somuga.dto.review.ReviewPublicDto;
 import org.somuga.dto.review.ReviewUpdateDto;
+import org.somuga.exception.InvalidCursorException;
 import org.somuga.exception.InvalidPermissionException;
 import org.somuga.exception.media.MediaNotFoundException;
 import org.somuga.exception.review.AlreadyReviewedException;
 import org.somuga.exception.review.ReviewNotFoundException;
 import org.somuga.exception.user.UserNotFoundException;
 import org.somuga.service.interfaces.IReviewService;
+import org.somuga.util.pagination.Cursors;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
@@ -20,7 +22,7 @@ import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/review")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = Cursors.NEXT_CURSOR_HEADER)
 public class ReviewController {
 
     private final IReviewService reviewService;
@@ -40,11 +42,21 @@ public class ReviewController {
         return new ResponseEntity<>(reviewService.getAllByUserId(userId, page), HttpStatus.OK);
     }
 
+    @GetMapping(value = "/public/user/{userId}", params = "after")
+    public ResponseEntity<List<ReviewPublicDto>> getAllByUserIdAfter(@PathVariable String userId, @RequestParam String after, @RequestParam(defaultValue = Cursors.DEFAULT_SIZE) int size) throws InvalidCursorException {
+        return Cursors.toResponse(reviewService.getAllByUserIdAfter(userId, after, size));
+    }
+
     @GetMapping("/public/media/{mediaId}")
     public ResponseEntity<List<ReviewPublicDto>> getAllByMediaId(@PathVariable Long mediaId, Pageable page) {
         return new ResponseEntity<>(reviewService.getAllByMediaId(mediaId, page), HttpStatus.OK);
     }
 
+    @GetMapping(value = "/public/media/{mediaId}", params = "after")
+    public ResponseEntity<List<ReviewPublicDto>> getAllByMediaIdAfter(@PathVariable Long mediaId, @RequestParam String after, @RequestParam(defaultValue = Cursors.DEFAULT_SIZE) int size) throws InvalidCursorException {
+        return Cursors.toResponse(reviewService.getAllByMediaIdAfter(mediaId, after, size));
+    }
+
     @PostMapping("/private")
     public ResponseEntity<ReviewPublicDto> create(@Valid @RequestBody ReviewCreateDto review) throws UserNotFoundException, AlreadyReviewedException, MediaNotFoundException {
         return new ResponseEntity<>(reviewService.create(review), HttpStatus.CREATED);
@@ -0,0 +1,52 @@
+package org.somuga.controller;
+
+import org.somuga.dto.search.AutocompleteDto;
+import org.somuga.dto.search.AutocompleteStatsDto;
+import org.somuga.service.interfaces.IAutocompleteService;
+import org.somuga.service.interfaces.ISearchService;
+import org.somuga.util.http.CachePolicies;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/search")
+@CrossOrigin(origins = "*")
+public class SearchController {
+
+    private final ISearchService searchService;
+    private final IAutocompleteService autocompleteService;
+    private final CachePolicies cachePolicies;
+
+    @Autowired
+    public SearchController(ISearchService searchService, IAutocompleteService autocompleteService, CachePolicies cachePolicies) {
+        this.searchService = searchService;
+        this.autocompleteService = autocompleteService;
+        this.cachePolicies = cachePolicies;
+    }
+
+    @GetMapping("/public/autocomplete")
+    public ResponseEntity<List<AutocompleteDto>> autocomplete(@RequestParam String prefix, @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok()
+                .cacheControl(cachePolicies.media())
+                .body(autocompleteService.suggest(prefix, size));
+    }
+
+    @PostMapping("/admin/rebuild")
+    public ResponseEntity<Long> rebuildIndex() {
+        return new ResponseEntity<>(searchService.rebuildIndex(), HttpStatus.OK);
+    }
+
+    @GetMapping("/admin/autocomplete")
+    public ResponseEntity<AutocompleteStatsDto> getAutocompleteStats() {
+        return new ResponseEntity<>(autocompleteService.stats(), HttpStatus.OK);
+    }
+
+    @PostMapping("/admin/autocomplete/rebuild")
+    public ResponseEntity<AutocompleteStatsDto> rebuildAutocomplete() {
+        return new ResponseEntity<>(autocompleteService.rebuildIndex(), HttpStatus.OK);
+    }
+}
@@ -3,9 +3,11 @@ package org.somuga.controller;
 import jakarta.validation.Valid;
 import org.somuga.dto.user.UserCreateDto;
 import org.somuga.dto.user.UserPublicDto;
+import org.somuga.exception.InvalidCursorException;
 import org.somuga.exception.user.DuplicateFieldException;
 import org.somuga.exception.user.UserNotFoundException;
 import org.somuga.service.interfaces.IUserService;
+import org.somuga.util.pagination.Cursors;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
@@ -17,7 +19,7 @@ import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/user")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = Cursors.NEXT_CURSOR_HEADER)
 public class UserController {
 
     private final IUserService userService;
@@ -32,6 +34,11 @@ public class UserController {
         return new ResponseEntity<>(userService.getAll(page), HttpStatus.OK);
     }
 
+    @GetMapping(value = "/public", params = "after")
+    public ResponseEntity<List<UserPublicDto>> getAllAfter(@RequestParam String after, @RequestParam(defaultValue = Cursors.DEFAULT_SIZE) int size) throws InvalidCursorException {
+        return Cursors.toResponse(userService.getAllAfter(after, size));
+    }
+
     @GetMapping("/public/name/{name}")
     public ResponseEntity<List<UserPublicDto>> getAllByName(Pageable page, @PathVariable String name) {
         return new ResponseEntity<>(userService.getAllByName(page, name), HttpStatus.OK);
@@ -10,8 +10,6 @@ import java.util.Set;
 public class GameConverter {
     public static GamePublicDto fromEntityToPublicDto(Game game) {
         if (game == null) return null;
-        if (game.getReviews() == null) game.setReviews(Set.of());
-        if (game.getLikes() == null) game.setLikes(Set.of());
         if (game.getGenres() == null) game.setGenres(Set.of());
         if (game.getPlatforms() == null) game.setPlatforms(Set.of());
         return new GamePublicDto(
@@ -23,10 +21,11 @@ public class GameConverter {
                 game.getPlatforms().stream().map(PlatformConverter::fromEntityToPublicDto).toList(),
                 game.getPrice(),
                 game.getDescription(),
-                game.getReviews().size(),
-                game.getLikes().size(),
+                game.getReviewCount(),
+                game.getLikeCount(),
                 game.getMediaUrl(),
-                game.getImageUrl()
+                game.getImageUrl(),
+                MediaConverter.fromRatingToPublicDto(game.getReviewCount(), game.getRating())
         );
     }
 
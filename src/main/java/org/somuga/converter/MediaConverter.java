@@ -1,9 +1,11 @@
 package org.somuga.converter;
 
 import org.somuga.dto.media.MediaPublicDto;
+import org.somuga.dto.media.RatingPublicDto;
 import org.somuga.entity.Game;
 import org.somuga.entity.Media;
 import org.somuga.entity.Movie;
+import org.somuga.entity.Rating;
 
 public class MediaConverter {
     public static MediaPublicDto fromMediaEntityToPublicDto(Media media) {
@@ -13,4 +15,14 @@ public class MediaConverter {
             case MOVIE -> MovieConverter.fromEntityToPublicDto((Movie) media);
         };
     }
+
+    public static RatingPublicDto fromRatingToPublicDto(int reviewCount, Rating rating) {
+        if (rating == null) rating = new Rating();
+        return new RatingPublicDto(
+                reviewCount,
+                rating.getAverage(),
+                rating.getSum(),
+                rating.getHistogram()
+        );
+    }
 }
@@ -1,23 +1,22 @@
 package org.somuga.converter;
 
 import org.somuga.dto.crew_role.CrewRolePublicDto;
+import org.somuga.dto.crew_role.MovieCrewRoleListingDto;
 import org.somuga.dto.crew_role.MovieRolePublicDto;
+import org.somuga.dto.media.RatingPublicDto;
 import org.somuga.dto.movie.MovieCreateDto;
+import org.somuga.dto.movie.MovieListingDto;
 import org.somuga.dto.movie.MoviePublicDto;
+import org.somuga.dto.revision.RevisionDto;
 import org.somuga.entity.Movie;
 import org.somuga.entity.MovieCrewRole;
 
-import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 public class MovieConverter {
     public static MoviePublicDto fromEntityToPublicDto(Movie movie) {
-        if (movie.getReviews() == null) {
-            movie.setReviews(new HashSet<>());
-        }
-        if (movie.getLikes() == null) {
-            movie.setLikes(new HashSet<>());
-        }
         return new MoviePublicDto(
                 movie.getId(),
                 movie.getTitle(),
@@ -27,8 +26,9 @@ public class MovieConverter {
                 fromEntityListToMovieRolePublicDtoList(movie.getMovieCrew()),
                 movie.getMediaUrl(),
                 movie.getImageUrl(),
-                movie.getLikes().size(),
-                movie.getReviews().size()
+                movie.getLikeCount(),
+                movie.getReviewCount(),
+                MediaConverter.fromRatingToPublicDto(movie.getReviewCount(), movie.getRating())
         );
     }
 
@@ -38,6 +38,39 @@ public class MovieConverter {
                 .toList();
     }
 
+    public static MoviePublicDto fromListingToPublicDto(MovieListingDto movie, List<MovieRolePublicDto> crew) {
+        return new MoviePublicDto(
+                movie.id(),
+                movie.title(),
+                movie.releaseDate(),
+                movie.description(),
+                movie.duration(),
+                crew,
+                movie.mediaUrl(),
+                movie.imageUrl(),
+                movie.likeCount(),
+                movie.reviewCount(),
+                new RatingPublicDto(movie.reviewCount(), movie.ratingAverage(), movie.ratingSum(), movie.ratingHistogram())
+        );
+    }
+
+    public static RevisionDto fromListingToRevisionDto(MovieListingDto movie) {
+        return new RevisionDto(
+                movie.id(),
+                movie.revision(),
+                movie.updatedAt()
+        );
+    }
+
+    public static List<MoviePublicDto> fromListingListToPublicDtoList(List<MovieListingDto> movies, List<MovieCrewRoleListingDto> crew) {
+        Map<Long, List<MovieRolePublicDto>> crewByMovie = crew.stream()
+                .collect(Collectors.groupingBy(MovieCrewRoleListingDto::movieId,
+                        Collectors.mapping(MovieConverter::fromListingToMovieRolePublicDto, Collectors.toList())));
+        return movies.stream()
+                .map(movie -> fromListingToPublicDto(movie, crewByMovie.getOrDefault(movie.id(), List.of())))
+                .toList();
+    }
+
     public static Movie fromCreateDtoToEntity(MovieCreateDto movieDto) {
         Movie movie = new Movie();
         movie.setTitle(movieDto.title());
@@ -59,6 +92,16 @@ public class MovieConverter {
         );
     }
 
+    public static MovieRolePublicDto fromListingToMovieRolePublicDto(MovieCrewRoleListingDto role) {
+        return new MovieRolePublicDto(
+                role.movieCrewId(),
+                role.fullName(),
+                role.birthDate(),
+                role.movieRole().name(),
+                role.characterName()
+        );
+    }
+
     public static List<MovieRolePublicDto> fromEntityListToMovieRolePublicDtoList(List<MovieCrewRole> roles) {
         return roles.stream()
                 .map(MovieConverter::fromEntityToMovieRolePublicDto)
@@ -0,0 +1,30 @@
+package org.somuga.converter;
+
+import org.somuga.dto.revision.RevisionDto;
+import org.somuga.dto.revision.VersionedDto;
+import org.somuga.entity.RevisionedEntity;
+
+import java.util.List;
+import java.util.function.Function;
+
+public class RevisionConverter {
+
+    public static RevisionDto fromEntityToRevisionDto(RevisionedEntity entity) {
+        return new RevisionDto(
+                entity.getId(),
+                entity.getRevision(),
+                entity.getUpdatedAt()
+        );
+    }
+
+    public static <E extends RevisionedEntity, D> VersionedDto<D> fromEntityToVersionedDto(E entity, Function<E, D> converter) {
+        return new VersionedDto<>(List.of(fromEntityToRevisionDto(entity)), () -> converter.apply(entity));
+    }
+
+    public static <E extends RevisionedEntity, D> VersionedDto<List<D>> fromEntityListToVersionedDto(List<E> entities, Function<List<E>, List<D>> converter) {
+        List<RevisionDto> revisions = entities.stream()
+                .map(RevisionConverter::fromEntityToRevisionDto)
+                .toList();
+        return new VersionedDto<>(revisions, () -> converter.apply(entities));
+    }
+}
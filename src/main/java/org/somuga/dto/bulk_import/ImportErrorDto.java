@@ -0,0 +1,7 @@
+package org.somuga.dto.bulk_import;
+
+public record ImportErrorDto(
+        int line,
+        String message
+) {
+}
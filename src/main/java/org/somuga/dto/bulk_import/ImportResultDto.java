@@ -0,0 +1,10 @@
+package org.somuga.dto.bulk_import;
+
+import java.util.List;
+
+public record ImportResultDto(
+        int received,
+        int imported,
+        List<ImportErrorDto> errors
+) {
+}
@@ -0,0 +1,10 @@
+package org.somuga.dto.cache;
+
+public record CacheStatsDto(
+        String name,
+        int size,
+        int maxSize,
+        long hits,
+        long misses
+) {
+}
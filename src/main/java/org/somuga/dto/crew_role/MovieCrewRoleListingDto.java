@@ -0,0 +1,15 @@
+package org.somuga.dto.crew_role;
+
+import org.somuga.enums.MovieRole;
+
+import java.util.Date;
+
+public record MovieCrewRoleListingDto(
+        Long movieId,
+        Long movieCrewId,
+        String fullName,
+        Date birthDate,
+        MovieRole movieRole,
+        String characterName
+) {
+}
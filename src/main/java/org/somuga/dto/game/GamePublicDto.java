@@ -3,6 +3,7 @@ package org.somuga.dto.game;
 import org.somuga.dto.developer.DeveloperPublicDto;
 import org.somuga.dto.game_genre.GameGenrePublicDto;
 import org.somuga.dto.media.MediaPublicDto;
+import org.somuga.dto.media.RatingPublicDto;
 import org.somuga.dto.platform.PlatformPublicDto;
 
 import java.util.Date;
@@ -20,6 +21,7 @@ public record GamePublicDto(
         int reviews,
         int likes,
         String mediaUrl,
-        String imageUrl
+        String imageUrl,
+        RatingPublicDto rating
 ) implements MediaPublicDto {
 }
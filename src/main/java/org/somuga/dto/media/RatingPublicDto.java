@@ -0,0 +1,11 @@
+package org.somuga.dto.media;
+
+import java.util.List;
+
+public record RatingPublicDto(
+        int count,
+        double average,
+        long sum,
+        List<Integer> histogram
+) {
+}
@@ -0,0 +1,39 @@
+package org.somuga.dto.movie;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Columns of a movie selected by the listing queries, mapped to {@link MoviePublicDto} in
+ * {@link org.somuga.converter.MovieConverter}. The rating histogram holds the review count per score, index 0 holding
+ * score 1.
+ */
+public record MovieListingDto(
+        Long id,
+        String title,
+        Date releaseDate,
+        String description,
+        Integer duration,
+        String mediaUrl,
+        String imageUrl,
+        int likeCount,
+        int reviewCount,
+        long ratingSum,
+        double ratingAverage,
+        List<Integer> ratingHistogram,
+        long revision,
+        Date updatedAt
+) {
+
+    /**
+     * Constructor used by the listing queries, which select the rating columns one by one.
+     */
+    public MovieListingDto(Long id, String title, Date releaseDate, String description, Integer duration, String mediaUrl,
+                           String imageUrl, int likeCount, int reviewCount, long ratingSum, double ratingAverage,
+                           int score1, int score2, int score3, int score4, int score5, int score6, int score7,
+                           int score8, int score9, int score10, long revision, Date updatedAt) {
+        this(id, title, releaseDate, description, duration, mediaUrl, imageUrl, likeCount, reviewCount, ratingSum,
+                ratingAverage, List.of(score1, score2, score3, score4, score5, score6, score7, score8, score9, score10),
+                revision, updatedAt);
+    }
+}
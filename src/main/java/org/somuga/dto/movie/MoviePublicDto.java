@@ -2,6 +2,7 @@ package org.somuga.dto.movie;
 
 import org.somuga.dto.crew_role.MovieRolePublicDto;
 import org.somuga.dto.media.MediaPublicDto;
+import org.somuga.dto.media.RatingPublicDto;
 
 import java.util.Date;
 import java.util.List;
@@ -16,6 +17,7 @@ public record MoviePublicDto(
         String mediaUrl,
         String imageUrl,
         int likes,
-        int reviews
+        int reviews,
+        RatingPublicDto rating
 ) implements MediaPublicDto {
 }
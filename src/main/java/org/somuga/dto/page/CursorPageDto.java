@@ -0,0 +1,9 @@
+package org.somuga.dto.page;
+
+import java.util.List;
+
+public record CursorPageDto<T>(
+        List<T> content,
+        String nextCursor
+) {
+}
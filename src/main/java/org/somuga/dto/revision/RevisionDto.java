@@ -0,0 +1,10 @@
+package org.somuga.dto.revision;
+
+import java.util.Date;
+
+public record RevisionDto(
+        Long id,
+        long revision,
+        Date updatedAt
+) {
+}
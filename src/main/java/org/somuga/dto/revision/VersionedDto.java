@@ -0,0 +1,14 @@
+package org.somuga.dto.revision;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Revisions of the rows a response is built from, with the response itself converted only when asked for, so a
+ * client that already holds it costs no conversion.
+ */
+public record VersionedDto<T>(
+        List<RevisionDto> revisions,
+        Supplier<T> content
+) {
+}
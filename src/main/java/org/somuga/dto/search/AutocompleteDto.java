@@ -0,0 +1,10 @@
+package org.somuga.dto.search;
+
+import org.somuga.util.search.AutocompleteIndex;
+
+public record AutocompleteDto(
+        AutocompleteIndex.Kind kind,
+        String id,
+        String name
+) {
+}
@@ -0,0 +1,11 @@
+package org.somuga.dto.search;
+
+public record AutocompleteEntryDto(
+        String id,
+        String name,
+        long weight
+) {
+    public AutocompleteEntryDto(Long id, String name, long weight) {
+        this(String.valueOf(id), name, weight);
+    }
+}
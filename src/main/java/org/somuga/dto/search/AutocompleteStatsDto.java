@@ -0,0 +1,12 @@
+package org.somuga.dto.search;
+
+/**
+ * @param bytesPerMillionEntries memory of the index scaled to a million entries, 0 while it is empty
+ */
+public record AutocompleteStatsDto(
+        int items,
+        int entries,
+        long bytes,
+        long bytesPerMillionEntries
+) {
+}
@@ -0,0 +1,11 @@
+package org.somuga.dto.search;
+
+public record SearchEntryDto(
+        Long id,
+        String title,
+        String description
+) {
+    public SearchEntryDto(Long id, String title) {
+        this(id, title, null);
+    }
+}
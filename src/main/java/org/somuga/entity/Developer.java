@@ -1,12 +1,23 @@
 package org.somuga.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.somuga.util.cache.ReferenceNameCacheListener;
+import org.somuga.util.search.AutocompleteListener;
+import org.somuga.util.search.SearchIndexListener;
 
 import java.util.List;
 
 @Entity
-@Table(name = "developers")
-public class Developer {
+@EntityListeners({ReferenceNameCacheListener.class, SearchIndexListener.class, AutocompleteListener.class})
+@Table(name = "developers", indexes = @Index(name = "idx_developers_updated_at", columnList = "updated_at"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Developer.CACHE_REGION)
+public class Developer extends RevisionedEntity {
+
+    public static final String CACHE_REGION = "developers";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
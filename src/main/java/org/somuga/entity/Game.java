@@ -1,20 +1,36 @@
 package org.somuga.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.somuga.util.search.AutocompleteListener;
+import org.somuga.util.search.SearchIndexListener;
 
 import java.util.Set;
 
 @Entity
+@EntityListeners({SearchIndexListener.class, AutocompleteListener.class})
 @Table(name = "games")
+@NamedEntityGraph(name = Game.LISTING_GRAPH, attributeNodes = @NamedAttributeNode("developer"))
 public class Game extends Media {
 
+    public static final String LISTING_GRAPH = "Game.listing";
+    public static final String GENRES_CACHE_REGION = "game.genres";
+    public static final String PLATFORMS_CACHE_REGION = "game.platforms";
+    private static final int COLLECTION_BATCH_SIZE = 100;
+
     @Column(name = "price", nullable = false, columnDefinition = "DECIMAL(10,2)")
     private Double price;
     @ManyToOne
     private Developer developer;
     @ManyToMany(cascade = CascadeType.ALL, mappedBy = "games")
+    @BatchSize(size = COLLECTION_BATCH_SIZE)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = GENRES_CACHE_REGION)
     private Set<GameGenre> genres;
     @ManyToMany(cascade = CascadeType.ALL, mappedBy = "games")
+    @BatchSize(size = COLLECTION_BATCH_SIZE)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = PLATFORMS_CACHE_REGION)
     private Set<Platform> platforms;
 
     public Set<Platform> getPlatforms() {
@@ -1,13 +1,22 @@
 package org.somuga.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.somuga.util.cache.ReferenceNameCacheListener;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@EntityListeners(ReferenceNameCacheListener.class)
 @Table(name = "game_genres")
-public class GameGenre {
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = GameGenre.CACHE_REGION)
+public class GameGenre extends RevisionedEntity {
+
+    public static final String CACHE_REGION = "game-genres";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -1,24 +1,23 @@
 package org.somuga.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.GenericGenerator;
 import org.somuga.enums.MediaType;
+import org.somuga.util.id_generator.MediaIdGenerator;
 
 import java.util.Date;
 import java.util.Set;
 
 @Entity
-@Table(name = "media")
+@Table(name = "media", indexes = {
+        @Index(name = "idx_media_rating_average", columnList = "rating_average"),
+        @Index(name = "idx_media_updated_at", columnList = "updated_at")})
 @Inheritance(strategy = InheritanceType.JOINED)
-public abstract class Media {
+public abstract class Media extends RevisionedEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.TABLE, generator = "media_id_generator")
-    @TableGenerator(name = "media_id_generator",
-            table = "id_gen",
-            pkColumnName = "gen_name",
-            valueColumnName = "gen_val",
-            pkColumnValue = "media_id",
-            initialValue = 1,
-            allocationSize = 1)
+    @GeneratedValue(generator = "media_id_generator")
+    @GenericGenerator(name = "media_id_generator", type = MediaIdGenerator.class)
     private Long id;
     @Enumerated(EnumType.STRING)
     private MediaType mediaType;
@@ -41,6 +40,18 @@ public abstract class Media {
             cascade = CascadeType.ALL,
             orphanRemoval = true)
     private Set<Review> reviews;
+    /*
+     * Rows that predate the counters get -1 when the column is added, which marks them for the backfill in
+     * MediaService; new rows are always inserted with 0.
+     */
+    @Column(name = "like_count", nullable = false, updatable = false)
+    @ColumnDefault("-1")
+    private int likeCount;
+    @Column(name = "review_count", nullable = false, updatable = false)
+    @ColumnDefault("-1")
+    private int reviewCount;
+    @Embedded
+    private Rating rating = new Rating();
 
     public Long getId() {
         return id;
@@ -121,4 +132,28 @@ public abstract class Media {
     public void setMediaCreatorId(String mediaCreatorId) {
         this.mediaCreatorId = mediaCreatorId;
     }
+
+    public int getLikeCount() {
+        return likeCount;
+    }
+
+    public void setLikeCount(int likeCount) {
+        this.likeCount = likeCount;
+    }
+
+    public int getReviewCount() {
+        return reviewCount;
+    }
+
+    public void setReviewCount(int reviewCount) {
+        this.reviewCount = reviewCount;
+    }
+
+    public Rating getRating() {
+        return rating;
+    }
+
+    public void setRating(Rating rating) {
+        this.rating = rating;
+    }
 }
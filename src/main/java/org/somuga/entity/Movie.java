@@ -1,22 +1,30 @@
 package org.somuga.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 import org.somuga.enums.MovieRole;
+import org.somuga.util.search.AutocompleteListener;
+import org.somuga.util.search.SearchIndexListener;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
 @Entity(name = "Movie")
+@EntityListeners({SearchIndexListener.class, AutocompleteListener.class})
 @Table(name = "movies")
 public class Movie extends Media {
 
+    private static final int COLLECTION_BATCH_SIZE = 100;
+
     @Column(name = "duration")
     private Integer duration;
 
     @OneToMany(mappedBy = "movie",
             cascade = CascadeType.ALL,
             orphanRemoval = true)
+    @BatchSize(size = COLLECTION_BATCH_SIZE)
+    @OrderBy("id.movieCrewId")
     private List<MovieCrewRole> movieCrew = new ArrayList<>();
 
     public List<MovieCrewRole> getMovieCrew() {
@@ -1,6 +1,11 @@
 package org.somuga.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.somuga.util.search.AutocompleteListener;
+import org.somuga.util.search.SearchIndexListener;
 
 import java.util.ArrayList;
 import java.util.Date;
@@ -8,8 +13,14 @@ import java.util.List;
 import java.util.Objects;
 
 @Entity(name = "MovieCrew")
-@Table(name = "movie_crew")
-public class MovieCrew {
+@EntityListeners({SearchIndexListener.class, AutocompleteListener.class})
+@Table(name = "movie_crew", indexes = @Index(name = "idx_movie_crew_updated_at", columnList = "updated_at"))
+@BatchSize(size = 100)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = MovieCrew.CACHE_REGION)
+public class MovieCrew extends RevisionedEntity {
+
+    public static final String CACHE_REGION = "movie-crew";
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -1,13 +1,22 @@
 package org.somuga.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.somuga.util.cache.ReferenceNameCacheListener;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@EntityListeners(ReferenceNameCacheListener.class)
 @Table(name = "platforms")
-public class Platform {
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Platform.CACHE_REGION)
+public class Platform extends RevisionedEntity {
+
+    public static final String CACHE_REGION = "platforms";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
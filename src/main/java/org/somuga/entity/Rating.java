@@ -0,0 +1,94 @@
+package org.somuga.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.util.List;
+
+/**
+ * Aggregate of the review scores of a media. The number of reviews is {@link Media#getReviewCount()}.
+ * Like the counters, the columns are only written through single UPDATE statements in
+ * {@link org.somuga.repository.MediaRepository}.
+ */
+@Embeddable
+public class Rating {
+
+    public static final int MIN_SCORE = 1;
+    public static final int MAX_SCORE = 10;
+
+    /*
+     * Scores start at 1, so a negative sum never occurs in practice. Rows that predate the rating get -1 when the
+     * column is added, which marks them for the backfill in MediaService.
+     */
+    @Column(name = "rating_sum", nullable = false, updatable = false)
+    @ColumnDefault("-1")
+    private long sum;
+    @Column(name = "rating_average", nullable = false, updatable = false)
+    private double average;
+    @Column(name = "rating_1", nullable = false, updatable = false)
+    private int score1;
+    @Column(name = "rating_2", nullable = false, updatable = false)
+    private int score2;
+    @Column(name = "rating_3", nullable = false, updatable = false)
+    private int score3;
+    @Column(name = "rating_4", nullable = false, updatable = false)
+    private int score4;
+    @Column(name = "rating_5", nullable = false, updatable = false)
+    private int score5;
+    @Column(name = "rating_6", nullable = false, updatable = false)
+    private int score6;
+    @Column(name = "rating_7", nullable = false, updatable = false)
+    private int score7;
+    @Column(name = "rating_8", nullable = false, updatable = false)
+    private int score8;
+    @Column(name = "rating_9", nullable = false, updatable = false)
+    private int score9;
+    @Column(name = "rating_10", nullable = false, updatable = false)
+    private int score10;
+
+    public Rating() {
+    }
+
+    public long getSum() {
+        return sum;
+    }
+
+    public double getAverage() {
+        return average;
+    }
+
+    /**
+     * Number of reviews per score, index 0 holding score {@value #MIN_SCORE}.
+     */
+    public List<Integer> getHistogram() {
+        return List.of(score1, score2, score3, score4, score5, score6, score7, score8, score9, score10);
+    }
+
+    /**
+     * Mirrors on this instance a change already applied to the database. A score of 0 means none.
+     */
+    public void apply(int removedScore, int addedScore, int reviewCount) {
+        sum += addedScore - removedScore;
+        average = reviewCount > 0 ? (double) sum / reviewCount : 0;
+        addToScore(removedScore, -1);
+        addToScore(addedScore, 1);
+    }
+
+    private void addToScore(int score, int delta) {
+        switch (score) {
+            case 1 -> score1 += delta;
+            case 2 -> score2 += delta;
+            case 3 -> score3 += delta;
+            case 4 -> score4 += delta;
+            case 5 -> score5 += delta;
+            case 6 -> score6 += delta;
+            case 7 -> score7 += delta;
+            case 8 -> score8 += delta;
+            case 9 -> score9 += delta;
+            case 10 -> score10 += delta;
+            default -> {
+            }
+        }
+    }
+}
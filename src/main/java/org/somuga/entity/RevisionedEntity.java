@@ -0,0 +1,48 @@
+package org.somuga.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+
+import java.util.Date;
+
+/**
+ * A row whose public representation is served with HTTP validators. The revision goes up with every write of the
+ * row, and with every write elsewhere that changes how the row is shown, such as a renamed developer of a game.
+ * <p>
+ * Unlike a JPA version it is never checked on update, so bumping it cannot fail a concurrent write.
+ */
+@MappedSuperclass
+public abstract class RevisionedEntity {
+
+    @Column(name = "revision", nullable = false)
+    private long revision;
+    @Column(name = "updated_at")
+    private Date updatedAt;
+
+    public abstract Long getId();
+
+    public long getRevision() {
+        return revision;
+    }
+
+    public Date getUpdatedAt() {
+        return updatedAt;
+    }
+
+    /**
+     * Marks a change the columns of this row do not show, such as new platforms or crew, so the row is written with
+     * a new revision on flush.
+     */
+    public void touch() {
+        revision++;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void nextRevision() {
+        revision++;
+        updatedAt = new Date();
+    }
+}
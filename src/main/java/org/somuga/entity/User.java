@@ -1,11 +1,13 @@
 package org.somuga.entity;
 
 import jakarta.persistence.*;
+import org.somuga.util.search.AutocompleteListener;
 
 import java.util.Date;
 import java.util.Set;
 
 @Entity
+@EntityListeners(AutocompleteListener.class)
 @Table(name = "users")
 public class User {
 
@@ -0,0 +1,7 @@
+package org.somuga.exception;
+
+public class InvalidCursorException extends SomugaException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package org.somuga.exception;
+
+public class InvalidPageException extends SomugaException {
+    public InvalidPageException(String message) {
+        super(message);
+    }
+}
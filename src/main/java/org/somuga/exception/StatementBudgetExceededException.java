@@ -0,0 +1,13 @@
+package org.somuga.exception;
+
+import static org.somuga.util.message.Messages.STATEMENT_BUDGET_EXCEEDED;
+
+/**
+ * Thrown from inside Hibernate when a request prepares more statements than its budget allows, so unlike the
+ * other exceptions of the API it is unchecked.
+ */
+public class StatementBudgetExceededException extends RuntimeException {
+    public StatementBudgetExceededException(int budget) {
+        super(STATEMENT_BUDGET_EXCEEDED + budget);
+    }
+}
@@ -1,17 +1,46 @@
 package org.somuga.repository;
 
+import jakarta.persistence.QueryHint;
+import org.somuga.dto.search.AutocompleteEntryDto;
+import org.somuga.dto.search.SearchEntryDto;
 import org.somuga.entity.Developer;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-@Repository
-public interface DeveloperRepository extends JpaRepository<Developer, Long> {
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.somuga.util.export.NdjsonWriter.EXPORT_FETCH_SIZE;
 
-    Page<Developer> findByDeveloperNameContainingIgnoreCase(String developerName, Pageable page);
+@Repository
+public interface DeveloperRepository extends RevisionedRepository<Developer> {
 
     Optional<Developer> findByDeveloperNameIgnoreCase(String developerName);
+
+    @Query("SELECT d.id FROM Developer d WHERE LOWER(d.developerName) = LOWER(?1)")
+    Optional<Long> findIdByDeveloperNameIgnoreCase(String developerName);
+
+    @Query("SELECT d FROM Developer d WHERE LOWER(d.developerName) IN ?1")
+    List<Developer> findByLowerCaseDeveloperNameIn(Collection<String> developerNames);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("SELECT new org.somuga.dto.search.SearchEntryDto(d.id, d.developerName) FROM Developer d")
+    Stream<SearchEntryDto> streamSearchEntries();
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("SELECT new org.somuga.dto.search.SearchEntryDto(d.id, d.developerName) FROM Developer d WHERE d.updatedAt >= ?1")
+    Stream<SearchEntryDto> streamSearchEntriesUpdatedSince(Date since);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("""
+            SELECT new org.somuga.dto.search.AutocompleteEntryDto(d.id, d.developerName, COUNT(g))
+            FROM Developer d
+            LEFT JOIN Game g ON g.developer = d
+            GROUP BY d.id, d.developerName""")
+    Stream<AutocompleteEntryDto> streamAutocompleteEntries();
 }
@@ -3,15 +3,23 @@ package org.somuga.repository;
 import org.somuga.entity.GameGenre;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface GameGenreRepository extends JpaRepository<GameGenre, Long> {
+public interface GameGenreRepository extends RevisionedRepository<GameGenre> {
     Page<GameGenre> findByGenreContainingIgnoreCase(String genre, Pageable page);
 
     Optional<GameGenre> findByGenreIgnoreCase(String genre);
 
+    @Query("SELECT g.id FROM GameGenre g WHERE LOWER(g.genre) = LOWER(?1)")
+    Optional<Long> findIdByGenreIgnoreCase(String genre);
+
+    @Query("SELECT g FROM GameGenre g WHERE LOWER(g.genre) IN ?1")
+    List<GameGenre> findByLowerCaseGenreIn(Collection<String> genres);
+
 }
@@ -1,36 +1,88 @@
 package org.somuga.repository;
 
+import jakarta.persistence.QueryHint;
+import org.somuga.dto.search.AutocompleteEntryDto;
+import org.somuga.dto.search.SearchEntryDto;
 import org.somuga.entity.Game;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+import static org.somuga.util.export.NdjsonWriter.EXPORT_FETCH_SIZE;
+
 @Repository
 public interface GameRepository extends MediaBaseRepository<Game> {
 
-    @Query(value = """
-            SELECT * FROM games g
-            INNER JOIN media m ON g.id = m.id
-            INNER JOIN platforms_games pg ON g.id = pg.games_id
-            INNER JOIN platforms p ON p.id = pg.platforms_id
-            WHERE p.platform_name = ?1""", nativeQuery = true)
-    Page<Game> findByPlatform(String platform, Pageable page);
+    @Override
+    @EntityGraph(Game.LISTING_GRAPH)
+    Page<Game> findAll(Pageable page);
 
+    @EntityGraph(Game.LISTING_GRAPH)
     @Query(value = """
-            SELECT * FROM games g
-            INNER JOIN media m ON g.id = m.id
-            INNER JOIN game_genres_games gg ON g.id = gg.games_id
-            INNER JOIN game_genres ge ON ge.id = gg.genres_id
-            WHERE ge.genre = ?1""", nativeQuery = true)
-    Page<Game> findByGenre(String genre, Pageable page);
+            SELECT g FROM Game g
+            JOIN g.platforms p
+            WHERE p.id = ?1""",
+            countQuery = """
+                    SELECT COUNT(g) FROM Game g
+                    JOIN g.platforms p
+                    WHERE p.id = ?1""")
+    Page<Game> findByPlatformId(Long platformId, Pageable page);
 
+    @EntityGraph(Game.LISTING_GRAPH)
     @Query(value = """
-            SELECT * FROM games g
-            INNER JOIN media m ON g.id = m.id
-            INNER JOIN developers d ON d.id = g.developer_id
-            WHERE d.developer_name = ?1""", nativeQuery = true)
-    Page<Game> findByDeveloper(String developer, Pageable page);
+            SELECT g FROM Game g
+            JOIN g.genres ge
+            WHERE ge.id = ?1""",
+            countQuery = """
+                    SELECT COUNT(g) FROM Game g
+                    JOIN g.genres ge
+                    WHERE ge.id = ?1""")
+    Page<Game> findByGenreId(Long genreId, Pageable page);
+
+    @EntityGraph(Game.LISTING_GRAPH)
+    Page<Game> findByDeveloperId(Long developerId, Pageable page);
+
+    @EntityGraph(Game.LISTING_GRAPH)
+    List<Game> findByIdIn(Collection<Long> ids);
+
+    @EntityGraph(Game.LISTING_GRAPH)
+    Slice<Game> findByIdGreaterThanOrderByIdAsc(Long id, Pageable page);
+
+    @EntityGraph(Game.LISTING_GRAPH)
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT g FROM Game g ORDER BY g.id")
+    Stream<Game> streamAll();
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("SELECT new org.somuga.dto.search.SearchEntryDto(g.id, g.title, g.description) FROM Game g")
+    Stream<SearchEntryDto> streamSearchEntries();
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("SELECT new org.somuga.dto.search.SearchEntryDto(g.id, g.title, g.description) FROM Game g WHERE g.updatedAt >= ?1")
+    Stream<SearchEntryDto> streamSearchEntriesUpdatedSince(Date since);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("SELECT new org.somuga.dto.search.AutocompleteEntryDto(g.id, g.title, CAST(g.likeCount + g.reviewCount AS Long)) FROM Game g")
+    Stream<AutocompleteEntryDto> streamAutocompleteEntries();
 
-    Page<Game> findByTitleContainingIgnoreCase(String title, Pageable page);
+    /**
+     * Moves the revision of every game of a developer, whose name the games show.
+     */
+    @Modifying
+    @Query("""
+            UPDATE Media m SET m.revision = m.revision + 1, m.updatedAt = CURRENT_TIMESTAMP
+            WHERE m.id IN (SELECT g.id FROM Game g WHERE g.developer.id = ?1)""")
+    int touchByDeveloperId(Long developerId);
 }
@@ -1,12 +1,22 @@
 package org.somuga.repository;
 
+import jakarta.persistence.QueryHint;
 import org.somuga.entity.Like;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+import static org.somuga.util.export.NdjsonWriter.EXPORT_FETCH_SIZE;
 
 @Repository
 public interface LikeRepository extends JpaRepository<Like, Long> {
@@ -14,5 +24,14 @@ public interface LikeRepository extends JpaRepository<Like, Long> {
 
     Page<Like> findByMediaId(Long mediaId, Pageable page);
 
+    Slice<Like> findByUserIdAndIdGreaterThanOrderByIdAsc(String userId, Long id, Pageable page);
+
+    Slice<Like> findByMediaIdAndIdGreaterThanOrderByIdAsc(Long mediaId, Long id, Pageable page);
+
     Optional<Like> findByMediaIdAndUserId(Long mediaId, String userId);
+
+    @EntityGraph(attributePaths = {"user", "media"})
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT l FROM org.somuga.entity.Like l ORDER BY l.id")
+    Stream<Like> streamAll();
 }
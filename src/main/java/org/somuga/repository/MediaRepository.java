@@ -0,0 +1,89 @@
+package org.somuga.repository;
+
+import org.somuga.entity.Media;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface MediaRepository extends MediaBaseRepository<Media> {
+
+    @Modifying
+    @Query("UPDATE Media m SET m.likeCount = m.likeCount + ?2, m.revision = m.revision + 1, m.updatedAt = CURRENT_TIMESTAMP WHERE m.id = ?1 AND m.likeCount + ?2 >= 0")
+    void addToLikeCount(Long mediaId, int delta);
+
+    /**
+     * Moves one review from {@code removedScore} to {@code addedScore}, where 0 stands for no review, and
+     * updates the review count by {@code countDelta}. The average is assigned first so that it is computed
+     * from the previous values on every database, MySQL included, which evaluates assignments in order.
+     */
+    @Modifying
+    @Query("""
+            UPDATE Media m SET
+                m.rating.average = CASE WHEN m.reviewCount + ?4 > 0
+                    THEN (m.rating.sum + ?3 - ?2) * 1.0 / (m.reviewCount + ?4) ELSE 0 END,
+                m.reviewCount = m.reviewCount + ?4,
+                m.rating.sum = m.rating.sum + ?3 - ?2,
+                m.rating.score1 = m.rating.score1 + CASE WHEN ?3 = 1 THEN 1 ELSE 0 END - CASE WHEN ?2 = 1 THEN 1 ELSE 0 END,
+                m.rating.score2 = m.rating.score2 + CASE WHEN ?3 = 2 THEN 1 ELSE 0 END - CASE WHEN ?2 = 2 THEN 1 ELSE 0 END,
+                m.rating.score3 = m.rating.score3 + CASE WHEN ?3 = 3 THEN 1 ELSE 0 END - CASE WHEN ?2 = 3 THEN 1 ELSE 0 END,
+                m.rating.score4 = m.rating.score4 + CASE WHEN ?3 = 4 THEN 1 ELSE 0 END - CASE WHEN ?2 = 4 THEN 1 ELSE 0 END,
+                m.rating.score5 = m.rating.score5 + CASE WHEN ?3 = 5 THEN 1 ELSE 0 END - CASE WHEN ?2 = 5 THEN 1 ELSE 0 END,
+                m.rating.score6 = m.rating.score6 + CASE WHEN ?3 = 6 THEN 1 ELSE 0 END - CASE WHEN ?2 = 6 THEN 1 ELSE 0 END,
+                m.rating.score7 = m.rating.score7 + CASE WHEN ?3 = 7 THEN 1 ELSE 0 END - CASE WHEN ?2 = 7 THEN 1 ELSE 0 END,
+                m.rating.score8 = m.rating.score8 + CASE WHEN ?3 = 8 THEN 1 ELSE 0 END - CASE WHEN ?2 = 8 THEN 1 ELSE 0 END,
+                m.rating.score9 = m.rating.score9 + CASE WHEN ?3 = 9 THEN 1 ELSE 0 END - CASE WHEN ?2 = 9 THEN 1 ELSE 0 END,
+                m.rating.score10 = m.rating.score10 + CASE WHEN ?3 = 10 THEN 1 ELSE 0 END - CASE WHEN ?2 = 10 THEN 1 ELSE 0 END,
+                m.revision = m.revision + 1,
+                m.updatedAt = CURRENT_TIMESTAMP
+            WHERE m.id = ?1 AND m.reviewCount + ?4 >= 0""")
+    void applyReviewScore(Long mediaId, int removedScore, int addedScore, int countDelta);
+
+    boolean existsByLikeCountLessThanOrReviewCountLessThan(int likeCount, int reviewCount);
+
+    boolean existsByRatingSumLessThan(long sum);
+
+    @Modifying
+    @Query("""
+            UPDATE Media m SET m.likeCount = (SELECT COUNT(l) FROM org.somuga.entity.Like l WHERE l.media.id = m.id),
+                m.revision = m.revision + 1, m.updatedAt = CURRENT_TIMESTAMP
+            WHERE m.likeCount <> (SELECT COUNT(l) FROM org.somuga.entity.Like l WHERE l.media.id = m.id)""")
+    int reconcileLikeCounts();
+
+    @Modifying
+    @Query("""
+            UPDATE Media m SET m.reviewCount = (SELECT COUNT(r) FROM Review r WHERE r.media.id = m.id),
+                m.revision = m.revision + 1, m.updatedAt = CURRENT_TIMESTAMP
+            WHERE m.reviewCount <> (SELECT COUNT(r) FROM Review r WHERE r.media.id = m.id)""")
+    int reconcileReviewCounts();
+
+    @Modifying
+    @Query("""
+            UPDATE Media m SET
+                m.rating.average = COALESCE((SELECT AVG(r.reviewScore) FROM Review r WHERE r.media.id = m.id), 0),
+                m.rating.sum = COALESCE((SELECT SUM(r.reviewScore) FROM Review r WHERE r.media.id = m.id), 0),
+                m.rating.score1 = (SELECT COUNT(r) FROM Review r WHERE r.media.id = m.id AND r.reviewScore = 1),
+                m.rating.score2 = (SELECT COUNT(r) FROM Review r WHERE r.media.id = m.id AND r.reviewScore = 2),
+                m.rating.score3 = (SELECT COUNT(r) FROM Review r WHERE r.media.id = m.id AND r.reviewScore = 3),
+                m.rating.score4 = (SELECT COUNT(r) FROM Review r WHERE r.media.id = m.id AND r.reviewScore = 4),
+                m.rating.score5 = (SELECT COUNT(r) FROM Review r WHERE r.media.id = m.id AND r.reviewScore = 5),
+                m.rating.score6 = (SELECT COUNT(r) FROM Review r WHERE r.media.id = m.id AND r.reviewScore = 6),
+                m.rating.score7 = (SELECT COUNT(r) FROM Review r WHERE r.media.id = m.id AND r.reviewScore = 7),
+                m.rating.score8 = (SELECT COUNT(r) FROM Review r WHERE r.media.id = m.id AND r.reviewScore = 8),
+                m.rating.score9 = (SELECT COUNT(r) FROM Review r WHERE r.media.id = m.id AND r.reviewScore = 9),
+                m.rating.score10 = (SELECT COUNT(r) FROM Review r WHERE r.media.id = m.id AND r.reviewScore = 10),
+                m.revision = m.revision + 1,
+                m.updatedAt = CURRENT_TIMESTAMP
+            WHERE m.rating.sum <> COALESCE((SELECT SUM(r.reviewScore) FROM Review r WHERE r.media.id = m.id), 0)
+                OR m.rating.score1 <> (SELECT COUNT(r) FROM Review r WHERE r.media.id = m.id AND r.reviewScore = 1)
+                OR m.rating.score2 <> (SELECT COUNT(r) FROM Review r WHERE r.media.id = m.id AND r.reviewScore = 2)
+                OR m.rating.score3 <> (SELECT COUNT(r) FROM Review r WHERE r.media.id = m.id AND r.reviewScore = 3)
+                OR m.rating.score4 <> (SELECT COUNT(r) FROM Review r WHERE r.media.id = m.id AND r.reviewScore = 4)
+                OR m.rating.score5 <> (SELECT COUNT(r) FROM Review r WHERE r.media.id = m.id AND r.reviewScore = 5)
+                OR m.rating.score6 <> (SELECT COUNT(r) FROM Review r WHERE r.media.id = m.id AND r.reviewScore = 6)
+                OR m.rating.score7 <> (SELECT COUNT(r) FROM Review r WHERE r.media.id = m.id AND r.reviewScore = 7)
+                OR m.rating.score8 <> (SELECT COUNT(r) FROM Review r WHERE r.media.id = m.id AND r.reviewScore = 8)
+                OR m.rating.score9 <> (SELECT COUNT(r) FROM Review r WHERE r.media.id = m.id AND r.reviewScore = 9)
+                OR m.rating.score10 <> (SELECT COUNT(r) FROM Review r WHERE r.media.id = m.id AND r.reviewScore = 10)""")
+    int recomputeRatings();
+}
@@ -1,13 +1,45 @@
 package org.somuga.repository;
 
+import jakarta.persistence.QueryHint;
+import org.somuga.dto.search.AutocompleteEntryDto;
+import org.somuga.dto.search.SearchEntryDto;
 import org.somuga.entity.MovieCrew;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.Date;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.somuga.util.export.NdjsonWriter.EXPORT_FETCH_SIZE;
+
 @Repository
-public interface MovieCrewRepository extends JpaRepository<MovieCrew, Long> {
+public interface MovieCrewRepository extends RevisionedRepository<MovieCrew> {
+
+    @Query("SELECT c.id FROM MovieCrew c WHERE c.id IN ?1")
+    Set<Long> findExistingIds(Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE MovieCrew c SET c.revision = c.revision + 1, c.updatedAt = CURRENT_TIMESTAMP WHERE c.id IN ?1")
+    int touchAllById(Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("SELECT new org.somuga.dto.search.SearchEntryDto(c.id, c.fullName) FROM MovieCrew c")
+    Stream<SearchEntryDto> streamSearchEntries();
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("SELECT new org.somuga.dto.search.SearchEntryDto(c.id, c.fullName) FROM MovieCrew c WHERE c.updatedAt >= ?1")
+    Stream<SearchEntryDto> streamSearchEntriesUpdatedSince(Date since);
 
-    Page<MovieCrew> findByFullNameContainingIgnoreCase(String fullName, Pageable page);
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("""
+            SELECT new org.somuga.dto.search.AutocompleteEntryDto(c.id, c.fullName, COUNT(r))
+            FROM MovieCrew c
+            LEFT JOIN c.roles r
+            GROUP BY c.id, c.fullName""")
+    Stream<AutocompleteEntryDto> streamAutocompleteEntries();
 }
@@ -1,8 +1,22 @@
 package org.somuga.repository;
 
+import org.somuga.dto.crew_role.MovieCrewRoleListingDto;
 import org.somuga.entity.MovieCrewRole;
 import org.somuga.util.id_class.MovieCrewRoleId;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface MovieCrewRoleRepository extends JpaRepository<MovieCrewRole, MovieCrewRoleId> {
+
+    @Query("""
+            SELECT new org.somuga.dto.crew_role.MovieCrewRoleListingDto(r.movie.id, c.id, c.fullName, c.birthDate,
+                r.movieRole, r.characterName)
+            FROM MovieCrewRole r
+            JOIN r.movieCrew c
+            WHERE r.movie.id IN ?1
+            ORDER BY r.movie.id, c.id""")
+    List<MovieCrewRoleListingDto> findListingsByMovieIds(Collection<Long> movieIds);
 }
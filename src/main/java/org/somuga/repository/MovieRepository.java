@@ -1,21 +1,103 @@
 package org.somuga.repository;
 
+import jakarta.persistence.QueryHint;
+import org.somuga.dto.movie.MovieListingDto;
+import org.somuga.dto.search.AutocompleteEntryDto;
+import org.somuga.dto.search.SearchEntryDto;
 import org.somuga.entity.Movie;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.somuga.util.export.NdjsonWriter.EXPORT_FETCH_SIZE;
+
 @Repository
 public interface MovieRepository extends MediaBaseRepository<Movie> {
 
-    Page<Movie> findByTitleContainingIgnoreCase(String title, Pageable page);
+    @Query(value = """
+            SELECT new org.somuga.dto.movie.MovieListingDto(m.id, m.title, m.releaseDate, m.description, m.duration,
+                m.mediaUrl, m.imageUrl, m.likeCount, m.reviewCount, m.rating.sum, m.rating.average,
+                m.rating.score1, m.rating.score2, m.rating.score3, m.rating.score4, m.rating.score5,
+                m.rating.score6, m.rating.score7, m.rating.score8, m.rating.score9, m.rating.score10,
+                m.revision, m.updatedAt)
+            FROM Movie m""",
+            countQuery = "SELECT COUNT(m) FROM Movie m")
+    Page<MovieListingDto> findAllListings(Pageable page);
+
+    @Query("""
+            SELECT new org.somuga.dto.movie.MovieListingDto(m.id, m.title, m.releaseDate, m.description, m.duration,
+                m.mediaUrl, m.imageUrl, m.likeCount, m.reviewCount, m.rating.sum, m.rating.average,
+                m.rating.score1, m.rating.score2, m.rating.score3, m.rating.score4, m.rating.score5,
+                m.rating.score6, m.rating.score7, m.rating.score8, m.rating.score9, m.rating.score10,
+                m.revision, m.updatedAt)
+            FROM Movie m
+            WHERE m.id > ?1
+            ORDER BY m.id""")
+    Slice<MovieListingDto> findListingsAfter(Long id, Pageable page);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("""
+            SELECT new org.somuga.dto.movie.MovieListingDto(m.id, m.title, m.releaseDate, m.description, m.duration,
+                m.mediaUrl, m.imageUrl, m.likeCount, m.reviewCount, m.rating.sum, m.rating.average,
+                m.rating.score1, m.rating.score2, m.rating.score3, m.rating.score4, m.rating.score5,
+                m.rating.score6, m.rating.score7, m.rating.score8, m.rating.score9, m.rating.score10,
+                m.revision, m.updatedAt)
+            FROM Movie m
+            ORDER BY m.id""")
+    Stream<MovieListingDto> streamAllListings();
 
+    @Query("""
+            SELECT new org.somuga.dto.movie.MovieListingDto(m.id, m.title, m.releaseDate, m.description, m.duration,
+                m.mediaUrl, m.imageUrl, m.likeCount, m.reviewCount, m.rating.sum, m.rating.average,
+                m.rating.score1, m.rating.score2, m.rating.score3, m.rating.score4, m.rating.score5,
+                m.rating.score6, m.rating.score7, m.rating.score8, m.rating.score9, m.rating.score10,
+                m.revision, m.updatedAt)
+            FROM Movie m
+            WHERE m.id IN ?1""")
+    List<MovieListingDto> findListingsByIdIn(Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("SELECT new org.somuga.dto.search.SearchEntryDto(m.id, m.title, m.description) FROM Movie m")
+    Stream<SearchEntryDto> streamSearchEntries();
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("SELECT new org.somuga.dto.search.SearchEntryDto(m.id, m.title, m.description) FROM Movie m WHERE m.updatedAt >= ?1")
+    Stream<SearchEntryDto> streamSearchEntriesUpdatedSince(Date since);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("SELECT new org.somuga.dto.search.AutocompleteEntryDto(m.id, m.title, CAST(m.likeCount + m.reviewCount AS Long)) FROM Movie m")
+    Stream<AutocompleteEntryDto> streamAutocompleteEntries();
 
     @Query(value = """
-            SELECT * FROM movies m
-            INNER JOIN media md ON m.id = md.id
-            INNER JOIN movie_crew_role mcr ON m.id = mcr.movie_id
-            WHERE mcr.movie_crew_id = ?1""", nativeQuery = true)
-    Page<Movie> findByCrewId(Long crewId, Pageable page);
+            SELECT new org.somuga.dto.movie.MovieListingDto(m.id, m.title, m.releaseDate, m.description, m.duration,
+                m.mediaUrl, m.imageUrl, m.likeCount, m.reviewCount, m.rating.sum, m.rating.average,
+                m.rating.score1, m.rating.score2, m.rating.score3, m.rating.score4, m.rating.score5,
+                m.rating.score6, m.rating.score7, m.rating.score8, m.rating.score9, m.rating.score10,
+                m.revision, m.updatedAt)
+            FROM Movie m
+            JOIN m.movieCrew r
+            WHERE r.movieCrew.id = ?1""",
+            countQuery = """
+                    SELECT COUNT(r) FROM MovieCrewRole r
+                    WHERE r.movieCrew.id = ?1""")
+    Page<MovieListingDto> findListingsByCrewId(Long crewId, Pageable page);
+
+    /**
+     * Moves the revision of every movie a crew member has a role in, as the movies show their crew.
+     */
+    @Modifying
+    @Query("""
+            UPDATE Media m SET m.revision = m.revision + 1, m.updatedAt = CURRENT_TIMESTAMP
+            WHERE m.id IN (SELECT r.movie.id FROM MovieCrewRole r WHERE r.movieCrew.id = ?1)""")
+    int touchByCrewId(Long crewId);
 }
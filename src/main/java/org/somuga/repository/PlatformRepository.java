@@ -3,15 +3,23 @@ package org.somuga.repository;
 import org.somuga.entity.Platform;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface PlatformRepository extends JpaRepository<Platform, Long> {
+public interface PlatformRepository extends RevisionedRepository<Platform> {
 
     Page<Platform> findByPlatformNameContainingIgnoreCase(String platformName, Pageable page);
 
     Optional<Platform> findByPlatformNameIgnoreCase(String platformName);
+
+    @Query("SELECT p.id FROM Platform p WHERE LOWER(p.platformName) = LOWER(?1)")
+    Optional<Long> findIdByPlatformNameIgnoreCase(String platformName);
+
+    @Query("SELECT p FROM Platform p WHERE LOWER(p.platformName) IN ?1")
+    List<Platform> findByLowerCasePlatformNameIn(Collection<String> platformNames);
 }
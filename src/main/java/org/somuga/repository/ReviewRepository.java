@@ -1,18 +1,41 @@
 package org.somuga.repository;
 
+import jakarta.persistence.QueryHint;
 import org.somuga.entity.Review;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+import static org.somuga.util.export.NdjsonWriter.EXPORT_FETCH_SIZE;
 
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Long> {
+    @EntityGraph(attributePaths = {"user", "media"})
     Page<Review> findByUserId(String userId, Pageable page);
 
+    @EntityGraph(attributePaths = {"user", "media"})
     Page<Review> findByMediaId(Long mediaId, Pageable page);
 
+    @EntityGraph(attributePaths = {"user", "media"})
+    Slice<Review> findByUserIdAndIdGreaterThanOrderByIdAsc(String userId, Long id, Pageable page);
+
+    @EntityGraph(attributePaths = {"user", "media"})
+    Slice<Review> findByMediaIdAndIdGreaterThanOrderByIdAsc(Long mediaId, Long id, Pageable page);
+
     Optional<Review> findByMediaIdAndUserId(Long mediaId, String userId);
+
+    @EntityGraph(attributePaths = {"user", "media"})
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT r FROM Review r ORDER BY r.id")
+    Stream<Review> streamAll();
 }
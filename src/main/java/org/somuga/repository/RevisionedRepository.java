@@ -0,0 +1,20 @@
+package org.somuga.repository;
+
+import org.somuga.dto.revision.RevisionDto;
+import org.somuga.entity.RevisionedEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.NoRepositoryBean;
+
+import java.util.Date;
+import java.util.Optional;
+
+@NoRepositoryBean
+public interface RevisionedRepository<T extends RevisionedEntity> extends JpaRepository<T, Long> {
+
+    @Query("SELECT new org.somuga.dto.revision.RevisionDto(e.id, e.revision, e.updatedAt) FROM #{#entityName} e WHERE e.id = ?1")
+    Optional<RevisionDto> findRevisionById(Long id);
+
+    @Query("SELECT MAX(e.updatedAt) FROM #{#entityName} e")
+    Date findMaxUpdatedAt();
+}
@@ -1,13 +1,22 @@
 package org.somuga.repository;
 
 
+import jakarta.persistence.QueryHint;
+import org.somuga.dto.search.AutocompleteEntryDto;
 import org.somuga.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.somuga.util.export.NdjsonWriter.EXPORT_FETCH_SIZE;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, String> {
@@ -17,4 +26,15 @@ public interface UserRepository extends JpaRepository<User, String> {
     Page<User> findByUserNameContaining(String userName, Pageable page);
 
     Page<User> findByActiveTrue(Pageable page);
+
+    Slice<User> findByActiveTrueAndIdGreaterThanOrderByIdAsc(String id, Pageable page);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("""
+            SELECT new org.somuga.dto.search.AutocompleteEntryDto(u.id, u.userName, COUNT(r))
+            FROM User u
+            LEFT JOIN u.reviews r
+            WHERE u.active = true
+            GROUP BY u.id, u.userName""")
+    Stream<AutocompleteEntryDto> streamAutocompleteEntries();
 }
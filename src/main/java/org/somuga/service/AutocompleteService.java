@@ -0,0 +1,252 @@
+package org.somuga.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.somuga.dto.search.AutocompleteDto;
+import org.somuga.dto.search.AutocompleteEntryDto;
+import org.somuga.dto.search.AutocompleteStatsDto;
+import org.somuga.repository.DeveloperRepository;
+import org.somuga.repository.GameRepository;
+import org.somuga.repository.MovieCrewRepository;
+import org.somuga.repository.MovieRepository;
+import org.somuga.repository.UserRepository;
+import org.somuga.service.interfaces.IAutocompleteService;
+import org.somuga.util.search.AutocompleteIndex;
+import org.somuga.util.search.AutocompleteIndex.Change;
+import org.somuga.util.search.AutocompleteIndex.Kind;
+import org.somuga.util.search.NamesChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import static org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME;
+
+/**
+ * Serves autocomplete from an {@link AutocompleteIndex} held in memory, so no keystroke reaches the database.
+ * <p>
+ * The index is built at startup when {@code somuga.autocomplete.build-on-startup} is set, otherwise in the background
+ * once the first request comes in, which is answered from an empty index. Once a transaction writing named rows
+ * commits, their names are laid over the index together, or past {@code MAX_CHANGES} of them the index is built again
+ * in the background. The popularity weights are refreshed by building the index again, on the
+ * {@code somuga.autocomplete.refresh-cron} schedule, and where scheduling is off, as on Lambda, in the background once
+ * a request comes in after the index is older than {@code somuga.autocomplete.max-age}. That also brings in the names
+ * written by other instances. No request waits for a build.
+ */
+@Service
+public class AutocompleteService implements IAutocompleteService {
+
+    public static final int MAX_SIZE = 20;
+    private static final Logger logger = LoggerFactory.getLogger(AutocompleteService.class);
+    private static final long MILLION = 1_000_000;
+    // Past this many changed names, as after an import, building the index again is cheaper than laying them over it
+    private static final int MAX_CHANGES = 10_000;
+
+    private final GameRepository gameRepo;
+    private final MovieRepository movieRepo;
+    private final MovieCrewRepository movieCrewRepo;
+    private final DeveloperRepository developerRepo;
+    private final UserRepository userRepo;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TaskExecutor taskExecutor;
+    private final boolean buildOnStartup;
+    private final Duration maxAge;
+    private final ReentrantLock buildLock = new ReentrantLock();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final Object changesLock = new Object();
+    private volatile AutocompleteIndex index;
+    private volatile long builtAt;
+    private List<Change> changedDuringBuild;
+
+    @Autowired
+    public AutocompleteService(GameRepository gameRepo,
+                               MovieRepository movieRepo,
+                               MovieCrewRepository movieCrewRepo,
+                               DeveloperRepository developerRepo,
+                               UserRepository userRepo,
+                               PlatformTransactionManager transactionManager,
+                               @Qualifier(APPLICATION_TASK_EXECUTOR_BEAN_NAME) TaskExecutor taskExecutor,
+                               @Value("${somuga.autocomplete.build-on-startup:true}") boolean buildOnStartup,
+                               @Value("${somuga.autocomplete.max-age:0s}") Duration maxAge) {
+        this.gameRepo = gameRepo;
+        this.movieRepo = movieRepo;
+        this.movieCrewRepo = movieCrewRepo;
+        this.developerRepo = developerRepo;
+        this.userRepo = userRepo;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // Also run from the completion of the transaction whose changes made the rebuild worth it
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.taskExecutor = taskExecutor;
+        this.buildOnStartup = buildOnStartup;
+        this.maxAge = maxAge;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build(ApplicationReadyEvent event) {
+        if (buildOnStartup) {
+            rebuildIndex();
+        }
+    }
+
+    /**
+     * Holds the names written inside a transaction until it commits and then lays them over the index together, so
+     * a rolled back write never shows.
+     */
+    @EventListener
+    public void namesChanged(NamesChangedEvent event) {
+        Change change = new Change(event.kind(), event.id(), event.name());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(List.of(change));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<Change> pending = (List<Change>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<Change> changes = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, changes);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(AutocompleteService.this);
+                    if (status == STATUS_COMMITTED) {
+                        apply(changes);
+                    }
+                }
+            });
+            pending = changes;
+        }
+        pending.add(change);
+    }
+
+    @Scheduled(cron = "${somuga.autocomplete.refresh-cron:0 15 * * * *}")
+    public void refreshWeights() {
+        if (index != null) {
+            rebuildIndex();
+        }
+    }
+
+    @Override
+    public List<AutocompleteDto> suggest(String prefix, int size) {
+        return current().suggest(prefix, Math.min(size, MAX_SIZE)).stream()
+                .map(suggestion -> new AutocompleteDto(suggestion.kind(), suggestion.id(), suggestion.name()))
+                .toList();
+    }
+
+    @Override
+    public AutocompleteStatsDto stats() {
+        return stats(current());
+    }
+
+    @Override
+    public AutocompleteStatsDto rebuildIndex() {
+        buildLock.lock();
+        try {
+            long start = System.nanoTime();
+            synchronized (changesLock) {
+                changedDuringBuild = new ArrayList<>();
+            }
+            AutocompleteIndex.Builder builder = new AutocompleteIndex.Builder();
+            readOnlyTransaction.executeWithoutResult(status -> {
+                add(builder, Kind.GAME, gameRepo.streamAutocompleteEntries());
+                add(builder, Kind.MOVIE, movieRepo.streamAutocompleteEntries());
+                add(builder, Kind.CREW, movieCrewRepo.streamAutocompleteEntries());
+                add(builder, Kind.DEVELOPER, developerRepo.streamAutocompleteEntries());
+                add(builder, Kind.USER, userRepo.streamAutocompleteEntries());
+            });
+            AutocompleteIndex built = builder.build();
+            // Names committed while the rows were read may be missing from them
+            synchronized (changesLock) {
+                index = built.with(changedDuringBuild);
+                changedDuringBuild = null;
+            }
+            builtAt = System.nanoTime();
+            AutocompleteStatsDto stats = stats(built);
+            logger.info("Autocomplete index: {} items, {} entries, {} bytes in {} ms", stats.items(), stats.entries(),
+                    stats.bytes(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return stats;
+        } finally {
+            synchronized (changesLock) {
+                changedDuringBuild = null;
+            }
+            buildLock.unlock();
+        }
+    }
+
+    @Override
+    public void refreshInBackground() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            taskExecutor.execute(() -> {
+                try {
+                    rebuildIndex();
+                } catch (RuntimeException e) {
+                    logger.warn("Could not rebuild the autocomplete index", e);
+                } finally {
+                    rebuilding.set(false);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            rebuilding.set(false);
+            logger.warn("Could not start a rebuild of the autocomplete index", e);
+        }
+    }
+
+    private void apply(List<Change> changes) {
+        AutocompleteIndex changed;
+        synchronized (changesLock) {
+            if (changedDuringBuild != null) {
+                changedDuringBuild.addAll(changes);
+            }
+            changed = index == null ? null : index.with(changes);
+            index = changed;
+        }
+        if (changed != null && changed.changes() > MAX_CHANGES) {
+            refreshInBackground();
+        }
+    }
+
+    private AutocompleteIndex current() {
+        AutocompleteIndex current = index;
+        if (current == null) {
+            refreshInBackground();
+            return AutocompleteIndex.empty();
+        }
+        if (maxAge.isPositive() && System.nanoTime() - builtAt > maxAge.toNanos()) {
+            refreshInBackground();
+        }
+        return current;
+    }
+
+    private static void add(AutocompleteIndex.Builder builder, Kind kind, Stream<AutocompleteEntryDto> entries) {
+        try (entries) {
+            entries.forEach(entry -> builder.add(kind, entry.id(), entry.name(), entry.weight()));
+        }
+    }
+
+    private static AutocompleteStatsDto stats(AutocompleteIndex index) {
+        long bytes = index.sizeInBytes();
+        long perMillion = index.entries() == 0 ? 0 : bytes * MILLION / index.entries();
+        return new AutocompleteStatsDto(index.items(), index.entries(), bytes, perMillion);
+    }
+}
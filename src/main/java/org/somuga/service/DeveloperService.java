@@ -1,21 +1,30 @@
 package org.somuga.service;
 
 import org.somuga.converter.DeveloperConverter;
+import org.somuga.converter.RevisionConverter;
 import org.somuga.dto.developer.DeveloperCreateDto;
 import org.somuga.dto.developer.DeveloperPublicDto;
+import org.somuga.dto.revision.RevisionDto;
+import org.somuga.dto.revision.VersionedDto;
 import org.somuga.entity.Developer;
+import org.somuga.exception.InvalidPageException;
 import org.somuga.exception.InvalidPermissionException;
 import org.somuga.exception.developer.DeveloperNotFoundException;
 import org.somuga.exception.user.DuplicateFieldException;
 import org.somuga.repository.DeveloperRepository;
+import org.somuga.repository.GameRepository;
 import org.somuga.service.interfaces.IDeveloperService;
+import org.somuga.util.cache.ReferenceNameCache;
+import org.somuga.util.search.SearchIndex;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 
 import static org.somuga.util.message.Messages.*;
 
@@ -23,25 +32,38 @@ import static org.somuga.util.message.Messages.*;
 public class DeveloperService implements IDeveloperService {
 
     private final DeveloperRepository developerRepo;
+    private final GameRepository gameRepo;
+    private final ReferenceNameCache nameCache;
+    private final SearchService searchService;
 
     @Autowired
-    public DeveloperService(DeveloperRepository developerRepo) {
+    public DeveloperService(DeveloperRepository developerRepo, GameRepository gameRepo, ReferenceNameCache nameCache, SearchService searchService) {
         this.developerRepo = developerRepo;
+        this.gameRepo = gameRepo;
+        this.nameCache = nameCache;
+        this.searchService = searchService;
     }
 
     @Override
-    public List<DeveloperPublicDto> getAll(Pageable page) {
-        return DeveloperConverter.fromEntityListToPublicDtoList(developerRepo.findAll(page).toList());
+    public VersionedDto<List<DeveloperPublicDto>> getAll(Pageable page) {
+        return RevisionConverter.fromEntityListToVersionedDto(developerRepo.findAll(page).toList(), DeveloperConverter::fromEntityListToPublicDtoList);
     }
 
     @Override
-    public DeveloperPublicDto getById(Long id) throws DeveloperNotFoundException {
-        return DeveloperConverter.fromEntityToPublicDto(findById(id));
+    public VersionedDto<DeveloperPublicDto> getById(Long id) throws DeveloperNotFoundException {
+        return RevisionConverter.fromEntityToVersionedDto(findById(id), DeveloperConverter::fromEntityToPublicDto);
     }
 
     @Override
-    public List<DeveloperPublicDto> searchByName(String name, Pageable page) {
-        return DeveloperConverter.fromEntityListToPublicDtoList(developerRepo.findByDeveloperNameContainingIgnoreCase(name, page).toList());
+    public RevisionDto getRevision(Long id) throws DeveloperNotFoundException {
+        return developerRepo.findRevisionById(id).orElseThrow(() -> new DeveloperNotFoundException(DEVELOPER_NOT_FOUND + id));
+    }
+
+    @Override
+    public VersionedDto<List<DeveloperPublicDto>> searchByName(String name, Pageable page) throws InvalidPageException {
+        List<Long> ids = searchService.search(SearchIndex.Kind.DEVELOPER, name, page);
+        List<Developer> developers = SearchIndex.inSearchOrder(ids, developerRepo.findAllById(ids), Developer::getId);
+        return RevisionConverter.fromEntityListToVersionedDto(developers, DeveloperConverter::fromEntityListToPublicDtoList);
     }
 
     @Override
@@ -55,6 +77,7 @@ public class DeveloperService implements IDeveloperService {
     }
 
     @Override
+    @Transactional
     public DeveloperPublicDto update(Long id, DeveloperCreateDto developerDto) throws DeveloperNotFoundException, InvalidPermissionException {
         Developer developer = findById(id);
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
@@ -63,6 +86,7 @@ public class DeveloperService implements IDeveloperService {
         }
         developer.setDeveloperName(developerDto.developerName());
         developer.setSocials(developerDto.socials());
+        gameRepo.touchByDeveloperId(id);
         return DeveloperConverter.fromEntityToPublicDto(developerRepo.save(developer));
     }
 
@@ -81,16 +105,16 @@ public class DeveloperService implements IDeveloperService {
         return developerRepo.findByDeveloperNameIgnoreCase(developerName).orElseThrow(() -> new DeveloperNotFoundException(DEVELOPER_NOT_FOUND_NAME + developerName));
     }
 
+    @Override
+    public Optional<Long> findIdByDeveloperName(String developerName) {
+        return nameCache.developers().getOrLoad(developerName, developerRepo::findIdByDeveloperNameIgnoreCase);
+    }
+
     private Developer findById(Long id) throws DeveloperNotFoundException {
         return developerRepo.findById(id).orElseThrow(() -> new DeveloperNotFoundException(DEVELOPER_NOT_FOUND + id));
     }
 
     private boolean checkDuplicateDeveloperName(String developerName) {
-        try {
-            findByDeveloperName(developerName);
-            return true;
-        } catch (DeveloperNotFoundException ignored) {
-            return false;
-        }
+        return findIdByDeveloperName(developerName).isPresent();
     }
 }
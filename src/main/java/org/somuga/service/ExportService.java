@@ -0,0 +1,135 @@
+package org.somuga.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.somuga.converter.GameConverter;
+import org.somuga.converter.LikeConverter;
+import org.somuga.converter.MovieConverter;
+import org.somuga.converter.ReviewConverter;
+import org.somuga.dto.movie.MovieListingDto;
+import org.somuga.dto.movie.MoviePublicDto;
+import org.somuga.repository.*;
+import org.somuga.service.interfaces.IExportService;
+import org.somuga.util.export.ExportDataSource;
+import org.somuga.util.export.NdjsonWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Streams the catalog as NDJSON from forward-only queries.
+ * <p>
+ * Rows are converted in windows so lazy associations are batch fetched once per window. The persistence
+ * context is cleared after each window is written, so memory use does not grow with the catalog. Exports run on
+ * connections that fetch through a server-side cursor, see {@link ExportDataSource}.
+ */
+@Service
+public class ExportService implements IExportService {
+
+    private static final int WINDOW_SIZE = 100;
+
+    private final ObjectMapper mapper;
+    private final EntityManager entityManager;
+    private final ExportDataSource exportDataSource;
+    private final TransactionTemplate readOnlyTransaction;
+    private final GameRepository gameRepo;
+    private final MovieRepository movieRepo;
+    private final MovieCrewRoleRepository movieCrewRoleRepo;
+    private final ReviewRepository reviewRepo;
+    private final LikeRepository likeRepo;
+
+    @Autowired
+    public ExportService(ObjectMapper mapper,
+                         EntityManager entityManager,
+                         ExportDataSource exportDataSource,
+                         PlatformTransactionManager transactionManager,
+                         GameRepository gameRepo,
+                         MovieRepository movieRepo,
+                         MovieCrewRoleRepository movieCrewRoleRepo,
+                         ReviewRepository reviewRepo,
+                         LikeRepository likeRepo) {
+        this.mapper = mapper;
+        this.entityManager = entityManager;
+        this.exportDataSource = exportDataSource;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.gameRepo = gameRepo;
+        this.movieRepo = movieRepo;
+        this.movieCrewRoleRepo = movieCrewRoleRepo;
+        this.reviewRepo = reviewRepo;
+        this.likeRepo = likeRepo;
+    }
+
+    @Override
+    public void exportGames(OutputStream out) throws IOException {
+        export(out, gameRepo::streamAll, GameConverter::fromEntityListToPublicDtoList);
+    }
+
+    @Override
+    public void exportMovies(OutputStream out) throws IOException {
+        export(out, movieRepo::streamAllListings, this::toMovieDtos);
+    }
+
+    @Override
+    public void exportReviews(OutputStream out) throws IOException {
+        export(out, reviewRepo::streamAll, ReviewConverter::fromEntityListToPublidDtoList);
+    }
+
+    @Override
+    public void exportLikes(OutputStream out) throws IOException {
+        export(out, likeRepo::streamAll, LikeConverter::fromEntityListToPublidDtoList);
+    }
+
+    private <E> void export(OutputStream out, Supplier<Stream<E>> source, Function<List<E>, ? extends List<?>> converter) throws IOException {
+        NdjsonWriter writer = new NdjsonWriter(mapper, out);
+        try {
+            exportDataSource.run(() -> readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<E> stream = source.get()) {
+                    List<E> window = new ArrayList<>(WINDOW_SIZE);
+                    Iterator<E> rows = stream.iterator();
+                    while (rows.hasNext()) {
+                        window.add(rows.next());
+                        if (window.size() == WINDOW_SIZE) {
+                            writeWindow(window, converter, writer);
+                        }
+                    }
+                    writeWindow(window, converter, writer);
+                }
+            }));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private <E> void writeWindow(List<E> window, Function<List<E>, ? extends List<?>> converter, NdjsonWriter writer) {
+        if (window.isEmpty()) {
+            return;
+        }
+        try {
+            for (Object dto : converter.apply(window)) {
+                writer.write(dto);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        window.clear();
+        entityManager.clear();
+    }
+
+    private List<MoviePublicDto> toMovieDtos(List<MovieListingDto> movies) {
+        List<Long> movieIds = movies.stream().map(MovieListingDto::id).toList();
+        return MovieConverter.fromListingListToPublicDtoList(movies, movieCrewRoleRepo.findListingsByMovieIds(movieIds));
+    }
+}
@@ -1,18 +1,26 @@
 package org.somuga.service;
 
 import org.somuga.converter.GameGenreConverter;
+import org.somuga.converter.RevisionConverter;
 import org.somuga.dto.game_genre.GameGenreCreateDto;
 import org.somuga.dto.game_genre.GameGenrePublicDto;
+import org.somuga.dto.revision.RevisionDto;
+import org.somuga.dto.revision.VersionedDto;
 import org.somuga.entity.GameGenre;
 import org.somuga.exception.game_genre.GenreAlreadyExistsException;
 import org.somuga.exception.game_genre.GenreNotFoundException;
 import org.somuga.repository.GameGenreRepository;
 import org.somuga.service.interfaces.IGameGenreService;
+import org.somuga.util.cache.ReferenceNameCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 import static org.somuga.util.message.Messages.*;
 
@@ -20,25 +28,32 @@ import static org.somuga.util.message.Messages.*;
 public class GameGenreService implements IGameGenreService {
 
     private final GameGenreRepository gameGenreRepo;
+    private final ReferenceNameCache nameCache;
 
     @Autowired
-    public GameGenreService(GameGenreRepository gameGenreRepo) {
+    public GameGenreService(GameGenreRepository gameGenreRepo, ReferenceNameCache nameCache) {
         this.gameGenreRepo = gameGenreRepo;
+        this.nameCache = nameCache;
     }
 
     @Override
-    public List<GameGenrePublicDto> getAll(Pageable page) {
-        return GameGenreConverter.fromEntityListToPublicDtoList(gameGenreRepo.findAll(page).toList());
+    public VersionedDto<List<GameGenrePublicDto>> getAll(Pageable page) {
+        return RevisionConverter.fromEntityListToVersionedDto(gameGenreRepo.findAll(page).toList(), GameGenreConverter::fromEntityListToPublicDtoList);
     }
 
     @Override
-    public GameGenrePublicDto getById(Long id) throws GenreNotFoundException {
-        return GameGenreConverter.fromEntityToPublicDto(findById(id));
+    public VersionedDto<GameGenrePublicDto> getById(Long id) throws GenreNotFoundException {
+        return RevisionConverter.fromEntityToVersionedDto(findById(id), GameGenreConverter::fromEntityToPublicDto);
     }
 
     @Override
-    public List<GameGenrePublicDto> searchByName(String name, Pageable page) {
-        return GameGenreConverter.fromEntityListToPublicDtoList(gameGenreRepo.findByGenreContainingIgnoreCase(name.toLowerCase(), page).toList());
+    public RevisionDto getRevision(Long id) throws GenreNotFoundException {
+        return gameGenreRepo.findRevisionById(id).orElseThrow(() -> new GenreNotFoundException(GENRE_NOT_FOUND + id));
+    }
+
+    @Override
+    public VersionedDto<List<GameGenrePublicDto>> searchByName(String name, Pageable page) {
+        return RevisionConverter.fromEntityListToVersionedDto(gameGenreRepo.findByGenreContainingIgnoreCase(name.toLowerCase(), page).toList(), GameGenreConverter::fromEntityListToPublicDtoList);
     }
 
     @Override
@@ -55,13 +70,22 @@ public class GameGenreService implements IGameGenreService {
         return gameGenreRepo.findByGenreIgnoreCase(genre).orElseThrow(() -> new GenreNotFoundException(GENRE_NOT_FOUND_NAME + genre));
     }
 
-    private boolean checkDuplicateGenre(String genre) {
-        try {
-            findByGenre(genre);
-            return true;
-        } catch (GenreNotFoundException ignored) {
-            return false;
+    @Override
+    public Optional<Long> findIdByGenre(String genre) {
+        return nameCache.genres().getOrLoad(genre, gameGenreRepo::findIdByGenreIgnoreCase);
+    }
+
+    @Override
+    public List<GameGenre> findAllByGenres(Collection<String> genres) throws GenreNotFoundException {
+        Set<Long> ids = new HashSet<>();
+        for (String genre : genres) {
+            ids.add(findIdByGenre(genre).orElseThrow(() -> new GenreNotFoundException(GENRE_NOT_FOUND_NAME + genre)));
         }
+        return gameGenreRepo.findAllById(ids);
+    }
+
+    private boolean checkDuplicateGenre(String genre) {
+        return findIdByGenre(genre).isPresent();
     }
 
     private GameGenre findById(Long id) throws GenreNotFoundException {
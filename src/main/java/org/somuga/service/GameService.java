@@ -1,13 +1,19 @@
 package org.somuga.service;
 
 import org.somuga.converter.GameConverter;
+import org.somuga.converter.RevisionConverter;
 import org.somuga.dto.game.GameCreateDto;
 import org.somuga.dto.game.GamePublicDto;
+import org.somuga.dto.page.CursorPageDto;
+import org.somuga.dto.revision.RevisionDto;
+import org.somuga.dto.revision.VersionedDto;
 import org.somuga.entity.Developer;
 import org.somuga.entity.Game;
 import org.somuga.entity.GameGenre;
 import org.somuga.entity.Platform;
 import org.somuga.enums.MediaType;
+import org.somuga.exception.InvalidCursorException;
+import org.somuga.exception.InvalidPageException;
 import org.somuga.exception.InvalidPermissionException;
 import org.somuga.exception.developer.DeveloperNotFoundException;
 import org.somuga.exception.game.GameNotFoundException;
@@ -15,6 +21,9 @@ import org.somuga.exception.game_genre.GenreNotFoundException;
 import org.somuga.exception.platform.PlatformNotFoundException;
 import org.somuga.repository.GameRepository;
 import org.somuga.service.interfaces.IGameService;
+import org.somuga.util.pagination.Cursors;
+import org.somuga.util.pagination.Pages;
+import org.somuga.util.search.SearchIndex;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
@@ -34,73 +43,80 @@ public class GameService implements IGameService {
     private final DeveloperService developerService;
     private final PlatformService platformService;
     private final GameGenreService genreService;
+    private final SearchService searchService;
 
     @Autowired
-    public GameService(GameRepository gameRepo, DeveloperService developerService, PlatformService platformService, GameGenreService genreService) {
+    public GameService(GameRepository gameRepo, DeveloperService developerService, PlatformService platformService, GameGenreService genreService, SearchService searchService) {
         this.gameRepo = gameRepo;
         this.developerService = developerService;
         this.platformService = platformService;
         this.genreService = genreService;
+        this.searchService = searchService;
     }
 
 
     @Override
-    public List<GamePublicDto> getAll(Pageable page) {
-        return GameConverter.fromEntityListToPublicDtoList(gameRepo.findAll(page).toList());
+    public VersionedDto<List<GamePublicDto>> getAll(Pageable page) {
+        return toVersionedDtoList(gameRepo.findAll(page).toList());
     }
 
     @Override
-    public List<GamePublicDto> getByPlatform(String platformName, Pageable page) {
-        try {
-            platformService.findByPlatformName(platformName);
-        } catch (Exception e) {
-            return List.of();
-        }
-        return GameConverter.fromEntityListToPublicDtoList(gameRepo.findByPlatform(platformName.toLowerCase(), page).toList());
+    public CursorPageDto<GamePublicDto> getAllAfter(String cursor, int size) throws InvalidCursorException {
+        return Cursors.toPage(gameRepo.findByIdGreaterThanOrderByIdAsc(Cursors.decodeLong(cursor), Cursors.slice(size)),
+                Game::getId, GameConverter::fromEntityListToPublicDtoList);
     }
 
     @Override
-    public List<GamePublicDto> getByGenre(String genreName, Pageable page) {
-        try {
-            genreService.findByGenre(genreName);
-        } catch (Exception e) {
-            return List.of();
-        }
-        return GameConverter.fromEntityListToPublicDtoList(gameRepo.findByGenre(genreName.toLowerCase(), page).toList());
+    public VersionedDto<List<GamePublicDto>> getTopRated(Pageable page) {
+        return toVersionedDtoList(gameRepo.findAll(Pages.topRated(page)).toList());
+    }
+
+    @Override
+    public VersionedDto<List<GamePublicDto>> getByPlatform(String platformName, Pageable page) {
+        return platformService.findIdByPlatformName(platformName)
+                .map(platformId -> toVersionedDtoList(gameRepo.findByPlatformId(platformId, page).toList()))
+                .orElseGet(() -> toVersionedDtoList(List.of()));
     }
 
     @Override
-    public List<GamePublicDto> getByDeveloper(String developerName, Pageable page) {
-        try {
-            developerService.findByDeveloperName(developerName);
-        } catch (Exception e) {
-            return List.of();
+    public VersionedDto<List<GamePublicDto>> getByGenre(String genreName, Pageable page) {
+        return genreService.findIdByGenre(genreName)
+                .map(genreId -> toVersionedDtoList(gameRepo.findByGenreId(genreId, page).toList()))
+                .orElseGet(() -> toVersionedDtoList(List.of()));
+    }
+
+    @Override
+    public VersionedDto<List<GamePublicDto>> getByDeveloper(String developerName, Pageable page) {
+        return developerService.findIdByDeveloperName(developerName)
+                .map(developerId -> toVersionedDtoList(gameRepo.findByDeveloperId(developerId, page).toList()))
+                .orElseGet(() -> toVersionedDtoList(List.of()));
+    }
+
+    @Override
+    public VersionedDto<List<GamePublicDto>> searchByName(String name, Pageable page) throws InvalidPageException {
+        List<Long> ids = searchService.search(SearchIndex.Kind.GAME, name, page);
+        if (ids.isEmpty()) {
+            return toVersionedDtoList(List.of());
         }
-        return GameConverter.fromEntityListToPublicDtoList(gameRepo.findByDeveloper(developerName.toLowerCase(), page).toList());
+        return toVersionedDtoList(SearchIndex.inSearchOrder(ids, gameRepo.findByIdIn(ids), Game::getId));
     }
 
     @Override
-    public List<GamePublicDto> searchByName(String name, Pageable page) {
-        return GameConverter.fromEntityListToPublicDtoList(gameRepo.findByTitleContainingIgnoreCase(name, page).toList());
+    public VersionedDto<GamePublicDto> getById(Long id) throws GameNotFoundException {
+        return RevisionConverter.fromEntityToVersionedDto(findById(id), GameConverter::fromEntityToPublicDto);
     }
 
     @Override
-    public GamePublicDto getById(Long id) throws GameNotFoundException {
-        return GameConverter.fromEntityToPublicDto(findById(id));
+    public RevisionDto getRevision(Long id) throws GameNotFoundException {
+        return gameRepo.findRevisionById(id).orElseThrow(() -> new GameNotFoundException(GAME_NOT_FOUND + id));
     }
 
     @Override
     public GamePublicDto create(GameCreateDto gameDto) throws GenreNotFoundException, DeveloperNotFoundException, PlatformNotFoundException {
         Game game = GameConverter.fromCreateDtoToEntity(gameDto);
         Developer developer = developerService.findByDeveloperName(gameDto.developerName());
-        Set<GameGenre> genres = new HashSet<>();
-        Set<Platform> platforms = new HashSet<>();
-        for (String platformName : gameDto.platformsNames()) {
-            platforms.add(platformService.findByPlatformName(platformName));
-        }
-        for (String genreName : gameDto.genres()) {
-            genres.add(genreService.findByGenre(genreName));
-        }
+        Set<Platform> platforms = new HashSet<>(platformService.findAllByPlatformNames(gameDto.platformsNames()));
+        Set<GameGenre> genres = new HashSet<>(genreService.findAllByGenres(gameDto.genres()));
         game.setDeveloper(developer);
         game.setGenres(genres);
         game.setPlatforms(platforms);
@@ -118,14 +134,8 @@ public class GameService implements IGameService {
             throw new InvalidPermissionException(UNAUTHORIZED_UPDATE);
         }
         Developer developer = developerService.findByDeveloperName(gameDto.developerName());
-        Set<GameGenre> genres = new HashSet<>();
-        Set<Platform> platforms = new HashSet<>();
-        for (String platformName : gameDto.platformsNames()) {
-            platforms.add(platformService.findByPlatformName(platformName));
-        }
-        for (String genreName : gameDto.genres()) {
-            genres.add(genreService.findByGenre(genreName));
-        }
+        Set<Platform> platforms = new HashSet<>(platformService.findAllByPlatformNames(gameDto.platformsNames()));
+        Set<GameGenre> genres = new HashSet<>(genreService.findAllByGenres(gameDto.genres()));
         removePlatformAndGenre(game);
         game.setDeveloper(developer);
         game.setGenres(genres);
@@ -134,6 +144,7 @@ public class GameService implements IGameService {
         game.setDescription(gameDto.description());
         game.setReleaseDate(gameDto.releaseDate());
         game.setPrice(gameDto.price());
+        game.touch();
         return GameConverter.fromEntityToPublicDto(gameRepo.save(game));
     }
 
@@ -160,6 +171,10 @@ public class GameService implements IGameService {
         gameRepo.save(game);
     }
 
+    private VersionedDto<List<GamePublicDto>> toVersionedDtoList(List<Game> games) {
+        return RevisionConverter.fromEntityListToVersionedDto(games, GameConverter::fromEntityListToPublicDtoList);
+    }
+
     @Override
     public Game findById(Long id) throws GameNotFoundException {
         return gameRepo.findById(id).orElseThrow(() -> new GameNotFoundException(GAME_NOT_FOUND + id));
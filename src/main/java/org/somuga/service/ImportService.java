@@ -0,0 +1,364 @@
+package org.somuga.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.somuga.converter.GameConverter;
+import org.somuga.converter.MovieConverter;
+import org.somuga.dto.bulk_import.ImportErrorDto;
+import org.somuga.dto.bulk_import.ImportResultDto;
+import org.somuga.dto.crew_role.MovieRoleCreateDto;
+import org.somuga.dto.game.GameCreateDto;
+import org.somuga.dto.movie.MovieCreateDto;
+import org.somuga.entity.*;
+import org.somuga.enums.MediaType;
+import org.somuga.enums.MovieRole;
+import org.somuga.exception.movie.InvalidCrewRoleException;
+import org.somuga.repository.DeveloperRepository;
+import org.somuga.repository.GameGenreRepository;
+import org.somuga.repository.MovieCrewRepository;
+import org.somuga.repository.PlatformRepository;
+import org.somuga.service.interfaces.IImportService;
+import org.somuga.util.validation.MovieCrewValidator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.somuga.util.message.Messages.*;
+
+/**
+ * Imports games and movies from NDJSON, one create DTO per line.
+ * <p>
+ * Lines are read in chunks. Each chunk resolves its developers, platforms, genres and crew with one
+ * query per kind, then persists its rows in a single transaction so Hibernate can batch the inserts.
+ * Rows that fail to parse, validate or resolve are reported with their line number and skipped. If a
+ * chunk fails on insert it is retried row by row, so one bad row never takes the others down with it.
+ */
+@Service
+public class ImportService implements IImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportService.class);
+    private static final String INSERT_GAME_PLATFORM = "INSERT INTO platforms_games (platforms_id, games_id) VALUES (?, ?)";
+    private static final String INSERT_GAME_GENRE = "INSERT INTO game_genres_games (genres_id, games_id) VALUES (?, ?)";
+
+    private final ObjectMapper mapper;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DeveloperRepository developerRepo;
+    private final PlatformRepository platformRepo;
+    private final GameGenreRepository genreRepo;
+    private final MovieCrewRepository crewRepo;
+    private final MovieCrewValidator crewValidator;
+    private final int chunkSize;
+
+    @Autowired
+    public ImportService(ObjectMapper mapper,
+                         Validator validator,
+                         EntityManager entityManager,
+                         JdbcTemplate jdbcTemplate,
+                         TransactionTemplate transactionTemplate,
+                         DeveloperRepository developerRepo,
+                         PlatformRepository platformRepo,
+                         GameGenreRepository genreRepo,
+                         MovieCrewRepository crewRepo,
+                         MovieCrewValidator crewValidator,
+                         @Value("${somuga.import.chunk-size:500}") int chunkSize) {
+        this.mapper = mapper;
+        this.validator = validator;
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.developerRepo = developerRepo;
+        this.platformRepo = platformRepo;
+        this.genreRepo = genreRepo;
+        this.crewRepo = crewRepo;
+        this.crewValidator = crewValidator;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public ImportResultDto importGames(InputStream ndjson) throws IOException {
+        String creatorId = SecurityContextHolder.getContext().getAuthentication().getName();
+        return importLines(ndjson, GameCreateDto.class, this::resolveGames, games -> insertGames(games, creatorId));
+    }
+
+    @Override
+    public ImportResultDto importMovies(InputStream ndjson) throws IOException {
+        String creatorId = SecurityContextHolder.getContext().getAuthentication().getName();
+        return importLines(ndjson, MovieCreateDto.class, this::resolveMovies, movies -> insertMovies(movies, creatorId));
+    }
+
+    private <T, R extends ImportRow<T>> ImportResultDto importLines(InputStream ndjson,
+                                                                   Class<T> type,
+                                                                   Resolver<T, R> resolver,
+                                                                   Consumer<List<R>> inserter) throws IOException {
+        List<ImportErrorDto> errors = new ArrayList<>();
+        List<ImportRow<T>> chunk = new ArrayList<>(chunkSize);
+        int received = 0;
+        int imported = 0;
+        int lineNumber = 0;
+        BufferedReader reader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            received++;
+            ImportRow<T> row = parse(lineNumber, line, type, errors);
+            if (row != null) {
+                chunk.add(row);
+            }
+            if (chunk.size() == chunkSize) {
+                imported += importChunk(resolver.resolve(chunk, errors), inserter, errors);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            imported += importChunk(resolver.resolve(chunk, errors), inserter, errors);
+        }
+        errors.sort(Comparator.comparingInt(ImportErrorDto::line));
+        return new ImportResultDto(received, imported, errors);
+    }
+
+    private <T> ImportRow<T> parse(int lineNumber, String line, Class<T> type, List<ImportErrorDto> errors) {
+        T dto;
+        try {
+            dto = mapper.readValue(line, type);
+        } catch (JsonProcessingException e) {
+            errors.add(new ImportErrorDto(lineNumber, INVALID_IMPORT_LINE + e.getOriginalMessage()));
+            return null;
+        }
+        if (dto == null) {
+            errors.add(new ImportErrorDto(lineNumber, INVALID_IMPORT_LINE + line));
+            return null;
+        }
+        Set<ConstraintViolation<T>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            errors.add(new ImportErrorDto(lineNumber, violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "))));
+            return null;
+        }
+        return new ImportRow<>(lineNumber, dto);
+    }
+
+    private <R extends ImportRow<?>> int importChunk(List<R> rows, Consumer<List<R>> inserter, List<ImportErrorDto> errors) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> inserter.accept(rows));
+            return rows.size();
+        } catch (RuntimeException e) {
+            logger.warn("Import chunk of {} rows failed, retrying row by row: {}", rows.size(), e.getMessage());
+        }
+        int imported = 0;
+        for (R row : rows) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> inserter.accept(List.of(row)));
+                imported++;
+            } catch (RuntimeException e) {
+                errors.add(new ImportErrorDto(row.line(), IMPORT_INSERT_FAILED + NestedExceptionUtils.getMostSpecificCause(e).getMessage()));
+            }
+        }
+        return imported;
+    }
+
+    private List<ResolvedGame> resolveGames(List<ImportRow<GameCreateDto>> rows, List<ImportErrorDto> errors) {
+        Map<String, Long> developers = idsByLowerCaseName(rows, dto -> List.of(dto.developerName()),
+                developerRepo::findByLowerCaseDeveloperNameIn, Developer::getDeveloperName, Developer::getId);
+        Map<String, Long> platforms = idsByLowerCaseName(rows, GameCreateDto::platformsNames,
+                platformRepo::findByLowerCasePlatformNameIn, Platform::getPlatformName, Platform::getId);
+        Map<String, Long> genres = idsByLowerCaseName(rows, GameCreateDto::genres,
+                genreRepo::findByLowerCaseGenreIn, GameGenre::getGenre, GameGenre::getId);
+
+        List<ResolvedGame> resolved = new ArrayList<>();
+        for (ImportRow<GameCreateDto> row : rows) {
+            GameCreateDto dto = row.dto();
+            Long developerId = developers.get(dto.developerName().toLowerCase());
+            if (developerId == null) {
+                errors.add(new ImportErrorDto(row.line(), DEVELOPER_NOT_FOUND_NAME + dto.developerName()));
+                continue;
+            }
+            Optional<String> missingPlatform = firstMissing(dto.platformsNames(), platforms);
+            if (missingPlatform.isPresent()) {
+                errors.add(new ImportErrorDto(row.line(), PLATFORM_NOT_FOUND_NAME + missingPlatform.get()));
+                continue;
+            }
+            Optional<String> missingGenre = firstMissing(dto.genres(), genres);
+            if (missingGenre.isPresent()) {
+                errors.add(new ImportErrorDto(row.line(), GENRE_NOT_FOUND_NAME + missingGenre.get()));
+                continue;
+            }
+            resolved.add(new ResolvedGame(row.line(), dto, developerId,
+                    dto.platformsNames().stream().map(name -> platforms.get(name.toLowerCase())).collect(Collectors.toSet()),
+                    dto.genres().stream().map(name -> genres.get(name.toLowerCase())).collect(Collectors.toSet())));
+        }
+        return resolved;
+    }
+
+    private void insertGames(List<ResolvedGame> rows, String creatorId) {
+        List<Object[]> platformLinks = new ArrayList<>();
+        List<Object[]> genreLinks = new ArrayList<>();
+        for (ResolvedGame row : rows) {
+            Game game = GameConverter.fromCreateDtoToEntity(row.dto());
+            game.setDeveloper(entityManager.getReference(Developer.class, row.developerId()));
+            game.setMediaType(MediaType.GAME);
+            game.setMediaCreatorId(creatorId);
+            entityManager.persist(game);
+            row.platformIds().forEach(platformId -> platformLinks.add(new Object[]{platformId, game.getId()}));
+            row.genreIds().forEach(genreId -> genreLinks.add(new Object[]{genreId, game.getId()}));
+        }
+        entityManager.flush();
+        // Platforms and genres own the join tables; going through them would load every game already linked.
+        jdbcTemplate.batchUpdate(INSERT_GAME_PLATFORM, platformLinks);
+        jdbcTemplate.batchUpdate(INSERT_GAME_GENRE, genreLinks);
+    }
+
+    private List<ImportRow<MovieCreateDto>> resolveMovies(List<ImportRow<MovieCreateDto>> rows, List<ImportErrorDto> errors) {
+        List<ImportRow<MovieCreateDto>> valid = new ArrayList<>();
+        for (ImportRow<MovieCreateDto> row : rows) {
+            try {
+                crewValidator.validate(row.dto().crew());
+                valid.add(row);
+            } catch (InvalidCrewRoleException e) {
+                errors.add(new ImportErrorDto(row.line(), e.getMessage()));
+            }
+        }
+        Set<Long> crewIds = valid.stream()
+                .flatMap(row -> row.dto().crew().stream())
+                .map(MovieRoleCreateDto::movieCrewId)
+                .collect(Collectors.toSet());
+        Set<Long> existing = crewIds.isEmpty() ? Set.of() : crewRepo.findExistingIds(crewIds);
+
+        List<ImportRow<MovieCreateDto>> resolved = new ArrayList<>();
+        for (ImportRow<MovieCreateDto> row : valid) {
+            Optional<Long> missing = row.dto().crew().stream()
+                    .map(MovieRoleCreateDto::movieCrewId)
+                    .filter(id -> !existing.contains(id))
+                    .findFirst();
+            if (missing.isPresent()) {
+                errors.add(new ImportErrorDto(row.line(), MOVIE_CREW_NOT_FOUND + missing.get()));
+                continue;
+            }
+            resolved.add(row);
+        }
+        return resolved;
+    }
+
+    private void insertMovies(List<ImportRow<MovieCreateDto>> rows, String creatorId) {
+        Set<Long> crewIds = new HashSet<>();
+        for (ImportRow<MovieCreateDto> row : rows) {
+            Movie movie = MovieConverter.fromCreateDtoToEntity(row.dto());
+            for (MovieRoleCreateDto roleDto : row.dto().crew()) {
+                MovieCrew crew = entityManager.getReference(MovieCrew.class, roleDto.movieCrewId());
+                if (!roleDto.movieRole().equals(MovieRole.ACTOR.toString())) {
+                    movie.addMovieCrew(crew, MovieRole.valueOf(roleDto.movieRole()), "");
+                } else {
+                    movie.addMovieCrew(crew, MovieRole.ACTOR, roleDto.characterName());
+                }
+                crewIds.add(roleDto.movieCrewId());
+            }
+            movie.setMediaType(MediaType.MOVIE);
+            movie.setMediaCreatorId(creatorId);
+            entityManager.persist(movie);
+        }
+        entityManager.flush();
+        if (!crewIds.isEmpty()) {
+            crewRepo.touchAllById(crewIds);
+        }
+    }
+
+    private <T, E> Map<String, Long> idsByLowerCaseName(List<ImportRow<T>> rows,
+                                                        Function<T, Collection<String>> names,
+                                                        Function<Collection<String>, List<E>> finder,
+                                                        Function<E, String> nameOf,
+                                                        Function<E, Long> idOf) {
+        Set<String> lowerCaseNames = rows.stream()
+                .flatMap(row -> names.apply(row.dto()).stream())
+                .filter(Objects::nonNull)
+                .map(String::toLowerCase)
+                .collect(Collectors.toSet());
+        if (lowerCaseNames.isEmpty()) {
+            return Map.of();
+        }
+        return finder.apply(lowerCaseNames).stream()
+                .collect(Collectors.toMap(entity -> nameOf.apply(entity).toLowerCase(), idOf, (first, second) -> first));
+    }
+
+    private Optional<String> firstMissing(List<String> names, Map<String, Long> ids) {
+        return names.stream()
+                .filter(name -> name == null || !ids.containsKey(name.toLowerCase()))
+                .findFirst();
+    }
+
+    @FunctionalInterface
+    private interface Resolver<T, R> {
+        List<R> resolve(List<ImportRow<T>> rows, List<ImportErrorDto> errors);
+    }
+
+    private static class ImportRow<T> {
+        private final int line;
+        private final T dto;
+
+        ImportRow(int line, T dto) {
+            this.line = line;
+            this.dto = dto;
+        }
+
+        int line() {
+            return line;
+        }
+
+        T dto() {
+            return dto;
+        }
+    }
+
+    private static class ResolvedGame extends ImportRow<GameCreateDto> {
+        private final Long developerId;
+        private final Set<Long> platformIds;
+        private final Set<Long> genreIds;
+
+        ResolvedGame(int line, GameCreateDto dto, Long developerId, Set<Long> platformIds, Set<Long> genreIds) {
+            super(line, dto);
+            this.developerId = developerId;
+            this.platformIds = platformIds;
+            this.genreIds = genreIds;
+        }
+
+        Long developerId() {
+            return developerId;
+        }
+
+        Set<Long> platformIds() {
+            return platformIds;
+        }
+
+        Set<Long> genreIds() {
+            return genreIds;
+        }
+    }
+}
@@ -3,9 +3,11 @@ package org.somuga.service;
 import org.somuga.converter.LikeConverter;
 import org.somuga.dto.like.LikeCreateDto;
 import org.somuga.dto.like.LikePublicDto;
+import org.somuga.dto.page.CursorPageDto;
 import org.somuga.entity.Like;
 import org.somuga.entity.Media;
 import org.somuga.entity.User;
+import org.somuga.exception.InvalidCursorException;
 import org.somuga.exception.InvalidPermissionException;
 import org.somuga.exception.like.AlreadyLikedException;
 import org.somuga.exception.like.LikeNotFoundException;
@@ -15,11 +17,13 @@ import org.somuga.repository.LikeRepository;
 import org.somuga.service.interfaces.ILikeService;
 import org.somuga.service.interfaces.IMediaService;
 import org.somuga.service.interfaces.IUserService;
+import org.somuga.util.pagination.Cursors;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -51,6 +55,19 @@ public class LikeService implements ILikeService {
     }
 
     @Override
+    public CursorPageDto<LikePublicDto> getAllByUserIdAfter(String userId, String cursor, int size) throws InvalidCursorException {
+        return Cursors.toPage(likeRepo.findByUserIdAndIdGreaterThanOrderByIdAsc(userId, Cursors.decodeLong(cursor), Cursors.slice(size)),
+                Like::getId, LikeConverter::fromEntityListToPublidDtoList);
+    }
+
+    @Override
+    public CursorPageDto<LikePublicDto> getAllByMediaIdAfter(Long mediaId, String cursor, int size) throws InvalidCursorException {
+        return Cursors.toPage(likeRepo.findByMediaIdAndIdGreaterThanOrderByIdAsc(mediaId, Cursors.decodeLong(cursor), Cursors.slice(size)),
+                Like::getId, LikeConverter::fromEntityListToPublidDtoList);
+    }
+
+    @Override
+    @Transactional
     public LikePublicDto create(LikeCreateDto likeDto) throws UserNotFoundException, AlreadyLikedException, MediaNotFoundException {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         String userId = auth.getName();
@@ -60,17 +77,20 @@ public class LikeService implements ILikeService {
         }
         User user = userService.findById(userId);
         Media media = mediaService.findById(likeDto.mediaId());
-        Like like = new Like(user, media);
-        return LikeConverter.fromEntityToPublicDto(likeRepo.save(like));
+        Like like = likeRepo.save(new Like(user, media));
+        mediaService.addToLikeCount(media, 1);
+        return LikeConverter.fromEntityToPublicDto(like);
     }
 
     @Override
+    @Transactional
     public void delete(Long id) throws LikeNotFoundException, InvalidPermissionException {
         Like like = likeRepo.findById(id).orElseThrow(() -> new LikeNotFoundException(LIKE_NOT_FOUND + id));
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         if (!like.getUser().getId().equals(auth.getName())) {
             throw new InvalidPermissionException(UNAUTHORIZED_DELETE);
         }
-        likeRepo.deleteById(id);
+        likeRepo.delete(like);
+        mediaService.addToLikeCount(like.getMedia(), -1);
     }
 }
@@ -1,37 +1,113 @@
 package org.somuga.service;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.somuga.entity.Media;
 import org.somuga.exception.media.MediaNotFoundException;
-import org.somuga.service.interfaces.IGameService;
+import org.somuga.repository.MediaRepository;
 import org.somuga.service.interfaces.IMediaService;
-import org.somuga.service.interfaces.IMovieService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
 
 import static org.somuga.util.message.Messages.MEDIA_NOT_FOUND;
 
 @Service
 public class MediaService implements IMediaService {
 
-    private final IGameService gameService;
-    private final IMovieService movieService;
+    private static final Logger logger = LoggerFactory.getLogger(MediaService.class);
+
+    private final MediaRepository mediaRepo;
 
     @Autowired
-    public MediaService(IGameService gameService, IMovieService movieService) {
-        this.gameService = gameService;
-        this.movieService = movieService;
+    public MediaService(MediaRepository mediaRepo) {
+        this.mediaRepo = mediaRepo;
     }
 
     @Override
     public Media findById(Long id) throws MediaNotFoundException {
-        try {
-            return movieService.findById(id);
-        } catch (Exception ignored) {
+        if (id == null) {
+            throw new MediaNotFoundException(MEDIA_NOT_FOUND + id);
         }
-        try {
-            return gameService.findById(id);
-        } catch (Exception ignored) {
+        return mediaRepo.findById(id).orElseThrow(() -> new MediaNotFoundException(MEDIA_NOT_FOUND + id));
+    }
+
+    @Override
+    public List<Media> findAllByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
         }
-        throw new MediaNotFoundException(MEDIA_NOT_FOUND + id);
+        return mediaRepo.findAllById(ids);
+    }
+
+    /**
+     * Counters are not updatable through the entity, so the increment is issued as a
+     * single UPDATE and mirrored on the loaded instance for the response being built.
+     */
+    @Override
+    @Transactional
+    public void addToLikeCount(Media media, int delta) {
+        mediaRepo.addToLikeCount(media.getId(), delta);
+        media.setLikeCount(media.getLikeCount() + delta);
+    }
+
+    /**
+     * Review count and rating change together: {@code removedScore} is the score of the review that goes
+     * away and {@code addedScore} the one that replaces it, 0 standing for no review on either side.
+     */
+    @Override
+    @Transactional
+    public void applyReviewScore(Media media, int removedScore, int addedScore) {
+        int countDelta = (addedScore > 0 ? 1 : 0) - (removedScore > 0 ? 1 : 0);
+        mediaRepo.applyReviewScore(media.getId(), removedScore, addedScore, countDelta);
+        media.setReviewCount(media.getReviewCount() + countDelta);
+        media.getRating().apply(removedScore, addedScore, media.getReviewCount());
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(cron = "${somuga.media.counter-reconcile-cron:0 0 4 * * *}")
+    public int reconcileCounters() {
+        int repaired = reconcileCounts();
+        if (repaired > 0) {
+            logger.warn("Repaired {} drifted like/review counters", repaired);
+        }
+        return repaired;
+    }
+
+    /**
+     * Counter and rating columns added to an existing database hold -1 until they are first reconciled, so a deploy
+     * that adds them does not show every title with 0 likes, reviews and score until the scheduled jobs run.
+     */
+    @Override
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (mediaRepo.existsByLikeCountLessThanOrReviewCountLessThan(0, 0)) {
+            logger.info("Backfilled the like/review counters of {} media", reconcileCounts());
+        }
+        if (mediaRepo.existsByRatingSumLessThan(0)) {
+            logger.info("Backfilled the rating of {} media", mediaRepo.recomputeRatings());
+        }
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(cron = "${somuga.media.rating-recompute-cron:0 30 4 * * SUN}")
+    public int recomputeRatings() {
+        mediaRepo.reconcileReviewCounts();
+        int recomputed = mediaRepo.recomputeRatings();
+        logger.info("Recomputed the rating of {} media", recomputed);
+        return recomputed;
+    }
+
+    private int reconcileCounts() {
+        return mediaRepo.reconcileLikeCounts() + mediaRepo.reconcileReviewCounts();
     }
 }
@@ -1,18 +1,25 @@
 package org.somuga.service;
 
 import org.somuga.converter.MovieCrewConverter;
+import org.somuga.converter.RevisionConverter;
 import org.somuga.dto.movie_crew.MovieCrewCreateDto;
 import org.somuga.dto.movie_crew.MovieCrewPublicDto;
+import org.somuga.dto.revision.RevisionDto;
+import org.somuga.dto.revision.VersionedDto;
 import org.somuga.entity.MovieCrew;
+import org.somuga.exception.InvalidPageException;
 import org.somuga.exception.InvalidPermissionException;
 import org.somuga.exception.movie_crew.MovieCrewNotFoundException;
 import org.somuga.repository.MovieCrewRepository;
+import org.somuga.repository.MovieRepository;
 import org.somuga.service.interfaces.IMovieCrewService;
+import org.somuga.util.search.SearchIndex;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -22,25 +29,36 @@ import static org.somuga.util.message.Messages.*;
 public class MovieCrewService implements IMovieCrewService {
 
     private final MovieCrewRepository movieCrewRepository;
+    private final MovieRepository movieRepository;
+    private final SearchService searchService;
 
     @Autowired
-    public MovieCrewService(MovieCrewRepository movieCrewRepository) {
+    public MovieCrewService(MovieCrewRepository movieCrewRepository, MovieRepository movieRepository, SearchService searchService) {
         this.movieCrewRepository = movieCrewRepository;
+        this.movieRepository = movieRepository;
+        this.searchService = searchService;
     }
 
     @Override
-    public List<MovieCrewPublicDto> getAll(Pageable page) {
-        return MovieCrewConverter.fromEntityListToPublicDtoList(movieCrewRepository.findAll(page).toList());
+    public VersionedDto<List<MovieCrewPublicDto>> getAll(Pageable page) {
+        return RevisionConverter.fromEntityListToVersionedDto(movieCrewRepository.findAll(page).toList(), MovieCrewConverter::fromEntityListToPublicDtoList);
     }
 
     @Override
-    public MovieCrewPublicDto getById(Long id) throws MovieCrewNotFoundException {
-        return MovieCrewConverter.fromEntityToPublicDto(findById(id));
+    public VersionedDto<MovieCrewPublicDto> getById(Long id) throws MovieCrewNotFoundException {
+        return RevisionConverter.fromEntityToVersionedDto(findById(id), MovieCrewConverter::fromEntityToPublicDto);
     }
 
     @Override
-    public List<MovieCrewPublicDto> getByName(String name, Pageable page) {
-        return MovieCrewConverter.fromEntityListToPublicDtoList(movieCrewRepository.findByFullNameContainingIgnoreCase(name, page).toList());
+    public RevisionDto getRevision(Long id) throws MovieCrewNotFoundException {
+        return movieCrewRepository.findRevisionById(id).orElseThrow(() -> new MovieCrewNotFoundException(MOVIE_CREW_NOT_FOUND + id));
+    }
+
+    @Override
+    public VersionedDto<List<MovieCrewPublicDto>> getByName(String name, Pageable page) throws InvalidPageException {
+        List<Long> ids = searchService.search(SearchIndex.Kind.CREW, name, page);
+        List<MovieCrew> crew = SearchIndex.inSearchOrder(ids, movieCrewRepository.findAllById(ids), MovieCrew::getId);
+        return RevisionConverter.fromEntityListToVersionedDto(crew, MovieCrewConverter::fromEntityListToPublicDtoList);
     }
 
     @Override
@@ -52,6 +70,7 @@ public class MovieCrewService implements IMovieCrewService {
     }
 
     @Override
+    @Transactional
     public MovieCrewPublicDto update(Long id, MovieCrewCreateDto movieCrew) throws MovieCrewNotFoundException, InvalidPermissionException {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         MovieCrew crew = findById(id);
@@ -60,16 +79,19 @@ public class MovieCrewService implements IMovieCrewService {
         }
         crew.setFullName(movieCrew.fullName());
         crew.setBirthDate(movieCrew.birthDate());
+        movieRepository.touchByCrewId(id);
         return MovieCrewConverter.fromEntityToPublicDto(movieCrewRepository.save(crew));
     }
 
     @Override
+    @Transactional
     public void delete(Long id) throws MovieCrewNotFoundException, InvalidPermissionException {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         MovieCrew crew = findById(id);
         if (!crew.getCrewCreatorId().equals(auth.getName())) {
             throw new InvalidPermissionException(UNAUTHORIZED_DELETE);
         }
+        movieRepository.touchByCrewId(id);
         movieCrewRepository.deleteById(id);
     }
 
@@ -1,14 +1,21 @@
 package org.somuga.service;
 
 import org.somuga.converter.MovieConverter;
+import org.somuga.converter.RevisionConverter;
 import org.somuga.dto.crew_role.MovieRoleCreateDto;
 import org.somuga.dto.movie.MovieCreateDto;
+import org.somuga.dto.movie.MovieListingDto;
 import org.somuga.dto.movie.MoviePublicDto;
+import org.somuga.dto.page.CursorPageDto;
+import org.somuga.dto.revision.RevisionDto;
+import org.somuga.dto.revision.VersionedDto;
 import org.somuga.entity.Movie;
 import org.somuga.entity.MovieCrew;
 import org.somuga.entity.MovieCrewRole;
 import org.somuga.enums.MediaType;
 import org.somuga.enums.MovieRole;
+import org.somuga.exception.InvalidCursorException;
+import org.somuga.exception.InvalidPageException;
 import org.somuga.exception.InvalidPermissionException;
 import org.somuga.exception.movie.InvalidCrewRoleException;
 import org.somuga.exception.movie.MovieNotFoundException;
@@ -16,6 +23,10 @@ import org.somuga.exception.movie_crew.MovieCrewNotFoundException;
 import org.somuga.repository.MovieCrewRoleRepository;
 import org.somuga.repository.MovieRepository;
 import org.somuga.service.interfaces.IMovieService;
+import org.somuga.util.pagination.Cursors;
+import org.somuga.util.pagination.Pages;
+import org.somuga.util.search.SearchIndex;
+import org.somuga.util.validation.MovieCrewValidator;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
@@ -33,36 +44,60 @@ public class MovieService implements IMovieService {
     private final MovieRepository movieRepo;
     private final MovieCrewService crewService;
     private final MovieCrewRoleRepository movieCrewRoleRepo;
+    private final SearchService searchService;
+    private final MovieCrewValidator crewValidator;
 
     @Autowired
-    public MovieService(MovieRepository movieRepo, MovieCrewService crewService, MovieCrewRoleRepository movieCrewRoleRepo) {
+    public MovieService(MovieRepository movieRepo, MovieCrewService crewService, MovieCrewRoleRepository movieCrewRoleRepo, SearchService searchService, MovieCrewValidator crewValidator) {
         this.movieRepo = movieRepo;
         this.crewService = crewService;
         this.movieCrewRoleRepo = movieCrewRoleRepo;
+        this.searchService = searchService;
+        this.crewValidator = crewValidator;
     }
 
     @Override
-    public List<MoviePublicDto> getAll(Pageable page) {
-        return MovieConverter.fromEntityListToPublicDtoList(movieRepo.findAll(page).toList());
+    public VersionedDto<List<MoviePublicDto>> getAll(Pageable page) {
+        return toVersionedDtoList(movieRepo.findAllListings(page).toList());
     }
 
     @Override
-    public List<MoviePublicDto> searchByTitle(String title, Pageable page) {
-        return MovieConverter.fromEntityListToPublicDtoList(movieRepo.findByTitleContainingIgnoreCase(title, page).toList());
+    public CursorPageDto<MoviePublicDto> getAllAfter(String cursor, int size) throws InvalidCursorException {
+        return Cursors.toPage(movieRepo.findListingsAfter(Cursors.decodeLong(cursor), Cursors.slice(size)),
+                MovieListingDto::id, this::toPublicDtoList);
     }
 
     @Override
-    public List<MoviePublicDto> getByCrewId(Long crewId, Pageable page) {
-        return MovieConverter.fromEntityListToPublicDtoList(movieRepo.findByCrewId(crewId, page).toList());
+    public VersionedDto<List<MoviePublicDto>> getTopRated(Pageable page) {
+        return toVersionedDtoList(movieRepo.findAllListings(Pages.topRated(page)).toList());
     }
 
     @Override
-    public MoviePublicDto getById(Long id) throws MovieNotFoundException {
-        return MovieConverter.fromEntityToPublicDto(findById(id));
+    public VersionedDto<List<MoviePublicDto>> searchByTitle(String title, Pageable page) throws InvalidPageException {
+        List<Long> ids = searchService.search(SearchIndex.Kind.MOVIE, title, page);
+        if (ids.isEmpty()) {
+            return toVersionedDtoList(List.of());
+        }
+        return toVersionedDtoList(SearchIndex.inSearchOrder(ids, movieRepo.findListingsByIdIn(ids), MovieListingDto::id));
+    }
+
+    @Override
+    public VersionedDto<List<MoviePublicDto>> getByCrewId(Long crewId, Pageable page) {
+        return toVersionedDtoList(movieRepo.findListingsByCrewId(crewId, page).toList());
+    }
+
+    @Override
+    public VersionedDto<MoviePublicDto> getById(Long id) throws MovieNotFoundException {
+        return RevisionConverter.fromEntityToVersionedDto(findById(id), MovieConverter::fromEntityToPublicDto);
+    }
+
+    @Override
+    public RevisionDto getRevision(Long id) throws MovieNotFoundException {
+        return movieRepo.findRevisionById(id).orElseThrow(() -> new MovieNotFoundException(MOVIE_NOT_FOUND + id));
     }
 
     public MoviePublicDto create(MovieCreateDto movieDto) throws MovieCrewNotFoundException, InvalidCrewRoleException {
-        validateCrew(movieDto.crew());
+        crewValidator.validate(movieDto.crew());
         Movie movie = MovieConverter.fromCreateDtoToEntity(movieDto);
         List<MovieCrew> crew = new ArrayList<>();
         for (MovieRoleCreateDto roleDto : movieDto.crew()) {
@@ -75,6 +110,7 @@ public class MovieService implements IMovieService {
             } else {
                 movie.addMovieCrew(crew.get(i), MovieRole.ACTOR, roleDto.characterName());
             }
+            crew.get(i).touch();
         }
         movie.setMediaType(MediaType.MOVIE);
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
@@ -90,9 +126,10 @@ public class MovieService implements IMovieService {
         if (!movie.getMediaCreatorId().equals(auth.getName())) {
             throw new InvalidPermissionException(UNAUTHORIZED_UPDATE);
         }
-        validateCrew(movieDto.crew());
+        crewValidator.validate(movieDto.crew());
         List<MovieCrewRole> toDelete = new ArrayList<>(movie.getMovieCrew());
         for (MovieCrewRole role : toDelete) {
+            role.getMovieCrew().touch();
             movie.removeMovieCrew(role);
         }
         movie.setTitle(movieDto.title());
@@ -110,7 +147,9 @@ public class MovieService implements IMovieService {
             } else {
                 movie.addMovieCrew(crew.get(i), MovieRole.ACTOR, roleDto.characterName());
             }
+            crew.get(i).touch();
         }
+        movie.touch();
         return MovieConverter.fromEntityToPublicDto(movieRepo.save(movie));
     }
 
@@ -122,6 +161,9 @@ public class MovieService implements IMovieService {
         if (!movie.getMediaCreatorId().equals(auth.getName())) {
             throw new InvalidPermissionException(UNAUTHORIZED_DELETE);
         }
+        for (MovieCrewRole role : movie.getMovieCrew()) {
+            role.getMovieCrew().touch();
+        }
         movieRepo.deleteById(id);
     }
 
@@ -130,25 +172,18 @@ public class MovieService implements IMovieService {
         return movieRepo.findById(id).orElseThrow(() -> new MovieNotFoundException(MOVIE_NOT_FOUND + id));
     }
 
-    private void validateCrew(List<MovieRoleCreateDto> crew) throws InvalidCrewRoleException {
-        for (MovieRoleCreateDto roleDto : crew) {
-            if (roleDto.movieCrewId() == null || roleDto.movieCrewId() <= 0) {
-                throw new InvalidCrewRoleException(ID_GREATER_THAN_0);
-            }
-            if (roleDto.movieRole() == null) {
-                throw new InvalidCrewRoleException(INVALID_MOVIE_ROLE);
-            }
-            if (roleDto.characterName().length() > 255) {
-                throw new InvalidCrewRoleException(INVALID_CHARACTER_NAME);
-            }
-            try {
-                MovieRole.valueOf(roleDto.movieRole());
-            } catch (IllegalArgumentException e) {
-                throw new InvalidCrewRoleException(INVALID_MOVIE_ROLE);
-            }
-            if (roleDto.movieRole().equals(MovieRole.ACTOR.toString()) && roleDto.characterName().isEmpty()) {
-                throw new InvalidCrewRoleException(CHARACTER_NAME_REQUIRED);
-            }
+    private VersionedDto<List<MoviePublicDto>> toVersionedDtoList(List<MovieListingDto> movies) {
+        List<RevisionDto> revisions = movies.stream()
+                .map(MovieConverter::fromListingToRevisionDto)
+                .toList();
+        return new VersionedDto<>(revisions, () -> toPublicDtoList(movies));
+    }
+
+    private List<MoviePublicDto> toPublicDtoList(List<MovieListingDto> movies) {
+        if (movies.isEmpty()) {
+            return List.of();
         }
+        List<Long> movieIds = movies.stream().map(MovieListingDto::id).toList();
+        return MovieConverter.fromListingListToPublicDtoList(movies, movieCrewRoleRepo.findListingsByMovieIds(movieIds));
     }
 }
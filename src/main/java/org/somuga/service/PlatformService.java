@@ -1,18 +1,26 @@
 package org.somuga.service;
 
 import org.somuga.converter.PlatformConverter;
+import org.somuga.converter.RevisionConverter;
 import org.somuga.dto.platform.PlatformCreateDto;
 import org.somuga.dto.platform.PlatformPublicDto;
+import org.somuga.dto.revision.RevisionDto;
+import org.somuga.dto.revision.VersionedDto;
 import org.somuga.entity.Platform;
 import org.somuga.exception.platform.PlatformAlreadyExistsException;
 import org.somuga.exception.platform.PlatformNotFoundException;
 import org.somuga.repository.PlatformRepository;
 import org.somuga.service.interfaces.IPlatformService;
+import org.somuga.util.cache.ReferenceNameCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 import static org.somuga.util.message.Messages.*;
 
@@ -20,26 +28,32 @@ import static org.somuga.util.message.Messages.*;
 public class PlatformService implements IPlatformService {
 
     private final PlatformRepository platformRepo;
+    private final ReferenceNameCache nameCache;
 
     @Autowired
-    public PlatformService(PlatformRepository platformRepo) {
+    public PlatformService(PlatformRepository platformRepo, ReferenceNameCache nameCache) {
         this.platformRepo = platformRepo;
+        this.nameCache = nameCache;
     }
 
     @Override
-    public List<PlatformPublicDto> getAll(Pageable page) {
-        List<Platform> platforms = platformRepo.findAll(page).toList();
-        return PlatformConverter.fromEntityListToPublicDtoList(platformRepo.findAll(page).toList());
+    public VersionedDto<List<PlatformPublicDto>> getAll(Pageable page) {
+        return RevisionConverter.fromEntityListToVersionedDto(platformRepo.findAll(page).toList(), PlatformConverter::fromEntityListToPublicDtoList);
     }
 
     @Override
-    public PlatformPublicDto getById(Long id) throws PlatformNotFoundException {
-        return PlatformConverter.fromEntityToPublicDto(findById(id));
+    public VersionedDto<PlatformPublicDto> getById(Long id) throws PlatformNotFoundException {
+        return RevisionConverter.fromEntityToVersionedDto(findById(id), PlatformConverter::fromEntityToPublicDto);
     }
 
     @Override
-    public List<PlatformPublicDto> searchByName(String name, Pageable page) {
-        return PlatformConverter.fromEntityListToPublicDtoList(platformRepo.findByPlatformNameContainingIgnoreCase(name, page).toList());
+    public RevisionDto getRevision(Long id) throws PlatformNotFoundException {
+        return platformRepo.findRevisionById(id).orElseThrow(() -> new PlatformNotFoundException(PLATFORM_NOT_FOUND + id));
+    }
+
+    @Override
+    public VersionedDto<List<PlatformPublicDto>> searchByName(String name, Pageable page) {
+        return RevisionConverter.fromEntityListToVersionedDto(platformRepo.findByPlatformNameContainingIgnoreCase(name, page).toList(), PlatformConverter::fromEntityListToPublicDtoList);
     }
 
     @Override
@@ -56,13 +70,22 @@ public class PlatformService implements IPlatformService {
         return platformRepo.findByPlatformNameIgnoreCase(platformName).orElseThrow(() -> new PlatformNotFoundException(PLATFORM_NOT_FOUND_NAME + platformName));
     }
 
-    private boolean checkDuplicatePlatform(String platformName) {
-        try {
-            findByPlatformName(platformName);
-            return true;
-        } catch (PlatformNotFoundException ignored) {
-            return false;
+    @Override
+    public Optional<Long> findIdByPlatformName(String platformName) {
+        return nameCache.platforms().getOrLoad(platformName, platformRepo::findIdByPlatformNameIgnoreCase);
+    }
+
+    @Override
+    public List<Platform> findAllByPlatformNames(Collection<String> platformNames) throws PlatformNotFoundException {
+        Set<Long> ids = new HashSet<>();
+        for (String platformName : platformNames) {
+            ids.add(findIdByPlatformName(platformName).orElseThrow(() -> new PlatformNotFoundException(PLATFORM_NOT_FOUND_NAME + platformName)));
         }
+        return platformRepo.findAllById(ids);
+    }
+
+    private boolean checkDuplicatePlatform(String platformName) {
+        return findIdByPlatformName(platformName).isPresent();
     }
 
     private Platform findById(Long id) throws PlatformNotFoundException {
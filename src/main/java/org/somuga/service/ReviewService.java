@@ -3,10 +3,12 @@ package org.somuga.service;
 import org.somuga.converter.ReviewConverter;
 import org.somuga.dto.review.ReviewCreateDto;
 import org.somuga.dto.review.ReviewPublicDto;
+import org.somuga.dto.page.CursorPageDto;
 import org.somuga.dto.review.ReviewUpdateDto;
 import org.somuga.entity.Media;
 import org.somuga.entity.Review;
 import org.somuga.entity.User;
+import org.somuga.exception.InvalidCursorException;
 import org.somuga.exception.InvalidPermissionException;
 import org.somuga.exception.media.MediaNotFoundException;
 import org.somuga.exception.review.AlreadyReviewedException;
@@ -16,11 +18,13 @@ import org.somuga.repository.ReviewRepository;
 import org.somuga.service.interfaces.IMediaService;
 import org.somuga.service.interfaces.IReviewService;
 import org.somuga.service.interfaces.IUserService;
+import org.somuga.util.pagination.Cursors;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -58,6 +62,19 @@ public class ReviewService implements IReviewService {
     }
 
     @Override
+    public CursorPageDto<ReviewPublicDto> getAllByUserIdAfter(String userId, String cursor, int size) throws InvalidCursorException {
+        return Cursors.toPage(reviewRepo.findByUserIdAndIdGreaterThanOrderByIdAsc(userId, Cursors.decodeLong(cursor), Cursors.slice(size)),
+                Review::getId, ReviewConverter::fromEntityListToPublidDtoList);
+    }
+
+    @Override
+    public CursorPageDto<ReviewPublicDto> getAllByMediaIdAfter(Long mediaId, String cursor, int size) throws InvalidCursorException {
+        return Cursors.toPage(reviewRepo.findByMediaIdAndIdGreaterThanOrderByIdAsc(mediaId, Cursors.decodeLong(cursor), Cursors.slice(size)),
+                Review::getId, ReviewConverter::fromEntityListToPublidDtoList);
+    }
+
+    @Override
+    @Transactional
     public ReviewPublicDto create(ReviewCreateDto reviewDto) throws UserNotFoundException, AlreadyReviewedException, MediaNotFoundException {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         String userId = auth.getName();
@@ -67,30 +84,35 @@ public class ReviewService implements IReviewService {
         }
         User user = userService.findById(userId);
         Media media = mediaService.findById(reviewDto.mediaId());
-        Review review = new Review(reviewDto.reviewScore(), reviewDto.writtenReview(), user, media);
-        return ReviewConverter.fromEntityToPublicDto(reviewRepo.save(review));
+        Review review = reviewRepo.save(new Review(reviewDto.reviewScore(), reviewDto.writtenReview(), user, media));
+        mediaService.applyReviewScore(media, 0, review.getReviewScore());
+        return ReviewConverter.fromEntityToPublicDto(review);
     }
 
     @Override
+    @Transactional
     public ReviewPublicDto updateReview(Long id, ReviewUpdateDto reviewDto) throws ReviewNotFoundException, InvalidPermissionException {
         Review review = findById(id);
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         if (!review.getUser().getId().equals(auth.getName())) {
             throw new InvalidPermissionException(UNAUTHORIZED_UPDATE);
         }
+        mediaService.applyReviewScore(review.getMedia(), review.getReviewScore(), reviewDto.reviewScore());
         review.setReviewScore(reviewDto.reviewScore());
         review.setWrittenReview(reviewDto.writtenReview());
         return ReviewConverter.fromEntityToPublicDto(reviewRepo.save(review));
     }
 
     @Override
+    @Transactional
     public void delete(Long id) throws ReviewNotFoundException, InvalidPermissionException {
         Review review = findById(id);
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         if (!review.getUser().getId().equals(auth.getName())) {
             throw new InvalidPermissionException(UNAUTHORIZED_DELETE);
         }
-        reviewRepo.deleteById(id);
+        reviewRepo.delete(review);
+        mediaService.applyReviewScore(review.getMedia(), review.getReviewScore(), 0);
     }
 
     private Review findById(Long id) throws ReviewNotFoundException {
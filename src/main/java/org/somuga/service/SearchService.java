@@ -0,0 +1,207 @@
+package org.somuga.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.somuga.dto.search.SearchEntryDto;
+import org.somuga.exception.InvalidPageException;
+import org.somuga.repository.DeveloperRepository;
+import org.somuga.repository.GameRepository;
+import org.somuga.repository.MovieCrewRepository;
+import org.somuga.repository.MovieRepository;
+import org.somuga.service.interfaces.ISearchService;
+import org.somuga.util.search.SearchIndex;
+import org.somuga.util.search.SearchIndex.Kind;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import static org.somuga.util.message.Messages.*;
+import static org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME;
+
+/**
+ * Runs the title and name searches against the {@link SearchIndex} and builds it from the database: at startup
+ * when {@code somuga.search.build-on-startup} is set and the index is not on disk from an earlier run, otherwise in
+ * the background once the first search comes in.
+ * <p>
+ * Rows written by other instances are picked up by a refresh, run at startup and in the background once a search
+ * comes in after {@code somuga.search.refresh-interval} has passed: the rows updated since the watermark of the index
+ * are indexed again, and when the number of rows of a kind still differs from the index, as after a delete elsewhere,
+ * the index is built again. Refreshes run on the application task executor, so a search is always answered from the
+ * index as it is and never waits for the database; where the executor is frozen between requests, as on Lambda, a
+ * refresh carries on with the next request.
+ */
+@Service
+public class SearchService implements ISearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchService.class);
+    // Rows are stamped before their transaction commits, so a row can show up with an update time before the watermark
+    private static final Duration WATERMARK_OVERLAP = Duration.ofMinutes(1);
+
+    private final SearchIndex searchIndex;
+    private final GameRepository gameRepo;
+    private final MovieRepository movieRepo;
+    private final MovieCrewRepository movieCrewRepo;
+    private final DeveloperRepository developerRepo;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TaskExecutor taskExecutor;
+    private final boolean buildOnStartup;
+    private final Duration refreshInterval;
+    private final ReentrantLock buildLock = new ReentrantLock();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private volatile long nextRefresh;
+
+    @Autowired
+    public SearchService(SearchIndex searchIndex,
+                         GameRepository gameRepo,
+                         MovieRepository movieRepo,
+                         MovieCrewRepository movieCrewRepo,
+                         DeveloperRepository developerRepo,
+                         PlatformTransactionManager transactionManager,
+                         @Qualifier(APPLICATION_TASK_EXECUTOR_BEAN_NAME) TaskExecutor taskExecutor,
+                         @Value("${somuga.search.build-on-startup:true}") boolean buildOnStartup,
+                         @Value("${somuga.search.refresh-interval:1m}") Duration refreshInterval) {
+        this.searchIndex = searchIndex;
+        this.gameRepo = gameRepo;
+        this.movieRepo = movieRepo;
+        this.movieCrewRepo = movieCrewRepo;
+        this.developerRepo = developerRepo;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.taskExecutor = taskExecutor;
+        this.buildOnStartup = buildOnStartup;
+        this.refreshInterval = refreshInterval;
+        // An index on disk from an earlier run is refreshed once the first search comes in
+        this.nextRefresh = System.nanoTime() + (searchIndex.isBuilt() ? 0 : refreshInterval.toNanos());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build(ApplicationReadyEvent event) {
+        if (buildOnStartup) {
+            refresh();
+        }
+    }
+
+    @Override
+    public List<Long> search(Kind kind, String text, Pageable page) throws InvalidPageException {
+        if (page.getOffset() + page.getPageSize() > SearchIndex.MAX_RESULTS) {
+            throw new InvalidPageException(SEARCH_PAGE_TOO_DEEP + SearchIndex.MAX_RESULTS);
+        }
+        if (!searchIndex.isBuilt() || System.nanoTime() - nextRefresh >= 0) {
+            refreshInBackground();
+        }
+        return searchIndex.search(kind, text, page.getOffset(), page.getPageSize());
+    }
+
+    @Override
+    public long rebuildIndex() {
+        buildLock.lock();
+        try {
+            long start = System.nanoTime();
+            nextRefresh = start + refreshInterval.toNanos();
+            Long entries = readOnlyTransaction.execute(status -> {
+                Instant watermark = latestUpdate();
+                return searchIndex.replaceAll(sink -> {
+                    load(Kind.GAME, gameRepo.streamSearchEntries(), sink);
+                    load(Kind.MOVIE, movieRepo.streamSearchEntries(), sink);
+                    load(Kind.CREW, movieCrewRepo.streamSearchEntries(), sink);
+                    load(Kind.DEVELOPER, developerRepo.streamSearchEntries(), sink);
+                }, watermark);
+            });
+            logger.info("Search index: {} entries in {} ms", entries, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return entries == null ? 0 : entries;
+        } finally {
+            buildLock.unlock();
+        }
+    }
+
+    @Override
+    public long refresh() {
+        buildLock.lock();
+        try {
+            Instant watermark = searchIndex.watermark();
+            if (!searchIndex.isBuilt() || watermark == null) {
+                return rebuildIndex();
+            }
+            nextRefresh = System.nanoTime() + refreshInterval.toNanos();
+            Long entries = readOnlyTransaction.execute(status -> {
+                Instant latest = latestUpdate();
+                Date since = Date.from(watermark.minus(WATERMARK_OVERLAP));
+                return searchIndex.updateAll(sink -> {
+                    load(Kind.GAME, gameRepo.streamSearchEntriesUpdatedSince(since), sink);
+                    load(Kind.MOVIE, movieRepo.streamSearchEntriesUpdatedSince(since), sink);
+                    load(Kind.CREW, movieCrewRepo.streamSearchEntriesUpdatedSince(since), sink);
+                    load(Kind.DEVELOPER, developerRepo.streamSearchEntriesUpdatedSince(since), sink);
+                }, latest.isAfter(watermark) ? latest : watermark);
+            });
+            if (!Boolean.TRUE.equals(readOnlyTransaction.execute(status -> countsMatch()))) {
+                logger.info("Search index: rows were deleted elsewhere, building it again");
+                return rebuildIndex();
+            }
+            return entries == null ? 0 : entries;
+        } finally {
+            buildLock.unlock();
+        }
+    }
+
+    @Override
+    public void refreshInBackground() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            taskExecutor.execute(() -> {
+                try {
+                    refresh();
+                } catch (RuntimeException e) {
+                    logger.warn("Could not refresh the search index", e);
+                } finally {
+                    refreshing.set(false);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            refreshing.set(false);
+            logger.warn("Could not start a refresh of the search index", e);
+        }
+    }
+
+    private Instant latestUpdate() {
+        return Stream.of(gameRepo.findMaxUpdatedAt(), movieRepo.findMaxUpdatedAt(),
+                        movieCrewRepo.findMaxUpdatedAt(), developerRepo.findMaxUpdatedAt())
+                .filter(Objects::nonNull)
+                .map(Date::toInstant)
+                .max(Comparator.naturalOrder())
+                .orElse(Instant.EPOCH);
+    }
+
+    private boolean countsMatch() {
+        return gameRepo.count() == searchIndex.count(Kind.GAME)
+                && movieRepo.count() == searchIndex.count(Kind.MOVIE)
+                && movieCrewRepo.count() == searchIndex.count(Kind.CREW)
+                && developerRepo.count() == searchIndex.count(Kind.DEVELOPER);
+    }
+
+    private static void load(Kind kind, Stream<SearchEntryDto> entries, SearchIndex.Sink sink) {
+        try (entries) {
+            entries.forEach(entry -> sink.accept(kind, entry.id(), entry.title(), entry.description()));
+        }
+    }
+}
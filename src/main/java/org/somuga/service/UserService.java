@@ -2,12 +2,15 @@ package org.somuga.service;
 
 import org.somuga.converter.UserConverter;
 import org.somuga.dto.user.UserCreateDto;
+import org.somuga.dto.page.CursorPageDto;
 import org.somuga.dto.user.UserPublicDto;
 import org.somuga.entity.User;
+import org.somuga.exception.InvalidCursorException;
 import org.somuga.exception.user.DuplicateFieldException;
 import org.somuga.exception.user.UserNotFoundException;
 import org.somuga.repository.UserRepository;
 import org.somuga.service.interfaces.IUserService;
+import org.somuga.util.pagination.Cursors;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
@@ -36,6 +39,12 @@ public class UserService implements IUserService {
         return UserConverter.fromEntityListToPublicDtoList(userRepo.findByActiveTrue(page).toList());
     }
 
+    @Override
+    public CursorPageDto<UserPublicDto> getAllAfter(String cursor, int size) throws InvalidCursorException {
+        return Cursors.toPage(userRepo.findByActiveTrueAndIdGreaterThanOrderByIdAsc(Cursors.decodeString(cursor), Cursors.slice(size)),
+                User::getId, UserConverter::fromEntityListToPublicDtoList);
+    }
+
     @Override
     public List<UserPublicDto> getAllByName(Pageable page, String name) {
         return UserConverter.fromEntityListToPublicDtoList(userRepo.findByUserNameContaining(name, page).toList());
@@ -0,0 +1,20 @@
+package org.somuga.service.interfaces;
+
+import org.somuga.dto.search.AutocompleteDto;
+import org.somuga.dto.search.AutocompleteStatsDto;
+
+import java.util.List;
+
+public interface IAutocompleteService {
+
+    List<AutocompleteDto> suggest(String prefix, int size);
+
+    AutocompleteStatsDto stats();
+
+    AutocompleteStatsDto rebuildIndex();
+
+    /**
+     * Starts a {@link #rebuildIndex()} on another thread, unless one is already running.
+     */
+    void refreshInBackground();
+}
@@ -2,26 +2,34 @@ package org.somuga.service.interfaces;
 
 import org.somuga.dto.developer.DeveloperCreateDto;
 import org.somuga.dto.developer.DeveloperPublicDto;
+import org.somuga.dto.revision.RevisionDto;
+import org.somuga.dto.revision.VersionedDto;
 import org.somuga.entity.Developer;
+import org.somuga.exception.InvalidPageException;
 import org.somuga.exception.InvalidPermissionException;
 import org.somuga.exception.developer.DeveloperNotFoundException;
 import org.somuga.exception.user.DuplicateFieldException;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface IDeveloperService {
 
-    List<DeveloperPublicDto> getAll(Pageable page);
+    VersionedDto<List<DeveloperPublicDto>> getAll(Pageable page);
 
-    DeveloperPublicDto getById(Long id) throws DeveloperNotFoundException;
+    VersionedDto<DeveloperPublicDto> getById(Long id) throws DeveloperNotFoundException;
 
-    List<DeveloperPublicDto> searchByName(String name, Pageable page);
+    RevisionDto getRevision(Long id) throws DeveloperNotFoundException;
+
+    VersionedDto<List<DeveloperPublicDto>> searchByName(String name, Pageable page) throws InvalidPageException;
 
     DeveloperPublicDto create(DeveloperCreateDto developerDto) throws DuplicateFieldException;
 
     Developer findByDeveloperName(String developerName) throws DeveloperNotFoundException;
 
+    Optional<Long> findIdByDeveloperName(String developerName);
+
     DeveloperPublicDto update(Long id, DeveloperCreateDto developerDto) throws DeveloperNotFoundException, InvalidPermissionException;
 
     void delete(Long id) throws DeveloperNotFoundException, InvalidPermissionException;
@@ -0,0 +1,15 @@
+package org.somuga.service.interfaces;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface IExportService {
+
+    void exportGames(OutputStream out) throws IOException;
+
+    void exportMovies(OutputStream out) throws IOException;
+
+    void exportReviews(OutputStream out) throws IOException;
+
+    void exportLikes(OutputStream out) throws IOException;
+}
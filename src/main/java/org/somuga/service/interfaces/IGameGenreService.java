@@ -2,22 +2,32 @@ package org.somuga.service.interfaces;
 
 import org.somuga.dto.game_genre.GameGenreCreateDto;
 import org.somuga.dto.game_genre.GameGenrePublicDto;
+import org.somuga.dto.revision.RevisionDto;
+import org.somuga.dto.revision.VersionedDto;
 import org.somuga.entity.GameGenre;
 import org.somuga.exception.game_genre.GenreAlreadyExistsException;
 import org.somuga.exception.game_genre.GenreNotFoundException;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface IGameGenreService {
-    List<GameGenrePublicDto> getAll(Pageable page);
+    VersionedDto<List<GameGenrePublicDto>> getAll(Pageable page);
 
-    GameGenrePublicDto getById(Long id) throws GenreNotFoundException;
+    VersionedDto<GameGenrePublicDto> getById(Long id) throws GenreNotFoundException;
 
-    List<GameGenrePublicDto> searchByName(String name, Pageable page);
+    RevisionDto getRevision(Long id) throws GenreNotFoundException;
+
+    VersionedDto<List<GameGenrePublicDto>> searchByName(String name, Pageable page);
 
     GameGenrePublicDto create(GameGenreCreateDto genreDto) throws GenreAlreadyExistsException;
 
     GameGenre findByGenre(String genre) throws GenreNotFoundException;
 
+    Optional<Long> findIdByGenre(String genre);
+
+    List<GameGenre> findAllByGenres(Collection<String> genres) throws GenreNotFoundException;
+
 }
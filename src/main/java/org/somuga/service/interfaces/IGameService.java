@@ -2,7 +2,12 @@ package org.somuga.service.interfaces;
 
 import org.somuga.dto.game.GameCreateDto;
 import org.somuga.dto.game.GamePublicDto;
+import org.somuga.dto.page.CursorPageDto;
+import org.somuga.dto.revision.RevisionDto;
+import org.somuga.dto.revision.VersionedDto;
 import org.somuga.entity.Media;
+import org.somuga.exception.InvalidCursorException;
+import org.somuga.exception.InvalidPageException;
 import org.somuga.exception.InvalidPermissionException;
 import org.somuga.exception.developer.DeveloperNotFoundException;
 import org.somuga.exception.game.GameNotFoundException;
@@ -14,17 +19,23 @@ import java.util.List;
 
 public interface IGameService {
 
-    List<GamePublicDto> getAll(Pageable page);
+    VersionedDto<List<GamePublicDto>> getAll(Pageable page);
 
-    List<GamePublicDto> getByPlatform(String platformName, Pageable page);
+    CursorPageDto<GamePublicDto> getAllAfter(String cursor, int size) throws InvalidCursorException;
 
-    List<GamePublicDto> getByGenre(String genreName, Pageable page);
+    VersionedDto<List<GamePublicDto>> getTopRated(Pageable page);
 
-    List<GamePublicDto> getByDeveloper(String developerName, Pageable page);
+    VersionedDto<List<GamePublicDto>> getByPlatform(String platformName, Pageable page);
 
-    List<GamePublicDto> searchByName(String name, Pageable page);
+    VersionedDto<List<GamePublicDto>> getByGenre(String genreName, Pageable page);
 
-    GamePublicDto getById(Long id) throws GameNotFoundException;
+    VersionedDto<List<GamePublicDto>> getByDeveloper(String developerName, Pageable page);
+
+    VersionedDto<List<GamePublicDto>> searchByName(String name, Pageable page) throws InvalidPageException;
+
+    VersionedDto<GamePublicDto> getById(Long id) throws GameNotFoundException;
+
+    RevisionDto getRevision(Long id) throws GameNotFoundException;
 
     GamePublicDto create(GameCreateDto game) throws GenreNotFoundException, DeveloperNotFoundException, PlatformNotFoundException;
 
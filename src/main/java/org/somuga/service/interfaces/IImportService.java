@@ -0,0 +1,13 @@
+package org.somuga.service.interfaces;
+
+import org.somuga.dto.bulk_import.ImportResultDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface IImportService {
+
+    ImportResultDto importGames(InputStream ndjson) throws IOException;
+
+    ImportResultDto importMovies(InputStream ndjson) throws IOException;
+}
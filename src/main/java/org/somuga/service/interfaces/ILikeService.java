@@ -2,6 +2,8 @@ package org.somuga.service.interfaces;
 
 import org.somuga.dto.like.LikeCreateDto;
 import org.somuga.dto.like.LikePublicDto;
+import org.somuga.dto.page.CursorPageDto;
+import org.somuga.exception.InvalidCursorException;
 import org.somuga.exception.InvalidPermissionException;
 import org.somuga.exception.like.AlreadyLikedException;
 import org.somuga.exception.like.LikeNotFoundException;
@@ -16,6 +18,10 @@ public interface ILikeService {
 
     List<LikePublicDto> getAllByMediaId(Long mediaId, Pageable page);
 
+    CursorPageDto<LikePublicDto> getAllByUserIdAfter(String userId, String cursor, int size) throws InvalidCursorException;
+
+    CursorPageDto<LikePublicDto> getAllByMediaIdAfter(Long mediaId, String cursor, int size) throws InvalidCursorException;
+
     LikePublicDto create(LikeCreateDto like) throws UserNotFoundException, AlreadyLikedException, MediaNotFoundException;
 
     void delete(Long id) throws LikeNotFoundException, InvalidPermissionException;
@@ -3,6 +3,21 @@ package org.somuga.service.interfaces;
 import org.somuga.entity.Media;
 import org.somuga.exception.media.MediaNotFoundException;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface IMediaService {
     Media findById(Long id) throws MediaNotFoundException;
+
+    List<Media> findAllByIds(Collection<Long> ids);
+
+    void addToLikeCount(Media media, int delta);
+
+    void applyReviewScore(Media media, int removedScore, int addedScore);
+
+    int reconcileCounters();
+
+    void backfill();
+
+    int recomputeRatings();
 }
@@ -2,6 +2,9 @@ package org.somuga.service.interfaces;
 
 import org.somuga.dto.movie_crew.MovieCrewCreateDto;
 import org.somuga.dto.movie_crew.MovieCrewPublicDto;
+import org.somuga.dto.revision.RevisionDto;
+import org.somuga.dto.revision.VersionedDto;
+import org.somuga.exception.InvalidPageException;
 import org.somuga.exception.InvalidPermissionException;
 import org.somuga.exception.movie_crew.MovieCrewNotFoundException;
 import org.springframework.data.domain.Pageable;
@@ -9,11 +12,13 @@ import org.springframework.data.domain.Pageable;
 import java.util.List;
 
 public interface IMovieCrewService {
-    List<MovieCrewPublicDto> getAll(Pageable page);
+    VersionedDto<List<MovieCrewPublicDto>> getAll(Pageable page);
 
-    MovieCrewPublicDto getById(Long id) throws MovieCrewNotFoundException;
+    VersionedDto<MovieCrewPublicDto> getById(Long id) throws MovieCrewNotFoundException;
 
-    List<MovieCrewPublicDto> getByName(String name, Pageable page);
+    RevisionDto getRevision(Long id) throws MovieCrewNotFoundException;
+
+    VersionedDto<List<MovieCrewPublicDto>> getByName(String name, Pageable page) throws InvalidPageException;
 
     MovieCrewPublicDto create(MovieCrewCreateDto movieCrew);
 
@@ -2,7 +2,12 @@ package org.somuga.service.interfaces;
 
 import org.somuga.dto.movie.MovieCreateDto;
 import org.somuga.dto.movie.MoviePublicDto;
+import org.somuga.dto.page.CursorPageDto;
+import org.somuga.dto.revision.RevisionDto;
+import org.somuga.dto.revision.VersionedDto;
 import org.somuga.entity.Movie;
+import org.somuga.exception.InvalidCursorException;
+import org.somuga.exception.InvalidPageException;
 import org.somuga.exception.InvalidPermissionException;
 import org.somuga.exception.movie.InvalidCrewRoleException;
 import org.somuga.exception.movie.MovieNotFoundException;
@@ -13,13 +18,19 @@ import java.util.List;
 
 public interface IMovieService {
 
-    List<MoviePublicDto> getAll(Pageable page);
+    VersionedDto<List<MoviePublicDto>> getAll(Pageable page);
 
-    List<MoviePublicDto> searchByTitle(String title, Pageable page);
+    CursorPageDto<MoviePublicDto> getAllAfter(String cursor, int size) throws InvalidCursorException;
 
-    List<MoviePublicDto> getByCrewId(Long crewId, Pageable page);
+    VersionedDto<List<MoviePublicDto>> getTopRated(Pageable page);
 
-    MoviePublicDto getById(Long id) throws MovieNotFoundException;
+    VersionedDto<List<MoviePublicDto>> searchByTitle(String title, Pageable page) throws InvalidPageException;
+
+    VersionedDto<List<MoviePublicDto>> getByCrewId(Long crewId, Pageable page);
+
+    VersionedDto<MoviePublicDto> getById(Long id) throws MovieNotFoundException;
+
+    RevisionDto getRevision(Long id) throws MovieNotFoundException;
 
     MoviePublicDto create(MovieCreateDto movie) throws MovieCrewNotFoundException, InvalidCrewRoleException;
 
@@ -2,21 +2,31 @@ package org.somuga.service.interfaces;
 
 import org.somuga.dto.platform.PlatformCreateDto;
 import org.somuga.dto.platform.PlatformPublicDto;
+import org.somuga.dto.revision.RevisionDto;
+import org.somuga.dto.revision.VersionedDto;
 import org.somuga.entity.Platform;
 import org.somuga.exception.platform.PlatformAlreadyExistsException;
 import org.somuga.exception.platform.PlatformNotFoundException;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface IPlatformService {
-    List<PlatformPublicDto> getAll(Pageable page);
+    VersionedDto<List<PlatformPublicDto>> getAll(Pageable page);
 
-    PlatformPublicDto getById(Long id) throws PlatformNotFoundException;
+    VersionedDto<PlatformPublicDto> getById(Long id) throws PlatformNotFoundException;
 
-    List<PlatformPublicDto> searchByName(String name, Pageable page);
+    RevisionDto getRevision(Long id) throws PlatformNotFoundException;
+
+    VersionedDto<List<PlatformPublicDto>> searchByName(String name, Pageable page);
 
     PlatformPublicDto create(PlatformCreateDto platformDto) throws PlatformAlreadyExistsException;
 
     Platform findByPlatformName(String platformName) throws PlatformNotFoundException;
+
+    Optional<Long> findIdByPlatformName(String platformName);
+
+    List<Platform> findAllByPlatformNames(Collection<String> platformNames) throws PlatformNotFoundException;
 }
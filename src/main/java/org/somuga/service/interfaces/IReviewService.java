@@ -2,7 +2,9 @@ package org.somuga.service.interfaces;
 
 import org.somuga.dto.review.ReviewCreateDto;
 import org.somuga.dto.review.ReviewPublicDto;
+import org.somuga.dto.page.CursorPageDto;
 import org.somuga.dto.review.ReviewUpdateDto;
+import org.somuga.exception.InvalidCursorException;
 import org.somuga.exception.InvalidPermissionException;
 import org.somuga.exception.media.MediaNotFoundException;
 import org.somuga.exception.review.AlreadyReviewedException;
@@ -19,6 +21,10 @@ public interface IReviewService {
 
     List<ReviewPublicDto> getAllByMediaId(Long mediaId, Pageable page);
 
+    CursorPageDto<ReviewPublicDto> getAllByUserIdAfter(String userId, String cursor, int size) throws InvalidCursorException;
+
+    CursorPageDto<ReviewPublicDto> getAllByMediaIdAfter(Long mediaId, String cursor, int size) throws InvalidCursorException;
+
     ReviewPublicDto create(ReviewCreateDto review) throws UserNotFoundException, AlreadyReviewedException, MediaNotFoundException;
 
     ReviewPublicDto updateReview(Long id, ReviewUpdateDto review) throws ReviewNotFoundException, InvalidPermissionException;
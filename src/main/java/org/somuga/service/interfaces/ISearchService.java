@@ -0,0 +1,21 @@
+package org.somuga.service.interfaces;
+
+import org.somuga.exception.InvalidPageException;
+import org.somuga.util.search.SearchIndex;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+public interface ISearchService {
+
+    List<Long> search(SearchIndex.Kind kind, String text, Pageable page) throws InvalidPageException;
+
+    long rebuildIndex();
+
+    long refresh();
+
+    /**
+     * Starts a {@link #refresh()} on another thread, unless one is already running.
+     */
+    void refreshInBackground();
+}
@@ -1,8 +1,10 @@
 package org.somuga.service.interfaces;
 
 import org.somuga.dto.user.UserCreateDto;
+import org.somuga.dto.page.CursorPageDto;
 import org.somuga.dto.user.UserPublicDto;
 import org.somuga.entity.User;
+import org.somuga.exception.InvalidCursorException;
 import org.somuga.exception.user.DuplicateFieldException;
 import org.somuga.exception.user.UserNotFoundException;
 import org.springframework.data.domain.Pageable;
@@ -12,6 +14,8 @@ import java.util.List;
 public interface IUserService {
     List<UserPublicDto> getAll(Pageable page);
 
+    CursorPageDto<UserPublicDto> getAllAfter(String cursor, int size) throws InvalidCursorException;
+
     List<UserPublicDto> getAllByName(Pageable page, String name);
 
     UserPublicDto getById(String id) throws UserNotFoundException;
@@ -0,0 +1,98 @@
+package org.somuga.util.cache;
+
+import org.somuga.dto.cache.CacheStatsDto;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded, case-insensitive name to id cache for small reference tables.
+ * Entries are evicted least-recently-used once {@code maxSize} is reached, and expire {@code expireAfter} after they
+ * were loaded, so a row renamed or deleted by another instance is looked up again eventually.
+ * <p>
+ * Every {@link #clear()} starts a new generation; an id loaded during an older generation is returned but not cached,
+ * so a lookup racing an invalidation cannot put the name of a renamed or deleted row back.
+ */
+public class NameIdCache {
+
+    private final String name;
+    private final int maxSize;
+    private final long expireAfterNanos;
+    private final LongSupplier clock;
+    private final Map<String, Entry> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private long generation;
+
+    public NameIdCache(String name, int maxSize, Duration expireAfter) {
+        this(name, maxSize, expireAfter, System::nanoTime);
+    }
+
+    public NameIdCache(String name, int maxSize, Duration expireAfter, LongSupplier clock) {
+        this.name = name;
+        this.maxSize = maxSize;
+        this.expireAfterNanos = expireAfter.toNanos();
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > NameIdCache.this.maxSize;
+            }
+        };
+    }
+
+    public Optional<Long> getOrLoad(String key, Function<String, Optional<Long>> loader) {
+        String normalized = normalize(key);
+        long loadedAt = clock.getAsLong();
+        long loadGeneration;
+        synchronized (entries) {
+            Entry cached = entries.get(normalized);
+            if (cached != null && loadedAt - cached.loadedAt() < expireAfterNanos) {
+                hits.incrementAndGet();
+                return Optional.of(cached.id());
+            }
+            if (cached != null) {
+                entries.remove(normalized);
+            }
+            loadGeneration = generation;
+        }
+        misses.incrementAndGet();
+        Optional<Long> loaded = loader.apply(key);
+        loaded.ifPresent(id -> {
+            synchronized (entries) {
+                if (generation == loadGeneration) {
+                    entries.put(normalized, new Entry(id, loadedAt));
+                }
+            }
+        });
+        return loaded;
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            generation++;
+            entries.clear();
+        }
+    }
+
+    public CacheStatsDto stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new CacheStatsDto(name, size, maxSize, hits.get(), misses.get());
+    }
+
+    private static String normalize(String key) {
+        return key.toLowerCase(Locale.ROOT);
+    }
+
+    private record Entry(Long id, long loadedAt) {
+    }
+}
@@ -0,0 +1,45 @@
+package org.somuga.util.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Ids of platforms, genres and developers by name, for the writes that link a row to them by name.
+ * <p>
+ * Entries expire after {@code somuga.cache.reference-names.expire-after}, 5 minutes by default, which is
+ * deliberately much shorter than the 1 hour of the second-level cache: a stale entry there only shows an old name,
+ * while a stale id here links a new row to a renamed or deleted one. Each expiry costs one indexed lookup per name.
+ */
+@Component
+public class ReferenceNameCache {
+
+    private final NameIdCache platforms;
+    private final NameIdCache genres;
+    private final NameIdCache developers;
+
+    public ReferenceNameCache(@Value("${somuga.cache.reference-names.max-size:1024}") int maxSize,
+                              @Value("${somuga.cache.reference-names.expire-after:5m}") Duration expireAfter) {
+        this.platforms = new NameIdCache("platforms", maxSize, expireAfter);
+        this.genres = new NameIdCache("genres", maxSize, expireAfter);
+        this.developers = new NameIdCache("developers", maxSize, expireAfter);
+    }
+
+    public NameIdCache platforms() {
+        return platforms;
+    }
+
+    public NameIdCache genres() {
+        return genres;
+    }
+
+    public NameIdCache developers() {
+        return developers;
+    }
+
+    public List<NameIdCache> all() {
+        return List.of(platforms, genres, developers);
+    }
+}
@@ -0,0 +1,62 @@
+package org.somuga.util.cache;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.somuga.entity.Developer;
+import org.somuga.entity.GameGenre;
+import org.somuga.entity.Platform;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Drops the cached names of a reference table whenever one of its rows is written,
+ * whether the write comes from a service or straight from a repository.
+ * <p>
+ * The cache is cleared at once, so the writing transaction reads its own changes, and again once the transaction
+ * completes, since another transaction may have cached the previous name in between.
+ */
+public class ReferenceNameCacheListener {
+
+    private final ReferenceNameCache nameCache;
+
+    @Autowired
+    public ReferenceNameCacheListener(ReferenceNameCache nameCache) {
+        this.nameCache = nameCache;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void invalidate(Object entity) {
+        NameIdCache cache = cacheOf(entity);
+        if (cache == null) {
+            return;
+        }
+        cache.clear();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(cache)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(cache, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(cache);
+                cache.clear();
+            }
+        });
+    }
+
+    private NameIdCache cacheOf(Object entity) {
+        if (entity instanceof Platform) {
+            return nameCache.platforms();
+        } else if (entity instanceof GameGenre) {
+            return nameCache.genres();
+        } else if (entity instanceof Developer) {
+            return nameCache.developers();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,57 @@
+package org.somuga.util.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.somuga.config.SecondLevelCacheConfig;
+import org.somuga.dto.cache.CacheStatsDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.cache.CacheManager;
+import java.util.List;
+
+/**
+ * Statistics and eviction of the Hibernate second-level cache regions. Hits and misses are only counted while
+ * {@code hibernate.generate_statistics} is on.
+ */
+@Component
+public class SecondLevelCache {
+
+    private final SessionFactory sessionFactory;
+    private final CacheManager cacheManager;
+    private final int maxSize;
+
+    @Autowired
+    public SecondLevelCache(EntityManagerFactory entityManagerFactory,
+                            CacheManager secondLevelCacheManager,
+                            @Value("${somuga.cache.second-level.max-size:10000}") int maxSize) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.cacheManager = secondLevelCacheManager;
+        this.maxSize = maxSize;
+    }
+
+    public List<CacheStatsDto> stats() {
+        Statistics statistics = sessionFactory.getStatistics();
+        return SecondLevelCacheConfig.REGIONS.stream()
+                .map(region -> {
+                    CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics(region);
+                    return new CacheStatsDto(region, size(region), maxSize,
+                            regionStatistics.getHitCount(), regionStatistics.getMissCount());
+                })
+                .toList();
+    }
+
+    public void clear() {
+        sessionFactory.getCache().evictAllRegions();
+    }
+
+    private int size(String region) {
+        long size = cacheManager.getCache(region)
+                .unwrap(com.github.benmanes.caffeine.cache.Cache.class)
+                .estimatedSize();
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+}
@@ -0,0 +1,58 @@
+package org.somuga.util.cds;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.somuga.util.snapstart.SnapStartPriming;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Training run for the AppCDS archive built by the {@code cds} Maven profile. Once the application is ready every
+ * public route is called over HTTP, followed by an admin route without credentials, and the JVM exits so
+ * {@code -XX:ArchiveClassesAtExit} dumps every class loaded on the way.
+ * <p>
+ * No database is needed: the {@value #PROFILE} profile boots Hibernate without JDBC metadata and the routes that
+ * reach the repositories answer with an error, after their classes are loaded.
+ */
+@Component
+@Profile(CdsTrainingRun.PROFILE)
+public class CdsTrainingRun {
+
+    public static final String PROFILE = "cds";
+
+    private static final Logger logger = LoggerFactory.getLogger(CdsTrainingRun.class);
+    private static final String ADMIN_ROUTE = "/api/v1/cache/admin";
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void train(ApplicationReadyEvent event) {
+        ConfigurableApplicationContext context = event.getApplicationContext();
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        RestClient client = RestClient.builder().baseUrl("http://localhost:" + port).build();
+
+        List<String> paths = new ArrayList<>(SnapStartPriming.publicRoutes(context));
+        paths.add(ADMIN_ROUTE);
+        for (String path : paths) {
+            try {
+                client.get().uri(path)
+                        .retrieve()
+                        .onStatus(status -> true, (request, response) -> {
+                        })
+                        .toBodilessEntity();
+            } catch (RestClientException e) {
+                logger.warn("Training request {} failed", path, e);
+            }
+        }
+        logger.info("Trained {} routes, exiting", paths.size());
+        System.exit(SpringApplication.exit(context));
+    }
+}
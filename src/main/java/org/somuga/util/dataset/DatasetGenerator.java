@@ -0,0 +1,405 @@
+package org.somuga.util.dataset;
+
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.somuga.entity.*;
+import org.somuga.enums.MediaType;
+import org.somuga.enums.MovieRole;
+import org.somuga.repository.DeveloperRepository;
+import org.somuga.repository.GameGenreRepository;
+import org.somuga.repository.PlatformRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * Builds a synthetic catalog for load tests and benchmarks: users, developers, genres, platforms, games linked to
+ * genres and platforms, crew, movies with casts, and likes and reviews of the media.
+ * <p>
+ * Everything is drawn from random generators seeded by the {@link DatasetSpec}, so a spec always builds the same
+ * catalog. Each user likes and reviews distinct media picked from a Zipf distribution over a shuffled popularity
+ * ranking. The likes and reviews are drawn twice from the same seed: the first pass only counts them, so media are
+ * inserted with their like and review counts and ratings already final; the second pass inserts them.
+ * <p>
+ * Rows are written in transactions of {@code somuga.dataset.chunk-size} so Hibernate batches the inserts. Likes,
+ * reviews and the game join tables go through JDBC batches, as their identity ids would stop Hibernate from
+ * batching. The catalog is meant for an empty schema, its names are unique.
+ */
+@Component
+public class DatasetGenerator {
+
+    public static final String USER_ID_PREFIX = "dataset|user";
+
+    private static final Logger logger = LoggerFactory.getLogger(DatasetGenerator.class);
+    private static final String CREATOR_ID = "dataset|creator";
+    private static final String INSERT_GAME_PLATFORM = "INSERT INTO platforms_games (platforms_id, games_id) VALUES (?, ?)";
+    private static final String INSERT_GAME_GENRE = "INSERT INTO game_genres_games (genres_id, games_id) VALUES (?, ?)";
+    private static final String INSERT_LIKE = "INSERT INTO likes (user_id, media_id) VALUES (?, ?)";
+    private static final String INSERT_REVIEW = "INSERT INTO reviews (review_score, written_review, user_id, media_id) VALUES (?, ?, ?, ?)";
+    private static final String[] WORDS = {
+            "ancient", "blue", "broken", "crimson", "dark", "distant", "endless", "fallen", "frozen", "golden",
+            "hidden", "iron", "last", "lost", "silent", "wild", "city", "dawn", "dream", "empire", "forest",
+            "garden", "harbor", "island", "kingdom", "legend", "machine", "night", "ocean", "river", "shadow", "storm"
+    };
+    private static final MovieRole[] CREW_ROLES = {MovieRole.DIRECTOR, MovieRole.PRODUCER, MovieRole.WRITER};
+    private static final long FIRST_DAY = TimeUnit.DAYS.toMillis(10957);
+    private static final int DAYS = 25 * 365;
+    private static final int USERS = 1;
+    private static final int CATALOG = 2;
+    private static final int RANKING = 3;
+    private static final int INTERACTIONS = 4;
+
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DeveloperRepository developerRepo;
+    private final GameGenreRepository genreRepo;
+    private final PlatformRepository platformRepo;
+    private final int chunkSize;
+
+    @Autowired
+    public DatasetGenerator(EntityManager entityManager,
+                            JdbcTemplate jdbcTemplate,
+                            TransactionTemplate transactionTemplate,
+                            DeveloperRepository developerRepo,
+                            GameGenreRepository genreRepo,
+                            PlatformRepository platformRepo,
+                            @Value("${somuga.dataset.chunk-size:1000}") int chunkSize) {
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.developerRepo = developerRepo;
+        this.genreRepo = genreRepo;
+        this.platformRepo = platformRepo;
+        this.chunkSize = chunkSize;
+    }
+
+    public static String developerName(int index) {
+        return "Dataset developer " + index;
+    }
+
+    public static String genreName(int index) {
+        return "dataset genre " + index;
+    }
+
+    public static String platformName(int index) {
+        return "dataset platform " + index;
+    }
+
+    public GeneratedDataset generate(DatasetSpec spec) {
+        long start = System.nanoTime();
+        Random catalog = random(spec, CATALOG);
+        List<Long> developerIds = transactionTemplate.execute(status -> developerRepo.saveAll(
+                        names(spec.developers(), index -> new Developer(developerName(index), List.of(), CREATOR_ID)))
+                .stream().map(Developer::getId).toList());
+        List<Long> genreIds = transactionTemplate.execute(status -> genreRepo.saveAll(
+                        names(spec.genres(), index -> new GameGenre(genreName(index))))
+                .stream().map(GameGenre::getId).toList());
+        List<Long> platformIds = transactionTemplate.execute(status -> platformRepo.saveAll(
+                        names(spec.platforms(), index -> new Platform(platformName(index))))
+                .stream().map(Platform::getId).toList());
+        List<String> userIds = users(spec);
+        long[] crewIds = crew(spec, catalog);
+        logger.info("Dataset: {} users, {} crew and reference data in {} ms", userIds.size(), crewIds.length, elapsed(start));
+
+        int[] mediaByRank = shuffled(spec.media(), random(spec, RANKING));
+        Popularity popularity = new Popularity(spec.media());
+        interactions(spec, mediaByRank, popularity);
+        long[] mediaIds = new long[spec.media()];
+        games(spec, catalog, developerIds, genreIds, platformIds, popularity, mediaIds);
+        movies(spec, catalog, crewIds, popularity, mediaIds);
+        logger.info("Dataset: {} games and {} movies in {} ms", spec.games(), spec.movies(), elapsed(start));
+
+        InteractionWriter writer = new InteractionWriter(userIds, mediaIds);
+        interactions(spec, mediaByRank, writer);
+        writer.flush();
+        logger.info("Dataset: {} likes and {} reviews in {} ms", writer.likes, writer.reviews, elapsed(start));
+
+        List<Long> gameIds = new ArrayList<>(spec.games());
+        List<Long> movieIds = new ArrayList<>(spec.movies());
+        for (int index : mediaByRank) {
+            (index < spec.games() ? gameIds : movieIds).add(mediaIds[index]);
+        }
+        return new GeneratedDataset(userIds, gameIds, movieIds, writer.likes, writer.reviews);
+    }
+
+    private List<String> users(DatasetSpec spec) {
+        Random random = random(spec, USERS);
+        List<String> userIds = new ArrayList<>(spec.users());
+        for (int from = 0; from < spec.users(); from += chunkSize) {
+            int to = Math.min(from + chunkSize, spec.users());
+            List<User> users = new ArrayList<>(to - from);
+            for (int index = from; index < to; index++) {
+                User user = new User(USER_ID_PREFIX + index, "user" + index);
+                user.setJoinDate(date(random));
+                user.setActive(true);
+                users.add(user);
+                userIds.add(user.getId());
+            }
+            transactionTemplate.executeWithoutResult(status -> users.forEach(entityManager::persist));
+        }
+        return userIds;
+    }
+
+    private long[] crew(DatasetSpec spec, Random random) {
+        long[] crewIds = new long[spec.crew()];
+        for (int from = 0; from < spec.crew(); from += chunkSize) {
+            int to = Math.min(from + chunkSize, spec.crew());
+            List<MovieCrew> crew = new ArrayList<>(to - from);
+            for (int index = from; index < to; index++) {
+                MovieCrew member = new MovieCrew(title(random) + " " + index, date(random));
+                member.setCrewCreatorId(CREATOR_ID);
+                crew.add(member);
+            }
+            transactionTemplate.executeWithoutResult(status -> crew.forEach(entityManager::persist));
+            for (int index = from; index < to; index++) {
+                crewIds[index] = crew.get(index - from).getId();
+            }
+        }
+        return crewIds;
+    }
+
+    private void games(DatasetSpec spec, Random random, List<Long> developerIds, List<Long> genreIds,
+                       List<Long> platformIds, Popularity popularity, long[] mediaIds) {
+        for (int from = 0; from < spec.games(); from += chunkSize) {
+            int to = Math.min(from + chunkSize, spec.games());
+            int first = from;
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Object[]> platformLinks = new ArrayList<>();
+                List<Object[]> genreLinks = new ArrayList<>();
+                for (int index = first; index < to; index++) {
+                    Game game = new Game();
+                    media(game, MediaType.GAME, index, random);
+                    game.setPrice((random.nextInt(7000) + 99) / 100.0);
+                    game.setDeveloper(entityManager.getReference(Developer.class, developerIds.get(random.nextInt(developerIds.size()))));
+                    popularity.applyTo(game, index);
+                    entityManager.persist(game);
+                    mediaIds[index] = game.getId();
+                    for (int genre : distinct(random, genreIds.size(), spec.genresPerGame())) {
+                        genreLinks.add(new Object[]{genreIds.get(genre), game.getId()});
+                    }
+                    for (int platform : distinct(random, platformIds.size(), spec.platformsPerGame())) {
+                        platformLinks.add(new Object[]{platformIds.get(platform), game.getId()});
+                    }
+                }
+                entityManager.flush();
+                // Platforms and genres own the join tables; going through them would load every game already linked.
+                jdbcTemplate.batchUpdate(INSERT_GAME_PLATFORM, platformLinks);
+                jdbcTemplate.batchUpdate(INSERT_GAME_GENRE, genreLinks);
+            });
+        }
+    }
+
+    private void movies(DatasetSpec spec, Random random, long[] crewIds, Popularity popularity, long[] mediaIds) {
+        for (int from = 0; from < spec.movies(); from += chunkSize) {
+            int to = Math.min(from + chunkSize, spec.movies());
+            int first = from;
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int movieIndex = first; movieIndex < to; movieIndex++) {
+                    int index = spec.games() + movieIndex;
+                    Movie movie = new Movie();
+                    media(movie, MediaType.MOVIE, movieIndex, random);
+                    movie.setDuration(80 + random.nextInt(100));
+                    int[] cast = distinct(random, crewIds.length, spec.castSize());
+                    for (int member = 0; member < cast.length; member++) {
+                        MovieCrew crew = entityManager.getReference(MovieCrew.class, crewIds[cast[member]]);
+                        if (member < CREW_ROLES.length) {
+                            movie.addMovieCrew(crew, CREW_ROLES[member], "");
+                        } else {
+                            movie.addMovieCrew(crew, MovieRole.ACTOR, "Character " + member);
+                        }
+                    }
+                    popularity.applyTo(movie, index);
+                    entityManager.persist(movie);
+                    mediaIds[index] = movie.getId();
+                }
+                entityManager.flush();
+            });
+        }
+    }
+
+    private static void media(Media media, MediaType type, int index, Random random) {
+        String title = title(random);
+        media.setMediaType(type);
+        media.setTitle(title + " " + index);
+        media.setDescription("The " + title + " of " + WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]);
+        media.setReleaseDate(date(random));
+        media.setMediaUrl("https://media.com/" + type.name().toLowerCase() + "/" + index);
+        media.setImageUrl("https://image.com/" + type.name().toLowerCase() + "/" + index);
+        media.setMediaCreatorId(CREATOR_ID);
+    }
+
+    /**
+     * Each user likes and then reviews distinct media. Both passes over the same spec see the same calls in the
+     * same order.
+     */
+    private static void interactions(DatasetSpec spec, int[] mediaByRank, Interactions interactions) {
+        if (spec.media() == 0) {
+            return;
+        }
+        Random random = random(spec, INTERACTIONS);
+        ZipfSampler zipf = new ZipfSampler(spec.media(), spec.zipfExponent());
+        Set<Integer> picked = new LinkedHashSet<>();
+        for (int user = 0; user < spec.users(); user++) {
+            pick(random, zipf, mediaByRank, share(spec.likes(), spec.users(), user), picked);
+            for (int media : picked) {
+                interactions.like(user, media);
+            }
+            pick(random, zipf, mediaByRank, share(spec.reviews(), spec.users(), user), picked);
+            for (int media : picked) {
+                interactions.review(user, media, 1 + random.nextInt(10));
+            }
+        }
+    }
+
+    private static void pick(Random random, ZipfSampler zipf, int[] mediaByRank, long count, Set<Integer> picked) {
+        picked.clear();
+        long wanted = Math.min(count, mediaByRank.length);
+        // With a steep distribution the last distinct picks can take long; stop rather than spin.
+        for (long attempts = 0; picked.size() < wanted && attempts < 20 * wanted; attempts++) {
+            picked.add(mediaByRank[zipf.sample(random)]);
+        }
+    }
+
+    private static long share(long total, int users, int user) {
+        return total / users + (user < total % users ? 1 : 0);
+    }
+
+    private static int[] distinct(Random random, int bound, int count) {
+        Set<Integer> picked = new LinkedHashSet<>();
+        while (picked.size() < count) {
+            picked.add(random.nextInt(bound));
+        }
+        return picked.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static int[] shuffled(int size, Random random) {
+        int[] indexes = new int[size];
+        for (int index = 0; index < size; index++) {
+            indexes[index] = index;
+        }
+        for (int index = size - 1; index > 0; index--) {
+            int other = random.nextInt(index + 1);
+            int swapped = indexes[index];
+            indexes[index] = indexes[other];
+            indexes[other] = swapped;
+        }
+        return indexes;
+    }
+
+    private static <T> List<T> names(int count, IntFunction<T> entity) {
+        List<T> entities = new ArrayList<>(count);
+        for (int index = 0; index < count; index++) {
+            entities.add(entity.apply(index));
+        }
+        return entities;
+    }
+
+    private static String title(Random random) {
+        String title = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)];
+        return Character.toUpperCase(title.charAt(0)) + title.substring(1);
+    }
+
+    private static Date date(Random random) {
+        return new Date(FIRST_DAY + TimeUnit.DAYS.toMillis(random.nextInt(DAYS)));
+    }
+
+    private static Random random(DatasetSpec spec, int phase) {
+        return new Random(spec.seed() * 31 + phase);
+    }
+
+    private static long elapsed(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    private interface Interactions {
+        void like(int user, int media);
+
+        void review(int user, int media, int score);
+    }
+
+    private static class Popularity implements Interactions {
+        private final int[] likes;
+        private final int[] reviews;
+        private final Rating[] ratings;
+
+        Popularity(int media) {
+            likes = new int[media];
+            reviews = new int[media];
+            ratings = new Rating[media];
+        }
+
+        @Override
+        public void like(int user, int media) {
+            likes[media]++;
+        }
+
+        @Override
+        public void review(int user, int media, int score) {
+            reviews[media]++;
+            if (ratings[media] == null) {
+                ratings[media] = new Rating();
+            }
+            ratings[media].apply(0, score, reviews[media]);
+        }
+
+        void applyTo(Media media, int index) {
+            media.setLikeCount(likes[index]);
+            media.setReviewCount(reviews[index]);
+            if (ratings[index] != null) {
+                media.setRating(ratings[index]);
+            }
+        }
+    }
+
+    private class InteractionWriter implements Interactions {
+        private final List<String> userIds;
+        private final long[] mediaIds;
+        private final List<Object[]> likeRows = new ArrayList<>();
+        private final List<Object[]> reviewRows = new ArrayList<>();
+        private long likes;
+        private long reviews;
+
+        InteractionWriter(List<String> userIds, long[] mediaIds) {
+            this.userIds = userIds;
+            this.mediaIds = mediaIds;
+        }
+
+        @Override
+        public void like(int user, int media) {
+            likeRows.add(new Object[]{userIds.get(user), mediaIds[media]});
+            if (likeRows.size() == chunkSize) {
+                likes += write(INSERT_LIKE, likeRows);
+            }
+        }
+
+        @Override
+        public void review(int user, int media, int score) {
+            reviewRows.add(new Object[]{score, "Review " + (reviews + reviewRows.size()), userIds.get(user), mediaIds[media]});
+            if (reviewRows.size() == chunkSize) {
+                reviews += write(INSERT_REVIEW, reviewRows);
+            }
+        }
+
+        void flush() {
+            likes += write(INSERT_LIKE, likeRows);
+            reviews += write(INSERT_REVIEW, reviewRows);
+        }
+
+        private int write(String sql, List<Object[]> rows) {
+            int written = rows.size();
+            if (written > 0) {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, rows));
+                rows.clear();
+            }
+            return written;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package org.somuga.util.dataset;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills the configured database with a {@link DatasetGenerator} catalog once the application is ready, for load
+ * tests against H2 or MySQL. The catalog is shaped by the {@code somuga.dataset.*} properties and the schema is
+ * expected to be empty. With {@code somuga.dataset.exit=true} the JVM exits when the catalog is written.
+ */
+@Component
+@Profile(DatasetRunner.PROFILE)
+public class DatasetRunner {
+
+    public static final String PROFILE = "dataset";
+
+    private static final Logger logger = LoggerFactory.getLogger(DatasetRunner.class);
+
+    private final DatasetGenerator generator;
+    private final DatasetSpec spec;
+    private final boolean exit;
+
+    @Autowired
+    public DatasetRunner(DatasetGenerator generator,
+                         @Value("${somuga.dataset.seed:42}") long seed,
+                         @Value("${somuga.dataset.users:10000}") int users,
+                         @Value("${somuga.dataset.developers:200}") int developers,
+                         @Value("${somuga.dataset.genres:20}") int genres,
+                         @Value("${somuga.dataset.platforms:12}") int platforms,
+                         @Value("${somuga.dataset.games:50000}") int games,
+                         @Value("${somuga.dataset.genres-per-game:3}") int genresPerGame,
+                         @Value("${somuga.dataset.platforms-per-game:2}") int platformsPerGame,
+                         @Value("${somuga.dataset.crew:20000}") int crew,
+                         @Value("${somuga.dataset.movies:50000}") int movies,
+                         @Value("${somuga.dataset.cast-size:8}") int castSize,
+                         @Value("${somuga.dataset.likes:1000000}") long likes,
+                         @Value("${somuga.dataset.reviews:500000}") long reviews,
+                         @Value("${somuga.dataset.zipf-exponent:1.0}") double zipfExponent,
+                         @Value("${somuga.dataset.exit:false}") boolean exit) {
+        this.generator = generator;
+        this.spec = new DatasetSpec(seed, users, developers, genres, platforms, games, genresPerGame, platformsPerGame,
+                crew, movies, castSize, likes, reviews, zipfExponent);
+        this.exit = exit;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void generate(ApplicationReadyEvent event) {
+        logger.info("Generating dataset {}", spec);
+        GeneratedDataset dataset = generator.generate(spec);
+        logger.info("Generated {} users, {} games, {} movies, {} likes and {} reviews", dataset.userIds().size(),
+                dataset.gameIds().size(), dataset.movieIds().size(), dataset.likes(), dataset.reviews());
+        if (exit) {
+            System.exit(SpringApplication.exit(event.getApplicationContext()));
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package org.somuga.util.dataset;
+
+/**
+ * Size and shape of a catalog built by {@link DatasetGenerator}. The same spec and seed always build the same
+ * catalog.
+ *
+ * @param likes        likes in total, spread evenly over the users
+ * @param reviews      reviews in total, spread evenly over the users
+ * @param zipfExponent skew of the media each user likes and reviews, 0 for uniform
+ */
+public record DatasetSpec(
+        long seed,
+        int users,
+        int developers,
+        int genres,
+        int platforms,
+        int games,
+        int genresPerGame,
+        int platformsPerGame,
+        int crew,
+        int movies,
+        int castSize,
+        long likes,
+        long reviews,
+        double zipfExponent
+) {
+    public DatasetSpec {
+        if (users < 1 || developers < 1 || genres < 1 || platforms < 1 || crew < 1) {
+            throw new IllegalArgumentException("A dataset needs at least one user, developer, genre, platform and crew member");
+        }
+        if (games < 0 || movies < 0 || likes < 0 || reviews < 0 || zipfExponent < 0) {
+            throw new IllegalArgumentException("Dataset sizes and the Zipf exponent cannot be negative");
+        }
+        if (genresPerGame > genres || platformsPerGame > platforms || castSize > crew) {
+            throw new IllegalArgumentException("Fan-out cannot exceed the genres, platforms or crew to pick from");
+        }
+    }
+
+    public int media() {
+        return games + movies;
+    }
+}
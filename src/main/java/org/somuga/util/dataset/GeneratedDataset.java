@@ -0,0 +1,16 @@
+package org.somuga.util.dataset;
+
+import java.util.List;
+
+/**
+ * Ids of the catalog built by {@link DatasetGenerator}, games and movies from the most to the least liked and
+ * reviewed.
+ */
+public record GeneratedDataset(
+        List<String> userIds,
+        List<Long> gameIds,
+        List<Long> movieIds,
+        long likes,
+        long reviews
+) {
+}
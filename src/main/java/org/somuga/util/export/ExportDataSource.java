@@ -0,0 +1,98 @@
+package org.somuga.util.export;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * A small pool of connections for the export, apart from the pool of the API.
+ * <p>
+ * On MySQL its connections are opened with {@code useCursorFetch=true}, so the fetch size hint of the export queries
+ * streams rows through a server-side cursor in batches while other statements, such as the batch fetches of an
+ * export window, still run on the same connection. The pool of the API leaves cursors off because every cursor is
+ * materialized in a temporary table on the server, which is wasted on its small paged queries.
+ * <p>
+ * The URL is {@code somuga.export.datasource.url}, by default the datasource URL with cursors turned on for MySQL.
+ * The pool opens no connection until the first export.
+ */
+@Component
+public class ExportDataSource {
+
+    private static final String MYSQL_URL = "jdbc:mysql:";
+    private static final String CURSOR_FETCH = "useCursorFetch=true";
+
+    private final HikariDataSource dataSource;
+    private final SessionFactory sessionFactory;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    public ExportDataSource(DataSourceProperties properties,
+                            EntityManagerFactory entityManagerFactory,
+                            @Value("${somuga.export.datasource.url:}") String url,
+                            @Value("${somuga.export.datasource.maximum-pool-size:2}") int maximumPoolSize) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("export");
+        config.setJdbcUrl(url.isBlank() ? cursorFetchUrl(properties.determineUrl()) : url);
+        config.setDriverClassName(properties.determineDriverClassName());
+        config.setUsername(properties.determineUsername());
+        config.setPassword(properties.determinePassword());
+        config.setMaximumPoolSize(maximumPoolSize);
+        config.setMinimumIdle(0);
+        config.setInitializationFailTimeout(-1);
+        this.dataSource = new HikariDataSource(config);
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * The datasource URL with server-side cursors turned on, if it is a MySQL URL.
+     */
+    static String cursorFetchUrl(String url) {
+        if (!url.startsWith(MYSQL_URL) || url.contains(CURSOR_FETCH)) {
+            return url;
+        }
+        return url + (url.contains("?") ? "&" : "?") + CURSOR_FETCH;
+    }
+
+    /**
+     * Runs the export with a session on an export connection as the entity manager of the current thread, so the
+     * repositories and transactions it uses run on that connection. An entity manager already bound, as by
+     * open-in-view, is bound again afterwards.
+     */
+    public void run(Runnable export) {
+        Object previous = TransactionSynchronizationManager.unbindResourceIfPossible(entityManagerFactory);
+        try (Connection connection = dataSource.getConnection();
+             Session session = sessionFactory.withOptions().connection(connection).openSession()) {
+            TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(session));
+            try {
+                export.run();
+            } finally {
+                TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            }
+        } catch (SQLException e) {
+            throw new CannotGetJdbcConnectionException("Could not open an export connection", e);
+        } finally {
+            if (previous != null) {
+                TransactionSynchronizationManager.bindResource(entityManagerFactory, previous);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        dataSource.close();
+    }
+}
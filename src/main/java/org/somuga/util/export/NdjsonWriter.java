@@ -0,0 +1,36 @@
+package org.somuga.util.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes one JSON document per line to a stream that is owned, and closed, by the caller.
+ */
+public class NdjsonWriter {
+
+    /**
+     * JDBC fetch size hint for the forward-only queries that feed an export.
+     */
+    public static final String EXPORT_FETCH_SIZE = "500";
+
+    private static final int NEW_LINE = '\n';
+
+    private final ObjectMapper mapper;
+    private final OutputStream out;
+
+    public NdjsonWriter(ObjectMapper mapper, OutputStream out) {
+        this.mapper = mapper;
+        this.out = out;
+    }
+
+    public void write(Object value) throws IOException {
+        out.write(mapper.writeValueAsBytes(value));
+        out.write(NEW_LINE);
+    }
+
+    public void flush() throws IOException {
+        out.flush();
+    }
+}
@@ -0,0 +1,35 @@
+package org.somuga.util.http;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Cache-Control of the public read endpoints. Media changes with every like and review, so shared caches keep it
+ * briefly and revalidate in the background; reference data such as developers, platforms, genres and crew rarely
+ * changes and is kept longer.
+ */
+@Component
+public class CachePolicies {
+
+    private final CacheControl media;
+    private final CacheControl reference;
+
+    public CachePolicies(@Value("${somuga.http.cache.media.max-age:30s}") Duration mediaMaxAge,
+                         @Value("${somuga.http.cache.media.stale-while-revalidate:5m}") Duration mediaStale,
+                         @Value("${somuga.http.cache.reference.max-age:10m}") Duration referenceMaxAge,
+                         @Value("${somuga.http.cache.reference.stale-while-revalidate:1h}") Duration referenceStale) {
+        this.media = CacheControl.maxAge(mediaMaxAge).cachePublic().staleWhileRevalidate(mediaStale);
+        this.reference = CacheControl.maxAge(referenceMaxAge).cachePublic().staleWhileRevalidate(referenceStale);
+    }
+
+    public CacheControl media() {
+        return media;
+    }
+
+    public CacheControl reference() {
+        return reference;
+    }
+}
@@ -0,0 +1,105 @@
+package org.somuga.util.http;
+
+import org.somuga.dto.revision.RevisionDto;
+import org.somuga.dto.revision.VersionedDto;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Conditional GET for responses built from revisioned rows. The strong ETag is a digest of the id, revision and
+ * update time of every row, in order. A request whose validators still match gets a 304 without its body being
+ * converted.
+ * <p>
+ * Only single rows also carry Last-Modified, their update time. The latest update time of a listing does not move
+ * forward when a row leaves it, as by a deletion or by shifting to another page, so a listing that changed could be
+ * answered as not modified since; listings are validated by their ETag alone.
+ */
+public class ConditionalGet {
+
+    private ConditionalGet() {
+    }
+
+    /**
+     * Responds to a listing, converting its content only when the client does not already hold it.
+     */
+    public static <T> ResponseEntity<T> toResponse(WebRequest request, VersionedDto<T> versioned, CacheControl cacheControl) {
+        String etag = etag(versioned.revisions());
+        if (request.checkNotModified(etag)) {
+            return notModified(etag, cacheControl);
+        }
+        return ok(etag, -1, cacheControl, versioned.content().get());
+    }
+
+    /**
+     * Responds to a single row. A request carrying validators is first answered from the revision alone, which
+     * spares loading the row when they match; any other request loads the row directly.
+     */
+    public static <T, E extends Exception> ResponseEntity<T> toResponse(WebRequest request,
+                                                                       Loader<RevisionDto, E> revision,
+                                                                       Loader<VersionedDto<T>, E> versioned,
+                                                                       CacheControl cacheControl) throws E {
+        if (hasValidators(request)) {
+            List<RevisionDto> revisions = List.of(revision.load());
+            String etag = etag(revisions);
+            if (request.checkNotModified(etag, lastModified(revisions))) {
+                return notModified(etag, cacheControl);
+            }
+        }
+        VersionedDto<T> loaded = versioned.load();
+        return ok(etag(loaded.revisions()), lastModified(loaded.revisions()), cacheControl, loaded.content().get());
+    }
+
+    public static String etag(List<RevisionDto> revisions) {
+        StringBuilder key = new StringBuilder();
+        for (RevisionDto revision : revisions) {
+            key.append(revision.id()).append(':')
+                    .append(revision.revision()).append(':')
+                    .append(revision.updatedAt() == null ? 0 : revision.updatedAt().getTime()).append(';');
+        }
+        return '"' + DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8)) + '"';
+    }
+
+    private static long lastModified(List<RevisionDto> revisions) {
+        return revisions.stream()
+                .map(RevisionDto::updatedAt)
+                .filter(Objects::nonNull)
+                .mapToLong(Date::getTime)
+                .max()
+                .orElse(-1);
+    }
+
+    private static boolean hasValidators(WebRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    private static <T> ResponseEntity<T> notModified(String etag, CacheControl cacheControl) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .build();
+    }
+
+    private static <T> ResponseEntity<T> ok(String etag, long lastModified, CacheControl cacheControl, T body) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(cacheControl);
+        if (lastModified >= 0) {
+            response.lastModified(lastModified);
+        }
+        return response.body(body);
+    }
+
+    @FunctionalInterface
+    public interface Loader<T, E extends Exception> {
+        T load() throws E;
+    }
+}
@@ -0,0 +1,47 @@
+package org.somuga.util.id_generator;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.id.enhanced.TableGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * Hands out {@link org.somuga.entity.Media} ids in blocks reserved from the {@code id_gen} table.
+ * <p>
+ * The generator keeps the table, segment and columns of the previous one-id-per-insert generator and
+ * uses the pooled-lo optimizer: {@code gen_val} always holds the last id already handed out or reserved,
+ * which is what the previous generator stored as well, so existing databases migrate without touching ids.
+ * Each instance reserves a block with a single row update and allocates the rest in memory, so
+ * concurrent instances never overlap. The block size is read from the Hibernate setting
+ * {@value #BLOCK_SIZE_SETTING} ({@code spring.jpa.properties.somuga.media.id-block-size}).
+ */
+public class MediaIdGenerator extends TableGenerator {
+
+    public static final String BLOCK_SIZE_SETTING = "somuga.media.id-block-size";
+    public static final int DEFAULT_BLOCK_SIZE = 50;
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        int blockSize = serviceRegistry.requireService(ConfigurationService.class)
+                .getSetting(BLOCK_SIZE_SETTING, StandardConverters.INTEGER, DEFAULT_BLOCK_SIZE);
+        if (blockSize < 1) {
+            throw new MappingException(BLOCK_SIZE_SETTING + " must be positive: " + blockSize);
+        }
+
+        Properties params = new Properties();
+        params.putAll(parameters);
+        params.setProperty(TABLE_PARAM, "id_gen");
+        params.setProperty(SEGMENT_COLUMN_PARAM, "gen_name");
+        params.setProperty(VALUE_COLUMN_PARAM, "gen_val");
+        params.setProperty(SEGMENT_VALUE_PARAM, "media_id");
+        params.setProperty(INITIAL_PARAM, "1");
+        params.setProperty(INCREMENT_PARAM, String.valueOf(blockSize));
+        params.setProperty(OPT_PARAM, StandardOptimizerDescriptor.POOLED_LO.getExternalName());
+        super.configure(type, params, serviceRegistry);
+    }
+}
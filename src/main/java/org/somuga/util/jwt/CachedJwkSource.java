@@ -0,0 +1,200 @@
+package org.somuga.util.jwt;
+
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.text.ParseException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * JWK set of the authorization server, fetched once and kept until it expires.
+ * <p>
+ * Once the keys are older than {@code refreshAfter}, the next lookup starts a background refresh and is answered
+ * from the current keys, so requests never wait for the JWKS endpoint while the keys are fresh enough. Keys older
+ * than {@code expireAfter} are refreshed before answering. A token signed with a key that is not in the set
+ * triggers a refresh as well, which picks up rotated keys. The endpoint is called at most once every
+ * {@code minRefreshInterval}.
+ * <p>
+ * When a file is given, every fetched set is written to it and a new instance starts from it, so a restarted
+ * server does not fetch the keys again. Whoever can write that file decides which tokens are accepted, so it is
+ * only read when it is a regular file owned by the user running the server and writable by no one else; it should
+ * live in a directory of the application, never a shared one such as {@code /tmp}. If the endpoint cannot be reached
+ * the current keys keep being used.
+ */
+public class CachedJwkSource implements JWKSource<SecurityContext> {
+
+    private static final Logger logger = LoggerFactory.getLogger(CachedJwkSource.class);
+    private static final String USER_NAME = "user.name";
+
+    private final String jwkSetUri;
+    private final RestClient restClient;
+    private final Path file;
+    private final Duration refreshAfter;
+    private final Duration expireAfter;
+    private final Duration minRefreshInterval;
+    private final Clock clock;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private volatile Keys keys;
+    private volatile Instant lastRefresh = Instant.MIN;
+
+    public CachedJwkSource(String jwkSetUri, RestClient restClient, Path file, Duration refreshAfter,
+                           Duration expireAfter, Duration minRefreshInterval, Clock clock) {
+        this.jwkSetUri = jwkSetUri;
+        this.restClient = restClient;
+        this.file = file;
+        this.refreshAfter = refreshAfter;
+        this.expireAfter = expireAfter;
+        this.minRefreshInterval = minRefreshInterval;
+        this.clock = clock;
+        this.keys = load();
+    }
+
+    @Override
+    public List<JWK> get(JWKSelector selector, SecurityContext context) throws KeySourceException {
+        Keys current = keys;
+        Instant now = clock.instant();
+        boolean mayRefresh = !lastRefresh.plus(minRefreshInterval).isAfter(now);
+        if (current == null) {
+            current = refresh(null);
+        } else if (mayRefresh && current.isOlderThan(expireAfter, now)) {
+            current = refresh(current);
+        } else if (mayRefresh && current.isOlderThan(refreshAfter, now)) {
+            refreshInBackground(current);
+        }
+        List<JWK> matches = selector.select(current.set());
+        if (matches.isEmpty() && mayRefresh) {
+            matches = selector.select(refresh(current).set());
+        }
+        return matches;
+    }
+
+    /**
+     * Time the current keys were fetched, or {@code null} if there are none yet.
+     */
+    public Instant fetchedAt() {
+        Keys current = keys;
+        return current == null ? null : current.fetchedAt();
+    }
+
+    private Keys refresh(Keys seen) throws KeySourceException {
+        refreshLock.lock();
+        try {
+            if (keys != seen) {
+                // Refreshed by another thread while waiting for the lock
+                return keys;
+            }
+            return fetch();
+        } catch (RestClientException | ParseException e) {
+            if (seen != null) {
+                logger.warn("Could not refresh the JWK set from {}, keeping keys fetched at {}", jwkSetUri, seen.fetchedAt(), e);
+                return seen;
+            }
+            throw new KeySourceException("Could not fetch the JWK set from " + jwkSetUri, e);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void refreshInBackground(Keys seen) {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        Thread.ofVirtual().name("jwks-refresh").start(() -> {
+            try {
+                refresh(seen);
+            } catch (KeySourceException e) {
+                logger.warn(e.getMessage(), e);
+            } finally {
+                refreshing.set(false);
+            }
+        });
+    }
+
+    private Keys fetch() throws ParseException {
+        Instant now = clock.instant();
+        lastRefresh = now;
+        String json = restClient.get().uri(jwkSetUri).retrieve().body(String.class);
+        JWKSet set = JWKSet.parse(json).toPublicJWKSet();
+        Keys fetched = new Keys(set, now);
+        keys = fetched;
+        store(set);
+        return fetched;
+    }
+
+    private Keys load() {
+        if (file == null || !Files.isReadable(file)) {
+            return null;
+        }
+        try {
+            if (!isTrusted(file)) {
+                logger.warn("Ignoring JWK set file {}, it must be a regular file owned by {} and writable by no one else",
+                        file, System.getProperty(USER_NAME));
+                return null;
+            }
+            JWKSet set = JWKSet.parse(Files.readString(file));
+            return new Keys(set, Files.getLastModifiedTime(file).toInstant());
+        } catch (IOException | ParseException e) {
+            logger.warn("Ignoring unreadable JWK set file {}", file, e);
+            return null;
+        }
+    }
+
+    /**
+     * Whether the file is a regular file, not a link, owned by the user running the server and, where the file system
+     * has POSIX permissions, neither group nor world writable.
+     */
+    private static boolean isTrusted(Path file) throws IOException {
+        if (!Files.isRegularFile(file, LinkOption.NOFOLLOW_LINKS)
+                || !Files.getOwner(file, LinkOption.NOFOLLOW_LINKS).getName().equals(System.getProperty(USER_NAME))) {
+            return false;
+        }
+        if (!Files.getFileStore(file).supportsFileAttributeView(PosixFileAttributeView.class)) {
+            return true;
+        }
+        Set<PosixFilePermission> permissions = Files.getPosixFilePermissions(file, LinkOption.NOFOLLOW_LINKS);
+        return !permissions.contains(PosixFilePermission.GROUP_WRITE) && !permissions.contains(PosixFilePermission.OTHERS_WRITE);
+    }
+
+    private void store(JWKSet set) {
+        if (file == null) {
+            return;
+        }
+        try {
+            // Created readable and writable by the owner only
+            Path temporary = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+            Files.writeString(temporary, set.toString());
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Could not store the JWK set in {}", file, e);
+        }
+    }
+
+    private record Keys(JWKSet set, Instant fetchedAt) {
+
+        boolean isOlderThan(Duration age, Instant now) {
+            return fetchedAt.plus(age).isBefore(now);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package org.somuga.util.jwt;
+
+import org.somuga.dto.cache.CacheStatsDto;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Remembers tokens the delegate has already verified, so the signature of a token is checked once per instance
+ * instead of once per request. Entries are keyed by the SHA-256 of the token, are never served past the token's
+ * {@code exp} and are evicted least-recently-used once {@code maxSize} is reached. Rejected tokens and tokens
+ * without {@code exp} are not cached.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private static final String NAME = "verified-tokens";
+    private static final String DIGEST = "SHA-256";
+
+    private final JwtDecoder delegate;
+    private final int maxSize;
+    private final Clock clock;
+    private final Map<String, Jwt> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public CachingJwtDecoder(JwtDecoder delegate, int maxSize, Clock clock) {
+        this.delegate = delegate;
+        this.maxSize = maxSize;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Jwt> eldest) {
+                return size() > CachingJwtDecoder.this.maxSize;
+            }
+        };
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        String key = hash(token);
+        Jwt cached;
+        synchronized (entries) {
+            cached = entries.get(key);
+            if (cached != null && isExpired(cached)) {
+                entries.remove(key);
+                cached = null;
+            }
+        }
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+        misses.incrementAndGet();
+        Jwt verified = delegate.decode(token);
+        if (!isExpired(verified)) {
+            synchronized (entries) {
+                entries.put(key, verified);
+            }
+        }
+        return verified;
+    }
+
+    public CacheStatsDto stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new CacheStatsDto(NAME, size, maxSize, hits.get(), misses.get());
+    }
+
+    private boolean isExpired(Jwt jwt) {
+        Instant expiresAt = jwt.getExpiresAt();
+        return expiresAt == null || !clock.instant().isBefore(expiresAt);
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance(DIGEST).digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(DIGEST + " is not available", e);
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package org.somuga.util.lambda;
+
+import com.amazonaws.serverless.proxy.model.AwsProxyRequest;
+import com.amazonaws.serverless.proxy.model.AwsProxyResponse;
+import com.amazonaws.serverless.proxy.model.Headers;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzips the bodies of proxied responses for clients that accept it. API Gateway treats every media type as binary,
+ * so it decodes a base64 body into the bytes sent to the client and passes any other body through as text. Only
+ * compressed bodies are base64 encoded and marked as such.
+ * <p>
+ * A body is compressed when it is text of a JSON, NDJSON or {@code text/*} type, at least {@code minSize} bytes long,
+ * and the response carries no Content-Encoding yet. Responses that could be compressed get
+ * {@code Vary: Accept-Encoding} whether or not this request accepts gzip.
+ * <p>
+ * The compressed body is a different representation than the one the application tagged, so its ETag gets a
+ * {@value #GZIP_SUFFIX} suffix, as a strong ETag must not be shared by two encodings. The suffix is removed from
+ * If-None-Match before the application compares it, and put back on the ETag of a 304 answering such a request.
+ */
+public class ResponseCompression {
+
+    public static final String MIN_SIZE_PROPERTY = "somuga.lambda.compression.min-size";
+    public static final int DEFAULT_MIN_SIZE = 1024;
+    public static final String GZIP = "gzip";
+    public static final String GZIP_SUFFIX = "-gzip";
+
+    private static final String ANY = "*";
+    private static final String QUALITY = "q";
+
+    private final int minSize;
+
+    public ResponseCompression(int minSize) {
+        this.minSize = minSize;
+    }
+
+    /**
+     * Handles a request and compresses its response, translating the ETags of compressed bodies on the way in and
+     * out.
+     */
+    public AwsProxyResponse proxy(AwsProxyRequest request, Function<AwsProxyRequest, AwsProxyResponse> handler) {
+        String ifNoneMatch = header(request, HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && ifNoneMatch.contains(GZIP_SUFFIX + '"')) {
+            setHeader(request, HttpHeaders.IF_NONE_MATCH, ifNoneMatch.replace(GZIP_SUFFIX + '"', "\""));
+        }
+        AwsProxyResponse response = handler.apply(request);
+        String etag = header(response, HttpHeaders.ETAG);
+        if (response.getStatusCode() == HttpStatus.NOT_MODIFIED.value() && etag != null && ifNoneMatch != null
+                && ifNoneMatch.contains(gzipEtag(etag))) {
+            replaceHeader(response, HttpHeaders.ETAG, gzipEtag(etag));
+            return response;
+        }
+        return apply(request, response);
+    }
+
+    /**
+     * Compresses the body of the response in place if the request and response allow it, and returns it.
+     */
+    public AwsProxyResponse apply(AwsProxyRequest request, AwsProxyResponse response) {
+        String body = response.getBody();
+        if (body == null || response.isBase64Encoded() || header(response, HttpHeaders.CONTENT_ENCODING) != null
+                || !compressible(header(response, HttpHeaders.CONTENT_TYPE))) {
+            return response;
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length < minSize) {
+            return response;
+        }
+        addHeader(response, HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (!acceptsGzip(header(request, HttpHeaders.ACCEPT_ENCODING))) {
+            return response;
+        }
+        byte[] compressed = gzip(bytes);
+        if (compressed.length >= bytes.length) {
+            return response;
+        }
+        response.setBody(Base64.getEncoder().encodeToString(compressed));
+        response.setBase64Encoded(true);
+        removeHeader(response, HttpHeaders.CONTENT_LENGTH);
+        addHeader(response, HttpHeaders.CONTENT_ENCODING, GZIP);
+        String etag = header(response, HttpHeaders.ETAG);
+        if (etag != null) {
+            replaceHeader(response, HttpHeaders.ETAG, gzipEtag(etag));
+        }
+        return response;
+    }
+
+    /**
+     * The ETag of the compressed form of a representation: {@code "abc"} becomes {@code "abc-gzip"} and
+     * {@code W/"abc"} becomes {@code W/"abc-gzip"}.
+     */
+    static String gzipEtag(String etag) {
+        if (!etag.endsWith("\"") || etag.endsWith(GZIP_SUFFIX + '"')) {
+            return etag;
+        }
+        return etag.substring(0, etag.length() - 1) + GZIP_SUFFIX + '"';
+    }
+
+    /**
+     * Whether an Accept-Encoding value allows gzip with a non-zero quality, either by name or through {@code *}.
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzip = null;
+        Double any = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            double quality = quality(parts);
+            if (name.equalsIgnoreCase(GZIP)) {
+                gzip = quality;
+            } else if (name.equals(ANY)) {
+                any = quality;
+            }
+        }
+        if (gzip != null) {
+            return gzip > 0;
+        }
+        return any != null && any > 0;
+    }
+
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String[] parameter = parts[i].split("=", 2);
+            if (parameter.length == 2 && parameter[0].trim().equalsIgnoreCase(QUALITY)) {
+                try {
+                    return Double.parseDouble(parameter[1].trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    private static boolean compressible(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        MediaType type;
+        try {
+            type = MediaType.parseMediaType(contentType);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+        String subtype = type.getSubtype();
+        return type.getType().equals("text")
+                || subtype.equals("json")
+                || subtype.endsWith("+json")
+                || subtype.endsWith("ndjson");
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String header(AwsProxyRequest request, String name) {
+        Headers multiValue = request.getMultiValueHeaders();
+        if (multiValue != null) {
+            for (Map.Entry<String, List<String>> header : multiValue.entrySet()) {
+                if (header.getKey().equalsIgnoreCase(name) && !header.getValue().isEmpty()) {
+                    return String.join(",", header.getValue());
+                }
+            }
+        }
+        return request.getHeaders() == null ? null : find(request.getHeaders(), name);
+    }
+
+    private static void setHeader(AwsProxyRequest request, String name, String value) {
+        if (request.getMultiValueHeaders() != null) {
+            request.getMultiValueHeaders().keySet().removeIf(key -> key.equalsIgnoreCase(name));
+            request.getMultiValueHeaders().putSingle(name, value);
+        }
+        if (request.getHeaders() != null) {
+            request.getHeaders().keySet().removeIf(key -> key.equalsIgnoreCase(name));
+            request.getHeaders().put(name, value);
+        }
+    }
+
+    private static String header(AwsProxyResponse response, String name) {
+        Headers multiValue = response.getMultiValueHeaders();
+        if (multiValue != null) {
+            for (Map.Entry<String, List<String>> header : multiValue.entrySet()) {
+                if (header.getKey().equalsIgnoreCase(name) && !header.getValue().isEmpty()) {
+                    return header.getValue().get(0);
+                }
+            }
+        }
+        return response.getHeaders() == null ? null : find(response.getHeaders(), name);
+    }
+
+    private static String find(Map<String, String> headers, String name) {
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            if (header.getKey().equalsIgnoreCase(name)) {
+                return header.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static void addHeader(AwsProxyResponse response, String name, String value) {
+        if (response.getMultiValueHeaders() == null) {
+            response.setMultiValueHeaders(new Headers());
+        }
+        response.getMultiValueHeaders().add(name, value);
+        if (response.getHeaders() != null) {
+            String existing = find(response.getHeaders(), name);
+            response.getHeaders().keySet().removeIf(key -> key.equalsIgnoreCase(name));
+            response.getHeaders().put(name, existing == null ? value : existing + ", " + value);
+        }
+    }
+
+    private static void replaceHeader(AwsProxyResponse response, String name, String value) {
+        removeHeader(response, name);
+        addHeader(response, name, value);
+    }
+
+    private static void removeHeader(AwsProxyResponse response, String name) {
+        if (response.getMultiValueHeaders() != null) {
+            response.getMultiValueHeaders().keySet().removeIf(key -> key.equalsIgnoreCase(name));
+        }
+        if (response.getHeaders() != null) {
+            response.getHeaders().keySet().removeIf(key -> key.equalsIgnoreCase(name));
+        }
+    }
+}
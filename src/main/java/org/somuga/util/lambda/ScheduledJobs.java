@@ -0,0 +1,49 @@
+package org.somuga.util.lambda;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.somuga.service.interfaces.IMediaService;
+import org.springframework.context.ApplicationContext;
+
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Maintenance jobs run by EventBridge schedules that invoke the function directly, as the Lambda profile turns
+ * Spring scheduling off: a frozen execution environment never fires a timer. The schedules in the SAM templates pass
+ * {@code {"job": "<name>"}} as their input; any event without a {@value #JOB_FIELD} field is an API Gateway request.
+ */
+public class ScheduledJobs {
+
+    public static final String JOB_FIELD = "job";
+    public static final String RECONCILE_COUNTERS = "reconcile-counters";
+    public static final String RECOMPUTE_RATINGS = "recompute-ratings";
+
+    private static final Map<String, Function<ApplicationContext, Object>> JOBS = Map.of(
+            RECONCILE_COUNTERS, context -> context.getBean(IMediaService.class).reconcileCounters(),
+            RECOMPUTE_RATINGS, context -> context.getBean(IMediaService.class).recomputeRatings()
+    );
+
+    private final ApplicationContext context;
+
+    public ScheduledJobs(ApplicationContext context) {
+        this.context = context;
+    }
+
+    public static boolean isJob(JsonNode event) {
+        return event.hasNonNull(JOB_FIELD);
+    }
+
+    /**
+     * Runs the job named by the event and returns its result, keyed by the job name.
+     *
+     * @throws IllegalArgumentException if no job has that name, which fails the invocation
+     */
+    public Map<String, Object> run(JsonNode event) {
+        String name = event.get(JOB_FIELD).asText();
+        Function<ApplicationContext, Object> job = JOBS.get(name);
+        if (job == null) {
+            throw new IllegalArgumentException("Unknown scheduled job: " + name);
+        }
+        return Map.of(name, job.apply(context));
+    }
+}
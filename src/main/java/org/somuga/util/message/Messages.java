@@ -53,6 +53,11 @@ public class Messages {
     public static final String INVALID_GENRES = "Genres cannot be empty";
     public static final String INVALID_DEVELOPER = "Developer cannot be empty";
     public static final String CHARACTER_NAME_REQUIRED = "Character name is required for actors";
+    public static final String INVALID_CURSOR = "Invalid page cursor: ";
+    public static final String SEARCH_PAGE_TOO_DEEP = "Search results can only be paged to the first ";
+    public static final String INVALID_IMPORT_LINE = "Line is not a valid JSON object: ";
+    public static final String IMPORT_INSERT_FAILED = "Row could not be inserted: ";
+    public static final String STATEMENT_BUDGET_EXCEEDED = "Request ran more SQL statements than its budget of ";
 
 
     private Messages() {
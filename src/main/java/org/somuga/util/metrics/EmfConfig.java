@@ -0,0 +1,24 @@
+package org.somuga.util.metrics;
+
+import io.micrometer.core.instrument.step.StepRegistryConfig;
+
+import static io.micrometer.core.instrument.config.validate.PropertyValidator.getString;
+
+/**
+ * Configuration of {@link EmfMeterRegistry}, read from {@code somuga.metrics.emf.*}.
+ */
+@FunctionalInterface
+public interface EmfConfig extends StepRegistryConfig {
+
+    @Override
+    default String prefix() {
+        return "somuga.metrics.emf";
+    }
+
+    /**
+     * CloudWatch namespace the metrics are published in.
+     */
+    default String namespace() {
+        return getString(this, "namespace").orElse("Somuga");
+    }
+}
@@ -0,0 +1,132 @@
+package org.somuga.util.metrics;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.*;
+import io.micrometer.core.instrument.step.StepMeterRegistry;
+import io.micrometer.core.instrument.util.NamedThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.PrintStream;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes every step as CloudWatch embedded metric format lines, one per meter with its tags as dimensions.
+ * On Lambda, lines written to standard output become metrics without calls to the CloudWatch API.
+ * <p>
+ * Counters and timers without activity in the step are skipped. Timers and distribution summaries publish their
+ * count, sum and max, times in milliseconds.
+ */
+public class EmfMeterRegistry extends StepMeterRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmfMeterRegistry.class);
+    private static final String COUNT = "Count";
+    private static final String MILLISECONDS = "Milliseconds";
+    private static final String NONE = "None";
+
+    private final EmfConfig config;
+    private final PrintStream out;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    public EmfMeterRegistry(EmfConfig config, Clock clock, PrintStream out) {
+        super(config, clock);
+        this.config = config;
+        this.out = out;
+        start(new NamedThreadFactory("emf-metrics-publisher"));
+    }
+
+    @Override
+    protected void publish() {
+        long timestamp = clock.wallTime();
+        for (Meter meter : getMeters()) {
+            Map<String, Value> values = values(meter);
+            if (values.isEmpty()) {
+                continue;
+            }
+            try {
+                out.println(mapper.writeValueAsString(line(meter.getId(), values, timestamp)));
+            } catch (JsonProcessingException e) {
+                logger.warn("Could not write metric {}", meter.getId().getName(), e);
+            }
+        }
+        out.flush();
+    }
+
+    @Override
+    protected TimeUnit getBaseTimeUnit() {
+        return TimeUnit.MILLISECONDS;
+    }
+
+    private Map<String, Object> line(Meter.Id id, Map<String, Value> values, long timestamp) {
+        List<String> dimensions = id.getTags().stream().map(Tag::getKey).toList();
+        List<Map<String, String>> metrics = values.entrySet().stream()
+                .map(entry -> Map.of("Name", entry.getKey(), "Unit", entry.getValue().unit()))
+                .toList();
+        Map<String, Object> directive = new LinkedHashMap<>();
+        directive.put("Namespace", config.namespace());
+        directive.put("Dimensions", List.of(dimensions));
+        directive.put("Metrics", metrics);
+
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("_aws", Map.of("Timestamp", timestamp, "CloudWatchMetrics", List.of(directive)));
+        id.getTags().forEach(tag -> line.put(tag.getKey(), tag.getValue()));
+        values.forEach((name, value) -> line.put(name, value.value()));
+        return line;
+    }
+
+    private Map<String, Value> values(Meter meter) {
+        String name = meter.getId().getName();
+        Map<String, Value> values = new LinkedHashMap<>();
+        meter.use(
+                gauge -> putIfFinite(values, name, gauge.value(), NONE),
+                counter -> putIfPositive(values, name + ".count", counter.count(), COUNT),
+                timer -> {
+                    if (timer.count() > 0) {
+                        values.put(name + ".count", new Value(timer.count(), COUNT));
+                        values.put(name + ".sum", new Value(timer.totalTime(TimeUnit.MILLISECONDS), MILLISECONDS));
+                        values.put(name + ".max", new Value(timer.max(TimeUnit.MILLISECONDS), MILLISECONDS));
+                    }
+                },
+                summary -> {
+                    if (summary.count() > 0) {
+                        values.put(name + ".count", new Value(summary.count(), COUNT));
+                        values.put(name + ".sum", new Value(summary.totalAmount(), NONE));
+                        values.put(name + ".max", new Value(summary.max(), NONE));
+                    }
+                },
+                longTaskTimer -> {
+                    values.put(name + ".active", new Value(longTaskTimer.activeTasks(), COUNT));
+                    values.put(name + ".duration", new Value(longTaskTimer.duration(TimeUnit.MILLISECONDS), MILLISECONDS));
+                },
+                timeGauge -> putIfFinite(values, name, timeGauge.value(TimeUnit.MILLISECONDS), MILLISECONDS),
+                functionCounter -> putIfPositive(values, name + ".count", functionCounter.count(), COUNT),
+                functionTimer -> {
+                    if (functionTimer.count() > 0) {
+                        values.put(name + ".count", new Value(functionTimer.count(), COUNT));
+                        values.put(name + ".sum", new Value(functionTimer.totalTime(TimeUnit.MILLISECONDS), MILLISECONDS));
+                    }
+                },
+                other -> other.measure().forEach(measurement -> putIfFinite(values,
+                        name + "." + measurement.getStatistic().getTagValueRepresentation(), measurement.getValue(), NONE)));
+        return values;
+    }
+
+    private static void putIfFinite(Map<String, Value> values, String name, double value, String unit) {
+        if (Double.isFinite(value)) {
+            values.put(name, new Value(value, unit));
+        }
+    }
+
+    private static void putIfPositive(Map<String, Value> values, String name, double value, String unit) {
+        if (value > 0) {
+            values.put(name, new Value(value, unit));
+        }
+    }
+
+    private record Value(double value, String unit) {
+    }
+}
@@ -0,0 +1,51 @@
+package org.somuga.util.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.somuga.util.statements.RequestStatements;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records the number of SQL statements each request prepares, tagged with the route like
+ * {@code http.server.requests}. Statements of streaming responses written on another thread are not counted.
+ */
+@Component
+public class StatementMetricsFilter extends OncePerRequestFilter {
+
+    public static final String SUMMARY = "somuga.hibernate.statements";
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final RequestStatements statements;
+    private final MeterRegistry registry;
+
+    @Autowired
+    public StatementMetricsFilter(RequestStatements statements, MeterRegistry registry) {
+        this.statements = statements;
+        this.registry = registry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        statements.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestStatements.Count count = statements.end();
+            Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder(SUMMARY)
+                    .baseUnit("statements")
+                    .tag("uri", uri == null ? UNKNOWN_URI : uri.toString())
+                    .register(registry)
+                    .record(count == null ? 0 : count.total());
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package org.somuga.util.pagination;
+
+import org.somuga.dto.page.CursorPageDto;
+import org.somuga.exception.InvalidCursorException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.somuga.util.message.Messages.INVALID_CURSOR;
+
+/**
+ * Opaque cursors for keyset pagination. A cursor is the base64url encoded id of the
+ * last row of the previous slice; an empty cursor starts from the beginning.
+ */
+public class Cursors {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String DEFAULT_SIZE = "20";
+    public static final int MAX_SIZE = 100;
+
+    private Cursors() {
+    }
+
+    public static Long decodeLong(String cursor) throws InvalidCursorException {
+        String key = decode(cursor);
+        if (key.isEmpty()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(key);
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException(INVALID_CURSOR + cursor);
+        }
+    }
+
+    public static String decodeString(String cursor) throws InvalidCursorException {
+        return decode(cursor);
+    }
+
+    public static Pageable slice(int size) {
+        return PageRequest.of(0, Math.max(1, Math.min(size, MAX_SIZE)));
+    }
+
+    public static <E, D> CursorPageDto<D> toPage(Slice<E> slice, Function<E, Object> key, Function<List<E>, List<D>> converter) {
+        List<E> content = slice.getContent();
+        String nextCursor = slice.hasNext() ? encode(key.apply(content.get(content.size() - 1))) : null;
+        return new CursorPageDto<>(converter.apply(content), nextCursor);
+    }
+
+    public static <T> ResponseEntity<List<T>> toResponse(CursorPageDto<T> page) {
+        HttpHeaders headers = new HttpHeaders();
+        if (page.nextCursor() != null) {
+            headers.add(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return new ResponseEntity<>(page.content(), headers, HttpStatus.OK);
+    }
+
+    private static String encode(Object key) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String cursor) throws InvalidCursorException {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(INVALID_CURSOR + cursor);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package org.somuga.util.pagination;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Fixed orderings for offset pagination, applied over the page and size requested by the client.
+ */
+public class Pages {
+
+    private static final Sort TOP_RATED = Sort.by(Sort.Direction.DESC, "rating.average", "reviewCount").and(Sort.by("id"));
+
+    private Pages() {
+    }
+
+    /**
+     * Keeps the requested page and size but orders by the stored average, which is indexed.
+     */
+    public static Pageable topRated(Pageable page) {
+        return PageRequest.of(page.getPageNumber(), page.getPageSize(), TOP_RATED);
+    }
+}
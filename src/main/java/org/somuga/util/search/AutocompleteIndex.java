@@ -0,0 +1,443 @@
+package org.somuga.util.search;
+
+import org.apache.lucene.util.ArrayUtil;
+import org.apache.lucene.util.IntroSorter;
+import org.apache.lucene.util.RamUsageEstimator;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.*;
+
+/**
+ * Immutable prefix index of the names of games, movies, crew members, developers and users, for autocomplete.
+ * <p>
+ * Names are normalized to lower case words without accents, separated by single spaces, and stored back to back in
+ * one UTF-8 array, next to the names as shown and the ids. Every word start of a name, up to {@value #MAX_WORD_STARTS},
+ * is an entry pointing into that array. Entries are sorted by the text from their word start on, so the entries
+ * starting with a prefix form one range, found by binary search. Within the range the items with the highest
+ * popularity weight are picked, ties going to the name first in order.
+ * <p>
+ * {@link #with} returns an index that shares these arrays and lays a small index of changed names over them, so a
+ * renamed, added or removed row shows without sorting every entry again.
+ */
+public final class AutocompleteIndex {
+
+    public enum Kind {
+        GAME, MOVIE, CREW, DEVELOPER, USER
+    }
+
+    public record Suggestion(Kind kind, String id, String name) {
+    }
+
+    /**
+     * A new name for an item, or with a {@code null} name, its removal.
+     */
+    public record Change(Kind kind, String id, String name) {
+    }
+
+    public static final int MAX_WORD_STARTS = 4;
+    private static final Kind[] KINDS = Kind.values();
+    private static final byte SPACE = ' ';
+
+    private final byte[] keys;
+    private final int[] keyOffsets;
+    private final byte[] names;
+    private final int[] nameOffsets;
+    private final byte[] ids;
+    private final int[] idOffsets;
+    private final byte[] kinds;
+    private final long[] weights;
+    private final int[] entryItems;
+    private final int[] entryStarts;
+    private final int[] itemsById;
+    private final int[] replaced;
+    private final Map<ItemKey, Item> changes;
+    private final AutocompleteIndex changed;
+
+    private AutocompleteIndex(Builder builder) {
+        int items = builder.items;
+        keys = builder.keys.toByteArray();
+        keyOffsets = Arrays.copyOf(builder.keyOffsets, items + 1);
+        names = builder.names.toByteArray();
+        nameOffsets = Arrays.copyOf(builder.nameOffsets, items + 1);
+        ids = builder.ids.toByteArray();
+        idOffsets = Arrays.copyOf(builder.idOffsets, items + 1);
+        kinds = Arrays.copyOf(builder.kinds, items);
+        weights = Arrays.copyOf(builder.weights, items);
+        entryItems = Arrays.copyOf(builder.entryItems, builder.entries);
+        entryStarts = Arrays.copyOf(builder.entryStarts, builder.entries);
+        new EntrySorter().sort(0, entryItems.length);
+        itemsById = new int[items];
+        Arrays.setAll(itemsById, item -> item);
+        new ItemSorter().sort(0, items);
+        replaced = new int[0];
+        changes = Map.of();
+        changed = null;
+    }
+
+    private AutocompleteIndex(AutocompleteIndex base, int[] replaced, Map<ItemKey, Item> changes) {
+        keys = base.keys;
+        keyOffsets = base.keyOffsets;
+        names = base.names;
+        nameOffsets = base.nameOffsets;
+        ids = base.ids;
+        idOffsets = base.idOffsets;
+        kinds = base.kinds;
+        weights = base.weights;
+        entryItems = base.entryItems;
+        entryStarts = base.entryStarts;
+        itemsById = base.itemsById;
+        this.replaced = replaced;
+        this.changes = changes;
+        Builder builder = new Builder();
+        changes.forEach((key, item) -> builder.add(key.kind(), key.id(), item.name(), item.weight()));
+        changed = builder.build();
+    }
+
+    public static AutocompleteIndex empty() {
+        return new Builder().build();
+    }
+
+    public int items() {
+        return weights.length - replaced.length + (changed == null ? 0 : changed.items());
+    }
+
+    public int entries() {
+        return entryItems.length + (changed == null ? 0 : changed.entries());
+    }
+
+    /**
+     * Number of items changed since the index was built.
+     */
+    public int changes() {
+        return replaced.length + changes.size();
+    }
+
+    /**
+     * Bytes held by the arrays of the index.
+     */
+    public long sizeInBytes() {
+        return RamUsageEstimator.sizeOf(keys) + RamUsageEstimator.sizeOf(keyOffsets)
+                + RamUsageEstimator.sizeOf(names) + RamUsageEstimator.sizeOf(nameOffsets)
+                + RamUsageEstimator.sizeOf(ids) + RamUsageEstimator.sizeOf(idOffsets)
+                + RamUsageEstimator.sizeOf(kinds) + RamUsageEstimator.sizeOf(weights)
+                + RamUsageEstimator.sizeOf(entryItems) + RamUsageEstimator.sizeOf(entryStarts)
+                + RamUsageEstimator.sizeOf(itemsById) + RamUsageEstimator.sizeOf(replaced)
+                + (changed == null ? 0 : changed.sizeInBytes());
+    }
+
+    /**
+     * This index with the changes applied on top. A renamed item keeps its popularity weight and a new one starts at
+     * 0 until the index is built again; a change to the name an item already has is left out.
+     */
+    public AutocompleteIndex with(Collection<Change> newChanges) {
+        Map<ItemKey, Item> merged = new LinkedHashMap<>(changes);
+        int[] replacedItems = Arrays.copyOf(replaced, replaced.length + newChanges.size());
+        int replacedCount = replaced.length;
+        for (Change change : newChanges) {
+            ItemKey key = new ItemKey(change.kind(), change.id());
+            int item = find(change.kind(), change.id());
+            Item previous = merged.get(key);
+            if (previous == null && item >= 0 && Arrays.binarySearch(replaced, item) < 0
+                    && text(names, nameOffsets, item).equals(change.name())) {
+                continue;
+            }
+            long weight = previous != null ? previous.weight() : item >= 0 ? weights[item] : 0;
+            if (change.name() == null) {
+                merged.remove(key);
+            } else {
+                merged.put(key, new Item(change.name(), weight));
+            }
+            if (item >= 0) {
+                replacedItems[replacedCount++] = item;
+            }
+        }
+        if (merged.equals(changes) && replacedCount == replaced.length) {
+            return this;
+        }
+        int[] sorted = Arrays.stream(replacedItems, 0, replacedCount).sorted().distinct().toArray();
+        return new AutocompleteIndex(this, sorted, merged);
+    }
+
+    /**
+     * Up to {@code limit} items with a word starting with the prefix, most popular first.
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        byte[] normalized = normalize(prefix).getBytes(StandardCharsets.UTF_8);
+        if (normalized.length == 0 || limit <= 0) {
+            return List.of();
+        }
+        int[] best = new int[limit];
+        int found = top(normalized, best);
+        int[] bestChanged = new int[limit];
+        int foundChanged = changed == null ? 0 : changed.top(normalized, bestChanged);
+        List<Suggestion> suggestions = new ArrayList<>(Math.min(found + foundChanged, limit));
+        for (int i = 0, j = 0; suggestions.size() < limit && (i < found || j < foundChanged); ) {
+            if (j == foundChanged || (i < found && weights[best[i]] >= changed.weights[bestChanged[j]])) {
+                suggestions.add(suggestion(best[i++]));
+            } else {
+                suggestions.add(changed.suggestion(bestChanged[j++]));
+            }
+        }
+        return suggestions;
+    }
+
+    /**
+     * Fills {@code best} with the most popular items not replaced by a change with a word starting with the prefix,
+     * and returns how many were found.
+     */
+    private int top(byte[] prefix, int[] best) {
+        int limit = best.length;
+        int from = firstEntry(prefix, false);
+        int to = firstEntry(prefix, true);
+        int found = 0;
+        for (int entry = from; entry < to; entry++) {
+            int item = entryItems[entry];
+            long weight = weights[item];
+            if (found == limit && weight <= weights[best[found - 1]]) {
+                continue;
+            }
+            if (contains(best, found, item) || (replaced.length > 0 && Arrays.binarySearch(replaced, item) >= 0)) {
+                continue;
+            }
+            int slot = Math.min(found, limit - 1);
+            while (slot > 0 && weights[best[slot - 1]] < weight) {
+                best[slot] = best[slot - 1];
+                slot--;
+            }
+            best[slot] = item;
+            found = Math.min(found + 1, limit);
+        }
+        return found;
+    }
+
+    private Suggestion suggestion(int item) {
+        return new Suggestion(KINDS[kinds[item]], text(ids, idOffsets, item), text(names, nameOffsets, item));
+    }
+
+    /**
+     * Item with the kind and id, or a negative number if there is none.
+     */
+    private int find(Kind kind, String id) {
+        byte[] target = id.getBytes(StandardCharsets.UTF_8);
+        int low = 0;
+        int high = itemsById.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int item = itemsById[middle];
+            int comparison = Integer.compare(kinds[item], kind.ordinal());
+            if (comparison == 0) {
+                comparison = Arrays.compareUnsigned(ids, idOffsets[item], idOffsets[item + 1], target, 0, target.length);
+            }
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return item;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Lower case, accents stripped, and every run of characters other than letters and digits turned into one space.
+     */
+    public static String normalize(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFKD);
+        StringBuilder normalized = new StringBuilder(decomposed.length());
+        boolean separated = false;
+        for (int i = 0; i < decomposed.length(); ) {
+            int codePoint = decomposed.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (Character.getType(codePoint) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (!Character.isLetterOrDigit(codePoint)) {
+                separated = true;
+                continue;
+            }
+            if (separated && !normalized.isEmpty()) {
+                normalized.append(' ');
+            }
+            separated = false;
+            normalized.appendCodePoint(Character.toLowerCase(codePoint));
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * First entry whose key starts with the prefix or sorts after it, or with {@code after}, first entry sorting
+     * after every key that starts with it.
+     */
+    private int firstEntry(byte[] prefix, boolean after) {
+        int low = 0;
+        int high = entryItems.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            int comparison = compareToPrefix(middle, prefix);
+            if (comparison < 0 || (after && comparison == 0)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int compareToPrefix(int entry, byte[] prefix) {
+        int start = keyOffsets[entryItems[entry]] + entryStarts[entry];
+        int end = keyOffsets[entryItems[entry] + 1];
+        int length = Math.min(end - start, prefix.length);
+        int comparison = Arrays.compareUnsigned(keys, start, start + length, prefix, 0, length);
+        if (comparison != 0) {
+            return comparison;
+        }
+        return end - start < prefix.length ? -1 : 0;
+    }
+
+    private static boolean contains(int[] items, int count, int item) {
+        for (int i = 0; i < count; i++) {
+            if (items[i] == item) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String text(byte[] bytes, int[] offsets, int item) {
+        return new String(bytes, offsets[item], offsets[item + 1] - offsets[item], StandardCharsets.UTF_8);
+    }
+
+    private final class EntrySorter extends IntroSorter {
+
+        private int pivotItem;
+        private int pivotStart;
+
+        @Override
+        protected void swap(int i, int j) {
+            int item = entryItems[i];
+            entryItems[i] = entryItems[j];
+            entryItems[j] = item;
+            int start = entryStarts[i];
+            entryStarts[i] = entryStarts[j];
+            entryStarts[j] = start;
+        }
+
+        @Override
+        protected void setPivot(int i) {
+            pivotItem = entryItems[i];
+            pivotStart = entryStarts[i];
+        }
+
+        @Override
+        protected int comparePivot(int j) {
+            return compare(pivotItem, pivotStart, entryItems[j], entryStarts[j]);
+        }
+
+        @Override
+        protected int compare(int i, int j) {
+            return compare(entryItems[i], entryStarts[i], entryItems[j], entryStarts[j]);
+        }
+
+        private int compare(int item, int start, int otherItem, int otherStart) {
+            return Arrays.compareUnsigned(keys, keyOffsets[item] + start, keyOffsets[item + 1],
+                    keys, keyOffsets[otherItem] + otherStart, keyOffsets[otherItem + 1]);
+        }
+    }
+
+    private final class ItemSorter extends IntroSorter {
+
+        private int pivot;
+
+        @Override
+        protected void swap(int i, int j) {
+            int item = itemsById[i];
+            itemsById[i] = itemsById[j];
+            itemsById[j] = item;
+        }
+
+        @Override
+        protected void setPivot(int i) {
+            pivot = itemsById[i];
+        }
+
+        @Override
+        protected int comparePivot(int j) {
+            return compareItems(pivot, itemsById[j]);
+        }
+
+        @Override
+        protected int compare(int i, int j) {
+            return compareItems(itemsById[i], itemsById[j]);
+        }
+
+        private int compareItems(int item, int otherItem) {
+            int comparison = Byte.compare(kinds[item], kinds[otherItem]);
+            return comparison != 0 ? comparison : Arrays.compareUnsigned(ids, idOffsets[item], idOffsets[item + 1],
+                    ids, idOffsets[otherItem], idOffsets[otherItem + 1]);
+        }
+    }
+
+    private record ItemKey(Kind kind, String id) {
+    }
+
+    private record Item(String name, long weight) {
+    }
+
+    public static final class Builder {
+
+        private final ByteArrayOutputStream keys = new ByteArrayOutputStream();
+        private final ByteArrayOutputStream names = new ByteArrayOutputStream();
+        private final ByteArrayOutputStream ids = new ByteArrayOutputStream();
+        private int[] keyOffsets = {0};
+        private int[] nameOffsets = {0};
+        private int[] idOffsets = {0};
+        private byte[] kinds = new byte[0];
+        private long[] weights = new long[0];
+        private int[] entryItems = new int[0];
+        private int[] entryStarts = new int[0];
+        private int items;
+        private int entries;
+
+        /**
+         * Adds an item, unless its name has no letters or digits.
+         */
+        public Builder add(Kind kind, String id, String name, long weight) {
+            byte[] key = normalize(name).getBytes(StandardCharsets.UTF_8);
+            if (key.length == 0) {
+                return this;
+            }
+            for (int start = 0, words = 0; start < key.length && words < MAX_WORD_STARTS; words++) {
+                entryItems = ArrayUtil.grow(entryItems, entries + 1);
+                entryStarts = ArrayUtil.grow(entryStarts, entries + 1);
+                entryItems[entries] = items;
+                entryStarts[entries] = start;
+                entries++;
+                do {
+                    start++;
+                } while (start < key.length && key[start - 1] != SPACE);
+            }
+            keys.writeBytes(key);
+            names.writeBytes(name.getBytes(StandardCharsets.UTF_8));
+            ids.writeBytes(id.getBytes(StandardCharsets.UTF_8));
+            keyOffsets = ArrayUtil.grow(keyOffsets, items + 2);
+            nameOffsets = ArrayUtil.grow(nameOffsets, items + 2);
+            idOffsets = ArrayUtil.grow(idOffsets, items + 2);
+            kinds = ArrayUtil.grow(kinds, items + 1);
+            weights = ArrayUtil.grow(weights, items + 1);
+            keyOffsets[items + 1] = keys.size();
+            nameOffsets[items + 1] = names.size();
+            idOffsets[items + 1] = ids.size();
+            kinds[items] = (byte) kind.ordinal();
+            weights[items] = weight;
+            items++;
+            return this;
+        }
+
+        public AutocompleteIndex build() {
+            return new AutocompleteIndex(this);
+        }
+    }
+}
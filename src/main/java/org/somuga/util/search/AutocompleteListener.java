@@ -0,0 +1,62 @@
+package org.somuga.util.search;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.somuga.entity.Developer;
+import org.somuga.entity.Game;
+import org.somuga.entity.Movie;
+import org.somuga.entity.MovieCrew;
+import org.somuga.entity.User;
+import org.somuga.util.search.AutocompleteIndex.Kind;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Announces every write of a named row, so the autocomplete index shows its new name. Popularity weights, moved by
+ * likes and reviews, are only refreshed when the index is built again.
+ */
+public class AutocompleteListener {
+
+    private final ApplicationEventPublisher publisher;
+
+    @Autowired
+    public AutocompleteListener(ApplicationEventPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void changed(Object entity) {
+        if (entity instanceof Game game) {
+            publish(Kind.GAME, game.getId(), game.getTitle());
+        } else if (entity instanceof Movie movie) {
+            publish(Kind.MOVIE, movie.getId(), movie.getTitle());
+        } else if (entity instanceof MovieCrew crew) {
+            publish(Kind.CREW, crew.getId(), crew.getFullName());
+        } else if (entity instanceof Developer developer) {
+            publish(Kind.DEVELOPER, developer.getId(), developer.getDeveloperName());
+        } else if (entity instanceof User user) {
+            publish(Kind.USER, user.getId(), user.isActive() ? user.getUserName() : null);
+        }
+    }
+
+    @PostRemove
+    public void removed(Object entity) {
+        if (entity instanceof Game game) {
+            publish(Kind.GAME, game.getId(), null);
+        } else if (entity instanceof Movie movie) {
+            publish(Kind.MOVIE, movie.getId(), null);
+        } else if (entity instanceof MovieCrew crew) {
+            publish(Kind.CREW, crew.getId(), null);
+        } else if (entity instanceof Developer developer) {
+            publish(Kind.DEVELOPER, developer.getId(), null);
+        } else if (entity instanceof User user) {
+            publish(Kind.USER, user.getId(), null);
+        }
+    }
+
+    private void publish(Kind kind, Object id, String name) {
+        publisher.publishEvent(new NamesChangedEvent(kind, String.valueOf(id), name));
+    }
+}
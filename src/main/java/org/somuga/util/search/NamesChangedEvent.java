@@ -0,0 +1,7 @@
+package org.somuga.util.search;
+
+/**
+ * Published when a row whose name autocomplete shows is written, with its new name, or {@code null} once it is gone.
+ */
+public record NamesChangedEvent(AutocompleteIndex.Kind kind, String id, String name) {
+}
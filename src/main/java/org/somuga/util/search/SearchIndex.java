@@ -0,0 +1,391 @@
+package org.somuga.util.search;
+
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.miscellaneous.PerFieldAnalyzerWrapper;
+import org.apache.lucene.analysis.ngram.EdgeNGramTokenFilter;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.SegmentInfos;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Lucene index of the titles and descriptions of games and movies and of the names of crew members and developers,
+ * ranked with BM25. Every word of a search has to match a title or description, the last one also as a prefix of a
+ * title word, so a search typed so far already finds what it starts. Title words are also indexed by their prefixes,
+ * which makes the last word a single term lookup instead of an expansion over every word it starts.
+ * <p>
+ * Writes made inside a transaction are held until it commits and then applied together, so a rolled back write never
+ * reaches the index and searches see a transaction at once. Applied writes are searchable right away through a
+ * near-real-time reader of the writer, without an fsync each; they are committed to the directory with the next
+ * {@link #replaceAll} or {@link #updateAll}, or when the index is closed. A write lost with the process is loaded
+ * again by the next refresh, as its row was updated after the committed watermark.
+ * {@link #replaceAll} builds the index again from scratch; searches keep seeing the previous index until it is done.
+ * <p>
+ * The index is kept in memory unless {@code somuga.search.index.path} names a directory, where it survives restarts.
+ * Each instance indexes the writes it makes itself; rows written by other instances are picked up by loading what
+ * changed since the {@link #watermark()}, the latest update time of the rows the index was last loaded from, which
+ * is stored with every commit.
+ */
+@Component
+public class SearchIndex {
+
+    public enum Kind {
+        GAME, MOVIE, CREW, DEVELOPER
+    }
+
+    private static final String KEY = "key";
+    private static final String KIND = "kind";
+    private static final String ID = "id";
+    private static final String TITLE = "title";
+    private static final String TITLE_PREFIX = "title_prefix";
+    private static final String DESCRIPTION = "description";
+    private static final int MAX_PREFIX = 20;
+    private static final float TITLE_BOOST = 2;
+    private static final Set<String> ID_ONLY = Set.of(ID);
+    private static final String WATERMARK = "watermark";
+
+    /**
+     * Deepest match a search can page to, so a search never collects more hits than this.
+     */
+    public static final int MAX_RESULTS = 10_000;
+
+    private final Directory directory;
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final Analyzer prefixAnalyzer = new Analyzer() {
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            StandardTokenizer tokenizer = new StandardTokenizer();
+            return new TokenStreamComponents(tokenizer,
+                    new EdgeNGramTokenFilter(new LowerCaseFilter(tokenizer), 1, MAX_PREFIX, true));
+        }
+    };
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile boolean built;
+    private volatile Instant watermark;
+
+    @Autowired
+    public SearchIndex(@Value("${somuga.search.index.path:}") String path) throws IOException {
+        directory = path.isBlank() ? new ByteBuffersDirectory() : FSDirectory.open(Path.of(path));
+        built = DirectoryReader.indexExists(directory);
+        if (built) {
+            String stored = SegmentInfos.readLatestCommit(directory).getUserData().get(WATERMARK);
+            watermark = stored == null ? null : Instant.ofEpochMilli(Long.parseLong(stored));
+        }
+        writer = new IndexWriter(directory, new IndexWriterConfig(
+                new PerFieldAnalyzerWrapper(analyzer, Map.of(TITLE_PREFIX, prefixAnalyzer))));
+        searcherManager = new SearcherManager(writer, null);
+    }
+
+    /**
+     * Whether the index has been built, by {@link #replaceAll} or by an earlier run on the same directory.
+     */
+    public boolean isBuilt() {
+        return built;
+    }
+
+    /**
+     * Latest update time among the rows the index was last loaded from, or {@code null} if it is not known, as for
+     * an index that was never loaded from the database.
+     */
+    public Instant watermark() {
+        return watermark;
+    }
+
+    /**
+     * Number of entries of a kind.
+     */
+    public int count(Kind kind) {
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                return searcher.count(new TermQuery(new Term(KIND, kind.name())));
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void index(Kind kind, Long id, String title, String description) {
+        apply(new Change(kind, id, title, description));
+    }
+
+    public void remove(Kind kind, Long id) {
+        apply(new Change(kind, id, null, null));
+    }
+
+    /**
+     * Empties the index and fills it with the entries the loader passes on, then makes them visible at once. The
+     * watermark is left unknown.
+     *
+     * @return the number of entries indexed
+     */
+    public long replaceAll(Loader loader) {
+        return replaceAll(loader, null);
+    }
+
+    /**
+     * Empties the index and fills it with the entries the loader passes on, loaded from rows updated at most at
+     * {@code watermark}, then makes them visible at once.
+     *
+     * @return the number of entries indexed
+     */
+    public long replaceAll(Loader loader, Instant watermark) {
+        lock.lock();
+        try {
+            writer.deleteAll();
+            long count = load(loader, writer::addDocument);
+            commit(watermark);
+            built = true;
+            return count;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds or replaces the entries the loader passes on, loaded from rows updated at most at {@code watermark}.
+     *
+     * @return the number of entries indexed
+     */
+    public long updateAll(Loader loader, Instant watermark) {
+        lock.lock();
+        try {
+            long count = load(loader, document -> writer.updateDocument(new Term(KEY, document.get(KEY)), document));
+            commit(watermark);
+            return count;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Ids of the entries of a kind matching the text, best match first, skipping {@code offset} matches. Matches past
+     * the first {@value #MAX_RESULTS} are never returned.
+     */
+    public List<Long> search(Kind kind, String text, long offset, int size) {
+        Query query = query(kind, text);
+        if (query == null || size <= 0 || offset >= MAX_RESULTS) {
+            return List.of();
+        }
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                ScoreDoc[] hits = searcher.search(query, (int) Math.min(offset + size, MAX_RESULTS)).scoreDocs;
+                StoredFields storedFields = searcher.storedFields();
+                List<Long> ids = new ArrayList<>(size);
+                for (int i = (int) offset; i < hits.length; i++) {
+                    ids.add(storedFields.document(hits[i].doc, ID_ONLY).getField(ID).numericValue().longValue());
+                }
+                return ids;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Orders the rows loaded for the ids of a search as the ids are, dropping ids without a row.
+     */
+    public static <T> List<T> inSearchOrder(List<Long> ids, Collection<T> rows, Function<T, Long> id) {
+        Map<Long, T> byId = new HashMap<>();
+        rows.forEach(row -> byId.put(id.apply(row), row));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+        analyzer.close();
+        prefixAnalyzer.close();
+    }
+
+    private Query query(Kind kind, String text) {
+        List<String> words = analyze(text);
+        if (words.isEmpty()) {
+            return null;
+        }
+        BooleanQuery.Builder query = new BooleanQuery.Builder()
+                .add(new TermQuery(new Term(KIND, kind.name())), BooleanClause.Occur.FILTER);
+        for (int i = 0; i < words.size(); i++) {
+            String word = words.get(i);
+            BooleanQuery.Builder anyField = new BooleanQuery.Builder()
+                    .add(new BoostQuery(new TermQuery(new Term(TITLE, word)), TITLE_BOOST), BooleanClause.Occur.SHOULD)
+                    .add(new TermQuery(new Term(DESCRIPTION, word)), BooleanClause.Occur.SHOULD);
+            if (i == words.size() - 1) {
+                String prefix = word.length() > MAX_PREFIX ? word.substring(0, MAX_PREFIX) : word;
+                anyField.add(new TermQuery(new Term(TITLE_PREFIX, prefix)), BooleanClause.Occur.SHOULD);
+            }
+            query.add(anyField.build(), BooleanClause.Occur.MUST);
+        }
+        return query.build();
+    }
+
+    private List<String> analyze(String text) {
+        List<String> words = new ArrayList<>();
+        try (TokenStream tokens = analyzer.tokenStream(TITLE, text)) {
+            CharTermAttribute term = tokens.addAttribute(CharTermAttribute.class);
+            tokens.reset();
+            while (tokens.incrementToken()) {
+                words.add(term.toString());
+            }
+            tokens.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return words;
+    }
+
+    private void apply(Change change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            write(List.of(change));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<Change> pending = (List<Change>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<Change> changes = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, changes);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(SearchIndex.this);
+                    if (status == STATUS_COMMITTED) {
+                        write(changes);
+                    }
+                }
+            });
+            pending = changes;
+        }
+        pending.add(change);
+    }
+
+    private void write(List<Change> changes) {
+        lock.lock();
+        try {
+            for (Change change : changes) {
+                Term key = new Term(KEY, key(change.kind(), change.id()));
+                if (change.title() == null) {
+                    writer.deleteDocuments(key);
+                } else {
+                    writer.updateDocument(key, document(change.kind(), change.id(), change.title(), change.description()));
+                }
+            }
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long load(Loader loader, DocumentWriter documentWriter) {
+        long[] count = {0};
+        loader.load((kind, id, title, description) -> {
+            try {
+                documentWriter.write(document(kind, id, title, description));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            count[0]++;
+        });
+        return count[0];
+    }
+
+    /**
+     * Commits the pending writes with the watermark they reach and makes them visible. Called with the lock held.
+     */
+    private void commit(Instant watermark) throws IOException {
+        Map<String, String> commitData = watermark == null
+                ? Map.of()
+                : Map.of(WATERMARK, String.valueOf(watermark.toEpochMilli()));
+        writer.setLiveCommitData(commitData.entrySet());
+        writer.commit();
+        this.watermark = watermark;
+        searcherManager.maybeRefreshBlocking();
+    }
+
+    private static Document document(Kind kind, Long id, String title, String description) {
+        Document document = new Document();
+        // Stored so updateAll can find the entry a document replaces
+        document.add(new StringField(KEY, key(kind, id), Field.Store.YES));
+        document.add(new StringField(KIND, kind.name(), Field.Store.NO));
+        document.add(new StoredField(ID, id));
+        document.add(new TextField(TITLE, title, Field.Store.NO));
+        document.add(new TextField(TITLE_PREFIX, title, Field.Store.NO));
+        if (description != null) {
+            document.add(new TextField(DESCRIPTION, description, Field.Store.NO));
+        }
+        return document;
+    }
+
+    private static String key(Kind kind, Long id) {
+        return kind.name() + ':' + id;
+    }
+
+    @FunctionalInterface
+    public interface Loader {
+        void load(Sink sink);
+    }
+
+    @FunctionalInterface
+    public interface Sink {
+        void accept(Kind kind, Long id, String title, String description);
+    }
+
+    @FunctionalInterface
+    private interface DocumentWriter {
+        void write(Document document) throws IOException;
+    }
+
+    private record Change(Kind kind, Long id, String title, String description) {
+    }
+}
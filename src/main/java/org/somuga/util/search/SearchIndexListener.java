@@ -0,0 +1,51 @@
+package org.somuga.util.search;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.somuga.entity.Developer;
+import org.somuga.entity.Game;
+import org.somuga.entity.Movie;
+import org.somuga.entity.MovieCrew;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Keeps the {@link SearchIndex} entry of a game, movie, crew member or developer in step with its row,
+ * whether the write comes from a service, an import or straight from a repository.
+ */
+public class SearchIndexListener {
+
+    private final SearchIndex searchIndex;
+
+    @Autowired
+    public SearchIndexListener(SearchIndex searchIndex) {
+        this.searchIndex = searchIndex;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void index(Object entity) {
+        if (entity instanceof Game game) {
+            searchIndex.index(SearchIndex.Kind.GAME, game.getId(), game.getTitle(), game.getDescription());
+        } else if (entity instanceof Movie movie) {
+            searchIndex.index(SearchIndex.Kind.MOVIE, movie.getId(), movie.getTitle(), movie.getDescription());
+        } else if (entity instanceof MovieCrew crew) {
+            searchIndex.index(SearchIndex.Kind.CREW, crew.getId(), crew.getFullName(), null);
+        } else if (entity instanceof Developer developer) {
+            searchIndex.index(SearchIndex.Kind.DEVELOPER, developer.getId(), developer.getDeveloperName(), null);
+        }
+    }
+
+    @PostRemove
+    public void remove(Object entity) {
+        if (entity instanceof Game game) {
+            searchIndex.remove(SearchIndex.Kind.GAME, game.getId());
+        } else if (entity instanceof Movie movie) {
+            searchIndex.remove(SearchIndex.Kind.MOVIE, movie.getId());
+        } else if (entity instanceof MovieCrew crew) {
+            searchIndex.remove(SearchIndex.Kind.CREW, crew.getId());
+        } else if (entity instanceof Developer developer) {
+            searchIndex.remove(SearchIndex.Kind.DEVELOPER, developer.getId());
+        }
+    }
+}
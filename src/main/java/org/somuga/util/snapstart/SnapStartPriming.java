@@ -0,0 +1,201 @@
+package org.somuga.util.snapstart;
+
+import com.amazonaws.serverless.proxy.model.ApiGatewayRequestIdentity;
+import com.amazonaws.serverless.proxy.model.AwsProxyRequest;
+import com.amazonaws.serverless.proxy.model.AwsProxyRequestContext;
+import com.amazonaws.serverless.proxy.model.AwsProxyResponse;
+import com.amazonaws.serverless.proxy.model.Headers;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.crac.Context;
+import org.crac.Core;
+import org.crac.Resource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.somuga.service.interfaces.IAutocompleteService;
+import org.somuga.service.interfaces.ISearchService;
+import org.somuga.util.cache.NameIdCache;
+import org.somuga.util.cache.ReferenceNameCache;
+import org.somuga.util.cache.SecondLevelCache;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Warms the application before a SnapStart snapshot is taken and re-establishes database connections after it is
+ * restored.
+ * <p>
+ * Before the checkpoint every public GET route is called through the Lambda container with a synthetic request,
+ * so Hibernate query plans, the security filter chain and the error path are built into the snapshot. Priming runs
+ * against the real database, so nothing it reads may outlive it unchecked: search and autocomplete routes are
+ * skipped, the search and autocomplete indexes built at startup are refreshed in the background after restore, and
+ * the name and second-level caches are cleared once the routes have been called. Jackson serializers for every DTO
+ * are built up front, as listings may be empty when priming, and the JWT decoder is given a token it cannot verify,
+ * which makes it fetch and parse the JWKS.
+ * <p>
+ * Spring suspends the connection pool around the checkpoint. After restore one connection is validated so the
+ * first request does not pay for the handshake, and the time from restore to the first written response is logged.
+ */
+public class SnapStartPriming implements Resource {
+
+    private static final Logger logger = LoggerFactory.getLogger(SnapStartPriming.class);
+    private static final String PUBLIC_ROUTE = "/public";
+    private static final String SEARCH_ROUTE = "/search";
+    private static final String PATH_VARIABLE = "\\{[^}]+}";
+    private static final String PRIMING_PATH_VALUE = "0";
+    private static final String DTO_PACKAGE = "org.somuga.dto";
+    // {"alg":"RS256","kid":"snapstart-priming"}.{"sub":"snapstart-priming"} with an empty signature
+    private static final String PRIMING_TOKEN = "eyJhbGciOiJSUzI1NiIsImtpZCI6InNuYXBzdGFydC1wcmltaW5nIn0"
+            + ".eyJzdWIiOiJzbmFwc3RhcnQtcHJpbWluZyJ9.AA";
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final ApplicationContext context;
+    private final Function<AwsProxyRequest, AwsProxyResponse> dispatcher;
+    private final AtomicLong restoredAt = new AtomicLong();
+
+    public SnapStartPriming(ApplicationContext context, Function<AwsProxyRequest, AwsProxyResponse> dispatcher) {
+        this.context = context;
+        this.dispatcher = dispatcher;
+    }
+
+    /**
+     * Registers this instance with the global CRaC context. On a JVM without checkpoint support this is a no-op.
+     */
+    public SnapStartPriming register() {
+        Core.getGlobalContext().register(this);
+        return this;
+    }
+
+    @Override
+    public void beforeCheckpoint(Context<? extends Resource> context) {
+        long start = System.nanoTime();
+        int routes = primeRoutes();
+        clearCaches();
+        int types = primeJackson();
+        primeJwtDecoder();
+        logger.info("Primed {} public routes and {} DTO types in {} ms", routes, types, elapsedMillis(start));
+    }
+
+    @Override
+    public void afterRestore(Context<? extends Resource> context) {
+        restoredAt.set(System.nanoTime());
+        DataSource dataSource = this.context.getBean(DataSource.class);
+        try (Connection connection = dataSource.getConnection()) {
+            connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            logger.warn("Could not re-establish a database connection after restore", e);
+        }
+        this.context.getBeanProvider(ISearchService.class).ifAvailable(ISearchService::refreshInBackground);
+        this.context.getBeanProvider(IAutocompleteService.class).ifAvailable(IAutocompleteService::refreshInBackground);
+    }
+
+    /**
+     * Logs the time from restore to the first response written after it. Called after every request, only the
+     * first one after a restore logs.
+     */
+    public void afterResponse() {
+        long restored = restoredAt.getAndSet(0);
+        if (restored != 0) {
+            logger.info("First response {} ms after restore", elapsedMillis(restored));
+        }
+    }
+
+    /**
+     * Paths of every public GET route without request parameter conditions, with path variables set to 0. Search
+     * routes are left out.
+     */
+    public static List<String> publicRoutes(ApplicationContext context) {
+        RequestMappingHandlerMapping mapping = context.getBean("requestMappingHandlerMapping", RequestMappingHandlerMapping.class);
+        List<String> paths = new ArrayList<>();
+        for (RequestMappingInfo info : mapping.getHandlerMethods().keySet()) {
+            boolean get = info.getMethodsCondition().getMethods().contains(RequestMethod.GET);
+            if (!get || !info.getParamsCondition().getExpressions().isEmpty() || info.getPathPatternsCondition() == null) {
+                continue;
+            }
+            info.getPathPatternsCondition().getPatternValues().stream()
+                    .filter(pattern -> pattern.contains(PUBLIC_ROUTE) && !pattern.contains(SEARCH_ROUTE))
+                    .map(pattern -> pattern.replaceAll(PATH_VARIABLE, PRIMING_PATH_VALUE))
+                    .forEach(paths::add);
+        }
+        return paths;
+    }
+
+    private int primeRoutes() {
+        List<String> paths = publicRoutes(context);
+        for (String path : paths) {
+            try {
+                AwsProxyResponse response = dispatcher.apply(request(path));
+                if (response.getStatusCode() >= 500) {
+                    logger.warn("Priming {} returned {}", path, response.getStatusCode());
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Priming {} failed", path, e);
+            }
+        }
+        return paths.size();
+    }
+
+    private void clearCaches() {
+        context.getBeanProvider(ReferenceNameCache.class).ifAvailable(cache -> cache.all().forEach(NameIdCache::clear));
+        context.getBeanProvider(SecondLevelCache.class).ifAvailable(SecondLevelCache::clear);
+    }
+
+    private int primeJackson() {
+        ObjectMapper mapper = context.getBean(ObjectMapper.class);
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter((reader, factory) -> true);
+        int types = 0;
+        for (BeanDefinition definition : scanner.findCandidateComponents(DTO_PACKAGE)) {
+            Class<?> type = ClassUtils.resolveClassName(definition.getBeanClassName(), context.getClassLoader());
+            mapper.writerFor(type);
+            mapper.readerFor(type);
+            types++;
+        }
+        return types;
+    }
+
+    private void primeJwtDecoder() {
+        context.getBeanProvider(JwtDecoder.class).ifAvailable(decoder -> {
+            try {
+                decoder.decode(PRIMING_TOKEN);
+            } catch (JwtException e) {
+                // Expected, the keys have been fetched by the time the signature is rejected
+            }
+        });
+    }
+
+    private static AwsProxyRequest request(String path) {
+        AwsProxyRequestContext requestContext = new AwsProxyRequestContext();
+        requestContext.setIdentity(new ApiGatewayRequestIdentity());
+        requestContext.setPath(path);
+        requestContext.setHttpMethod(RequestMethod.GET.name());
+        Headers headers = new Headers();
+        headers.putSingle(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
+        AwsProxyRequest request = new AwsProxyRequest();
+        request.setPath(path);
+        request.setHttpMethod(RequestMethod.GET.name());
+        request.setMultiValueHeaders(headers);
+        request.setRequestContext(requestContext);
+        return request;
+    }
+
+    private static long elapsedMillis(long since) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - since);
+    }
+}
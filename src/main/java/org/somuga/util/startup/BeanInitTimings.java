@@ -0,0 +1,119 @@
+package org.somuga.util.startup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.somuga.LambdaApplication;
+import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Breaks the context refresh down by bean group. Each bean is timed from instantiation to the end of its
+ * initialization, minus the time spent creating the beans it depends on, and the totals are logged per package
+ * once the context is refreshed. Beans created later, lazily on a request, are not counted.
+ * <p>
+ * Beans may be created on other threads than the refresh, such as the background bootstrap of the JPA entity
+ * manager factory, so each thread keeps its own stack of beans in creation and the totals are shared.
+ */
+@Component
+@Profile(LambdaApplication.PROFILE)
+public class BeanInitTimings implements InstantiationAwareBeanPostProcessor, ApplicationListener<ContextRefreshedEvent> {
+
+    private static final Logger logger = LoggerFactory.getLogger(BeanInitTimings.class);
+    private static final int GROUP_DEPTH = 3;
+    private static final String AUTOCONFIGURE_PACKAGE = "org.springframework.boot.autoconfigure";
+    private static final int AUTOCONFIGURE_GROUP_DEPTH = 5;
+    private static final String REPOSITORY_GROUP = "org.somuga.repository";
+
+    private final ThreadLocal<Deque<Frame>> creating = ThreadLocal.withInitial(ArrayDeque::new);
+    private final Map<String, Group> groups = new ConcurrentHashMap<>();
+    private volatile boolean refreshed;
+
+    @Override
+    public Object postProcessBeforeInstantiation(Class<?> beanClass, String beanName) {
+        if (!refreshed) {
+            creating.get().push(new Frame(beanName, group(beanClass), System.nanoTime()));
+        }
+        return null;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        Deque<Frame> frames = creating.get();
+        Frame frame = frames.peek();
+        if (refreshed || frame == null || !frame.beanName.equals(beanName)) {
+            return bean;
+        }
+        frames.pop();
+        long total = System.nanoTime() - frame.start;
+        groups.computeIfAbsent(frame.group, name -> new Group()).add(total - frame.dependencies);
+        if (frames.isEmpty()) {
+            creating.remove();
+        } else {
+            frames.peek().dependencies += total;
+        }
+        return bean;
+    }
+
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+        refreshed = true;
+        creating.remove();
+        StringBuilder report = new StringBuilder("Context refresh by bean group:");
+        byGroup().forEach((name, millis) -> report.append(String.format("%n  %6d ms %4d beans  %s", millis, groups.get(name).beans.sum(), name)));
+        logger.info(report.toString());
+    }
+
+    /**
+     * Milliseconds spent per group during the refresh, slowest first.
+     */
+    public Map<String, Long> byGroup() {
+        Map<String, Long> millis = new LinkedHashMap<>();
+        groups.entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue().nanos.sum()))
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .forEach(entry -> millis.put(entry.getKey(), TimeUnit.NANOSECONDS.toMillis(entry.getValue())));
+        return millis;
+    }
+
+    static String group(Class<?> beanClass) {
+        if (RepositoryFactoryBeanSupport.class.isAssignableFrom(beanClass)) {
+            return REPOSITORY_GROUP;
+        }
+        String packageName = beanClass.getPackageName();
+        int depth = packageName.startsWith(AUTOCONFIGURE_PACKAGE) ? AUTOCONFIGURE_GROUP_DEPTH : GROUP_DEPTH;
+        String[] parts = packageName.split("\\.");
+        return String.join(".", Arrays.copyOf(parts, Math.min(parts.length, depth)));
+    }
+
+    private static final class Frame {
+        private final String beanName;
+        private final String group;
+        private final long start;
+        private long dependencies;
+
+        private Frame(String beanName, String group, long start) {
+            this.beanName = beanName;
+            this.group = group;
+            this.start = start;
+        }
+    }
+
+    private static final class Group {
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder beans = new LongAdder();
+
+        private void add(long nanos) {
+            this.nanos.add(nanos);
+            beans.increment();
+        }
+    }
+}
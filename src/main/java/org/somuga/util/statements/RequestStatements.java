@@ -0,0 +1,117 @@
+package org.somuga.util.statements;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.somuga.exception.StatementBudgetExceededException;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread between {@link #begin()} and {@link #end()}.
+ * Registers itself as the statement inspector of the session factory.
+ * <p>
+ * A budget can be set on the running count. Going over it is only recorded, unless the budget rejects, in which case
+ * the statement over the budget fails with a {@link StatementBudgetExceededException}.
+ */
+@Component
+public class RequestStatements implements StatementInspector, HibernatePropertiesCustomizer {
+
+    private final ThreadLocal<Count> count = new ThreadLocal<>();
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Count current = count.get();
+        if (current != null) {
+            current.add(sql);
+        }
+        return sql;
+    }
+
+    public void begin() {
+        count.set(new Count(false));
+    }
+
+    /**
+     * Like {@link #begin()}, also keeping the text of every statement.
+     */
+    public void beginRecording() {
+        count.set(new Count(true));
+    }
+
+    /**
+     * Sets the budget of the count running on this thread. Does nothing if none is running.
+     */
+    public void limit(int budget, boolean reject) {
+        Count current = count.get();
+        if (current != null) {
+            current.budget = budget;
+            current.reject = reject;
+        }
+    }
+
+    /**
+     * The count running on this thread, or {@code null} if none is running.
+     */
+    public Count current() {
+        return count.get();
+    }
+
+    /**
+     * Stops the count running on this thread and returns it, or {@code null} if none was running.
+     */
+    public Count end() {
+        Count current = count.get();
+        count.remove();
+        return current;
+    }
+
+    public static final class Count {
+
+        private final List<String> statements;
+        private int total;
+        private int budget = StatementBudget.UNLIMITED;
+        private boolean reject;
+
+        private Count(boolean recording) {
+            this.statements = recording ? new ArrayList<>() : null;
+        }
+
+        private void add(String sql) {
+            total++;
+            if (statements != null) {
+                statements.add(sql);
+            }
+            if (reject && exceeded()) {
+                throw new StatementBudgetExceededException(budget);
+            }
+        }
+
+        public int total() {
+            return total;
+        }
+
+        public int budget() {
+            return budget;
+        }
+
+        public boolean exceeded() {
+            return budget != StatementBudget.UNLIMITED && total > budget;
+        }
+
+        /**
+         * Text of every statement counted, empty unless the count was started with {@link #beginRecording()}.
+         */
+        public List<String> statements() {
+            return statements == null ? List.of() : List.copyOf(statements);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package org.somuga.util.statements;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maximum number of SQL statements a request to the annotated handler, or to every handler of the annotated
+ * controller, may prepare. Handlers without it get {@code somuga.statements.budget.default}.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface StatementBudget {
+
+    int UNLIMITED = -1;
+
+    int value();
+}
@@ -0,0 +1,61 @@
+package org.somuga.util.statements;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Applies the {@link StatementBudget} of the handler to the statement count of the request, and logs requests that
+ * went over it. With {@code somuga.statements.budget.reject} the statement over the budget fails instead.
+ */
+@Component
+public class StatementBudgetInterceptor implements HandlerInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatementBudgetInterceptor.class);
+
+    private final RequestStatements statements;
+    private final int defaultBudget;
+    private final boolean reject;
+
+    @Autowired
+    public StatementBudgetInterceptor(RequestStatements statements,
+                                      @Value("${somuga.statements.budget.default:25}") int defaultBudget,
+                                      @Value("${somuga.statements.budget.reject:false}") boolean reject) {
+        this.statements = statements;
+        this.defaultBudget = defaultBudget;
+        this.reject = reject;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod method) {
+            statements.limit(budget(method), reject);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        RequestStatements.Count count = statements.current();
+        if (count != null && count.exceeded()) {
+            logger.warn("{} {} ran {} SQL statements, over its budget of {}", request.getMethod(),
+                    request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE), count.total(), count.budget());
+        }
+    }
+
+    private int budget(HandlerMethod method) {
+        StatementBudget budget = AnnotatedElementUtils.findMergedAnnotation(method.getMethod(), StatementBudget.class);
+        if (budget == null) {
+            budget = AnnotatedElementUtils.findMergedAnnotation(method.getBeanType(), StatementBudget.class);
+        }
+        return budget == null ? defaultBudget : budget.value();
+    }
+}
@@ -0,0 +1,43 @@
+package org.somuga.util.validation;
+
+import org.somuga.dto.crew_role.MovieRoleCreateDto;
+import org.somuga.enums.MovieRole;
+import org.somuga.exception.movie.InvalidCrewRoleException;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+import static org.somuga.util.message.Messages.*;
+
+/**
+ * Checks the crew roles of a movie to be created or updated, whether it comes from the API or from an import.
+ */
+@Component
+public class MovieCrewValidator {
+
+    public void validate(List<MovieRoleCreateDto> crew) throws InvalidCrewRoleException {
+        for (MovieRoleCreateDto roleDto : crew) {
+            if (roleDto == null) {
+                throw new InvalidCrewRoleException(INVALID_CREW_ROLE);
+            }
+            if (roleDto.movieCrewId() == null || roleDto.movieCrewId() <= 0) {
+                throw new InvalidCrewRoleException(ID_GREATER_THAN_0);
+            }
+            if (roleDto.movieRole() == null) {
+                throw new InvalidCrewRoleException(INVALID_MOVIE_ROLE);
+            }
+            if (roleDto.characterName() != null && roleDto.characterName().length() > 255) {
+                throw new InvalidCrewRoleException(INVALID_CHARACTER_NAME);
+            }
+            try {
+                MovieRole.valueOf(roleDto.movieRole());
+            } catch (IllegalArgumentException e) {
+                throw new InvalidCrewRoleException(INVALID_MOVIE_ROLE);
+            }
+            if (roleDto.movieRole().equals(MovieRole.ACTOR.toString())
+                    && (roleDto.characterName() == null || roleDto.characterName().isEmpty())) {
+                throw new InvalidCrewRoleException(CHARACTER_NAME_REQUIRED);
+            }
+        }
+    }
+}
@@ -2,12 +2,18 @@ package org.somuga;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.test.context.ActiveProfiles;
 
 @SpringBootTest
 @ActiveProfiles("test")
 class SomugaApplicationTests {
 
+    @MockBean
+    @SuppressWarnings("unused")
+    private JwtDecoder jwtDecoder;
+
     @Test
     void contextLoads() {
     }
@@ -0,0 +1,280 @@
+package org.somuga.bulk_import;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+import org.somuga.dto.bulk_import.ImportResultDto;
+import org.somuga.dto.crew_role.MovieRoleCreateDto;
+import org.somuga.dto.game.GameCreateDto;
+import org.somuga.dto.movie.MovieCreateDto;
+import org.somuga.entity.*;
+import org.somuga.repository.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.somuga.util.message.Messages.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ContextConfiguration
+@ActiveProfiles("test")
+class ImportControllerTest {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private final String USER = "google-auth2|1234567890";
+    private final String GAME_IMPORT_PATH = "/api/v1/import/admin/game";
+    private final String MOVIE_IMPORT_PATH = "/api/v1/import/admin/movie";
+    private final String developer = "CD Projekt Red";
+    private final List<String> platforms = List.of("PC", "PS4");
+    private final List<String> genres = List.of("Action", "RPG");
+    private final Date releaseDate = new Date(0);
+    private final List<MovieCrew> crew = new ArrayList<>();
+    MockMvc mockMvc;
+    @Autowired
+    private GameRepository gameRepository;
+    @Autowired
+    private MovieRepository movieRepository;
+    @Autowired
+    private PlatformRepository platformRepository;
+    @Autowired
+    private GameGenreRepository gameGenreRepository;
+    @Autowired
+    private DeveloperRepository developerRepository;
+    @Autowired
+    private MovieCrewRepository movieCrewRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private WebApplicationContext controller;
+    @MockBean
+    @SuppressWarnings("unused")
+    private JwtDecoder jwtDecoder;
+
+    @BeforeAll
+    public static void setUpMapper() {
+        mapper.registerModule(new JavaTimeModule());
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        gameRepository.deleteAll();
+        movieRepository.deleteAll();
+        platformRepository.deleteAll();
+        gameGenreRepository.deleteAll();
+        developerRepository.deleteAll();
+        movieCrewRepository.deleteAll();
+        crew.clear();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(controller)
+                .apply(springSecurity())
+                .build();
+        Developer saved = new Developer();
+        saved.setDeveloperName(developer.toLowerCase());
+        saved.setDeveloperCreatorId(USER);
+        developerRepository.save(saved);
+        for (String platformName : platforms) {
+            Platform platform = new Platform();
+            platform.setPlatformName(platformName.toLowerCase());
+            platformRepository.save(platform);
+        }
+        for (String genreName : genres) {
+            GameGenre genre = new GameGenre();
+            genre.setGenre(genreName.toLowerCase());
+            gameGenreRepository.save(genre);
+        }
+        crew.add(movieCrewRepository.save(new MovieCrew("Director", new Date(0))));
+        crew.add(movieCrewRepository.save(new MovieCrew("Actor", new Date(0))));
+    }
+
+    private String gameLine(String title, String developerName, List<String> platformNames) throws Exception {
+        return mapper.writeValueAsString(new GameCreateDto(title, releaseDate, developerName, genres, platformNames, 19.99, "A game", "https://media.com", "https://image.com"));
+    }
+
+    private String movieLine(String title, List<MovieRoleCreateDto> roles) throws Exception {
+        return mapper.writeValueAsString(new MovieCreateDto(title, releaseDate, "A movie", 120, roles, "https://media.com", "https://image.com"));
+    }
+
+    private ImportResultDto importLines(String path, List<String> lines) throws Exception {
+        String response = mockMvc.perform(post(path)
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(String.join("\n", lines)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        return mapper.readValue(response, ImportResultDto.class);
+    }
+
+    @Test
+    @WithMockUser(username = USER, roles = "ADMIN")
+    @DisplayName("Test import games with some invalid rows and expect the valid rows imported and the rest reported by line")
+    void testImportGames() throws Exception {
+        List<String> lines = List.of(
+                gameLine("Game 1", developer, platforms),
+                "{not json",
+                gameLine("Game 2", "Unknown Studio", platforms),
+                "",
+                gameLine("", developer, platforms),
+                gameLine("Game 3", developer.toUpperCase(), List.of("pc", "Switch")),
+                gameLine("Game 4", developer, List.of("ps4")));
+
+        ImportResultDto result = importLines(GAME_IMPORT_PATH, lines);
+
+        assertEquals(6, result.received());
+        assertEquals(2, result.imported());
+        assertEquals(List.of(2, 3, 5, 6), result.errors().stream().map(error -> error.line()).toList());
+        assertEquals(DEVELOPER_NOT_FOUND_NAME + "Unknown Studio", result.errors().get(1).message());
+        assertEquals(INVALID_TITLE, result.errors().get(2).message());
+        assertEquals(PLATFORM_NOT_FOUND_NAME + "Switch", result.errors().get(3).message());
+        assertEquals(2, gameRepository.count());
+
+        mockMvc.perform(get("/api/v1/game/public/platform/PC"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title").value("Game 1"));
+        mockMvc.perform(get("/api/v1/game/public/genre/RPG"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)));
+    }
+
+    @Test
+    @WithMockUser(username = USER, roles = "ADMIN")
+    @DisplayName("Test import games where every row fails and expect 422 with every row reported by line")
+    void testImportGamesNoneImported() throws Exception {
+        List<String> lines = List.of(
+                "{not json",
+                gameLine("Game 1", "Unknown Studio", platforms));
+
+        String response = mockMvc.perform(post(GAME_IMPORT_PATH)
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(String.join("\n", lines)))
+                .andExpect(status().isUnprocessableEntity())
+                .andReturn().getResponse().getContentAsString();
+
+        ImportResultDto result = mapper.readValue(response, ImportResultDto.class);
+        assertEquals(2, result.received());
+        assertEquals(0, result.imported());
+        assertEquals(List.of(1, 2), result.errors().stream().map(error -> error.line()).toList());
+        assertEquals(0, gameRepository.count());
+    }
+
+    @Test
+    @WithMockUser(username = USER, roles = "ADMIN")
+    @DisplayName("Test import games and expect the number of statements not to grow with the number of rows")
+    void testImportGamesStatementCount() throws Exception {
+        long small = countImportStatements(10, "Small");
+        long large = countImportStatements(40, "Large");
+
+        // Either import may have to reserve a new block of media ids (a select and an update)
+        assertTrue(Math.abs(large - small) <= 2);
+        assertEquals(50, gameRepository.count());
+    }
+
+    @Test
+    @WithMockUser(username = USER, roles = "ADMIN")
+    @DisplayName("Test import movies with unknown crew and invalid roles and expect only valid movies imported")
+    void testImportMovies() throws Exception {
+        Long directorId = crew.get(0).getId();
+        Long actorId = crew.get(1).getId();
+        List<String> lines = List.of(
+                movieLine("Movie 1", List.of(new MovieRoleCreateDto(directorId, "DIRECTOR", ""), new MovieRoleCreateDto(actorId, "ACTOR", "Hero"))),
+                movieLine("Movie 2", List.of(new MovieRoleCreateDto(999999L, "DIRECTOR", ""))),
+                movieLine("Movie 3", List.of(new MovieRoleCreateDto(actorId, "ACTOR", ""))),
+                movieLine("Movie 4", List.of(new MovieRoleCreateDto(directorId, "DIRECTOR", ""), new MovieRoleCreateDto(directorId, "PRODUCER", ""))));
+
+        ImportResultDto result = importLines(MOVIE_IMPORT_PATH, lines);
+
+        assertEquals(4, result.received());
+        assertEquals(1, result.imported());
+        assertEquals(List.of(2, 3, 4), result.errors().stream().map(error -> error.line()).toList());
+        assertEquals(MOVIE_CREW_NOT_FOUND + 999999, result.errors().get(0).message());
+        assertEquals(CHARACTER_NAME_REQUIRED, result.errors().get(1).message());
+        assertEquals(1, movieRepository.count());
+
+        mockMvc.perform(get("/api/v1/movie/public/crew/" + actorId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].crew", hasSize(2)));
+    }
+
+    @Test
+    @WithMockUser(username = USER, roles = "ADMIN")
+    @DisplayName("Test import movies with a null crew entry and actors without a character name and expect them reported by line")
+    void testImportMoviesIncompleteCrew() throws Exception {
+        Long directorId = crew.get(0).getId();
+        Long actorId = crew.get(1).getId();
+        List<String> lines = List.of(
+                movieLine("Movie 1", List.of(new MovieRoleCreateDto(directorId, "DIRECTOR", null))),
+                movieLine("Movie 2", Collections.singletonList(null)),
+                movieLine("Movie 3", List.of(new MovieRoleCreateDto(actorId, "ACTOR", null))));
+
+        ImportResultDto result = importLines(MOVIE_IMPORT_PATH, lines);
+
+        assertEquals(3, result.received());
+        assertEquals(1, result.imported());
+        assertEquals(List.of(2, 3), result.errors().stream().map(error -> error.line()).toList());
+        assertEquals(INVALID_CREW_ROLE, result.errors().get(0).message());
+        assertEquals(CHARACTER_NAME_REQUIRED, result.errors().get(1).message());
+        assertEquals(1, movieRepository.count());
+    }
+
+    @Test
+    @WithMockUser(username = USER)
+    @DisplayName("Test import games without admin role and expect forbidden")
+    void testImportGamesForbidden() throws Exception {
+        mockMvc.perform(post(GAME_IMPORT_PATH)
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(gameLine("Game", developer, platforms)))
+                .andExpect(status().isForbidden());
+
+        assertEquals(0, gameRepository.count());
+    }
+
+    private long countImportStatements(int rows, String prefix) throws Exception {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            lines.add(gameLine(prefix + i, developer, platforms));
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        ImportResultDto result = importLines(GAME_IMPORT_PATH, lines);
+
+        long statements = statistics.getPrepareStatementCount();
+        statistics.setStatisticsEnabled(false);
+        assertEquals(rows, result.imported());
+        return statements;
+    }
+}
@@ -0,0 +1,49 @@
+package org.somuga.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.somuga.util.cache.NameIdCache;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class NameIdCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final NameIdCache cache = new NameIdCache("platforms", 10, Duration.ofMinutes(5), clock::get);
+
+    @Test
+    @DisplayName("Test look up a name again within and after the expiry and expect it loaded again only once expired")
+    void testExpireAfterWrite() {
+        assertEquals(Optional.of(1L), cache.getOrLoad("PC", this::load));
+        clock.addAndGet(Duration.ofMinutes(4).toNanos());
+        assertEquals(Optional.of(1L), cache.getOrLoad("pc", this::load));
+        assertEquals(1, loads.get());
+
+        clock.addAndGet(Duration.ofMinutes(1).toNanos());
+        assertEquals(Optional.of(2L), cache.getOrLoad("pc", this::load));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Test clear the cache while a lookup is loading and expect the loaded id returned but not cached")
+    void testClearDuringLoad() {
+        assertEquals(Optional.of(7L), cache.getOrLoad("PC", name -> {
+            cache.clear();
+            return Optional.of(7L);
+        }));
+
+        assertEquals(Optional.of(1L), cache.getOrLoad("PC", this::load));
+        assertEquals(Optional.of(1L), cache.getOrLoad("PC", this::load));
+        assertEquals(1, loads.get());
+    }
+
+    private Optional<Long> load(String name) {
+        return Optional.of((long) loads.incrementAndGet());
+    }
+}
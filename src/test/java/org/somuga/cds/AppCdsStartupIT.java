@@ -0,0 +1,110 @@
+package org.somuga.cds;
+
+import org.h2.Driver;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs against the layout built by the cds Maven profile: the thin jar, its lib directory and the archive from the
+ * training run. The application is started with an in-memory H2 database appended to the class path, which CDS
+ * allows, and timed until the first successful game listing.
+ */
+class AppCdsStartupIT {
+
+    private static final String ARCHIVE = "somuga.jsa";
+    private static final String CLASS_LOAD_LOG = "class-load.log";
+    private static final String GAMES_PATH = "/api/v1/game/public";
+    private static final long STARTUP_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(3);
+    private static final long POLL_INTERVAL_MILLIS = 50;
+
+    private final Path directory = Path.of(System.getProperty("somuga.cds.directory", "target/cds"));
+    private final String jar = System.getProperty("somuga.cds.jar", "somuga-0.0.1-SNAPSHOT-cds.jar");
+
+    @Test
+    @DisplayName("Test start with the AppCDS archive and expect application classes loaded from it and a successful game listing")
+    void testStartupWithArchive() throws Exception {
+        assumeTrue(Files.exists(directory.resolve(ARCHIVE)), "Build with -Pcds to produce the archive");
+
+        long withArchive = timeToFirstResponse(List.of(
+                "-XX:SharedArchiveFile=" + ARCHIVE,
+                "-Xlog:class+load=info:file=" + CLASS_LOAD_LOG));
+        long withoutArchive = timeToFirstResponse(List.of());
+
+        List<String> loaded = Files.readAllLines(directory.resolve(CLASS_LOAD_LOG));
+        long shared = loaded.stream().filter(line -> line.contains("source: shared objects file")).count();
+        assertTrue(loaded.stream().anyMatch(line -> line.contains("org.somuga.SomugaApplication source: shared objects file")));
+        System.out.printf("First %s response: %d ms with the archive (%d of %d classes shared), %d ms without%n",
+                GAMES_PATH, withArchive, shared, loaded.size(), withoutArchive);
+    }
+
+    private long timeToFirstResponse(List<String> jvmOptions) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmOptions);
+        command.addAll(List.of(
+                "-cp", jar + File.pathSeparator + h2Jar(),
+                "org.somuga.SomugaApplication",
+                "--server.port=" + port,
+                "--spring.datasource.url=jdbc:h2:mem:cds",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--okta.oauth2.issuer=https://localhost/oauth2/cds-startup"));
+        Process process = new ProcessBuilder(command)
+                .directory(directory.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(directory.resolve("startup-" + port + ".log").toFile())
+                .start();
+        long start = System.nanoTime();
+        try {
+            HttpClient client = HttpClient.newHttpClient();
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + GAMES_PATH)).build();
+            while (TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < STARTUP_TIMEOUT_MILLIS) {
+                if (!process.isAlive()) {
+                    fail("Application exited with " + process.exitValue());
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    }
+                } catch (ConnectException e) {
+                    // Not listening yet
+                }
+                Thread.sleep(POLL_INTERVAL_MILLIS);
+            }
+            return fail("No successful response within " + STARTUP_TIMEOUT_MILLIS + " ms");
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private static String h2Jar() throws Exception {
+        return Path.of(Driver.class.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package org.somuga.dataset;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.somuga.repository.*;
+import org.somuga.util.dataset.DatasetGenerator;
+import org.somuga.util.dataset.DatasetSpec;
+import org.somuga.util.dataset.GeneratedDataset;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ContextConfiguration
+@ActiveProfiles("test")
+class DatasetGeneratorTest {
+
+    private static final DatasetSpec SPEC = new DatasetSpec(7, 40, 5, 6, 4, 60, 2, 2, 30, 40, 5, 800, 400, 1.0);
+    private static final String FINGERPRINT = """
+            SELECT m.title, m.like_count, m.review_count, m.rating_sum, r.user_id, r.review_score
+            FROM media m LEFT JOIN reviews r ON r.media_id = m.id
+            ORDER BY m.title, r.user_id""";
+    @Autowired
+    private DatasetGenerator generator;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private LikeRepository likeRepository;
+    @Autowired
+    private ReviewRepository reviewRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private GameRepository gameRepository;
+    @Autowired
+    private MovieRepository movieRepository;
+    @Autowired
+    private PlatformRepository platformRepository;
+    @Autowired
+    private GameGenreRepository gameGenreRepository;
+    @Autowired
+    private DeveloperRepository developerRepository;
+    @Autowired
+    private MovieCrewRepository movieCrewRepository;
+    @MockBean
+    @SuppressWarnings("unused")
+    private JwtDecoder jwtDecoder;
+
+    @AfterEach
+    public void cleanUp() {
+        likeRepository.deleteAll();
+        reviewRepository.deleteAll();
+        userRepository.deleteAll();
+        gameRepository.deleteAll();
+        movieRepository.deleteAll();
+        platformRepository.deleteAll();
+        gameGenreRepository.deleteAll();
+        developerRepository.deleteAll();
+        movieCrewRepository.deleteAll();
+    }
+
+    private int count(String sql) {
+        Integer count = jdbcTemplate.queryForObject(sql, Integer.class);
+        assertNotNull(count);
+        return count;
+    }
+
+    @Test
+    @DisplayName("Test generate a dataset and expect every row written with its fan-out")
+    void testRowCounts() {
+        GeneratedDataset dataset = generator.generate(SPEC);
+
+        assertEquals(SPEC.users(), userRepository.count());
+        assertEquals(SPEC.games(), gameRepository.count());
+        assertEquals(SPEC.movies(), movieRepository.count());
+        assertEquals(SPEC.likes(), dataset.likes());
+        assertEquals(SPEC.reviews(), dataset.reviews());
+        assertEquals(SPEC.likes(), likeRepository.count());
+        assertEquals(SPEC.reviews(), reviewRepository.count());
+        assertEquals(SPEC.games() * SPEC.genresPerGame(), count("SELECT COUNT(*) FROM game_genres_games"));
+        assertEquals(SPEC.games() * SPEC.platformsPerGame(), count("SELECT COUNT(*) FROM platforms_games"));
+        assertEquals(SPEC.movies() * SPEC.castSize(), count("SELECT COUNT(*) FROM movie_crew_role"));
+        assertEquals(SPEC.games(), dataset.gameIds().size());
+        assertEquals(SPEC.movies(), dataset.movieIds().size());
+    }
+
+    @Test
+    @DisplayName("Test generate a dataset and expect the media counters and ratings to match the likes and reviews")
+    void testCountersMatchRows() {
+        generator.generate(SPEC);
+
+        assertEquals(0, count("""
+                SELECT COUNT(*) FROM media m
+                WHERE m.like_count <> (SELECT COUNT(*) FROM likes l WHERE l.media_id = m.id)
+                OR m.review_count <> (SELECT COUNT(*) FROM reviews r WHERE r.media_id = m.id)
+                OR m.rating_sum <> (SELECT COALESCE(SUM(r.review_score), 0) FROM reviews r WHERE r.media_id = m.id)"""));
+        assertEquals(0, count("SELECT COUNT(*) FROM (SELECT user_id, media_id FROM likes GROUP BY user_id, media_id HAVING COUNT(*) > 1) duplicates"));
+        assertEquals(0, count("SELECT COUNT(*) FROM (SELECT user_id, media_id FROM reviews GROUP BY user_id, media_id HAVING COUNT(*) > 1) duplicates"));
+    }
+
+    @Test
+    @DisplayName("Test generate a dataset twice with the same seed and expect the same catalog")
+    void testSameSeedSameDataset() {
+        generator.generate(SPEC);
+        List<List<Object>> first = jdbcTemplate.query(FINGERPRINT, (rs, row) -> fingerprint(rs));
+        cleanUp();
+
+        generator.generate(SPEC);
+        List<List<Object>> second = jdbcTemplate.query(FINGERPRINT, (rs, row) -> fingerprint(rs));
+
+        assertFalse(first.isEmpty());
+        assertEquals(first, second);
+    }
+
+    @Test
+    @DisplayName("Test generate a skewed dataset and expect the most popular media to outnumber the least popular")
+    void testZipfSkew() {
+        GeneratedDataset dataset = generator.generate(SPEC);
+
+        int top = interactions(dataset.gameIds().get(0));
+        int bottom = interactions(dataset.gameIds().get(SPEC.games() - 1));
+        assertTrue(top > bottom, "Top game has " + top + " interactions, bottom game " + bottom);
+    }
+
+    private int interactions(Long mediaId) {
+        Integer count = jdbcTemplate.queryForObject("SELECT like_count + review_count FROM media WHERE id = ?", Integer.class, mediaId);
+        assertNotNull(count);
+        return count;
+    }
+
+    private static List<Object> fingerprint(ResultSet rs) throws SQLException {
+        return Arrays.asList(rs.getString(1), rs.getInt(2), rs.getInt(3), rs.getLong(4), rs.getString(5), rs.getInt(6));
+    }
+}
@@ -0,0 +1,235 @@
+package org.somuga.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+import org.somuga.dto.crew_role.MovieRoleCreateDto;
+import org.somuga.dto.game.GameCreateDto;
+import org.somuga.dto.game.GamePublicDto;
+import org.somuga.dto.movie.MovieCreateDto;
+import org.somuga.dto.movie.MoviePublicDto;
+import org.somuga.entity.*;
+import org.somuga.repository.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@ContextConfiguration
+@ActiveProfiles("test")
+class ExportControllerTest {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private final String USER = "google-auth2|1234567890";
+    private final String EXPORT_PATH = "/api/v1/export/admin";
+    private final String developer = "CD Projekt Red";
+    private final List<String> platforms = List.of("PC", "PS4");
+    private final List<String> genres = List.of("Action", "RPG");
+    private final Date releaseDate = new Date(0);
+    MockMvc mockMvc;
+    @Autowired
+    private GameRepository gameRepository;
+    @Autowired
+    private MovieRepository movieRepository;
+    @Autowired
+    private PlatformRepository platformRepository;
+    @Autowired
+    private GameGenreRepository gameGenreRepository;
+    @Autowired
+    private DeveloperRepository developerRepository;
+    @Autowired
+    private MovieCrewRepository movieCrewRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private WebApplicationContext controller;
+    @MockBean
+    @SuppressWarnings("unused")
+    private JwtDecoder jwtDecoder;
+
+    @BeforeAll
+    public static void setUpMapper() {
+        mapper.registerModule(new JavaTimeModule());
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        gameRepository.deleteAll();
+        movieRepository.deleteAll();
+        platformRepository.deleteAll();
+        gameGenreRepository.deleteAll();
+        developerRepository.deleteAll();
+        movieCrewRepository.deleteAll();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(controller)
+                .apply(springSecurity())
+                .build();
+        Developer saved = new Developer();
+        saved.setDeveloperName(developer.toLowerCase());
+        saved.setDeveloperCreatorId(USER);
+        developerRepository.save(saved);
+        for (String platformName : platforms) {
+            Platform platform = new Platform();
+            platform.setPlatformName(platformName.toLowerCase());
+            platformRepository.save(platform);
+        }
+        for (String genreName : genres) {
+            GameGenre genre = new GameGenre();
+            genre.setGenre(genreName.toLowerCase());
+            gameGenreRepository.save(genre);
+        }
+    }
+
+    private void importGames(int count) throws Exception {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            lines.add(mapper.writeValueAsString(new GameCreateDto("Game " + i, releaseDate, developer, genres, platforms, 19.99, "A game", "https://media.com", "https://image.com")));
+        }
+        mockMvc.perform(post("/api/v1/import/admin/game")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(String.join("\n", lines)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(count));
+    }
+
+    private byte[] export(String path) throws Exception {
+        MvcResult started = mockMvc.perform(get(EXPORT_PATH + path))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+
+    private <T> List<T> readLines(byte[] body, Class<T> type) throws Exception {
+        List<T> rows = new ArrayList<>();
+        for (String line : new String(body, StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isBlank()) {
+                rows.add(mapper.readValue(line, type));
+            }
+        }
+        return rows;
+    }
+
+    @Test
+    @WithMockUser(username = USER, roles = "ADMIN")
+    @DisplayName("Test export all games and expect one line per game in id order with a fixed number of statements per window")
+    void testExportGames() throws Exception {
+        importGames(150);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        List<GamePublicDto> games = readLines(export("/game"), GamePublicDto.class);
+
+        long statements = statistics.getPrepareStatementCount();
+        statistics.setStatisticsEnabled(false);
+        assertEquals(150, games.size());
+        assertEquals(games.stream().map(GamePublicDto::id).sorted().toList(), games.stream().map(GamePublicDto::id).toList());
+        games.forEach(game -> {
+            assertEquals(2, game.platforms().size());
+            assertEquals(2, game.genres().size());
+        });
+        assertEquals(5, statements);
+    }
+
+    @Test
+    @WithMockUser(username = USER, roles = "ADMIN")
+    @DisplayName("Test export games accepting gzip and expect a compressed body")
+    void testExportGamesGzip() throws Exception {
+        importGames(3);
+
+        MvcResult started = mockMvc.perform(get(EXPORT_PATH + "/game").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        byte[] body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertEquals(3, readLines(in.readAllBytes(), GamePublicDto.class).size());
+        }
+    }
+
+    @Test
+    @WithMockUser(username = USER, roles = "ADMIN")
+    @DisplayName("Test export games refusing gzip with a zero quality and expect a plain body")
+    void testExportGamesGzipRefused() throws Exception {
+        importGames(3);
+
+        MvcResult started = mockMvc.perform(get(EXPORT_PATH + "/game").header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        byte[] body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals(3, readLines(body, GamePublicDto.class).size());
+    }
+
+    @Test
+    @WithMockUser(username = USER, roles = "ADMIN")
+    @DisplayName("Test export all movies and expect their crew")
+    void testExportMovies() throws Exception {
+        MovieCrew director = movieCrewRepository.save(new MovieCrew("Director", new Date(0)));
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            lines.add(mapper.writeValueAsString(new MovieCreateDto("Movie " + i, releaseDate, "A movie", 120,
+                    List.of(new MovieRoleCreateDto(director.getId(), "DIRECTOR", "")), "https://media.com", "https://image.com")));
+        }
+        mockMvc.perform(post("/api/v1/import/admin/movie")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(String.join("\n", lines)))
+                .andExpect(status().isOk());
+
+        List<MoviePublicDto> movies = readLines(export("/movie"), MoviePublicDto.class);
+
+        assertEquals(3, movies.size());
+        movies.forEach(movie -> assertEquals(1, movie.crew().size()));
+    }
+
+    @Test
+    @WithMockUser(username = USER)
+    @DisplayName("Test export games without admin role and expect forbidden")
+    void testExportGamesForbidden() throws Exception {
+        mockMvc.perform(get(EXPORT_PATH + "/game"))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,152 @@
+package org.somuga.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.somuga.dto.game.GameCreateDto;
+import org.somuga.entity.Developer;
+import org.somuga.entity.GameGenre;
+import org.somuga.entity.Platform;
+import org.somuga.repository.DeveloperRepository;
+import org.somuga.repository.GameGenreRepository;
+import org.somuga.repository.PlatformRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Exports against a MySQL server, where the export connections stream rows through a server-side cursor. Skipped
+ * where Docker is not available.
+ */
+@SpringBootTest
+@ContextConfiguration
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class ExportMySqlTest {
+
+    @Container
+    private static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final int GAMES = 1200;
+    private final String USER = "google-auth2|1234567890";
+    private final String developer = "CD Projekt Red";
+    private final List<String> platforms = List.of("PC", "PS4");
+    private final List<String> genres = List.of("Action", "RPG");
+    MockMvc mockMvc;
+    @Autowired
+    private PlatformRepository platformRepository;
+    @Autowired
+    private GameGenreRepository gameGenreRepository;
+    @Autowired
+    private DeveloperRepository developerRepository;
+    @Autowired
+    private WebApplicationContext controller;
+    @MockBean
+    @SuppressWarnings("unused")
+    private JwtDecoder jwtDecoder;
+
+    @DynamicPropertySource
+    static void mysqlProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", mysql::getJdbcUrl);
+        registry.add("spring.datasource.driverClassName", mysql::getDriverClassName);
+        registry.add("spring.datasource.username", mysql::getUsername);
+        registry.add("spring.datasource.password", mysql::getPassword);
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.MySQLDialect");
+    }
+
+    @BeforeAll
+    public static void setUpMapper() {
+        mapper.registerModule(new JavaTimeModule());
+    }
+
+    @BeforeEach
+    public void setUp() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(controller)
+                .apply(springSecurity())
+                .build();
+        Developer saved = new Developer();
+        saved.setDeveloperName(developer.toLowerCase());
+        saved.setDeveloperCreatorId(USER);
+        developerRepository.save(saved);
+        for (String platformName : platforms) {
+            Platform platform = new Platform();
+            platform.setPlatformName(platformName.toLowerCase());
+            platformRepository.save(platform);
+        }
+        for (String genreName : genres) {
+            GameGenre genre = new GameGenre();
+            genre.setGenre(genreName.toLowerCase());
+            gameGenreRepository.save(genre);
+        }
+    }
+
+    private long cursorFetches() throws Exception {
+        try (Connection connection = DriverManager.getConnection(mysql.getJdbcUrl(), "root", mysql.getPassword());
+             Statement statement = connection.createStatement();
+             ResultSet status = statement.executeQuery("SHOW GLOBAL STATUS LIKE 'Com_stmt_fetch'")) {
+            status.next();
+            return status.getLong(2);
+        }
+    }
+
+    @Test
+    @WithMockUser(username = USER, roles = "ADMIN")
+    @DisplayName("Test export more games than the fetch size and expect every game read through a server-side cursor")
+    void testExportGamesStreamed() throws Exception {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < GAMES; i++) {
+            lines.add(mapper.writeValueAsString(new GameCreateDto("Game " + i, new Date(0), developer, genres, platforms, 19.99, "A game", "https://media.com", "https://image.com")));
+        }
+        mockMvc.perform(post("/api/v1/import/admin/game")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(String.join("\n", lines)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(GAMES));
+        long fetchesBefore = cursorFetches();
+
+        MvcResult started = mockMvc.perform(get("/api/v1/export/admin/game"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        assertEquals(GAMES, body.lines().filter(line -> !line.isBlank()).count());
+        assertTrue(cursorFetches() - fetchesBefore >= GAMES / 500, "the export did not fetch through a cursor");
+    }
+}
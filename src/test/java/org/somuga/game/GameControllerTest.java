@@ -2,8 +2,14 @@ package org.somuga.game;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.somuga.aspect.Error;
+import org.somuga.dto.developer.DeveloperCreateDto;
 import org.somuga.dto.game.GameCreateDto;
 import org.somuga.dto.game.GamePublicDto;
 import org.somuga.entity.Developer;
@@ -14,15 +20,21 @@ import org.somuga.repository.DeveloperRepository;
 import org.somuga.repository.GameGenreRepository;
 import org.somuga.repository.GameRepository;
 import org.somuga.repository.PlatformRepository;
+import org.somuga.util.cache.SecondLevelCache;
+import org.somuga.util.id_generator.MediaIdGenerator;
+import org.somuga.testUtils.SqlStatements;
+import org.somuga.testUtils.SqlStatementsExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
@@ -30,16 +42,21 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalToIgnoringCase;
+import static org.hamcrest.Matchers.hasSize;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.somuga.util.message.Messages.*;
+import static org.somuga.util.pagination.Cursors.NEXT_CURSOR_HEADER;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest
 @ContextConfiguration
 @ActiveProfiles("test")
+@ExtendWith(SqlStatementsExtension.class)
 class GameControllerTest {
 
     private static final ObjectMapper mapper = new ObjectMapper();
@@ -65,6 +82,10 @@ class GameControllerTest {
     @Autowired
     private DeveloperRepository developerRepository;
     @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private SecondLevelCache secondLevelCache;
+    @Autowired
     private WebApplicationContext controller;
     @MockBean
     @SuppressWarnings("unused")
@@ -513,6 +534,51 @@ class GameControllerTest {
         assertEquals(4, gameRepository.count());
     }
 
+    @Test
+    @WithMockUser(username = USER)
+    @DisplayName("Test search games by words in the title and description and expect title matches ranked first")
+    void testSearchGamesRanking() throws Exception {
+        GamePublicDto inDescription = createGame("Arcade Racer", "A night drive through the neon city", releaseDate, price, developer, genres, platforms, mediaUrl, imageUrl);
+        GamePublicDto inTitle = createGame("Night City Stories", description, releaseDate, price, developer, genres, platforms, mediaUrl, imageUrl);
+
+        String response = mockMvc.perform(get(PUBLIC_API_PATH + "/search/night city"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        List<GamePublicDto> games = mapper.readValue(response, mapper.getTypeFactory().constructCollectionType(List.class, GamePublicDto.class));
+
+        assertEquals(List.of(inTitle.id(), inDescription.id()), games.stream().map(GamePublicDto::id).toList());
+    }
+
+    @Test
+    @WithMockUser(username = USER)
+    @DisplayName("Test search games after updating and deleting one and expect the search to follow each write")
+    void testSearchGamesAfterUpdateAndDelete() throws Exception {
+        GamePublicDto game = createGame(title, description, releaseDate, price, developer, genres, platforms, mediaUrl, imageUrl);
+        GameCreateDto renamed = new GameCreateDto("Renamed Quest", releaseDate, developer, genres, platforms, price, description, mediaUrl, imageUrl);
+
+        mockMvc.perform(put(PRIVATE_API_PATH + "/" + game.id())
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(renamed)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get(PUBLIC_API_PATH + "/search/" + title))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+        mockMvc.perform(get(PUBLIC_API_PATH + "/search/renamed qu"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(game.id()));
+
+        mockMvc.perform(delete(PRIVATE_API_PATH + "/" + game.id())
+                        .with(csrf()))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get(PUBLIC_API_PATH + "/search/renamed"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
     @Test
     @WithMockUser(username = USER)
     @DisplayName("Test get game by id and expect 200")
@@ -853,5 +919,335 @@ class GameControllerTest {
         assertEquals(404, error.getStatus());
     }
 
+    @Test
+    @WithMockUser(username = USER)
+    @DisplayName("Test get all games and expect a constant number of statements per page")
+    void testGetAllGamesStatementCount() throws Exception {
+        for (int i = 0; i < 12; i++) {
+            createGame(title + i, description, releaseDate, price, developer, genres, platforms, mediaUrl, imageUrl);
+        }
 
+        mockMvc.perform(get(PUBLIC_API_PATH + "?page=0&size=10")).andExpect(status().isOk());
+        // Genres and platforms of the games come from the second-level cache
+        assertEquals(2, countStatements(PUBLIC_API_PATH + "?page=0&size=10", 10));
+        assertEquals(2, countStatements(PUBLIC_API_PATH + "?page=0&size=5", 5));
+    }
+
+    @Test
+    @WithMockUser(username = USER)
+    @DisplayName("Test get a page of games with a cold and a warm second-level cache and expect genres and platforms read from the cache")
+    void testGetAllGamesSecondLevelCache() throws Exception {
+        for (int i = 0; i < 12; i++) {
+            createGame(title + i, description, releaseDate, price, developer, genres, platforms, mediaUrl, imageUrl);
+        }
+        secondLevelCache.clear();
+
+        long cold = countStatements(PUBLIC_API_PATH + "?page=0&size=10", 10);
+        long warm = countStatements(PUBLIC_API_PATH + "?page=0&size=10", 10);
+
+        assertEquals(4, cold);
+        assertEquals(2, warm);
+    }
+
+    @Test
+    @WithMockUser(username = USER)
+    @DisplayName("Test update a game and its developer after reading it and expect the cached platforms, genres and developer evicted")
+    void testUpdateGameEvictsSecondLevelCache() throws Exception {
+        GamePublicDto game = createGame(title, description, releaseDate, price, developer, genres, platforms, mediaUrl, imageUrl);
+        mockMvc.perform(get(PUBLIC_API_PATH + "/" + game.id()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.platforms", hasSize(platforms.size())));
+
+        GameCreateDto update = new GameCreateDto(title, releaseDate, developer, List.of(genres.get(0)), List.of(platforms.get(0)), price, description, mediaUrl, imageUrl);
+        mockMvc.perform(put(PRIVATE_API_PATH + "/" + game.id())
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(update)))
+                .andExpect(status().isOk());
+        Developer saved = developerRepository.findByDeveloperNameIgnoreCase(developer).orElseThrow();
+        mockMvc.perform(put("/api/v1/developer/private/" + saved.getId())
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(new DeveloperCreateDto("Renamed", List.of()))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get(PUBLIC_API_PATH + "/" + game.id()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.platforms", hasSize(1)))
+                .andExpect(jsonPath("$.platforms[0].platformName", equalToIgnoringCase(platforms.get(0))))
+                .andExpect(jsonPath("$.genres", hasSize(1)))
+                .andExpect(jsonPath("$.developer.developerName", equalToIgnoringCase("Renamed")));
+    }
+
+    @Test
+    @WithMockUser(username = USER)
+    @DisplayName("Test get games by platform, genre and developer with warm name cache and expect a constant number of statements per page")
+    void testGetFilteredGamesStatementCount() throws Exception {
+        for (int i = 0; i < 12; i++) {
+            createGame(title + i, description, releaseDate, price, developer, genres, platforms, mediaUrl, imageUrl);
+        }
+
+        for (String path : List.of("/platform/" + platforms.get(0), "/genre/" + genres.get(0), "/developer/" + developer)) {
+            mockMvc.perform(get(PUBLIC_API_PATH + path)).andExpect(status().isOk());
+            assertEquals(2, countStatements(PUBLIC_API_PATH + path + "?page=0&size=5", 5));
+            assertEquals(2, countStatements(PUBLIC_API_PATH + path + "?page=0&size=10", 10));
+        }
+        // Searches page through the search index, so there is no count query
+        assertEquals(1, countStatements(PUBLIC_API_PATH + "/search/" + title + "?page=0&size=5", 5));
+        assertEquals(1, countStatements(PUBLIC_API_PATH + "/search/" + title + "?page=0&size=10", 10));
+    }
+
+    @Test
+    @WithMockUser(username = USER)
+    @DisplayName("Test get games by developer after renaming it and expect the cached name to be invalidated")
+    void testGetGamesByRenamedDeveloper() throws Exception {
+        createGame(title, description, releaseDate, price, developer, genres, platforms, mediaUrl, imageUrl);
+        Developer saved = developerRepository.findByDeveloperNameIgnoreCase(developer).orElseThrow();
+
+        mockMvc.perform(get(PUBLIC_API_PATH + "/developer/" + developer))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        mockMvc.perform(put("/api/v1/developer/private/" + saved.getId())
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(new DeveloperCreateDto("Renamed", List.of()))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get(PUBLIC_API_PATH + "/developer/" + developer))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+        mockMvc.perform(get(PUBLIC_API_PATH + "/developer/Renamed"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    @WithMockUser(username = USER)
+    @DisplayName("Test get a game again with its ETag and expect 304 answered from its revision alone")
+    void testGetGameByIdNotModified() throws Exception {
+        GamePublicDto game = createGame(title, description, releaseDate, price, developer, genres, platforms, mediaUrl, imageUrl);
+        MvcResult first = mockMvc.perform(get(PUBLIC_API_PATH + "/" + game.id()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("max-age")))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        mockMvc.perform(get(PUBLIC_API_PATH + "/" + game.id()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+        long statements = statistics.getPrepareStatementCount();
+        statistics.setStatisticsEnabled(false);
+
+        assertEquals(1, statements);
+    }
+
+    @Test
+    @WithMockUser(username = USER)
+    @DisplayName("Test get a game with a stale ETag and expect 200 with a new ETag")
+    void testGetGameByIdStaleEtag() throws Exception {
+        GamePublicDto game = createGame(title, description, releaseDate, price, developer, genres, platforms, mediaUrl, imageUrl);
+        String etag = etag(PUBLIC_API_PATH + "/" + game.id());
+
+        GameCreateDto update = new GameCreateDto(title, releaseDate, developer, genres, List.of(platforms.get(0)), price, description, mediaUrl, imageUrl);
+        mockMvc.perform(put(PRIVATE_API_PATH + "/" + game.id())
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(update)))
+                .andExpect(status().isOk());
+
+        MvcResult result = mockMvc.perform(get(PUBLIC_API_PATH + "/" + game.id()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.platforms", hasSize(1)))
+                .andReturn();
+        assertNotEquals(etag, result.getResponse().getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    @WithMockUser(username = USER)
+    @DisplayName("Test get a page of games with its ETag and expect 304 until one of its games changes")
+    void testGetAllGamesNotModified() throws Exception {
+        GamePublicDto game = createGame(title, description, releaseDate, price, developer, genres, platforms, mediaUrl, imageUrl);
+        createGame(title + 1, description, releaseDate, price, developer, genres, platforms, mediaUrl, imageUrl);
+        String etag = etag(PUBLIC_API_PATH);
+
+        mockMvc.perform(get(PUBLIC_API_PATH).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        GameCreateDto update = new GameCreateDto("Renamed", releaseDate, developer, genres, platforms, price, description, mediaUrl, imageUrl);
+        mockMvc.perform(put(PRIVATE_API_PATH + "/" + game.id())
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(update)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get(PUBLIC_API_PATH).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)));
+    }
+
+    @Test
+    @WithMockUser(username = USER)
+    @DisplayName("Test get a page of games after one of them is deleted and expect no Last-Modified to revalidate against")
+    void testGetAllGamesWithoutLastModified() throws Exception {
+        GamePublicDto game = createGame(title, description, releaseDate, price, developer, genres, platforms, mediaUrl, imageUrl);
+        createGame(title + 1, description, releaseDate, price, developer, genres, platforms, mediaUrl, imageUrl);
+        mockMvc.perform(get(PUBLIC_API_PATH))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED));
+
+        mockMvc.perform(delete(PRIVATE_API_PATH + "/" + game.id())
+                        .with(csrf()))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get(PUBLIC_API_PATH).header(HttpHeaders.IF_MODIFIED_SINCE, "Fri, 01 Jan 2100 00:00:00 GMT"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    @WithMockUser(username = USER)
+    @DisplayName("Test rename the developer of a game and expect the ETag of the game to change")
+    void testRenameDeveloperChangesGameEtag() throws Exception {
+        GamePublicDto game = createGame(title, description, releaseDate, price, developer, genres, platforms, mediaUrl, imageUrl);
+        String gameEtag = etag(PUBLIC_API_PATH + "/" + game.id());
+        String listingEtag = etag(PUBLIC_API_PATH + "/developer/" + developer);
+        Developer saved = developerRepository.findByDeveloperNameIgnoreCase(developer).orElseThrow();
+
+        mockMvc.perform(put("/api/v1/developer/private/" + saved.getId())
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(new DeveloperCreateDto(developer, List.of("https://social.com")))))
+                .andExpect(status().isOk());
+
+        assertNotEquals(gameEtag, etag(PUBLIC_API_PATH + "/" + game.id()));
+        assertNotEquals(listingEtag, etag(PUBLIC_API_PATH + "/developer/" + developer));
+    }
+
+    @Test
+    @WithMockUser(username = USER)
+    @DisplayName("Test walk all games with keyset cursors and expect every game once without a count query")
+    void testGetAllGamesWithCursor() throws Exception {
+        for (int i = 0; i < 12; i++) {
+            createGame(title + i, description, releaseDate, price, developer, genres, platforms, mediaUrl, imageUrl);
+        }
+
+        List<Long> ids = new ArrayList<>();
+        String cursor = "";
+        int pages = 0;
+        do {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.setStatisticsEnabled(true);
+            statistics.clear();
+
+            MvcResult result = mockMvc.perform(get(PUBLIC_API_PATH)
+                            .param("after", cursor)
+                            .param("size", "5"))
+                    .andExpect(status().isOk())
+                    .andReturn();
+
+            assertEquals(3, statistics.getPrepareStatementCount());
+            statistics.setStatisticsEnabled(false);
+
+            GamePublicDto[] games = mapper.readValue(result.getResponse().getContentAsString(), GamePublicDto[].class);
+            for (GamePublicDto game : games) {
+                ids.add(game.id());
+            }
+            cursor = result.getResponse().getHeader(NEXT_CURSOR_HEADER);
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(12, ids.size());
+        assertEquals(ids.stream().sorted().toList(), ids);
+    }
+
+    @Test
+    @WithMockUser(username = USER)
+    @DisplayName("Test get all games with an invalid cursor and expect bad request")
+    void testGetAllGamesWithInvalidCursor() throws Exception {
+        String response = mockMvc.perform(get(PUBLIC_API_PATH)
+                        .param("after", "not-a-cursor!"))
+                .andExpect(status().isBadRequest())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        Error error = mapper.readValue(response, Error.class);
+        assertTrue(error.getMessage().contains(INVALID_CURSOR));
+    }
+
+    @Test
+    @DisplayName("Test create games and expect ids to be handed out from a reserved block")
+    void testCreateGamesWithPooledIds() {
+        Long first = createGameNoRequest().getId();
+        long lastReserved = readMediaIdGenValue();
+        assertTrue(first <= lastReserved);
+        assertTrue(lastReserved - first < MediaIdGenerator.DEFAULT_BLOCK_SIZE);
+
+        Long previous = first;
+        while (previous < lastReserved) {
+            Long id = createGameNoRequest().getId();
+            assertEquals(previous + 1, id);
+            previous = id;
+        }
+        assertEquals(lastReserved, readMediaIdGenValue());
+
+        assertEquals(lastReserved + 1, createGameNoRequest().getId());
+        assertEquals(lastReserved + MediaIdGenerator.DEFAULT_BLOCK_SIZE, readMediaIdGenValue());
+    }
+
+    private long readMediaIdGenValue() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            return ((Number) entityManager
+                    .createNativeQuery("SELECT gen_val FROM id_gen WHERE gen_name = 'media_id'")
+                    .getSingleResult()).longValue();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private String etag(String path) throws Exception {
+        String etag = mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        return etag;
+    }
+
+    private long countStatements(String path, int expectedSize) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(expectedSize)));
+
+        long statements = statistics.getPrepareStatementCount();
+        statistics.setStatisticsEnabled(false);
+        return statements;
+    }
+
+    @Test
+    @WithMockUser(username = USER)
+    @DisplayName("Test get a page of games with genres and platforms and expect a constant number of statements")
+    void testGetAllGamesStatementCount(SqlStatements statements) throws Exception {
+        for (int i = 0; i < 20; i++) {
+            createGame(title + i, description, releaseDate, price, developer, genres, platforms, mediaUrl, imageUrl);
+        }
+
+        statements.assertAtMost(4, () -> mockMvc.perform(get(PUBLIC_API_PATH)
+                        .param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(20))));
+    }
 }
@@ -0,0 +1,218 @@
+package org.somuga.lambda;
+
+import com.amazonaws.serverless.proxy.internal.LambdaContainerHandler;
+import com.amazonaws.serverless.proxy.model.ApiGatewayRequestIdentity;
+import com.amazonaws.serverless.proxy.model.AwsProxyRequest;
+import com.amazonaws.serverless.proxy.model.AwsProxyRequestContext;
+import com.amazonaws.serverless.proxy.model.AwsProxyResponse;
+import com.amazonaws.serverless.proxy.model.Headers;
+import com.amazonaws.serverless.proxy.model.MultiValuedTreeMap;
+import com.amazonaws.serverless.proxy.spring.SpringBootLambdaContainerHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.somuga.LambdaApplication;
+import org.somuga.controller.GameController;
+import org.somuga.util.dataset.DatasetGenerator;
+import org.somuga.util.dataset.DatasetSpec;
+import org.somuga.util.lambda.ResponseCompression;
+import org.somuga.util.lambda.ScheduledJobs;
+import org.somuga.util.metrics.EmfMeterRegistry;
+import org.somuga.util.startup.BeanInitTimings;
+import org.springdoc.core.configuration.SpringDocConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.ScheduledAnnotationBeanPostProcessor;
+import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
+import org.springframework.web.context.support.WebApplicationContextUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LambdaApplicationTest {
+
+    private static final String ACTIVE_PROFILES = "spring.profiles.active";
+    private static final String MOVIE_LISTING_PATH = "/api/v1/movie/public";
+    private static final DatasetSpec MOVIES = new DatasetSpec(23, 1, 1, 1, 1, 0, 0, 0, 40, 100, 6, 0, 0, 0);
+    private static SpringBootLambdaContainerHandler<AwsProxyRequest, AwsProxyResponse> handler;
+    private static ConfigurableApplicationContext context;
+    private static ResponseCompression compression;
+
+    @BeforeAll
+    public static void setUp() throws Exception {
+        // Profile specific files override in activation order, so the test profile has to come first
+        System.setProperty(ACTIVE_PROFILES, "test,lambda-test");
+        try {
+            handler = SpringBootLambdaContainerHandler.getAwsProxyHandler(LambdaApplication.class, LambdaApplication.PROFILE);
+        } finally {
+            System.clearProperty(ACTIVE_PROFILES);
+        }
+        context = (ConfigurableApplicationContext) WebApplicationContextUtils.getRequiredWebApplicationContext(handler.getServletContext());
+        compression = new ResponseCompression(context.getEnvironment().getRequiredProperty(ResponseCompression.MIN_SIZE_PROPERTY, Integer.class));
+        context.getBean(DatasetGenerator.class).generate(MOVIES);
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        context.close();
+    }
+
+    private static AwsProxyRequest request(String path, String acceptEncoding) {
+        AwsProxyRequest request = request(path);
+        if (acceptEncoding != null) {
+            request.getMultiValueHeaders().putSingle(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        return request;
+    }
+
+    private static AwsProxyRequest movieListingRequest(String acceptEncoding) {
+        AwsProxyRequest request = request(MOVIE_LISTING_PATH, acceptEncoding);
+        request.setMultiValueQueryStringParameters(new MultiValuedTreeMap<>());
+        request.getMultiValueQueryStringParameters().putSingle("size", "100");
+        return request;
+    }
+
+    private static AwsProxyResponse movieListing(String acceptEncoding) {
+        AwsProxyRequest request = movieListingRequest(acceptEncoding);
+        return compression.apply(request, handler.proxy(request, null));
+    }
+
+    private static String gunzip(String base64) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(Base64.getDecoder().decode(base64)))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static AwsProxyRequest request(String path) {
+        AwsProxyRequestContext requestContext = new AwsProxyRequestContext();
+        requestContext.setIdentity(new ApiGatewayRequestIdentity());
+        Headers headers = new Headers();
+        headers.putSingle(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
+        AwsProxyRequest request = new AwsProxyRequest();
+        request.setPath(path);
+        request.setHttpMethod(HttpMethod.GET.name());
+        request.setMultiValueHeaders(headers);
+        request.setRequestContext(requestContext);
+        return request;
+    }
+
+    @Test
+    @DisplayName("Test refresh the Lambda context and expect no springdoc, scheduling or OAuth2 client beans and metrics published as EMF lines")
+    void testCuratedAutoConfiguration() {
+        assertEquals(0, context.getBeanNamesForType(SpringDocConfiguration.class).length);
+        assertEquals(0, context.getBeanNamesForType(ScheduledAnnotationBeanPostProcessor.class).length);
+        assertEquals(0, context.getBeanNamesForType(ClientRegistrationRepository.class).length);
+        assertEquals("jdbc:h2:mem:somugaLambda", context.getBean(HikariDataSource.class).getJdbcUrl());
+        assertInstanceOf(EmfMeterRegistry.class, context.getBean(MeterRegistry.class));
+    }
+
+    @Test
+    @DisplayName("Test refresh the Lambda context and expect a breakdown by bean group without controllers or services")
+    void testRefreshBreakdown() {
+        Map<String, Long> byGroup = context.getBean(BeanInitTimings.class).byGroup();
+
+        assertFalse(byGroup.isEmpty());
+        assertFalse(byGroup.containsKey("org.somuga.controller"));
+        assertFalse(byGroup.containsKey("org.somuga.service"));
+    }
+
+    @Test
+    @DisplayName("Test get games through the Lambda handler and expect the controller created on the first request")
+    void testGetGames() {
+        AwsProxyResponse response = handler.proxy(request("/api/v1/game/public"), null);
+
+        assertEquals(200, response.getStatusCode());
+        assertEquals("[]", response.getBody());
+        assertNotNull(context.getBean(GameController.class));
+    }
+
+    @Test
+    @DisplayName("Test get a large movie listing accepting gzip and expect a base64 gzip body with the same JSON")
+    void testLargeListingCompressed() throws Exception {
+        AwsProxyResponse plain = movieListing(null);
+        AwsProxyResponse compressed = movieListing("br;q=1.0, gzip;q=0.8");
+
+        assertEquals(200, compressed.getStatusCode());
+        assertTrue(compressed.isBase64Encoded());
+        assertEquals(ResponseCompression.GZIP, compressed.getMultiValueHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertTrue(compressed.getMultiValueHeaders().get(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT_ENCODING));
+        assertNull(compressed.getMultiValueHeaders().getFirst(HttpHeaders.CONTENT_LENGTH));
+        assertEquals(plain.getBody(), gunzip(compressed.getBody()));
+    }
+
+    @Test
+    @DisplayName("Test get a large movie listing without accepting gzip and expect a plain text body that varies by encoding")
+    void testLargeListingNotAccepted() {
+        for (String acceptEncoding : new String[]{null, "identity", "br", "gzip;q=0, *;q=1"}) {
+            AwsProxyResponse response = movieListing(acceptEncoding);
+
+            assertEquals(200, response.getStatusCode());
+            assertFalse(response.isBase64Encoded(), acceptEncoding);
+            assertNull(response.getMultiValueHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+            assertTrue(response.getMultiValueHeaders().get(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT_ENCODING));
+            assertTrue(response.getBody().startsWith("["));
+        }
+    }
+
+    @Test
+    @DisplayName("Test get a response under the size threshold accepting gzip and expect it neither compressed nor base64 encoded")
+    void testSmallResponseNotCompressed() {
+        AwsProxyRequest request = request("/api/v1/game/public", "gzip");
+        AwsProxyResponse response = compression.apply(request, handler.proxy(request, null));
+
+        assertEquals(200, response.getStatusCode());
+        assertFalse(response.isBase64Encoded());
+        assertEquals("[]", response.getBody());
+        assertNull(response.getMultiValueHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    @DisplayName("Test run scheduled jobs from EventBridge inputs and expect their results keyed by job name")
+    void testScheduledJobs() throws Exception {
+        ObjectMapper mapper = LambdaContainerHandler.getObjectMapper();
+        ScheduledJobs jobs = new ScheduledJobs(context);
+
+        assertFalse(ScheduledJobs.isJob(mapper.valueToTree(request(MOVIE_LISTING_PATH))));
+        assertEquals(Map.of(ScheduledJobs.RECONCILE_COUNTERS, 0), jobs.run(mapper.readTree("{\"job\": \"reconcile-counters\"}")));
+        assertTrue(jobs.run(mapper.readTree("{\"job\": \"recompute-ratings\"}")).containsKey(ScheduledJobs.RECOMPUTE_RATINGS));
+        assertThrows(IllegalArgumentException.class, () -> jobs.run(mapper.readTree("{\"job\": \"unknown\"}")));
+    }
+
+    @Test
+    @DisplayName("Test revalidate a compressed movie listing and expect a suffixed ETag and a 304 carrying it")
+    void testCompressedListingEtag() {
+        AwsProxyResponse plain = movieListing(null);
+        AwsProxyResponse compressed = movieListing(ResponseCompression.GZIP);
+        String plainEtag = plain.getMultiValueHeaders().getFirst(HttpHeaders.ETAG);
+        String compressedEtag = compressed.getMultiValueHeaders().getFirst(HttpHeaders.ETAG);
+
+        assertTrue(compressed.isBase64Encoded());
+        assertEquals(plainEtag.substring(0, plainEtag.length() - 1) + ResponseCompression.GZIP_SUFFIX + '"', compressedEtag);
+
+        AwsProxyRequest revalidation = movieListingRequest(ResponseCompression.GZIP);
+        revalidation.getMultiValueHeaders().putSingle(HttpHeaders.IF_NONE_MATCH, compressedEtag);
+        AwsProxyResponse notModified = compression.proxy(revalidation, request -> handler.proxy(request, null));
+
+        assertEquals(304, notModified.getStatusCode());
+        assertEquals(compressedEtag, notModified.getMultiValueHeaders().getFirst(HttpHeaders.ETAG));
+
+        AwsProxyRequest plainRevalidation = movieListingRequest(null);
+        plainRevalidation.getMultiValueHeaders().putSingle(HttpHeaders.IF_NONE_MATCH, plainEtag);
+        AwsProxyResponse plainNotModified = compression.proxy(plainRevalidation, request -> handler.proxy(request, null));
+
+        assertEquals(304, plainNotModified.getStatusCode());
+        assertEquals(plainEtag, plainNotModified.getMultiValueHeaders().getFirst(HttpHeaders.ETAG));
+    }
+}
@@ -2,6 +2,7 @@ package org.somuga.like;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.*;
 import org.somuga.aspect.Error;
 import org.somuga.converter.LikeConverter;
@@ -9,27 +10,35 @@ import org.somuga.dto.like.LikeCreateDto;
 import org.somuga.dto.like.LikePublicDto;
 import org.somuga.entity.*;
 import org.somuga.repository.*;
+import org.somuga.service.interfaces.IMediaService;
 import org.somuga.testDtos.LikeGameDto;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.somuga.util.message.Messages.*;
+import static org.somuga.util.pagination.Cursors.NEXT_CURSOR_HEADER;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -67,6 +76,10 @@ public class LikeControllerTest {
     @Autowired
     private DeveloperRepository developerRepository;
     @Autowired
+    private IMediaService mediaService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
     private WebApplicationContext controller;
     @MockBean
     @SuppressWarnings("unused")
@@ -335,4 +348,159 @@ public class LikeControllerTest {
         assertEquals(PRIVATE_API_PATH + "/" + 9999999, error.getPath());
     }
 
+    @Test
+    @WithMockUser(username = USER_ID)
+    @DisplayName("Test create and delete like and expect media like count to follow")
+    void testLikeCountFollowsCreateAndDelete() throws Exception {
+        String response = mockMvc.perform(post(PRIVATE_API_PATH)
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(new LikeCreateDto(game.getId()))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+
+        LikeGameDto like = mapper.readValue(response, LikeGameDto.class);
+
+        assertEquals(1, like.media().likes());
+        assertEquals(1, gameRepository.findById(game.getId()).orElseThrow().getLikeCount());
+
+        mockMvc.perform(delete(PRIVATE_API_PATH + "/" + like.id())
+                        .with(csrf()))
+                .andExpect(status().isNoContent());
+
+        assertEquals(0, gameRepository.findById(game.getId()).orElseThrow().getLikeCount());
+    }
+
+    @Test
+    @WithMockUser(username = USER_ID)
+    @DisplayName("Test like a game after reading it and expect its previous ETag not to match")
+    void testLikeChangesGameEtag() throws Exception {
+        String gamePath = "/api/v1/game/public/" + game.getId();
+        String etag = mockMvc.perform(get(gamePath))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        mockMvc.perform(post(PRIVATE_API_PATH)
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(new LikeCreateDto(game.getId()))))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get(gamePath).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.likes").value(1));
+    }
+
+    @Test
+    @DisplayName("Test reconcile counters and expect drifted like count to be repaired")
+    void testReconcileLikeCount() {
+        for (int i = 0; i < 3; i++) {
+            createLike(createUser(USER_ID + i, "Name" + i, "email" + i + "@example.com"), game);
+        }
+
+        assertEquals(0, gameRepository.findById(game.getId()).orElseThrow().getLikeCount());
+        assertEquals(1, mediaService.reconcileCounters());
+        assertEquals(3, gameRepository.findById(game.getId()).orElseThrow().getLikeCount());
+        assertEquals(0, mediaService.reconcileCounters());
+    }
+
+    @Test
+    @WithMockUser(username = USER_ID, roles = "ADMIN")
+    @DisplayName("Test reconcile counters through the admin route and expect the number of repaired media")
+    void testReconcileCountersRoute() throws Exception {
+        createLike(user, game);
+
+        mockMvc.perform(post("/api/v1/media/admin/counters/reconcile")
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").value(1));
+
+        assertEquals(1, gameRepository.findById(game.getId()).orElseThrow().getLikeCount());
+    }
+
+    @Test
+    @WithMockUser(username = USER_ID)
+    @DisplayName("Test reconcile counters without admin role and expect forbidden")
+    void testReconcileCountersRouteForbidden() throws Exception {
+        mockMvc.perform(post("/api/v1/media/admin/counters/reconcile")
+                        .with(csrf()))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Test backfill counters of rows that predate them and expect the like count filled in")
+    void testBackfillCounters() {
+        createLike(user, game);
+        jdbcTemplate.update("UPDATE media SET like_count = -1, review_count = -1");
+
+        mediaService.backfill();
+
+        Game backfilled = gameRepository.findById(game.getId()).orElseThrow();
+        assertEquals(1, backfilled.getLikeCount());
+        assertEquals(0, backfilled.getReviewCount());
+    }
+
+    @Test
+    @DisplayName("Test walk the likes of a user with keyset cursors and expect every like once in id order")
+    void testGetAllLikesFromUserWithCursor() throws Exception {
+        List<Long> created = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            created.add(createLike(user, createGame()).id());
+        }
+
+        List<List<String>> pages = walkWithCursor(PUBLIC_API_PATH + "/user/" + USER_ID);
+
+        assertEquals(3, pages.size());
+        assertEquals(created.stream().sorted().map(String::valueOf).toList(), pages.stream().flatMap(List::stream).toList());
+    }
+
+    @Test
+    @DisplayName("Test walk the likes of a game with keyset cursors and expect every like once in id order")
+    void testGetAllLikesFromMediaWithCursor() throws Exception {
+        List<Long> created = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            created.add(createLike(createUser(USER_ID + i, "Name" + i, "email" + i + "@example.com"), game).id());
+        }
+
+        List<List<String>> pages = walkWithCursor(PUBLIC_API_PATH + "/media/" + game.getId());
+
+        assertEquals(3, pages.size());
+        assertEquals(created.stream().sorted().map(String::valueOf).toList(), pages.stream().flatMap(List::stream).toList());
+    }
+
+    @Test
+    @DisplayName("Test get the likes of a user and of a game with an invalid cursor and expect bad request")
+    void testGetLikesWithInvalidCursor() throws Exception {
+        assertInvalidCursor(PUBLIC_API_PATH + "/user/" + USER_ID);
+        assertInvalidCursor(PUBLIC_API_PATH + "/media/" + game.getId());
+    }
+
+    private List<List<String>> walkWithCursor(String path) throws Exception {
+        List<List<String>> pages = new ArrayList<>();
+        String cursor = "";
+        do {
+            MvcResult result = mockMvc.perform(get(path)
+                            .param("after", cursor)
+                            .param("size", "2"))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            List<Object> ids = JsonPath.read(result.getResponse().getContentAsString(), "$[*].id");
+            pages.add(ids.stream().map(String::valueOf).toList());
+            cursor = result.getResponse().getHeader(NEXT_CURSOR_HEADER);
+        } while (cursor != null);
+        return pages;
+    }
+
+    private void assertInvalidCursor(String path) throws Exception {
+        String response = mockMvc.perform(get(path)
+                        .param("after", "not-a-cursor!"))
+                .andExpect(status().isBadRequest())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        Error error = mapper.readValue(response, Error.class);
+        assertTrue(error.getMessage().contains(INVALID_CURSOR));
+    }
 }
@@ -0,0 +1,203 @@
+package org.somuga.load;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs with the load Maven profile. The application is started twice from the test class path, once on the default
+ * Tomcat pool and once with the virtual-threads profile, and both runs get the same closed-loop load on the public
+ * listings. Throughput and p99 latency of both runs are printed side by side.
+ * <p>
+ * The database defaults to an in-memory H2 database. Point {@code somuga.load.datasource-url} at MySQL to measure
+ * the case the virtual-threads mode is meant for, requests blocked on database I/O.
+ * <p>
+ * The virtual-thread run is started with {@code -Djdk.tracePinnedThreads}, and any pinned stack holding a monitor
+ * outside the in-memory database fails the test.
+ */
+class VirtualThreadLoadIT {
+
+    private static final List<String> PATHS = List.of(
+            "/api/v1/game/public?page=0&size=20",
+            "/api/v1/movie/public?page=0&size=20",
+            "/api/v1/game/public/top-rated?page=0&size=20");
+    private static final String PINNED_MONITOR = "<== monitors";
+    private static final String IN_MEMORY_DATABASE = "org.h2.";
+    private static final long STARTUP_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(3);
+    private static final long POLL_INTERVAL_MILLIS = 100;
+
+    private final boolean enabled = Boolean.getBoolean("somuga.load.enabled");
+    private final int concurrency = Integer.getInteger("somuga.load.concurrency", 400);
+    private final Duration warmUp = Duration.ofSeconds(Integer.getInteger("somuga.load.warm-up-seconds", 10));
+    private final Duration duration = Duration.ofSeconds(Integer.getInteger("somuga.load.duration-seconds", 30));
+    private final String datasourceUrl = System.getProperty("somuga.load.datasource-url", "jdbc:h2:mem:load");
+    private final Path directory = Path.of(System.getProperty("somuga.load.directory", "target/load"));
+
+    @Test
+    @DisplayName("Test the same load on platform and virtual threads and expect no errors and no pinned carrier threads")
+    void testPlatformAndVirtualThreads() throws Exception {
+        assumeTrue(enabled, "Run with -Pload");
+        Files.createDirectories(directory);
+
+        Result platform = run("platform", List.of(), List.of());
+        Result virtual = run("virtual", List.of("-Djdk.tracePinnedThreads=short"), List.of("--spring.profiles.active=virtual-threads"));
+
+        System.out.printf("%d clients for %d s against %s%n", concurrency, duration.toSeconds(), datasourceUrl);
+        System.out.println(platform);
+        System.out.println(virtual);
+        assertEquals(0, platform.errors());
+        assertEquals(0, virtual.errors());
+        List<String> pinned = pinnedMonitors(virtual.log());
+        assertTrue(pinned.isEmpty(), "Virtual threads pinned while holding " + pinned);
+    }
+
+    private Result run(String name, List<String> jvmOptions, List<String> arguments) throws Exception {
+        int port = freePort();
+        Path log = directory.resolve(name + ".log");
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmOptions);
+        command.addAll(List.of(
+                "-cp", System.getProperty("java.class.path"),
+                "org.somuga.SomugaApplication",
+                "--server.port=" + port,
+                "--spring.datasource.url=" + datasourceUrl,
+                "--spring.datasource.username=" + System.getProperty("somuga.load.datasource-username", "root"),
+                "--spring.datasource.password=" + System.getProperty("somuga.load.datasource-password", "secret"),
+                "--okta.oauth2.issuer=https://localhost/oauth2/load"));
+        if (datasourceUrl.startsWith("jdbc:h2:")) {
+            command.addAll(List.of(
+                    "--spring.datasource.driver-class-name=org.h2.Driver",
+                    "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                    "--spring.jpa.hibernate.ddl-auto=create-drop"));
+        }
+        command.addAll(arguments);
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient client = HttpClient.newBuilder().executor(clients).build();
+            String baseUrl = "http://localhost:" + port;
+            awaitStartup(process, client, baseUrl);
+            load(clients, client, baseUrl, warmUp);
+            return Result.of(name, log, duration, load(clients, client, baseUrl, duration));
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private List<Long> load(ExecutorService clients, HttpClient client, String baseUrl, Duration duration) throws Exception {
+        long end = System.nanoTime() + duration.toNanos();
+        List<Future<List<Long>>> workers = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            int offset = i;
+            workers.add(clients.submit(() -> {
+                List<Long> latencies = new ArrayList<>();
+                for (int request = offset; System.nanoTime() < end; request++) {
+                    HttpRequest get = HttpRequest.newBuilder(URI.create(baseUrl + PATHS.get(request % PATHS.size()))).build();
+                    long start = System.nanoTime();
+                    int status;
+                    try {
+                        status = client.send(get, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    } catch (IOException e) {
+                        status = -1;
+                    }
+                    long latency = System.nanoTime() - start;
+                    // Failed requests are recorded as negative latencies
+                    latencies.add(status == 200 ? latency : -latency);
+                }
+                return latencies;
+            }));
+        }
+        List<Long> latencies = new ArrayList<>();
+        for (Future<List<Long>> worker : workers) {
+            latencies.addAll(worker.get());
+        }
+        return latencies;
+    }
+
+    private static void awaitStartup(Process process, HttpClient client, String baseUrl) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + PATHS.get(0))).build();
+        long start = System.nanoTime();
+        while (TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < STARTUP_TIMEOUT_MILLIS) {
+            if (!process.isAlive()) {
+                fail("Application exited with " + process.exitValue());
+            }
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (ConnectException e) {
+                // Not listening yet
+            }
+            Thread.sleep(POLL_INTERVAL_MILLIS);
+        }
+        fail("No successful response within " + STARTUP_TIMEOUT_MILLIS + " ms");
+    }
+
+    /**
+     * Frames holding a monitor in the stacks printed by {@code -Djdk.tracePinnedThreads}, except those of the
+     * in-memory database which only stands in for MySQL.
+     */
+    private static List<String> pinnedMonitors(Path log) throws IOException {
+        return Files.readAllLines(log).stream()
+                .filter(line -> line.contains(PINNED_MONITOR))
+                .map(String::strip)
+                .filter(frame -> !frame.startsWith(IN_MEMORY_DATABASE))
+                .distinct()
+                .toList();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private record Result(String name, Path log, long requests, long errors, double throughput, long p50Millis, long p99Millis) {
+
+        static Result of(String name, Path log, Duration duration, List<Long> latencies) {
+            List<Long> succeeded = new ArrayList<>(latencies.stream().filter(latency -> latency > 0).toList());
+            Collections.sort(succeeded);
+            long errors = latencies.size() - succeeded.size();
+            return new Result(name, log, latencies.size(), errors, (double) latencies.size() / duration.toSeconds(),
+                    percentile(succeeded, 0.50), percentile(succeeded, 0.99));
+        }
+
+        private static long percentile(List<Long> sorted, double percentile) {
+            if (sorted.isEmpty()) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+            return TimeUnit.NANOSECONDS.toMillis(sorted.get(Math.max(index, 0)));
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-8s %8d requests %6d errors %10.1f req/s p50 %5d ms p99 %5d ms",
+                    name, requests, errors, throughput, p50Millis, p99Millis);
+        }
+    }
+}
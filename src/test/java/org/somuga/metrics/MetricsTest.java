@@ -0,0 +1,150 @@
+package org.somuga.metrics;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MockClock;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.somuga.aspect.SomugaExceptionHandler;
+import org.somuga.aspect.ServiceMetricsAspect;
+import org.somuga.util.metrics.EmfMeterRegistry;
+import org.somuga.util.metrics.StatementMetricsFilter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ContextConfiguration
+@ActiveProfiles("test")
+@AutoConfigureObservability(tracing = false)
+class MetricsTest {
+
+    MockMvc mockMvc;
+    @Autowired
+    private WebApplicationContext controller;
+    @Autowired
+    private StatementMetricsFilter statementMetricsFilter;
+    @Autowired
+    private MeterRegistry registry;
+    @MockBean
+    @SuppressWarnings("unused")
+    private JwtDecoder jwtDecoder;
+
+    @BeforeEach
+    public void setUp() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(controller)
+                .addFilters(statementMetricsFilter)
+                .apply(springSecurity())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Test list games and expect the service method, repository query and statements per request recorded")
+    void testServiceRepositoryAndStatementMetrics() throws Exception {
+        mockMvc.perform(get("/api/v1/game/public"))
+                .andExpect(status().isOk());
+
+        Timer service = registry.find(ServiceMetricsAspect.TIMER)
+                .tags("class", "GameService", "method", "getAll", "exception", "none").timer();
+        assertNotNull(service);
+        assertTrue(service.count() >= 1);
+        assertNotNull(registry.find("spring.data.repository.invocations").tag("repository", "GameRepository").timer());
+        DistributionSummary statements = registry.find(StatementMetricsFilter.SUMMARY).tag("uri", "/api/v1/game/public").summary();
+        assertNotNull(statements);
+        assertTrue(statements.totalAmount() >= 1);
+    }
+
+    @Test
+    @DisplayName("Test get a game that does not exist and expect the handled exception counted")
+    void testExceptionCounter() throws Exception {
+        double before = registry.counter(SomugaExceptionHandler.COUNTER, "exception", "GameNotFoundException", "status", "404").count();
+
+        mockMvc.perform(get("/api/v1/game/public/0"))
+                .andExpect(status().isNotFound());
+
+        assertEquals(before + 1, registry.counter(SomugaExceptionHandler.COUNTER, "exception", "GameNotFoundException", "status", "404").count());
+    }
+
+    @Test
+    @WithMockUser(username = "prometheus", roles = "ADMIN")
+    @DisplayName("Test scrape the Prometheus endpoint as admin and expect pool, Hibernate, second-level cache and service metrics")
+    void testPrometheusScrape() throws Exception {
+        mockMvc.perform(get("/api/v1/game/public"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("hikaricp_connections_active")))
+                .andExpect(content().string(containsString("hibernate_query_executions_total")))
+                .andExpect(content().string(containsString("hibernate_sessions_open_total")))
+                .andExpect(content().string(containsString("hibernate_second_level_cache_requests_total{entityManagerFactory=\"entityManagerFactory\",region=\"developers\"")))
+                .andExpect(content().string(containsString("somuga_service_seconds_bucket")));
+    }
+
+    @Test
+    @DisplayName("Test scrape the Prometheus endpoint without authentication and expect unauthorized while health stays public")
+    void testPrometheusScrapeUnauthenticated() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @WithMockUser(username = "user")
+    @DisplayName("Test scrape the Prometheus endpoint without admin role and expect forbidden")
+    void testPrometheusScrapeForbidden() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Test publish a timer as embedded metric format and expect its tags as dimensions")
+    void testEmfLine() throws Exception {
+        MockClock clock = new MockClock();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        EmfMeterRegistry emf = new EmfMeterRegistry(key -> null, clock, new PrintStream(out, true, StandardCharsets.UTF_8));
+        emf.timer(ServiceMetricsAspect.TIMER, "class", "GameService", "method", "getAll").record(15, TimeUnit.MILLISECONDS);
+        emf.counter("unused");
+        clock.add(Duration.ofMinutes(1));
+
+        emf.close();
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(1, lines.length);
+        JsonNode line = new ObjectMapper().readTree(lines[0]);
+        JsonNode directive = line.get("_aws").get("CloudWatchMetrics").get(0);
+        assertEquals("Somuga", directive.get("Namespace").asText());
+        assertEquals("[[\"class\",\"method\"]]", directive.get("Dimensions").toString());
+        assertEquals("Milliseconds", directive.get("Metrics").get(1).get("Unit").asText());
+        assertEquals("GameService", line.get("class").asText());
+        assertEquals(1, line.get("somuga.service.count").asInt());
+        assertEquals(15, line.get("somuga.service.sum").asDouble());
+    }
+}
@@ -2,43 +2,57 @@ package org.somuga.movie;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.jayway.jsonpath.JsonPath;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.somuga.aspect.Error;
 import org.somuga.dto.crew_role.MovieRoleCreateDto;
+import org.somuga.dto.crew_role.MovieRolePublicDto;
 import org.somuga.dto.movie.MovieCreateDto;
 import org.somuga.dto.movie.MoviePublicDto;
+import org.somuga.dto.movie_crew.MovieCrewCreateDto;
 import org.somuga.entity.MovieCrew;
 import org.somuga.repository.MovieCrewRepository;
 import org.somuga.repository.MovieCrewRoleRepository;
 import org.somuga.repository.MovieRepository;
+import org.somuga.testUtils.SqlStatements;
+import org.somuga.testUtils.SqlStatementsExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.somuga.util.message.Messages.*;
+import static org.somuga.util.pagination.Cursors.NEXT_CURSOR_HEADER;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 
 @SpringBootTest
 @ContextConfiguration
 @ActiveProfiles("test")
+@ExtendWith(SqlStatementsExtension.class)
 class MovieControllerTest {
 
     private static final ObjectMapper mapper = new ObjectMapper();
@@ -60,6 +74,8 @@ class MovieControllerTest {
     @Autowired
     private MovieCrewRoleRepository movieCrewRoleRepository;
     @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
     private WebApplicationContext controller;
     @MockBean
     @SuppressWarnings("unused")
@@ -440,6 +456,27 @@ class MovieControllerTest {
         assertEquals(1, moviePublicDtos.size());
     }
 
+    @Test
+    @WithMockUser(username = USER_ID)
+    @DisplayName("Test get a movie created with its crew in reverse order and expect crew ordered by id in listing and detail")
+    void testCrewOrderedById() throws Exception {
+        List<MovieRoleCreateDto> roles = createAllRoles();
+        Collections.reverse(roles);
+        MoviePublicDto movie = createMovie(TITLE, RELEASE_DATE, DESCRIPTION, DURATION, roles, MEDIA_URL, IMAGE_URL);
+        List<Long> crewIds = crew.stream().map(MovieCrew::getId).sorted().toList();
+
+        String listing = mockMvc.perform(get(PUBLIC_API_PATH))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String detail = mockMvc.perform(get(PUBLIC_API_PATH + "/" + movie.id()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        List<MoviePublicDto> listed = mapper.readValue(listing, mapper.getTypeFactory().constructCollectionType(List.class, MoviePublicDto.class));
+        assertEquals(crewIds, listed.get(0).crew().stream().map(MovieRolePublicDto::id).toList());
+        assertEquals(crewIds, mapper.readValue(detail, MoviePublicDto.class).crew().stream().map(MovieRolePublicDto::id).toList());
+    }
+
     @Test
     @WithMockUser(username = USER_ID)
     @DisplayName("Test get all movies by crew id and expect status 200")
@@ -603,5 +640,159 @@ class MovieControllerTest {
         ).andExpect(status().isUnauthorized());
     }
 
+    @Test
+    @WithMockUser(username = USER_ID)
+    @DisplayName("Test get movies and expect a constant number of statements per page")
+    void testGetMoviesStatementCount() throws Exception {
+        for (int i = 0; i < 12; i++) {
+            createMovie(TITLE + i, RELEASE_DATE, DESCRIPTION, DURATION, createAllRoles(), MEDIA_URL, IMAGE_URL);
+        }
+
+        for (String path : List.of("", "/crew/" + crew.get(0).getId())) {
+            assertEquals(3, countStatements(PUBLIC_API_PATH + path + "?page=0&size=5", 5));
+            assertEquals(3, countStatements(PUBLIC_API_PATH + path + "?page=0&size=10", 10));
+        }
+        // Searches page through the search index, so there is no count query
+        assertEquals(2, countStatements(PUBLIC_API_PATH + "/search/" + TITLE + "?page=0&size=5", 5));
+        assertEquals(2, countStatements(PUBLIC_API_PATH + "/search/" + TITLE + "?page=0&size=10", 10));
+    }
+
+    @Test
+    @WithMockUser(username = USER_ID)
+    @DisplayName("Test get a page of movies with its ETag and expect 304")
+    void testGetAllMoviesNotModified() throws Exception {
+        createMovie(TITLE, RELEASE_DATE, DESCRIPTION, DURATION, createAllRoles(), MEDIA_URL, IMAGE_URL);
+        String etag = etag(PUBLIC_API_PATH);
+
+        mockMvc.perform(get(PUBLIC_API_PATH).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+    }
+
+    @Test
+    @WithMockUser(username = USER_ID)
+    @DisplayName("Test rename a crew member and expect the ETags of their movies to change")
+    void testRenameCrewChangesMovieEtag() throws Exception {
+        MovieCrew member = new MovieCrew("Member", new Date());
+        member.setCrewCreatorId(USER_ID);
+        movieCrewRepository.save(member);
+        MoviePublicDto movie = createMovie(TITLE, RELEASE_DATE, DESCRIPTION, DURATION, createOneRole(member.getId(), "DIRECTOR", ""), MEDIA_URL, IMAGE_URL);
+        String movieEtag = etag(PUBLIC_API_PATH + "/" + movie.id());
+        String listingEtag = etag(PUBLIC_API_PATH + "/crew/" + member.getId());
+
+        mockMvc.perform(put("/api/v1/movie_crew/private/" + member.getId())
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(new MovieCrewCreateDto("Renamed", member.getBirthDate()))))
+                .andExpect(status().isOk());
+
+        assertNotEquals(movieEtag, etag(PUBLIC_API_PATH + "/" + movie.id()));
+        assertNotEquals(listingEtag, etag(PUBLIC_API_PATH + "/crew/" + member.getId()));
+    }
+
+    @Test
+    @WithMockUser(username = USER_ID)
+    @DisplayName("Test update a movie and expect the ETag of its crew to change")
+    void testUpdateMovieChangesCrewEtag() throws Exception {
+        MoviePublicDto movie = createMovie(TITLE, RELEASE_DATE, DESCRIPTION, DURATION, createAllRoles(), MEDIA_URL, IMAGE_URL);
+        String crewPath = "/api/v1/movie_crew/public/" + crew.get(0).getId();
+        String crewEtag = etag(crewPath);
+
+        MovieCreateDto update = new MovieCreateDto("New Title", RELEASE_DATE, DESCRIPTION, DURATION, createAllRoles(), MEDIA_URL, IMAGE_URL);
+        mockMvc.perform(put(PRIVATE_API_PATH + "/" + movie.id())
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(update)))
+                .andExpect(status().isOk());
 
+        mockMvc.perform(get(crewPath).header(HttpHeaders.IF_NONE_MATCH, crewEtag))
+                .andExpect(status().isOk());
+        assertNotEquals(crewEtag, etag(crewPath));
+    }
+
+    private String etag(String path) throws Exception {
+        String etag = mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        return etag;
+    }
+
+    private long countStatements(String path, int expectedSize) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(expectedSize)))
+                .andExpect(jsonPath("$[0].crew", hasSize(crew.size())));
+
+        long statements = statistics.getPrepareStatementCount();
+        statistics.setStatisticsEnabled(false);
+        return statements;
+    }
+
+    @Test
+    @WithMockUser(username = USER_ID)
+    @DisplayName("Test get a page of movies with their crew and expect a constant number of statements")
+    void testGetAllMoviesStatementCount(SqlStatements statements) throws Exception {
+        for (int i = 0; i < 20; i++) {
+            createMovie(TITLE + i, RELEASE_DATE, DESCRIPTION, DURATION, createAllRoles(), MEDIA_URL, IMAGE_URL);
+        }
+
+        statements.assertAtMost(3, () -> mockMvc.perform(get(PUBLIC_API_PATH)
+                        .param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(20))));
+    }
+
+    @Test
+    @WithMockUser(username = USER_ID)
+    @DisplayName("Test walk all movies with keyset cursors and expect every movie once in id order")
+    void testGetAllMoviesWithCursor() throws Exception {
+        List<Long> created = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            created.add(createMovie(TITLE + i, RELEASE_DATE, DESCRIPTION, DURATION, createAllRoles(), MEDIA_URL, IMAGE_URL).id());
+        }
+
+        List<List<String>> pages = walkWithCursor(PUBLIC_API_PATH);
+
+        assertEquals(3, pages.size());
+        assertEquals(created.stream().sorted().map(String::valueOf).toList(), pages.stream().flatMap(List::stream).toList());
+    }
+
+    @Test
+    @DisplayName("Test get all movies with an invalid cursor and expect bad request")
+    void testGetAllMoviesWithInvalidCursor() throws Exception {
+        assertInvalidCursor(PUBLIC_API_PATH);
+    }
+
+    private List<List<String>> walkWithCursor(String path) throws Exception {
+        List<List<String>> pages = new ArrayList<>();
+        String cursor = "";
+        do {
+            MvcResult result = mockMvc.perform(get(path)
+                            .param("after", cursor)
+                            .param("size", "2"))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            List<Object> ids = JsonPath.read(result.getResponse().getContentAsString(), "$[*].id");
+            pages.add(ids.stream().map(String::valueOf).toList());
+            cursor = result.getResponse().getHeader(NEXT_CURSOR_HEADER);
+        } while (cursor != null);
+        return pages;
+    }
+
+    private void assertInvalidCursor(String path) throws Exception {
+        String response = mockMvc.perform(get(path)
+                        .param("after", "not-a-cursor!"))
+                .andExpect(status().isBadRequest())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        Error error = mapper.readValue(response, Error.class);
+        assertTrue(error.getMessage().contains(INVALID_CURSOR));
+    }
 }
@@ -0,0 +1,46 @@
+package org.somuga.native_image;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.somuga.LambdaApplication;
+import org.somuga.LambdaHandler;
+import org.somuga.dto.game.GamePublicDto;
+import org.somuga.util.id_generator.MediaIdGenerator;
+import org.springframework.boot.SpringApplicationAotProcessor;
+import org.springframework.context.aot.AbstractAotProcessor;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LambdaApplicationAotTest {
+
+    private static final String GROUP_ID = "org.somuga";
+    private static final String ARTIFACT_ID = "somuga";
+
+    @TempDir
+    Path output;
+
+    @Test
+    @DisplayName("Test process the Lambda application ahead of time and expect the application hints in the reflection config")
+    void testRuntimeHintsProcessed() throws Exception {
+        AbstractAotProcessor.Settings settings = AbstractAotProcessor.Settings.builder()
+                .sourceOutput(output.resolve("sources"))
+                .resourceOutput(output.resolve("resources"))
+                .classOutput(output.resolve("classes"))
+                .groupId(GROUP_ID)
+                .artifactId(ARTIFACT_ID)
+                .build();
+
+        new SpringApplicationAotProcessor(LambdaApplication.class, settings,
+                new String[]{"--spring.profiles.active=test,lambda-test"}).process();
+
+        String reflectConfig = Files.readString(output.resolve("resources/META-INF/native-image")
+                .resolve(GROUP_ID).resolve(ARTIFACT_ID).resolve("reflect-config.json"));
+        assertTrue(reflectConfig.contains(GamePublicDto.class.getName()));
+        assertTrue(reflectConfig.contains(LambdaHandler.class.getName()));
+        assertTrue(reflectConfig.contains(MediaIdGenerator.class.getName()));
+    }
+}
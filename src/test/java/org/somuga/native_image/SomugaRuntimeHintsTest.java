@@ -0,0 +1,47 @@
+package org.somuga.native_image;
+
+import com.amazonaws.serverless.proxy.model.AwsProxyRequest;
+import com.amazonaws.serverless.proxy.model.AwsProxyResponse;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.somuga.LambdaHandler;
+import org.somuga.config.SomugaRuntimeHints;
+import org.somuga.dto.game.GamePublicDto;
+import org.somuga.dto.review.ReviewCreateDto;
+import org.somuga.entity.Game;
+import org.somuga.util.id_generator.MediaIdGenerator;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SomugaRuntimeHintsTest {
+
+    private RuntimeHints hints;
+
+    @BeforeEach
+    public void setUp() {
+        hints = new RuntimeHints();
+        new SomugaRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    @DisplayName("Test register hints and expect DTO records and the proxy model bindable by Jackson")
+    void testBindingHints() throws Exception {
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(GamePublicDto.class.getMethod("title")).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(ReviewCreateDto.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(AwsProxyRequest.class.getMethod("setPath", String.class)).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(AwsProxyResponse.class).test(hints));
+    }
+
+    @Test
+    @DisplayName("Test register hints and expect the handler, entities, id generator and cache region factory reflectively reachable")
+    void testReflectiveTypes() throws Exception {
+        assertTrue(RuntimeHintsPredicates.reflection().onConstructor(LambdaHandler.class.getConstructor()).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onField(Game.class.getDeclaredField("price")).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onConstructor(MediaIdGenerator.class.getConstructor()).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onConstructor(JCacheRegionFactory.class.getConstructor()).test(hints));
+    }
+}
@@ -11,6 +11,7 @@ import org.somuga.dto.platform.PlatformCreateDto;
 import org.somuga.dto.platform.PlatformPublicDto;
 import org.somuga.entity.Platform;
 import org.somuga.repository.PlatformRepository;
+import org.somuga.service.interfaces.IPlatformService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
@@ -21,8 +22,12 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.somuga.util.message.Messages.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
@@ -45,6 +50,10 @@ class PlatformsControllerTest {
     @Autowired
     private PlatformRepository platformRepository;
     @Autowired
+    private IPlatformService platformService;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
     private WebApplicationContext controller;
     @MockBean
     @SuppressWarnings("unused")
@@ -287,5 +296,18 @@ class PlatformsControllerTest {
         assertEquals(2, platforms.length);
     }
 
-
+    @Test
+    @DisplayName("Test look up a platform name while another transaction deletes it and expect no id once that commits")
+    void testNameCacheInvalidatedAfterCommit() {
+        Platform platform = platformRepository.save(new Platform("Deleted Console"));
+
+        Optional<Long> duringDelete = transactionTemplate.execute(status -> {
+            platformRepository.delete(platform);
+            platformRepository.flush();
+            return CompletableFuture.supplyAsync(() -> platformService.findIdByPlatformName("Deleted Console")).join();
+        });
+
+        assertEquals(Optional.of(platform.getId()), duringDelete);
+        assertEquals(Optional.empty(), platformService.findIdByPlatformName("Deleted Console"));
+    }
 }
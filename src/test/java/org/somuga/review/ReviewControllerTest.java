@@ -2,7 +2,9 @@ package org.somuga.review;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.somuga.aspect.Error;
 import org.somuga.converter.ReviewConverter;
 import org.somuga.dto.review.ReviewCreateDto;
@@ -10,35 +12,46 @@ import org.somuga.dto.review.ReviewPublicDto;
 import org.somuga.dto.review.ReviewUpdateDto;
 import org.somuga.entity.*;
 import org.somuga.repository.*;
+import org.somuga.service.interfaces.IMediaService;
 import org.somuga.testDtos.ReviewGameDto;
+import org.somuga.testUtils.SqlStatements;
+import org.somuga.testUtils.SqlStatementsExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.somuga.util.message.Messages.*;
+import static org.somuga.util.pagination.Cursors.NEXT_CURSOR_HEADER;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
 @ContextConfiguration
 @ActiveProfiles("test")
+@ExtendWith(SqlStatementsExtension.class)
 public class ReviewControllerTest {
 
     private static final ObjectMapper mapper = new ObjectMapper();
@@ -67,6 +80,10 @@ public class ReviewControllerTest {
     @Autowired
     private DeveloperRepository developerRepository;
     @Autowired
+    private IMediaService mediaService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
     private WebApplicationContext controller;
     @MockBean
     @SuppressWarnings("unused")
@@ -441,4 +458,220 @@ public class ReviewControllerTest {
         assertNotNull(error.getTimestamp());
         assertEquals(PRIVATE_API_PATH + "/" + 9999999, error.getPath());
     }
+
+    @Test
+    @WithMockUser(username = USER_ID)
+    @DisplayName("Test create and delete review and expect media review count to follow")
+    void testReviewCountFollowsCreateAndDelete() throws Exception {
+        String response = mockMvc.perform(post(PRIVATE_API_PATH)
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(new ReviewCreateDto(game.getId(), 5, "My Review"))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+
+        ReviewGameDto review = mapper.readValue(response, ReviewGameDto.class);
+
+        assertEquals(1, review.media().reviews());
+        assertEquals(1, gameRepository.findById(game.getId()).orElseThrow().getReviewCount());
+
+        mockMvc.perform(delete(PRIVATE_API_PATH + "/" + review.id())
+                        .with(csrf()))
+                .andExpect(status().isNoContent());
+
+        assertEquals(0, gameRepository.findById(game.getId()).orElseThrow().getReviewCount());
+    }
+
+    @Test
+    @WithMockUser(username = USER_ID)
+    @DisplayName("Test create, update and delete reviews and expect the media rating to follow")
+    void testRatingFollowsCreateUpdateAndDelete() throws Exception {
+        createUser("other", "Other", "other@example.com");
+
+        String response = mockMvc.perform(post(PRIVATE_API_PATH)
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(new ReviewCreateDto(game.getId(), 8, "My Review"))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        ReviewGameDto review = mapper.readValue(response, ReviewGameDto.class);
+
+        assertEquals(8.0, review.media().rating().average());
+        assertEquals(1, review.media().rating().histogram().get(7));
+
+        String otherResponse = mockMvc.perform(post(PRIVATE_API_PATH)
+                        .with(csrf())
+                        .with(user("other"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(new ReviewCreateDto(game.getId(), 4, "Other Review"))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        ReviewGameDto otherReview = mapper.readValue(otherResponse, ReviewGameDto.class);
+
+        Rating rating = gameRepository.findById(game.getId()).orElseThrow().getRating();
+        assertEquals(12, rating.getSum());
+        assertEquals(6.0, rating.getAverage());
+
+        mockMvc.perform(patch(PRIVATE_API_PATH + "/" + review.id())
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(new ReviewUpdateDto(10, "Updated Review"))))
+                .andExpect(status().isOk());
+
+        rating = gameRepository.findById(game.getId()).orElseThrow().getRating();
+        assertEquals(14, rating.getSum());
+        assertEquals(7.0, rating.getAverage());
+        assertEquals(List.of(0, 0, 0, 1, 0, 0, 0, 0, 0, 1), rating.getHistogram());
+
+        mockMvc.perform(delete(PRIVATE_API_PATH + "/" + otherReview.id())
+                        .with(csrf())
+                        .with(user("other")))
+                .andExpect(status().isNoContent());
+
+        Game updated = gameRepository.findById(game.getId()).orElseThrow();
+        assertEquals(1, updated.getReviewCount());
+        assertEquals(10.0, updated.getRating().getAverage());
+        assertEquals(List.of(0, 0, 0, 0, 0, 0, 0, 0, 0, 1), updated.getRating().getHistogram());
+    }
+
+    @Test
+    @DisplayName("Test backfill ratings of rows that predate them and expect the rating filled in")
+    void testBackfillRatings() {
+        createReview(user, game, 8, "My Review");
+        createReview(createUser("other", "Other", "other@example.com"), game, 4, "Other Review");
+        jdbcTemplate.update("UPDATE media SET rating_sum = -1, rating_average = 0, rating_4 = 0, rating_8 = 0");
+
+        mediaService.backfill();
+
+        Rating rating = gameRepository.findById(game.getId()).orElseThrow().getRating();
+        assertEquals(12, rating.getSum());
+        assertEquals(6.0, rating.getAverage());
+        assertEquals(List.of(0, 0, 0, 1, 0, 0, 0, 1, 0, 0), rating.getHistogram());
+    }
+
+    @Test
+    @WithMockUser(username = USER_ID, roles = "ADMIN")
+    @DisplayName("Test recompute ratings and get top rated games and expect games ordered by average score")
+    void testRecomputeRatingsAndGetTopRatedGames() throws Exception {
+        User other = createUser("other", "Other", "other@example.com");
+        Game best = createGame();
+        Game unrated = createGame();
+        createReview(user, game, 6, "Review");
+        createReview(other, game, 8, "Review");
+        createReview(user, best, 9, "Review");
+
+        mockMvc.perform(get("/api/v1/game/public/top-rated"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].rating.average").value(0.0));
+
+        mockMvc.perform(post("/api/v1/media/admin/rating/recompute")
+                        .with(csrf()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/game/public/top-rated"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].id").value(best.getId()))
+                .andExpect(jsonPath("$[0].rating.average").value(9.0))
+                .andExpect(jsonPath("$[1].id").value(game.getId()))
+                .andExpect(jsonPath("$[1].rating.average").value(7.0))
+                .andExpect(jsonPath("$[1].rating.count").value(2))
+                .andExpect(jsonPath("$[1].rating.histogram[5]").value(1))
+                .andExpect(jsonPath("$[2].id").value(unrated.getId()));
+    }
+
+    @Test
+    @WithMockUser(username = USER_ID, roles = "ADMIN")
+    @DisplayName("Test recompute ratings twice and expect the second run to leave every row and its revision untouched")
+    void testRecomputeRatingsOnlyChangedRows() throws Exception {
+        createReview(user, game, 6, "Review");
+        mockMvc.perform(post("/api/v1/media/admin/rating/recompute")
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(content().string("1"));
+        long revision = gameRepository.findById(game.getId()).orElseThrow().getRevision();
+
+        mockMvc.perform(post("/api/v1/media/admin/rating/recompute")
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(content().string("0"));
+
+        assertEquals(revision, gameRepository.findById(game.getId()).orElseThrow().getRevision());
+    }
+
+    @Test
+    @DisplayName("Test get a page of reviews of a game by different users and expect a constant number of statements")
+    void testGetReviewsByMediaStatementCount(SqlStatements statements) throws Exception {
+        for (int i = 0; i < 20; i++) {
+            createReview(createUser(USER_ID + i, "UserName" + i, "email@example.com"), game, 5, "Review " + i);
+        }
+
+        statements.assertAtMost(4, () -> mockMvc.perform(get(PUBLIC_API_PATH + "/media/" + game.getId())
+                        .param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(20))));
+    }
+
+    @Test
+    @DisplayName("Test walk the reviews of a user with keyset cursors and expect every review once in id order")
+    void testGetAllReviewsFromUserWithCursor() throws Exception {
+        List<Long> created = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            created.add(createReview(user, createGame(), 5, "Review").id());
+        }
+
+        List<List<String>> pages = walkWithCursor(PUBLIC_API_PATH + "/user/" + USER_ID);
+
+        assertEquals(3, pages.size());
+        assertEquals(created.stream().sorted().map(String::valueOf).toList(), pages.stream().flatMap(List::stream).toList());
+    }
+
+    @Test
+    @DisplayName("Test walk the reviews of a game with keyset cursors and expect every review once in id order")
+    void testGetAllReviewsFromMediaWithCursor() throws Exception {
+        List<Long> created = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            created.add(createReview(createUser(USER_ID + i, "Name" + i, "email" + i + "@example.com"), game, 5, "Review").id());
+        }
+
+        List<List<String>> pages = walkWithCursor(PUBLIC_API_PATH + "/media/" + game.getId());
+
+        assertEquals(3, pages.size());
+        assertEquals(created.stream().sorted().map(String::valueOf).toList(), pages.stream().flatMap(List::stream).toList());
+    }
+
+    @Test
+    @DisplayName("Test get the reviews of a user and of a game with an invalid cursor and expect bad request")
+    void testGetReviewsWithInvalidCursor() throws Exception {
+        assertInvalidCursor(PUBLIC_API_PATH + "/user/" + USER_ID);
+        assertInvalidCursor(PUBLIC_API_PATH + "/media/" + game.getId());
+    }
+
+    private List<List<String>> walkWithCursor(String path) throws Exception {
+        List<List<String>> pages = new ArrayList<>();
+        String cursor = "";
+        do {
+            MvcResult result = mockMvc.perform(get(path)
+                            .param("after", cursor)
+                            .param("size", "2"))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            List<Object> ids = JsonPath.read(result.getResponse().getContentAsString(), "$[*].id");
+            pages.add(ids.stream().map(String::valueOf).toList());
+            cursor = result.getResponse().getHeader(NEXT_CURSOR_HEADER);
+        } while (cursor != null);
+        return pages;
+    }
+
+    private void assertInvalidCursor(String path) throws Exception {
+        String response = mockMvc.perform(get(path)
+                        .param("after", "not-a-cursor!"))
+                .andExpect(status().isBadRequest())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        Error error = mapper.readValue(response, Error.class);
+        assertTrue(error.getMessage().contains(INVALID_CURSOR));
+    }
 }
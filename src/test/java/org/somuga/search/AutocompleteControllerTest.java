@@ -0,0 +1,263 @@
+package org.somuga.search;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.somuga.dto.search.AutocompleteDto;
+import org.somuga.entity.Developer;
+import org.somuga.entity.User;
+import org.somuga.repository.DeveloperRepository;
+import org.somuga.repository.GameRepository;
+import org.somuga.repository.MovieCrewRepository;
+import org.somuga.repository.MovieRepository;
+import org.somuga.repository.UserRepository;
+import org.somuga.service.AutocompleteService;
+import org.somuga.service.interfaces.IAutocompleteService;
+import org.somuga.testUtils.SqlStatements;
+import org.somuga.testUtils.SqlStatementsExtension;
+import org.somuga.util.search.AutocompleteIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ContextConfiguration
+@ActiveProfiles("test")
+@ExtendWith(SqlStatementsExtension.class)
+class AutocompleteControllerTest {
+
+    private static final String USER = "google-auth2|1234567890";
+    private static final String PUBLIC_API_PATH = "/api/v1/search/public/autocomplete";
+    private static final String ADMIN_API_PATH = "/api/v1/search/admin/autocomplete";
+    MockMvc mockMvc;
+    @Autowired
+    private WebApplicationContext controller;
+    @Autowired
+    private DeveloperRepository developerRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private GameRepository gameRepository;
+    @Autowired
+    private MovieRepository movieRepository;
+    @Autowired
+    private MovieCrewRepository movieCrewRepository;
+    @Autowired
+    private IAutocompleteService autocompleteService;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @MockBean
+    @SuppressWarnings("unused")
+    private JwtDecoder jwtDecoder;
+
+    @BeforeEach
+    public void setUp() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(controller)
+                .apply(springSecurity())
+                .build();
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        developerRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Test save a developer and expect it suggested for a prefix of any word once the write commits")
+    void testSuggestAfterWrite() throws Exception {
+        autocompleteService.rebuildIndex();
+        developerRepository.save(new Developer("Évora Game Studio", List.of(), USER));
+
+        mockMvc.perform(get(PUBLIC_API_PATH).param("prefix", "EVO"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].kind").value("DEVELOPER"))
+                .andExpect(jsonPath("$[0].name").value("Évora Game Studio"));
+        mockMvc.perform(get(PUBLIC_API_PATH).param("prefix", "game st"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Évora Game Studio"));
+        mockMvc.perform(get(PUBLIC_API_PATH).param("prefix", "ora"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    @DisplayName("Test suggest before the index is built and expect an empty answer and the build handed to the executor")
+    void testBuildInBackground() {
+        List<Runnable> tasks = new ArrayList<>();
+        AutocompleteService service = new AutocompleteService(gameRepository, movieRepository, movieCrewRepository,
+                developerRepository, userRepository, transactionManager, tasks::add, false, Duration.ZERO);
+        developerRepository.save(new Developer("Deferred Studio", List.of(), USER));
+
+        assertEquals(List.of(), service.suggest("deferred", 10));
+        assertEquals(List.of(), service.suggest("deferred", 10));
+        assertEquals(1, tasks.size());
+
+        tasks.get(0).run();
+
+        assertEquals(List.of("Deferred Studio"), service.suggest("deferred", 10).stream().map(AutocompleteDto::name).toList());
+    }
+
+    @Test
+    @DisplayName("Test suggest from a built index and expect no SQL statement per keystroke")
+    void testSuggestWithoutStatements(SqlStatements statements) throws Exception {
+        developerRepository.save(new Developer("Keystroke Studio", List.of(), USER));
+        autocompleteService.rebuildIndex();
+
+        statements.assertAtMost(0, () -> {
+            for (String prefix : List.of("k", "ke", "key", "keys", "keystroke")) {
+                mockMvc.perform(get(PUBLIC_API_PATH).param("prefix", prefix))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$[0].name").value("Keystroke Studio"));
+            }
+        });
+    }
+
+    @Test
+    @WithMockUser(username = USER, roles = "ADMIN")
+    @DisplayName("Test rebuild the autocomplete index and expect active users suggested and inactive ones left out")
+    void testRebuildWithUsers() throws Exception {
+        User active = new User(USER, "Nightowl");
+        active.setActive(true);
+        userRepository.save(active);
+        userRepository.save(new User("google-auth2|0987654321", "Nightjar"));
+
+        mockMvc.perform(post(ADMIN_API_PATH + "/rebuild").with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items").value(1));
+
+        mockMvc.perform(get(PUBLIC_API_PATH).param("prefix", "night"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].kind").value("USER"))
+                .andExpect(jsonPath("$[0].id").value(USER));
+        mockMvc.perform(get(ADMIN_API_PATH))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.entries").value(1));
+    }
+
+    @Test
+    @WithMockUser(username = USER)
+    @DisplayName("Test rebuild the autocomplete index without the admin role and expect 403")
+    void testRebuildForbidden() throws Exception {
+        mockMvc.perform(post(ADMIN_API_PATH + "/rebuild").with(csrf()))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get(ADMIN_API_PATH))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Test suggest from an index with several items per prefix and expect the most popular first, each once")
+    void testRanking() {
+        AutocompleteIndex index = new AutocompleteIndex.Builder()
+                .add(AutocompleteIndex.Kind.GAME, "1", "Storm Storm Storm", 5)
+                .add(AutocompleteIndex.Kind.MOVIE, "2", "Stormy Night", 50)
+                .add(AutocompleteIndex.Kind.CREW, "3", "Silent Storm", 20)
+                .add(AutocompleteIndex.Kind.DEVELOPER, "4", "Storm Forge", 20)
+                .add(AutocompleteIndex.Kind.USER, "5", "Stone", 100)
+                .add(AutocompleteIndex.Kind.GAME, "6", "--", 1000)
+                .build();
+
+        List<AutocompleteIndex.Suggestion> suggestions = index.suggest("storm", 10);
+
+        assertEquals(5, index.items());
+        assertEquals(List.of("2", "3", "4", "1"), suggestions.stream().map(AutocompleteIndex.Suggestion::id).toList());
+        assertEquals(List.of("2", "3"), index.suggest("storm", 2).stream().map(AutocompleteIndex.Suggestion::id).toList());
+        assertTrue(index.suggest("   ", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test rename and then delete a developer and expect only its current name suggested, without a rebuild")
+    void testSuggestAfterRenameAndDelete(SqlStatements statements) throws Exception {
+        Developer developer = developerRepository.save(new Developer("Marsh Studio", List.of(), USER));
+        autocompleteService.rebuildIndex();
+
+        developer.setDeveloperName("Lagoon Studio");
+        developerRepository.save(developer);
+
+        statements.assertAtMost(0, () -> {
+            mockMvc.perform(get(PUBLIC_API_PATH).param("prefix", "marsh"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(0)));
+            mockMvc.perform(get(PUBLIC_API_PATH).param("prefix", "lagoon"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].name").value("Lagoon Studio"));
+        });
+
+        developerRepository.deleteById(developer.getId());
+
+        mockMvc.perform(get(PUBLIC_API_PATH).param("prefix", "lagoon"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    @DisplayName("Test save a developer in a transaction that rolls back and expect it never suggested")
+    void testRolledBackWriteNotSuggested() {
+        autocompleteService.rebuildIndex();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            developerRepository.save(new Developer("Rolled Back Studio", List.of(), USER));
+            status.setRollbackOnly();
+        });
+
+        assertTrue(autocompleteService.suggest("rolled", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test lay renames, removals and new items over an index and expect weights kept for renamed items")
+    void testChanges() {
+        AutocompleteIndex index = new AutocompleteIndex.Builder()
+                .add(AutocompleteIndex.Kind.GAME, "1", "Storm Riders", 50)
+                .add(AutocompleteIndex.Kind.MOVIE, "1", "Storm Front", 20)
+                .add(AutocompleteIndex.Kind.DEVELOPER, "2", "Storm Forge", 10)
+                .build();
+
+        AutocompleteIndex changed = index.with(List.of(
+                new AutocompleteIndex.Change(AutocompleteIndex.Kind.GAME, "1", "Stormy Riders"),
+                new AutocompleteIndex.Change(AutocompleteIndex.Kind.DEVELOPER, "2", null),
+                new AutocompleteIndex.Change(AutocompleteIndex.Kind.CREW, "3", "Storm Chaser")));
+
+        assertEquals(List.of("Stormy Riders", "Storm Front", "Storm Chaser"),
+                changed.suggest("storm", 10).stream().map(AutocompleteIndex.Suggestion::name).toList());
+        assertEquals(List.of("Stormy Riders"),
+                changed.suggest("stormy", 10).stream().map(AutocompleteIndex.Suggestion::name).toList());
+        assertEquals(3, changed.items());
+        assertEquals(3, index.suggest("storm", 10).size());
+        assertSame(index, index.with(List.of(new AutocompleteIndex.Change(AutocompleteIndex.Kind.MOVIE, "1", "Storm Front"))));
+
+        AutocompleteIndex restored = changed.with(List.of(
+                new AutocompleteIndex.Change(AutocompleteIndex.Kind.DEVELOPER, "2", "Storm Forge")));
+
+        assertEquals(List.of("Stormy Riders", "Storm Front", "Storm Forge", "Storm Chaser"),
+                restored.suggest("storm", 10).stream().map(AutocompleteIndex.Suggestion::name).toList());
+    }
+}
@@ -0,0 +1,185 @@
+package org.somuga.search;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.somuga.entity.Developer;
+import org.somuga.repository.DeveloperRepository;
+import org.somuga.repository.GameRepository;
+import org.somuga.repository.MovieCrewRepository;
+import org.somuga.repository.MovieRepository;
+import org.somuga.service.SearchService;
+import org.somuga.service.interfaces.ISearchService;
+import org.somuga.util.search.SearchIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ContextConfiguration
+@ActiveProfiles("test")
+class SearchControllerTest {
+
+    private static final String USER = "google-auth2|1234567890";
+    private static final String ADMIN_API_PATH = "/api/v1/search/admin/rebuild";
+    private static final String DEVELOPER_SEARCH_PATH = "/api/v1/developer/public/search/";
+    MockMvc mockMvc;
+    @Autowired
+    private WebApplicationContext controller;
+    @Autowired
+    private DeveloperRepository developerRepository;
+    @Autowired
+    private GameRepository gameRepository;
+    @Autowired
+    private MovieRepository movieRepository;
+    @Autowired
+    private MovieCrewRepository movieCrewRepository;
+    @Autowired
+    private SearchIndex searchIndex;
+    @Autowired
+    private ISearchService searchService;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @MockBean
+    @SuppressWarnings("unused")
+    private JwtDecoder jwtDecoder;
+
+    @BeforeEach
+    public void setUp() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(controller)
+                .apply(springSecurity())
+                .build();
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        developerRepository.deleteAll();
+    }
+
+    @Test
+    @WithMockUser(username = USER, roles = "ADMIN")
+    @DisplayName("Test rebuild the search index after it lost its entries and expect the rows searchable again")
+    void testRebuildIndex() throws Exception {
+        developerRepository.save(new Developer("Rebuilt Studio", List.of(), USER));
+        searchIndex.replaceAll(sink -> {
+        });
+        mockMvc.perform(get(DEVELOPER_SEARCH_PATH + "rebuilt"))
+                .andExpect(jsonPath("$", hasSize(0)));
+
+        mockMvc.perform(post(ADMIN_API_PATH).with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").value(developerRepository.count()));
+
+        mockMvc.perform(get(DEVELOPER_SEARCH_PATH + "rebuilt"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].developerName").value("Rebuilt Studio"));
+    }
+
+    @Test
+    @WithMockUser(username = USER)
+    @DisplayName("Test rebuild the search index without the admin role and expect 403")
+    void testRebuildIndexForbidden() throws Exception {
+        mockMvc.perform(post(ADMIN_API_PATH).with(csrf()))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Test save a developer in a transaction that rolls back and expect it never indexed")
+    void testRolledBackWriteNotIndexed() throws Exception {
+        transactionTemplate.executeWithoutResult(status -> {
+            developerRepository.save(new Developer("Rolled Back Studio", List.of(), USER));
+            status.setRollbackOnly();
+        });
+
+        mockMvc.perform(get(DEVELOPER_SEARCH_PATH + "rolled back"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    @DisplayName("Test rename a developer outside this instance and expect it searchable by the new name after a refresh")
+    void testRefreshPicksUpOutsideUpdate() throws Exception {
+        Developer developer = developerRepository.save(new Developer("Outside Studio", List.of(), USER));
+        jdbcTemplate.update("UPDATE developers SET developer_name = ?, updated_at = CURRENT_TIMESTAMP WHERE id = ?",
+                "Elsewhere Studio", developer.getId());
+        mockMvc.perform(get(DEVELOPER_SEARCH_PATH + "elsewhere"))
+                .andExpect(jsonPath("$", hasSize(0)));
+
+        searchService.refresh();
+
+        mockMvc.perform(get(DEVELOPER_SEARCH_PATH + "elsewhere"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+        mockMvc.perform(get(DEVELOPER_SEARCH_PATH + "outside"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    @DisplayName("Test delete a developer outside this instance and expect it dropped from the index after a refresh")
+    void testRefreshDropsOutsideDelete() {
+        Developer developer = developerRepository.save(new Developer("Deleted Studio", List.of(), USER));
+        jdbcTemplate.update("DELETE FROM developers WHERE id = ?", developer.getId());
+
+        searchService.refresh();
+
+        assertEquals(developerRepository.count(), searchIndex.count(SearchIndex.Kind.DEVELOPER));
+        assertEquals(List.of(), searchIndex.search(SearchIndex.Kind.DEVELOPER, "deleted", 0, 20));
+    }
+
+    @Test
+    @DisplayName("Test search once the refresh interval has passed and expect the refresh handed to the executor")
+    void testRefreshInBackground() throws Exception {
+        List<Runnable> tasks = new ArrayList<>();
+        SearchService service = new SearchService(searchIndex, gameRepository, movieRepository, movieCrewRepository,
+                developerRepository, transactionManager, tasks::add, false, Duration.ZERO);
+        Developer developer = developerRepository.save(new Developer("Background Studio", List.of(), USER));
+        jdbcTemplate.update("UPDATE developers SET developer_name = ?, updated_at = CURRENT_TIMESTAMP WHERE id = ?",
+                "Deferred Studio", developer.getId());
+
+        assertEquals(List.of(), service.search(SearchIndex.Kind.DEVELOPER, "deferred", PageRequest.of(0, 20)));
+        assertEquals(List.of(), service.search(SearchIndex.Kind.DEVELOPER, "deferred", PageRequest.of(0, 20)));
+        assertEquals(1, tasks.size());
+
+        tasks.get(0).run();
+
+        assertEquals(List.of(developer.getId()), service.search(SearchIndex.Kind.DEVELOPER, "deferred", PageRequest.of(0, 20)));
+    }
+
+    @Test
+    @DisplayName("Test search a page past the deepest search result and expect 400")
+    void testSearchPageTooDeep() throws Exception {
+        mockMvc.perform(get(DEVELOPER_SEARCH_PATH + "studio").param("page", "500").param("size", "20"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,95 @@
+package org.somuga.search;
+
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.somuga.util.search.SearchIndex;
+import org.somuga.util.search.SearchIndex.Kind;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SearchIndexTest {
+
+    @TempDir
+    Path path;
+
+    @Test
+    @DisplayName("Test index an entry outside a transaction and expect it searchable at once and committed on close")
+    void testWriteCommittedOnClose() throws Exception {
+        SearchIndex index = new SearchIndex(path.toString());
+        try {
+            index.replaceAll(sink -> {
+            });
+            index.index(Kind.GAME, 1L, "Outer Wilds", "A solar system stuck in a time loop");
+
+            assertEquals(List.of(1L), index.search(Kind.GAME, "outer", 0, 20));
+            try (Directory directory = FSDirectory.open(path); DirectoryReader reader = DirectoryReader.open(directory)) {
+                assertEquals(0, reader.numDocs());
+            }
+        } finally {
+            index.close();
+        }
+
+        try (Directory directory = FSDirectory.open(path); DirectoryReader reader = DirectoryReader.open(directory)) {
+            assertEquals(1, reader.numDocs());
+        }
+    }
+
+    @Test
+    @DisplayName("Test reopen an index built with a watermark and expect the entries and the watermark kept")
+    void testWatermarkSurvivesReopen() throws Exception {
+        Instant watermark = Instant.parse("2026-01-01T12:00:00Z");
+        SearchIndex index = new SearchIndex(path.toString());
+        index.replaceAll(sink -> sink.accept(Kind.GAME, 1L, "Outer Wilds", "A solar system stuck in a time loop"), watermark);
+        index.close();
+
+        SearchIndex reopened = new SearchIndex(path.toString());
+        try {
+            assertTrue(reopened.isBuilt());
+            assertEquals(watermark, reopened.watermark());
+            assertEquals(List.of(1L), reopened.search(Kind.GAME, "outer", 0, 20));
+        } finally {
+            reopened.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Test update an indexed entry with a later watermark and expect it replaced and the watermark moved")
+    void testUpdateAll() throws Exception {
+        Instant watermark = Instant.parse("2026-01-01T12:00:00Z");
+        SearchIndex index = new SearchIndex("");
+        try {
+            index.replaceAll(sink -> sink.accept(Kind.GAME, 1L, "Outer Wilds", null), watermark);
+
+            index.updateAll(sink -> sink.accept(Kind.GAME, 1L, "Inner Wilds", null), watermark.plusSeconds(60));
+
+            assertEquals(1, index.count(Kind.GAME));
+            assertEquals(List.of(), index.search(Kind.GAME, "outer", 0, 20));
+            assertEquals(List.of(1L), index.search(Kind.GAME, "inner", 0, 20));
+            assertEquals(watermark.plusSeconds(60), index.watermark());
+        } finally {
+            index.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Test search past the deepest page and expect no ids instead of an overflow")
+    void testSearchPastMaxResults() throws Exception {
+        SearchIndex index = new SearchIndex("");
+        try {
+            index.replaceAll(sink -> sink.accept(Kind.GAME, 1L, "Outer Wilds", null));
+
+            assertEquals(List.of(), index.search(Kind.GAME, "outer", Long.MAX_VALUE - 10, 20));
+        } finally {
+            index.close();
+        }
+    }
+}
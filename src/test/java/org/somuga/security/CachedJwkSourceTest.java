@@ -0,0 +1,72 @@
+package org.somuga.security;
+
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.somuga.util.jwt.CachedJwkSource;
+import org.springframework.web.client.RestClient;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Clock;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CachedJwkSourceTest {
+
+    // Never called, the keys come from the file or not at all
+    private static final String JWK_SET_URI = "http://localhost:1/jwks";
+    private Path file;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        file = Files.createTempFile("somuga-jwks", ".json");
+        Files.writeString(file, new JWKSet(new RSAKeyGenerator(2048).keyID("file").generate().toPublicJWK()).toString());
+    }
+
+    @AfterEach
+    public void cleanUp() throws Exception {
+        Files.deleteIfExists(file);
+    }
+
+    private CachedJwkSource source(Path file) {
+        return new CachedJwkSource(JWK_SET_URI, RestClient.create(), file, Duration.ofHours(1), Duration.ofDays(1),
+                Duration.ofSeconds(30), Clock.systemUTC());
+    }
+
+    @Test
+    @DisplayName("Test start from a key file writable by the owner only and expect its keys used")
+    void testOwnerOnlyFileLoaded() throws Exception {
+        Files.setPosixFilePermissions(file, PosixFilePermissions.fromString("rw-r--r--"));
+
+        assertNotNull(source(file).fetchedAt());
+    }
+
+    @Test
+    @DisplayName("Test start from a group or world writable key file and expect it ignored")
+    void testWritableFileIgnored() throws Exception {
+        for (String permissions : new String[]{"rw-rw-r--", "rw-r--rw-"}) {
+            Files.setPosixFilePermissions(file, PosixFilePermissions.fromString(permissions));
+
+            assertNull(source(file).fetchedAt(), permissions);
+        }
+    }
+
+    @Test
+    @DisplayName("Test start from a link to a key file and expect it ignored")
+    void testLinkIgnored() throws Exception {
+        Path link = file.resolveSibling(file.getFileName() + ".link");
+        Files.createSymbolicLink(link, file);
+        try {
+            assertNull(source(link).fetchedAt());
+        } finally {
+            Files.delete(link);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package org.somuga.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.somuga.dto.cache.CacheStatsDto;
+import org.somuga.util.jwt.CachingJwtDecoder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+
+@SpringBootTest
+@ContextConfiguration
+@ActiveProfiles("test")
+class JwtDecoderTest {
+
+    private static final String ISSUER = "https://localhost/oauth2/jwt-test";
+    private static final String AUDIENCE = "api://default";
+    private static final String USER = "google-auth2|1234567890";
+    private static final String PRIVATE_PATH = "/api/v1/like/private/0";
+    private static RSAKey signingKey;
+    MockMvc mockMvc;
+    @Autowired
+    private WebApplicationContext controller;
+    @Autowired
+    private JwtDecoder jwtDecoder;
+
+    @DynamicPropertySource
+    static void keys(DynamicPropertyRegistry registry) throws Exception {
+        signingKey = new RSAKeyGenerator(2048).keyID("jwt-test").generate();
+        Path file = Files.createTempFile("somuga-jwks", ".json");
+        Files.writeString(file, new JWKSet(signingKey.toPublicJWK()).toString());
+        registry.add("okta.oauth2.issuer", () -> ISSUER);
+        registry.add("somuga.security.jwks.file", file::toString);
+    }
+
+    @BeforeEach
+    public void setUp() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(controller)
+                .apply(springSecurity())
+                .build();
+    }
+
+    private static String token(RSAKey key, String subject, Instant expiresAt) throws JOSEException {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .issuer(ISSUER)
+                .audience(AUDIENCE)
+                .subject(subject)
+                .issueTime(new Date())
+                .expirationTime(Date.from(expiresAt))
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(), claims);
+        jwt.sign(new RSASSASigner(key));
+        return jwt.serialize();
+    }
+
+    private int deleteLike(String token) throws Exception {
+        return mockMvc.perform(delete(PRIVATE_PATH).header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andReturn().getResponse().getStatus();
+    }
+
+    private CacheStatsDto stats() {
+        return ((CachingJwtDecoder) jwtDecoder).stats();
+    }
+
+    @Test
+    @DisplayName("Test private request twice with the same token and expect the signature verified once")
+    void testSameTokenVerifiedOnce() throws Exception {
+        String token = token(signingKey, USER, Instant.now().plusSeconds(300));
+        CacheStatsDto before = stats();
+
+        assertEquals(404, deleteLike(token));
+        assertEquals(404, deleteLike(token));
+
+        CacheStatsDto after = stats();
+        assertEquals(1, after.misses() - before.misses());
+        assertEquals(1, after.hits() - before.hits());
+    }
+
+    @Test
+    @DisplayName("Test decode a token again after its expiry and expect it not served from the cache")
+    void testExpiredTokenNotServedFromCache() throws Exception {
+        Instant expiresAt = Instant.now().plusSeconds(2);
+        String token = token(signingKey, USER, expiresAt);
+        CacheStatsDto before = stats();
+
+        jwtDecoder.decode(token);
+        Thread.sleep(Math.max(0, expiresAt.toEpochMilli() - System.currentTimeMillis()) + 1000);
+        // Still accepted within the validator's clock skew, but verified again
+        jwtDecoder.decode(token);
+
+        CacheStatsDto after = stats();
+        assertEquals(2, after.misses() - before.misses());
+        assertEquals(0, after.hits() - before.hits());
+    }
+
+    @Test
+    @DisplayName("Test private request with a token signed by an unknown key and expect unauthorized")
+    void testUnknownKey() throws Exception {
+        RSAKey otherKey = new RSAKeyGenerator(2048).keyID("other").generate();
+
+        assertEquals(401, deleteLike(token(otherKey, USER, Instant.now().plusSeconds(300))));
+    }
+}
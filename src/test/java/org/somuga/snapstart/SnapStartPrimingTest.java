@@ -0,0 +1,124 @@
+package org.somuga.snapstart;
+
+import com.amazonaws.serverless.proxy.model.AwsProxyRequest;
+import com.amazonaws.serverless.proxy.model.AwsProxyResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.somuga.entity.Developer;
+import org.somuga.repository.DeveloperRepository;
+import org.somuga.util.cache.ReferenceNameCache;
+import org.somuga.util.cache.SecondLevelCache;
+import org.somuga.util.snapstart.SnapStartPriming;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.request;
+
+@SpringBootTest
+@ContextConfiguration
+@ActiveProfiles("test")
+class SnapStartPrimingTest {
+
+    private final List<String> primedPaths = new ArrayList<>();
+    private final List<Integer> primedStatuses = new ArrayList<>();
+    MockMvc mockMvc;
+    @Autowired
+    private WebApplicationContext controller;
+    @Autowired
+    private DeveloperRepository developerRepository;
+    @Autowired
+    private SecondLevelCache secondLevelCache;
+    @Autowired
+    private ReferenceNameCache nameCache;
+    @MockBean
+    private JwtDecoder jwtDecoder;
+
+    @BeforeEach
+    public void setUp() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(controller)
+                .apply(springSecurity())
+                .build();
+    }
+
+    private AwsProxyResponse dispatch(AwsProxyRequest proxyRequest) {
+        try {
+            int status = mockMvc.perform(request(HttpMethod.valueOf(proxyRequest.getHttpMethod()), proxyRequest.getPath()))
+                    .andReturn().getResponse().getStatus();
+            primedPaths.add(proxyRequest.getPath());
+            primedStatuses.add(status);
+            return new AwsProxyResponse(status);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        developerRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Test prime before checkpoint and expect every public route called without server errors and the JWT decoder used")
+    void testBeforeCheckpoint() {
+        when(jwtDecoder.decode(anyString())).thenThrow(new BadJwtException("Unknown key"));
+        SnapStartPriming priming = new SnapStartPriming(controller, this::dispatch);
+
+        priming.beforeCheckpoint(null);
+
+        assertTrue(primedPaths.contains("/api/v1/game/public"));
+        assertTrue(primedPaths.contains("/api/v1/game/public/0"));
+        assertTrue(primedPaths.contains("/api/v1/review/public/media/0"));
+        assertTrue(primedPaths.stream().allMatch(path -> path.contains("/public")));
+        assertTrue(primedStatuses.stream().allMatch(status -> status < 500));
+        verify(jwtDecoder).decode(anyString());
+    }
+
+    @Test
+    @DisplayName("Test prime before checkpoint and expect search routes skipped and no rows left in the caches")
+    void testBeforeCheckpointLeavesNoData() {
+        when(jwtDecoder.decode(anyString())).thenThrow(new BadJwtException("Unknown key"));
+        developerRepository.save(new Developer("Developer", List.of(), "creator"));
+        secondLevelCache.clear();
+        SnapStartPriming priming = new SnapStartPriming(controller, this::dispatch);
+
+        priming.beforeCheckpoint(null);
+
+        assertTrue(primedPaths.contains("/api/v1/developer/public"));
+        assertTrue(primedPaths.stream().noneMatch(path -> path.contains("/search")));
+        assertTrue(secondLevelCache.stats().stream().allMatch(stats -> stats.size() == 0));
+        assertTrue(nameCache.all().stream().allMatch(cache -> cache.stats().size() == 0));
+    }
+
+    @Test
+    @DisplayName("Test restore and first response and expect priming to complete without errors")
+    void testAfterRestore() {
+        SnapStartPriming priming = new SnapStartPriming(controller, this::dispatch);
+
+        priming.afterRestore(null);
+        priming.afterResponse();
+        priming.afterResponse();
+
+        assertTrue(primedPaths.isEmpty());
+    }
+}
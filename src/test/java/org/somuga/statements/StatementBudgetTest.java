@@ -0,0 +1,86 @@
+package org.somuga.statements;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.somuga.entity.Game;
+import org.somuga.repository.GameRepository;
+import org.somuga.util.metrics.StatementMetricsFilter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.Date;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.somuga.util.message.Messages.STATEMENT_BUDGET_EXCEEDED;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "somuga.statements.budget.default=2",
+        "somuga.statements.budget.reject=true"
+})
+@ContextConfiguration
+@ActiveProfiles("test")
+class StatementBudgetTest {
+
+    MockMvc mockMvc;
+    @Autowired
+    private GameRepository gameRepository;
+    @Autowired
+    private StatementMetricsFilter statementMetricsFilter;
+    @Autowired
+    private WebApplicationContext controller;
+    @MockBean
+    @SuppressWarnings("unused")
+    private JwtDecoder jwtDecoder;
+
+    @BeforeEach
+    public void setUp() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(controller)
+                .addFilters(statementMetricsFilter)
+                .apply(springSecurity())
+                .build();
+        Game game = new Game();
+        game.setTitle("Game");
+        game.setReleaseDate(new Date());
+        game.setDescription("Description");
+        game.setMediaCreatorId("google-auth2|1234567890");
+        game.setPrice(0.0);
+        game.setMediaUrl("mediaUrl");
+        game.setImageUrl("imageUrl");
+        game.setMediaType(org.somuga.enums.MediaType.GAME);
+        gameRepository.save(game);
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        gameRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Test get a page of games over the statement budget with rejection on and expect status 500")
+    void testOverBudgetRejected() throws Exception {
+        mockMvc.perform(get("/api/v1/game/public"))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.message", startsWith(STATEMENT_BUDGET_EXCEEDED)));
+    }
+
+    @Test
+    @DisplayName("Test get a game within the statement budget with rejection on and expect status 404")
+    void testWithinBudgetServed() throws Exception {
+        mockMvc.perform(get("/api/v1/game/public/0"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,42 @@
+package org.somuga.testUtils;
+
+import org.somuga.util.statements.RequestStatements;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Counts the SQL statements run by MockMvc requests, which are served on the test thread.
+ * Injected into test methods by {@link SqlStatementsExtension}.
+ */
+public class SqlStatements {
+
+    private final RequestStatements statements;
+
+    SqlStatements(RequestStatements statements) {
+        this.statements = statements;
+    }
+
+    public RequestStatements.Count during(Action action) throws Exception {
+        statements.beginRecording();
+        try {
+            action.run();
+        } catch (Exception e) {
+            statements.end();
+            throw e;
+        }
+        return statements.end();
+    }
+
+    public void assertAtMost(int max, Action action) throws Exception {
+        RequestStatements.Count count = during(action);
+        if (count.total() > max) {
+            fail("Expected at most " + max + " SQL statements but ran " + count.total() + ":\n"
+                    + String.join("\n", count.statements()));
+        }
+    }
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+}
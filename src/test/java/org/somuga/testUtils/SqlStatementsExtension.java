@@ -0,0 +1,24 @@
+package org.somuga.testUtils;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+import org.somuga.util.statements.RequestStatements;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+/**
+ * Resolves {@link SqlStatements} parameters of test methods in a Spring Boot test, so a test can assert how many
+ * statements an endpoint runs, e.g. at most K for a page of N.
+ */
+public class SqlStatementsExtension implements ParameterResolver {
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == SqlStatements.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return new SqlStatements(SpringExtension.getApplicationContext(extensionContext).getBean(RequestStatements.class));
+    }
+}
@@ -2,6 +2,7 @@ package org.somuga.user;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.*;
 import org.somuga.aspect.Error;
 import org.somuga.converter.UserConverter;
@@ -18,15 +19,18 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.somuga.util.message.Messages.*;
+import static org.somuga.util.pagination.Cursors.NEXT_CURSOR_HEADER;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -426,4 +430,52 @@ public class UserControllerTest {
         assertNotNull(error.getTimestamp());
     }
 
+    @Test
+    @DisplayName("Test walk all users with keyset cursors and expect every active user once in id order")
+    void testGetAllUsersWithCursor() throws Exception {
+        List<String> created = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            created.add(createUser(USER_ID + i, "UserName" + i).id());
+        }
+        userTestRepository.save(new User(USER_ID + "inactive", "Inactive"));
+
+        List<List<String>> pages = walkWithCursor(PUBLIC_API_PATH);
+
+        assertEquals(3, pages.size());
+        assertEquals(created.stream().sorted().toList(), pages.stream().flatMap(List::stream).toList());
+    }
+
+    @Test
+    @DisplayName("Test get all users with an invalid cursor and expect bad request")
+    void testGetAllUsersWithInvalidCursor() throws Exception {
+        assertInvalidCursor(PUBLIC_API_PATH);
+    }
+
+    private List<List<String>> walkWithCursor(String path) throws Exception {
+        List<List<String>> pages = new ArrayList<>();
+        String cursor = "";
+        do {
+            MvcResult result = mockMvc.perform(get(path)
+                            .param("after", cursor)
+                            .param("size", "2"))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            List<Object> ids = JsonPath.read(result.getResponse().getContentAsString(), "$[*].id");
+            pages.add(ids.stream().map(String::valueOf).toList());
+            cursor = result.getResponse().getHeader(NEXT_CURSOR_HEADER);
+        } while (cursor != null);
+        return pages;
+    }
+
+    private void assertInvalidCursor(String path) throws Exception {
+        String response = mockMvc.perform(get(path)
+                        .param("after", "not-a-cursor!"))
+                .andExpect(status().isBadRequest())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        Error error = mapper.readValue(response, Error.class);
+        assertTrue(error.getMessage().contains(INVALID_CURSOR));
+    }
 }